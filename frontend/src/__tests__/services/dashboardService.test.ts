@@ -0,0 +1,50 @@
+import { describe, it, expect, vi, beforeEach } from 'vitest';
+import { dashboardService } from '../../services/dashboardService';
+import api from '../../services/api';
+import { AppointmentStatusType, DashboardSummary } from '../../types';
+
+vi.mock('../../services/api', () => ({
+  default: {
+    get: vi.fn(),
+  },
+}));
+
+describe('dashboardService', () => {
+  beforeEach(() => {
+    vi.clearAllMocks();
+  });
+
+  describe('getSummary', () => {
+    it('should fetch the dashboard summary in one request', async () => {
+      const mockSummary: DashboardSummary = {
+        patients: 12,
+        doctors: 3,
+        nurses: 4,
+        appointments: 20,
+        hospitals: 2,
+        wards: 3,
+        patientsPerWard: { 'ward-1': 12 },
+        appointmentsTodayByStatus: {
+          [AppointmentStatusType.SCHEDULED]: 5,
+          [AppointmentStatusType.COMPLETED]: 0,
+          [AppointmentStatusType.CANCELLED]: 0,
+          [AppointmentStatusType.NO_SHOW]: 0,
+        },
+        staffPerHospital: { 'hospital-1': 7 },
+      };
+
+      (api.get as any).mockResolvedValue({ data: mockSummary });
+
+      const result = await dashboardService.getSummary();
+
+      expect(result).toEqual(mockSummary);
+      expect(api.get).toHaveBeenCalledWith('/dashboard/summary');
+    });
+
+    it('should propagate errors', async () => {
+      (api.get as any).mockRejectedValue(new Error('Network error'));
+
+      await expect(dashboardService.getSummary()).rejects.toThrow('Network error');
+    });
+  });
+});
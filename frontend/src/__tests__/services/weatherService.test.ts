@@ -62,5 +62,37 @@ describe('weatherService', () => {
       await expect(weatherService.getWeatherByCity('Copenhagen')).rejects.toThrow('Network error');
     });
   });
-});
 
+  describe('getWeatherForCities', () => {
+    it('should fetch weather for several cities in one request', async () => {
+      const mockWeather: Weather = {
+        city: 'Aarhus',
+        country: 'DK',
+        temperature: 12.0,
+        description: 'Light rain',
+        icon: '10d',
+        humidity: 80.0,
+        windSpeed: 6.0,
+        condition: 'Rain',
+      };
+
+      (api.get as any).mockResolvedValue({ data: { Aarhus: mockWeather } });
+
+      const result = await weatherService.getWeatherForCities(['Aarhus', 'København']);
+
+      expect(result).toEqual({ Aarhus: mockWeather });
+      expect(api.get).toHaveBeenCalledWith('/api/weather/batch?city=Aarhus&city=K%C3%B8benhavn');
+    });
+  });
+
+  describe('getWeatherForHospitals', () => {
+    it('should return an empty map on 204 NO_CONTENT', async () => {
+      (api.get as any).mockResolvedValue({ status: 204, data: '' });
+
+      const result = await weatherService.getWeatherForHospitals();
+
+      expect(result).toEqual({});
+      expect(api.get).toHaveBeenCalledWith('/api/weather/batch/hospitals');
+    });
+  });
+});
@@ -91,6 +91,7 @@ export const AppointmentDetail: React.FC = () => {
               <dt className="text-sm font-medium text-gray-500">Date</dt>
               <dd className="mt-1 text-sm text-gray-900 sm:mt-0 sm:col-span-2">
                 {format(new Date(appointment.appointmentDate), 'MMMM dd, yyyy')}
+                {appointment.startTime && ` at ${appointment.startTime.slice(0, 5)} (${appointment.durationMinutes} min)`}
               </dd>
             </div>
             <div className="bg-gray-50 px-4 py-5 sm:grid sm:grid-cols-3 sm:gap-4 sm:px-6">
@@ -99,6 +100,7 @@ export const AppointmentDetail: React.FC = () => {
                 <span className={`px-2 py-1 rounded text-xs ${
                   appointment.status === 'SCHEDULED' ? 'bg-yellow-100 text-yellow-800' :
                   appointment.status === 'COMPLETED' ? 'bg-green-100 text-green-800' :
+                  appointment.status === 'NO_SHOW' ? 'bg-gray-100 text-gray-800' :
                   'bg-red-100 text-red-800'
                 }`}>
                   {appointment.status}
@@ -22,6 +22,8 @@ export const AppointmentForm: React.FC = () => {
 
   const [formData, setFormData] = useState<AppointmentRequest>({
     appointmentDate: '',
+    startTime: '',
+    durationMinutes: 30,
     reason: '',
     status: AppointmentStatusType.SCHEDULED,
     patientId: '',
@@ -60,6 +62,8 @@ export const AppointmentForm: React.FC = () => {
       const appointment = await appointmentService.getById(appointmentId);
       setFormData({
         appointmentDate: appointment.appointmentDate.split('T')[0], // Extract date part
+        startTime: appointment.startTime ? appointment.startTime.slice(0, 5) : '',
+        durationMinutes: appointment.durationMinutes ?? 30,
         reason: appointment.reason || '',
         status: appointment.status,
         patientId: appointment.patient?.patientId || '',
@@ -79,15 +83,21 @@ export const AppointmentForm: React.FC = () => {
     setError(null);
     setSaving(true);
 
+    const request: AppointmentRequest = {
+      ...formData,
+      startTime: formData.startTime || undefined,
+      durationMinutes: formData.startTime ? Number(formData.durationMinutes) : undefined
+    };
+
     try {
       if (isEdit && id) {
-        await appointmentService.update(id, formData);
+        await appointmentService.update(id, request);
       } else {
-        await appointmentService.create(formData);
+        await appointmentService.create(request);
       }
       navigate('/appointments');
     } catch (err: any) {
-      setError(err.response?.data?.message || `Failed to ${isEdit ? 'update' : 'create'} appointment`);
+      setError(err.response?.data?.error || err.response?.data?.message || `Failed to ${isEdit ? 'update' : 'create'} appointment`);
     } finally {
       setSaving(false);
     }
@@ -138,6 +148,40 @@ export const AppointmentForm: React.FC = () => {
               />
             </div>
 
+            <div className="grid grid-cols-2 gap-4">
+              <div>
+                <label htmlFor="startTime" className="block text-sm font-medium text-gray-700">
+                  Start Time
+                </label>
+                <input
+                  type="time"
+                  name="startTime"
+                  id="startTime"
+                  step={300}
+                  value={formData.startTime}
+                  onChange={handleChange}
+                  className="mt-1 block w-full border border-gray-300 rounded-md shadow-sm py-2 px-3 focus:outline-none focus:ring-blue-500 focus:border-blue-500"
+                />
+              </div>
+              <div>
+                <label htmlFor="durationMinutes" className="block text-sm font-medium text-gray-700">
+                  Duration (minutes)
+                </label>
+                <input
+                  type="number"
+                  name="durationMinutes"
+                  id="durationMinutes"
+                  min={5}
+                  max={480}
+                  step={5}
+                  value={formData.durationMinutes}
+                  onChange={handleChange}
+                  disabled={!formData.startTime}
+                  className="mt-1 block w-full border border-gray-300 rounded-md shadow-sm py-2 px-3 focus:outline-none focus:ring-blue-500 focus:border-blue-500 disabled:bg-gray-100"
+                />
+              </div>
+            </div>
+
             <div>
               <label htmlFor="status" className="block text-sm font-medium text-gray-700">
                 Status *
@@ -153,6 +197,7 @@ export const AppointmentForm: React.FC = () => {
                 <option value={AppointmentStatusType.SCHEDULED}>Scheduled</option>
                 <option value={AppointmentStatusType.COMPLETED}>Completed</option>
                 <option value={AppointmentStatusType.CANCELLED}>Cancelled</option>
+                <option value={AppointmentStatusType.NO_SHOW}>No show</option>
               </select>
             </div>
 
@@ -119,6 +119,7 @@ export const AppointmentList: React.FC = () => {
                               Status: <span className={`ml-1 px-2 py-1 rounded text-xs ${
                                 appointment.status === 'SCHEDULED' ? 'bg-yellow-100 text-yellow-800' :
                                 appointment.status === 'COMPLETED' ? 'bg-green-100 text-green-800' :
+                                appointment.status === 'NO_SHOW' ? 'bg-gray-100 text-gray-800' :
                                 'bg-red-100 text-red-800'
                               }`}>
                                 {appointment.status}
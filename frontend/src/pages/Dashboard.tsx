@@ -1,11 +1,6 @@
 import React, { useEffect, useState } from 'react';
 import { Link } from 'react-router-dom';
-import { patientService } from '../services/patientService';
-import { doctorService } from '../services/doctorService';
-import { nurseService } from '../services/nurseService';
-import { appointmentService } from '../services/appointmentService';
-import { hospitalService } from '../services/hospitalService';
-import { wardService } from '../services/wardService';
+import { dashboardService } from '../services/dashboardService';
 import { LoadingSpinner } from '../components/common/LoadingSpinner';
 import { useAuth } from '../context/AuthContext';
 import { WeatherWidget } from '../components/widgets/WeatherWidget';
@@ -30,31 +25,14 @@ export const Dashboard: React.FC = () => {
 
   const loadStats = async () => {
     try {
-      const results = await Promise.allSettled([
-        patientService.getAll(),
-        doctorService.getAll(),
-        nurseService.getAll(),
-        appointmentService.getAll(),
-        hospitalService.getAll(),
-        wardService.getAll()
-      ]);
-      
-      const [patients, doctors, nurses, appointments, hospitals, wards] = results.map((result, index) => {
-        if (result.status === 'fulfilled') {
-          return result.value;
-        } else {
-          console.error(`Error loading stat ${index}:`, result.reason);
-          return [];
-        }
-      });
-      
+      const summary = await dashboardService.getSummary();
       setStats({
-        patients: Array.isArray(patients) ? patients.length : 0,
-        doctors: Array.isArray(doctors) ? doctors.length : 0,
-        nurses: Array.isArray(nurses) ? nurses.length : 0,
-        appointments: Array.isArray(appointments) ? appointments.length : 0,
-        hospitals: Array.isArray(hospitals) ? hospitals.length : 0,
-        wards: Array.isArray(wards) ? wards.length : 0,
+        patients: summary.patients,
+        doctors: summary.doctors,
+        nurses: summary.nurses,
+        appointments: summary.appointments,
+        hospitals: summary.hospitals,
+        wards: summary.wards,
         loading: false
       });
     } catch (error) {
@@ -3,7 +3,7 @@ import { useParams, useNavigate, Link } from 'react-router-dom';
 import { patientService } from '../../services/patientService';
 import { hospitalService } from '../../services/hospitalService';
 import { wardService } from '../../services/wardService';
-import { Patient, PatientRequest, Hospital, Ward } from '../../types';
+import { Patient, PatientRequest, Hospital, Ward, DuplicateCandidate } from '../../types';
 import { LoadingSpinner } from '../../components/common/LoadingSpinner';
 import { ErrorMessage } from '../../components/common/ErrorMessage';
 
@@ -17,6 +17,7 @@ export const PatientForm: React.FC = () => {
   const [hospitals, setHospitals] = useState<Hospital[]>([]);
   const [wards, setWards] = useState<Ward[]>([]);
   const [loadingOptions, setLoadingOptions] = useState(true);
+  const [possibleDuplicates, setPossibleDuplicates] = useState<DuplicateCandidate[]>([]);
 
   const [formData, setFormData] = useState<PatientRequest>({
     patientName: '',
@@ -89,7 +90,12 @@ export const PatientForm: React.FC = () => {
       if (isEdit && id) {
         await patientService.update(id, formData);
       } else {
-        await patientService.create(formData);
+        const created = await patientService.create(formData);
+        if (created.possibleDuplicates && created.possibleDuplicates.length > 0) {
+          // Keep the form open so the user can review the likely duplicates before moving on
+          setPossibleDuplicates(created.possibleDuplicates);
+          return;
+        }
       }
       navigate('/patients');
     } catch (err: any) {
@@ -146,6 +152,31 @@ export const PatientForm: React.FC = () => {
 
           {error && <ErrorMessage message={error} onDismiss={() => setError(null)} />}
 
+          {possibleDuplicates.length > 0 && (
+            <div className="mb-4 rounded-md bg-yellow-50 border border-yellow-200 p-4">
+              <p className="text-sm font-medium text-yellow-800">
+                The patient was created, but looks like an existing patient:
+              </p>
+              <ul className="mt-2 text-sm text-yellow-700 list-disc list-inside">
+                {possibleDuplicates.map(duplicate => (
+                  <li key={duplicate.patientId}>
+                    <Link to={`/patients/${duplicate.patientId}`} className="underline">
+                      {duplicate.patientName}
+                    </Link>
+                    {' '}({duplicate.dateOfBirth.split('T')[0]}, {Math.round(duplicate.score * 100)}% match)
+                  </li>
+                ))}
+              </ul>
+              <button
+                type="button"
+                onClick={() => navigate('/patients')}
+                className="mt-3 text-sm font-medium text-yellow-800 hover:text-yellow-900"
+              >
+                Continue to patients →
+              </button>
+            </div>
+          )}
+
           <form onSubmit={handleSubmit} className="space-y-6">
             <div>
               <label htmlFor="patientName" className="block text-sm font-medium text-gray-700">
@@ -257,7 +288,7 @@ export const PatientForm: React.FC = () => {
               </Link>
               <button
                 type="submit"
-                disabled={saving}
+                disabled={saving || possibleDuplicates.length > 0}
                 className="bg-blue-600 hover:bg-blue-700 text-white px-4 py-2 rounded-md disabled:opacity-50 disabled:cursor-not-allowed"
               >
                 {saving ? <LoadingSpinner size="small" /> : (isEdit ? 'Update' : 'Create')}
@@ -92,8 +92,12 @@ export const WardDetail: React.FC = () => {
               <dt className="text-sm font-medium text-gray-500">Max Capacity</dt>
               <dd className="mt-1 text-sm text-gray-900 sm:mt-0 sm:col-span-2">{ward.maxCapacity}</dd>
             </div>
+            <div className="bg-white px-4 py-5 sm:grid sm:grid-cols-3 sm:gap-4 sm:px-6">
+              <dt className="text-sm font-medium text-gray-500">Beds Occupied</dt>
+              <dd className="mt-1 text-sm text-gray-900 sm:mt-0 sm:col-span-2">{ward.occupancy ?? 0} / {ward.maxCapacity}</dd>
+            </div>
             {ward.hospitals && ward.hospitals.length > 0 && (
-              <div className="bg-white px-4 py-5 sm:grid sm:grid-cols-3 sm:gap-4 sm:px-6">
+              <div className="bg-gray-50 px-4 py-5 sm:grid sm:grid-cols-3 sm:gap-4 sm:px-6">
                 <dt className="text-sm font-medium text-gray-500">Hospitals</dt>
                 <dd className="mt-1 text-sm text-gray-900 sm:mt-0 sm:col-span-2">
                   <ul className="list-disc list-inside space-y-1">
@@ -1,5 +1,5 @@
 import api from './api';
-import { Patient, PatientRequest } from '../types';
+import { Patient, PatientCreated, PatientRequest } from '../types';
 
 export const patientService = {
   getAll: async (): Promise<Patient[]> => {
@@ -12,8 +12,8 @@ export const patientService = {
     return response.data;
   },
 
-  create: async (data: PatientRequest): Promise<Patient> => {
-    const response = await api.post<Patient>('/patients/create', data);
+  create: async (data: PatientRequest): Promise<PatientCreated> => {
+    const response = await api.post<PatientCreated>('/patients/create', data);
     return response.data;
   },
 
@@ -7,5 +7,19 @@ export const weatherService = {
     const response = await api.get<Weather>(url);
     return response.data;
   },
+
+  getWeatherForCities: async (cities: string[]): Promise<Record<string, Weather>> => {
+    const query = cities.map((city) => `city=${encodeURIComponent(city)}`).join('&');
+    const response = await api.get<Record<string, Weather>>(`/api/weather/batch?${query}`);
+    return response.data;
+  },
+
+  getWeatherForHospitals: async (): Promise<Record<string, Weather>> => {
+    const response = await api.get<Record<string, Weather>>('/api/weather/batch/hospitals');
+    if (response.status === 204 || !response.data) {
+      return {};
+    }
+    return response.data;
+  },
 };
 
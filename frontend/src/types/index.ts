@@ -13,7 +13,8 @@ export enum DoctorSpecialityType {
 export enum AppointmentStatusType {
   SCHEDULED = 'SCHEDULED',
   COMPLETED = 'COMPLETED',
-  CANCELLED = 'CANCELLED'
+  CANCELLED = 'CANCELLED',
+  NO_SHOW = 'NO_SHOW'
 }
 
 export interface LoginRequest {
@@ -41,6 +42,18 @@ export interface Patient {
   hospital?: Hospital;
 }
 
+// Response of POST /patients/create
+export interface PatientCreated extends Patient {
+  possibleDuplicates?: DuplicateCandidate[];
+}
+
+export interface DuplicateCandidate {
+  patientId: string;
+  patientName: string;
+  dateOfBirth: string;
+  score: number;
+}
+
 export interface PatientRequest {
   patientName: string;
   dateOfBirth: string; // ISO date string (YYYY-MM-DD)
@@ -67,6 +80,8 @@ export interface DoctorRequest {
 export interface Appointment {
   appointmentId: string;
   appointmentDate: string; // ISO date string
+  startTime?: string; // HH:mm:ss, absent for day-only appointments
+  durationMinutes?: number;
   reason?: string;
   status: AppointmentStatusType;
   patient?: Patient;
@@ -76,6 +91,8 @@ export interface Appointment {
 
 export interface AppointmentRequest {
   appointmentDate: string; // ISO date string (YYYY-MM-DD)
+  startTime?: string; // HH:mm
+  durationMinutes?: number;
   reason?: string;
   status: AppointmentStatusType;
   patientId?: string;
@@ -87,6 +104,7 @@ export interface Ward {
   wardId: string;
   type: WardType;
   maxCapacity: number;
+  occupancy?: number;
   hospitals?: Hospital[];
 }
 
@@ -153,6 +171,8 @@ export interface Weather {
   humidity: number;
   windSpeed: number;
   condition: string;
+  stale?: boolean;
+  unavailable?: boolean;
 }
 
 // Time Types
@@ -164,3 +184,16 @@ export interface Time {
   dayOfYear: number;
 }
 
+
+// Dashboard Types
+export interface DashboardSummary {
+  patients: number;
+  doctors: number;
+  nurses: number;
+  appointments: number;
+  hospitals: number;
+  wards: number;
+  patientsPerWard: Record<string, number>;
+  appointmentsTodayByStatus: Record<AppointmentStatusType, number>;
+  staffPerHospital: Record<string, number>;
+}
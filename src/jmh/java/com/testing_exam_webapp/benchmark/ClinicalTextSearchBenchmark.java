@@ -0,0 +1,77 @@
+package com.testing_exam_webapp.benchmark;
+
+import com.testing_exam_webapp.model.types.ClinicalTextType;
+import com.testing_exam_webapp.service.ClinicalTextIndex;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of GET /clinical-text/search, including snippet highlighting, over 200,000
+ * generated diagnosis and surgery descriptions: a common two-word query, a phrase, a prefix and
+ * a rare term.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClinicalTextSearchBenchmark {
+
+    private static final int DOCUMENTS = 200_000;
+    private static final String[] FINDINGS = {"fracture", "infection", "inflammation", "stenosis", "lesion",
+            "rupture", "obstruction", "hernia", "tumour", "ischaemia", "haemorrhage", "dislocation", "effusion"};
+    private static final String[] SITES = {"left femur", "right femur", "tibia", "lumbar spine", "appendix",
+            "gallbladder", "coronary artery", "left knee", "right shoulder", "colon", "lung", "kidney", "aorta"};
+    private static final String[] QUALIFIERS = {"acute", "chronic", "suspected", "recurrent", "mild", "severe",
+            "post-operative", "displaced", "partial", "bilateral"};
+    private static final String[] PROCEDURES = {"open reduction and internal fixation", "laparoscopic resection",
+            "arthroscopy", "bypass grafting", "drainage", "stent placement", "repair", "excision"};
+
+    @Param({"femur fracture", "\"lumbar spine\"", "haemorr*", "sarcoidosis"})
+    private String query;
+
+    private ClinicalTextIndex index;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        List<ClinicalTextIndex.ClinicalText> texts = new ArrayList<>(DOCUMENTS);
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < DOCUMENTS; i++) {
+            boolean surgery = i % 3 == 0;
+            String finding = pick(random, QUALIFIERS) + " " + pick(random, FINDINGS) + " of the " + pick(random, SITES);
+            String description = surgery
+                    ? pick(random, PROCEDURES) + " for " + finding + ". Patient tolerated the procedure well."
+                    : finding + ", " + pick(random, QUALIFIERS) + " " + pick(random, FINDINGS)
+                    + " noted on imaging. Follow-up in " + (1 + random.nextInt(12)) + " weeks.";
+            if (i % 50_000 == 0) {
+                description += " History of sarcoidosis.";
+            }
+            texts.add(new ClinicalTextIndex.ClinicalText(surgery ? ClinicalTextType.SURGERY : ClinicalTextType.DIAGNOSIS,
+                    new UUID(random.nextLong(), random.nextLong()), start.plusDays(random.nextInt(2000)),
+                    null, null, description));
+        }
+        index = new ClinicalTextIndex(new ByteBuffersDirectory());
+        index.rebuild(texts);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Benchmark
+    public ClinicalTextIndex.Page firstPage() throws IOException {
+        return index.search(query, null, 0, 20, 300);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
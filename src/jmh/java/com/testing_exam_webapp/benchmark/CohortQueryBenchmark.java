@@ -0,0 +1,66 @@
+package com.testing_exam_webapp.benchmark;
+
+import com.testing_exam_webapp.service.CohortQuery;
+import com.testing_exam_webapp.service.PatientCohortIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cohort queries over one million generated patients in 40 wards with 300 diagnoses and
+ * 400 000 surgeries, i.e. the in-memory part of GET /analytics/cohort.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class CohortQueryBenchmark {
+
+    private static final int PATIENTS = 1_000_000;
+    private static final int SURGERIES = 400_000;
+
+    @Param({"ward+diagnosis+quarter", "gender+born-range", "or-not"})
+    private String shape;
+
+    private PatientCohortIndex index;
+    private CohortQuery query;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        UUID[] wards = new UUID[40];
+        UUID[] diagnoses = new UUID[300];
+        Arrays.setAll(wards, i -> new UUID(1, i));
+        Arrays.setAll(diagnoses, i -> new UUID(2, i));
+        UUID[] patients = new UUID[PATIENTS];
+        index = new PatientCohortIndex();
+        for (int i = 0; i < PATIENTS; i++) {
+            patients[i] = new UUID(random.nextLong(), random.nextLong());
+            Set<UUID> patientDiagnoses = new HashSet<>();
+            for (int d = random.nextInt(4); d > 0; d--) {
+                patientDiagnoses.add(diagnoses[random.nextInt(diagnoses.length)]);
+            }
+            index.putPatient(new PatientCohortIndex.PatientFacts(patients[i], wards[random.nextInt(wards.length)],
+                    null, patientDiagnoses, random.nextBoolean() ? "Female" : "Male",
+                    LocalDate.of(1930 + random.nextInt(90), 1 + random.nextInt(12), 1)));
+        }
+        for (int i = 0; i < SURGERIES; i++) {
+            index.putSurgery(new PatientCohortIndex.SurgeryFact(UUID.randomUUID(), patients[random.nextInt(PATIENTS)],
+                    LocalDate.of(2022, 1, 1).plusDays(random.nextInt(4 * 365))));
+        }
+        query = CohortQuery.parse(switch (shape) {
+            case "ward+diagnosis+quarter" -> "ward:" + wards[3] + " AND diagnosis:" + diagnoses[7] + " AND surgery:2025-Q3";
+            case "gender+born-range" -> "gender:female AND born:1950..1969";
+            default -> "(ward:" + wards[1] + " OR ward:" + wards[2] + ") AND NOT surgery:2024 AND NOT gender:male";
+        });
+    }
+
+    @Benchmark
+    public PatientCohortIndex.Result cohort() {
+        return index.evaluate(query, 100);
+    }
+}
@@ -0,0 +1,65 @@
+package com.testing_exam_webapp.benchmark;
+
+import com.testing_exam_webapp.dto.FreeSlot;
+import com.testing_exam_webapp.repository.projection.BookedInterval;
+import com.testing_exam_webapp.service.FreeSlotCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Two-week free-slot search across 50 doctors with a realistic number of bookings each,
+ * i.e. the in-memory part of GET /appointments/free-slots/by-speciality.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FreeSlotSearchBenchmark {
+
+    private static final int DOCTORS = 50;
+    private static final LocalDate FROM = LocalDate.of(2026, 10, 19);
+    private static final LocalDate TO = FROM.plusDays(13);
+
+    private record Booking(UUID getClinicianId, LocalDateTime getStartsAt, LocalDateTime getEndsAt)
+            implements BookedInterval {
+    }
+
+    private FreeSlotCalculator calculator;
+    private Map<UUID, List<Booking>> bookingsByDoctor;
+
+    @Setup
+    public void setUp() {
+        calculator = new FreeSlotCalculator(LocalTime.of(8, 0), LocalTime.of(16, 0),
+                EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY));
+        Random random = new Random(42);
+        bookingsByDoctor = new LinkedHashMap<>();
+        for (int d = 0; d < DOCTORS; d++) {
+            UUID doctorId = UUID.randomUUID();
+            List<Booking> bookings = new ArrayList<>();
+            for (LocalDate date = FROM; !date.isAfter(TO); date = date.plusDays(1)) {
+                // Roughly ten 15-45 minute appointments per day
+                for (int i = 0; i < 10; i++) {
+                    LocalDateTime start = date.atTime(8, 0).plusMinutes(random.nextInt(96) * 5L);
+                    bookings.add(new Booking(doctorId, start, start.plusMinutes(15 + random.nextInt(7) * 5L)));
+                }
+            }
+            bookingsByDoctor.put(doctorId, bookings);
+        }
+    }
+
+    @Benchmark
+    public List<FreeSlot> twoWeeksFiftyDoctors() {
+        LocalDateTime notBefore = FROM.atStartOfDay();
+        List<FreeSlot> slots = new ArrayList<>();
+        for (Map.Entry<UUID, List<Booking>> entry : bookingsByDoctor.entrySet()) {
+            slots.addAll(calculator.freeSlots(entry.getKey(), entry.getValue(), FROM, TO, 30, notBefore));
+        }
+        slots.sort(Comparator.comparing(FreeSlot::start));
+        return slots;
+    }
+}
@@ -0,0 +1,54 @@
+package com.testing_exam_webapp.benchmark;
+
+import com.testing_exam_webapp.service.NameTrigramIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Name search over one million generated patient names, i.e. the in-memory part of
+ * GET /patients/search, for a prefix query, a full name and a misspelled name.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class PatientNameSearchBenchmark {
+
+    private static final int PATIENTS = 1_000_000;
+    private static final String[] FIRST_NAMES = {"Anna", "Jens", "Mette", "Lars", "Sofie", "Mikkel", "Ida",
+            "Frederik", "Clara", "Søren", "Emma", "Mads", "Freja", "Christian", "Laura", "Rasmus", "Julie",
+            "Henrik", "Camilla", "Johan", "Karen", "Niels", "Line", "Peter"};
+    private static final String[] LAST_NAMES = {"Jensen", "Nielsen", "Hansen", "Pedersen", "Andersen",
+            "Christensen", "Larsen", "Sørensen", "Rasmussen", "Jørgensen", "Petersen", "Madsen", "Kristensen",
+            "Olsen", "Thomsen", "Christiansen", "Poulsen", "Johansen", "Møller", "Mortensen"};
+
+    @Param({"mik", "frederik møller", "anna larsn"})
+    private String query;
+
+    private NameTrigramIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Map<UUID, String> names = new HashMap<>(PATIENTS * 2);
+        for (int i = 0; i < PATIENTS; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            // A third of the patients have a middle name, and a few a made-up surname
+            String middle = random.nextInt(3) == 0 ? FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " : "";
+            String surname = random.nextInt(10) == 0 ? last + Integer.toString(random.nextInt(50_000), 36) : last;
+            names.put(new UUID(random.nextLong(), random.nextLong()), first + " " + middle + surname);
+        }
+        index = new NameTrigramIndex();
+        index.rebuild(names);
+    }
+
+    @Benchmark
+    public List<NameTrigramIndex.Hit> searchTop20() {
+        return index.search(query, 20);
+    }
+}
@@ -0,0 +1,101 @@
+package com.testing_exam_webapp.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testing_exam_webapp.dto.OpenWeatherResponse;
+import com.testing_exam_webapp.dto.TimeDto;
+import com.testing_exam_webapp.dto.WeatherDto;
+import com.testing_exam_webapp.dto.WorldTimeResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the old generic Map-tree mapping of upstream weather/time payloads with the
+ * typed records that Jackson binds directly. Run with the gc profiler (enabled in
+ * build.gradle) and compare gc.alloc.rate.norm to see the allocation per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpstreamResponseMappingBenchmark {
+
+    private static final String WEATHER_JSON = """
+            {"coord":{"lon":12.5655,"lat":55.6759},
+             "weather":[{"id":803,"main":"Clouds","description":"broken clouds","icon":"04d"}],
+             "base":"stations",
+             "main":{"temp":14.2,"feels_like":13.6,"temp_min":13.1,"temp_max":15.0,"pressure":1012,"humidity":72},
+             "visibility":10000,
+             "wind":{"speed":5.66,"deg":250},
+             "clouds":{"all":75},
+             "dt":1697623200,
+             "sys":{"type":2,"id":2035645,"country":"DK","sunrise":1697608163,"sunset":1697645152},
+             "timezone":7200,"id":2618425,"name":"Copenhagen","cod":200}
+            """;
+
+    private static final String TIME_JSON = """
+            {"abbreviation":"CEST","client_ip":"127.0.0.1","datetime":"2026-10-18T12:00:00.000000+02:00",
+             "day_of_week":0,"day_of_year":291,"dst":true,"dst_from":"2026-03-29T01:00:00+00:00",
+             "dst_offset":3600,"dst_until":"2026-10-25T01:00:00+00:00","raw_offset":3600,
+             "timezone":"Europe/Copenhagen","unixtime":1792317600,"utc_datetime":"2026-10-18T10:00:00+00:00",
+             "utc_offset":"+02:00","week_number":42}
+            """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Benchmark
+    public WeatherDto weatherTyped() throws Exception {
+        return objectMapper.readValue(WEATHER_JSON, OpenWeatherResponse.class).toWeatherDto("Copenhagen");
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public WeatherDto weatherMapTree() throws Exception {
+        Map<String, Object> response = objectMapper.readValue(WEATHER_JSON, Map.class);
+        WeatherDto dto = new WeatherDto();
+        dto.setCity("Copenhagen");
+        Map<String, Object> sys = (Map<String, Object>) response.get("sys");
+        if (sys != null) {
+            dto.setCountry((String) sys.get("country"));
+        }
+        Map<String, Object> main = (Map<String, Object>) response.get("main");
+        if (main != null) {
+            dto.setTemperature(((Number) main.get("temp")).doubleValue());
+            dto.setHumidity(((Number) main.get("humidity")).doubleValue());
+        }
+        List<Map<String, Object>> weatherList = (List<Map<String, Object>>) response.get("weather");
+        if (weatherList != null && !weatherList.isEmpty()) {
+            Map<String, Object> weather = weatherList.get(0);
+            dto.setDescription((String) weather.get("description"));
+            dto.setCondition((String) weather.get("main"));
+            dto.setIcon((String) weather.get("icon"));
+        }
+        Map<String, Object> wind = (Map<String, Object>) response.get("wind");
+        if (wind != null) {
+            dto.setWindSpeed(((Number) wind.get("speed")).doubleValue());
+        }
+        return dto;
+    }
+
+    @Benchmark
+    public TimeDto timeTyped() throws Exception {
+        return objectMapper.readValue(TIME_JSON, WorldTimeResponse.class).toTimeDto();
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public TimeDto timeMapTree() throws Exception {
+        Map<String, Object> response = objectMapper.readValue(TIME_JSON, Map.class);
+        TimeDto dto = new TimeDto();
+        dto.setDatetime((String) response.get("datetime"));
+        dto.setTimezone((String) response.get("timezone"));
+        dto.setAbbreviation((String) response.get("abbreviation"));
+        dto.setDayOfWeek(((Number) response.get("day_of_week")).intValue());
+        dto.setDayOfYear(((Number) response.get("day_of_year")).intValue());
+        return dto;
+    }
+}
@@ -0,0 +1,92 @@
+package com.testing_exam_webapp.config;
+
+import com.testing_exam_webapp.controller.ConditionalGet;
+import com.testing_exam_webapp.model.types.EntityTable;
+import com.testing_exam_webapp.service.ChangeCounters;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.env.Environment;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers conditional GETs on {@link ConditionalGet} endpoints from the change counters. The
+ * current token is read before the handler loads anything; if {@code If-None-Match} carries it,
+ * the response is a bare 304. Otherwise the token becomes the ETag (entity endpoints prefix it
+ * with the version, see {@code EntityTags}) and the resource's Cache-Control is set, which also
+ * keeps Spring Security from marking the response {@code no-store}.
+ * <p>
+ * The counters move when the primary commits, so a lagging replica could serve an older body
+ * under the current ETag. The handler therefore only reads replicas that have caught up with the
+ * last change of the resource's tables; for a table that changed within the replicas' lag it
+ * reads the primary.
+ * <p>
+ * Runs after authentication but before method security; every role may read these endpoints.
+ */
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+    public static final String TOKEN_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".token";
+
+    private final ChangeCounters changeCounters;
+    private final Map<EntityTable, CacheControl> cacheControls = new EnumMap<>(EntityTable.class);
+
+    public ConditionalGetInterceptor(ChangeCounters changeCounters, Environment environment) {
+        this.changeCounters = changeCounters;
+        for (EntityTable table : EntityTable.values()) {
+            long maxAge = environment.getProperty("app.http.max-age." + table.name().toLowerCase(Locale.ROOT),
+                    Long.class, 0L);
+            CacheControl cacheControl = maxAge > 0 ? CacheControl.maxAge(maxAge, TimeUnit.SECONDS) : CacheControl.noCache();
+            cacheControls.put(table, cacheControl.cachePrivate());
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method)
+                || !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))) {
+            return true;
+        }
+        ConditionalGet conditional = method.getMethodAnnotation(ConditionalGet.class);
+        if (conditional == null) {
+            return true;
+        }
+        String token = changeCounters.token(conditional.value());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControls.get(conditional.value()).getHeaderValue());
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (ETag tag : ETag.parse(ifNoneMatch)) {
+                if (!tag.isWildcard() && token.equals(tokenOf(tag.tag()))) {
+                    response.setHeader(HttpHeaders.ETAG, tag.formattedTag());
+                    response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                    return false;
+                }
+            }
+        }
+        request.setAttribute(TOKEN_ATTRIBUTE, token);
+        response.setHeader(HttpHeaders.ETAG, "\"" + token + "\"");
+        ReplicaRoutingDataSource.requireCaughtUpTo(changeCounters.changedAt(conditional.value()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRoutingDataSource.clearCaughtUpRequirement();
+    }
+
+    /**
+     * The counter part of a tag; entity tags are {@code version:token}, list tags just the token.
+     */
+    static String tokenOf(String tag) {
+        return tag.substring(tag.indexOf(':') + 1);
+    }
+}
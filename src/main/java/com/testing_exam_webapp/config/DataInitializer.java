@@ -88,7 +88,7 @@ public class DataInitializer implements CommandLineRunner {
                 }
                 rigshospitaletWards.add(cardiologyWard);
                 rigshospitalet.setWards(rigshospitaletWards);
-                hospitalRepository.save(rigshospitalet);
+                rigshospitalet = hospitalRepository.save(rigshospitalet);
 
                 // Neurology Ward (associated with Rigshospitalet)
                 Ward neurologyWard = new Ward();
@@ -100,7 +100,7 @@ public class DataInitializer implements CommandLineRunner {
                 // Add ward to Rigshospitalet
                 rigshospitaletWards.add(neurologyWard);
                 rigshospitalet.setWards(rigshospitaletWards);
-                hospitalRepository.save(rigshospitalet);
+                rigshospitalet = hospitalRepository.save(rigshospitalet);
 
                 // General Medicine Ward (associated with Aarhus Universitetshospital)
                 Ward generalMedicineWard = new Ward();
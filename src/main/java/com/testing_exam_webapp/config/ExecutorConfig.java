@@ -0,0 +1,43 @@
+package com.testing_exam_webapp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Bounded pool for fanning independent read queries out in parallel within one request.
+     * Kept smaller than the JDBC connection pool so parallel requests cannot starve it.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService queryExecutor(@Value("${app.query-executor.threads:6}") int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "query-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Fork-join pool for report jobs, which split per hospital and per query. Its workers block
+     * on JDBC, so the parallelism is kept small to leave connections for request threads.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool reportPool(@Value("${app.reports.parallelism:3}") int parallelism) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("report-" + threadCount.incrementAndGet());
+            return thread;
+        }, null, false);
+    }
+}
@@ -0,0 +1,103 @@
+package com.testing_exam_webapp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the single auto-configured data source with primary + replicas when
+ * {@code app.datasource.replica-urls} is set.
+ * <p>
+ * The application data source is a {@link LazyConnectionDataSourceProxy}: it fetches the real
+ * connection on the first statement, once the transaction has started, and takes it from
+ * {@link ReplicaRoutingDataSource} when that transaction is read-only. So
+ * {@code @Transactional(readOnly = true)} work goes to a replica and everything else, including
+ * reads outside a transaction, to the primary. Hibernate must release connections after each
+ * transaction for this to decide per transaction, see {@code hibernate.connection.handling_mode}
+ * in application.properties. With that mode Hibernate never marks the connection read-only
+ * itself, so the decision reads the transaction's flag rather than the connection's.
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replica-urls:}'.isBlank()")
+public class ReplicaDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            @Value("${app.datasource.replica-urls}") List<String> replicaUrls,
+            @Value("${app.datasource.replica-username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replica-password:${spring.datasource.password:}}") String password,
+            @Value("${app.datasource.replica-max-lag-seconds:5}") long maxLagSeconds,
+            @Value("${app.datasource.replica-lag-query:SHOW REPLICA STATUS}") String lagQuery) {
+        DataSource primary = pooled(properties.initializeDataSourceBuilder().build(), environment);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            DataSource replica = DataSourceBuilder.create()
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(url.trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            replicas.put("replica-" + (replicas.size() + 1), pooled(replica, environment));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, maxLagSeconds, lagQuery);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(new ReadOnlyTransactionDataSource(replicaRoutingDataSource));
+    }
+
+    /**
+     * Replica connections inside read-only transactions, primary connections otherwise.
+     */
+    static final class ReadOnlyTransactionDataSource extends AbstractDataSource {
+        private final ReplicaRoutingDataSource replicas;
+
+        ReadOnlyTransactionDataSource(ReplicaRoutingDataSource replicas) {
+            this.replicas = replicas;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return target().getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return target().getConnection(username, password);
+        }
+
+        private DataSource target() {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? replicas : replicas.getPrimary();
+        }
+    }
+
+    /**
+     * Applies the {@code spring.datasource.hikari.*} pool settings, which Boot only binds to the
+     * data source it creates itself.
+     */
+    private static DataSource pooled(DataSource dataSource, Environment environment) {
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        return dataSource;
+    }
+}
@@ -0,0 +1,228 @@
+package com.testing_exam_webapp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Data source for read-only connections. Each connection comes from the replica with the fewest
+ * connections in use among those within the lag limit, rotating between equally busy ones, and
+ * from the primary when no replica qualifies or the chosen one cannot be reached.
+ * <p>
+ * Lag is measured on a schedule with {@code lagQuery}. On MySQL {@code SHOW REPLICA STATUS}
+ * yields {@code Seconds_Behind_Source}; a NULL there means replication is stopped. An empty
+ * result means the database is not a replica at all, e.g. a second local database in
+ * development, and counts as in sync. Replicas start out of rotation until their first check.
+ * <p>
+ * Each check also tells how far a replica has caught up: everything the primary committed more
+ * than the measured lag (plus a second, as the lag is whole seconds) before the check. Work that
+ * must not miss a given commit, such as a response whose ETag was taken from the change
+ * counters, calls {@link #requireCaughtUpTo(long)} and only reads replicas known to have it; if
+ * none has, it reads the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final List<String> LAG_COLUMNS = List.of("Seconds_Behind_Source", "Seconds_Behind_Master");
+    private static final ThreadLocal<Long> REQUIRED_COMMIT = ThreadLocal.withInitial(() -> Long.MIN_VALUE);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagSeconds;
+    private final String lagQuery;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, long maxLagSeconds,
+                                    String lagQuery) {
+        if (maxLagSeconds < 0) {
+            throw new IllegalArgumentException("Replica max lag cannot be negative");
+        }
+        this.primary = primary;
+        this.replicas = new ArrayList<>();
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagQuery = lagQuery;
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    /**
+     * Restricts this thread's read-only connections to replicas that have applied everything the
+     * primary committed up to the given time (epoch millis), until {@link #clearCaughtUpRequirement()}.
+     */
+    public static void requireCaughtUpTo(long committedAt) {
+        REQUIRED_COMMIT.set(committedAt);
+    }
+
+    public static void clearCaughtUpRequirement() {
+        REQUIRED_COMMIT.remove();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = select(REQUIRED_COMMIT.get());
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return track(replica, replica.dataSource.getConnection());
+        } catch (SQLException e) {
+            // Take it out of rotation until the next lag check finds it reachable again
+            replica.healthy = false;
+            log.warn("Replica {} unavailable, reading from primary: {}", replica.name, e.toString());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Read connections always use the configured replica credentials");
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica-lag-check-ms:5000}")
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            long checkedAt = System.currentTimeMillis();
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery(lagQuery)) {
+                Long lag = result.next() ? lagSeconds(result) : Long.valueOf(0);
+                healthy = lag != null && lag <= maxLagSeconds;
+                if (healthy) {
+                    replica.appliedThrough = checkedAt - (lag + 1) * 1000;
+                }
+                if (!healthy && replica.healthy) {
+                    log.warn("Replica {} out of rotation, lag {} s exceeds {} s", replica.name,
+                            lag == null ? "unknown" : lag, maxLagSeconds);
+                }
+            } catch (SQLException e) {
+                healthy = false;
+                if (replica.healthy) {
+                    log.warn("Replica {} out of rotation: {}", replica.name, e.toString());
+                }
+            }
+            if (healthy && !replica.healthy) {
+                log.info("Replica {} in rotation", replica.name);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    /**
+     * Replicas currently in rotation, for monitoring and tests.
+     */
+    public List<String> getHealthyReplicas() {
+        return replicas.stream().filter(replica -> replica.healthy).map(replica -> replica.name).toList();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeIfPossible(primary);
+        for (Replica replica : replicas) {
+            closeIfPossible(replica.dataSource);
+        }
+    }
+
+    /**
+     * The healthy replica with the fewest connections in use among those that have applied the
+     * required commit, scanning from a rotating start so equally busy replicas take turns; null
+     * when none qualifies.
+     */
+    private Replica select(long requiredCommit) {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        Replica best = null;
+        for (int i = 0; i < size; i++) {
+            Replica candidate = replicas.get((start + i) % size);
+            if (candidate.healthy && candidate.appliedThrough >= requiredCommit && (best == null || candidate.inUse.get() < best.inUse.get())) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private static Long lagSeconds(ResultSet result) throws SQLException {
+        ResultSetMetaData metaData = result.getMetaData();
+        int column = 1;
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (LAG_COLUMNS.contains(metaData.getColumnLabel(i))) {
+                column = i;
+                break;
+            }
+        }
+        long lag = result.getLong(column);
+        return result.wasNull() ? null : lag;
+    }
+
+    /**
+     * Counts the connection against the replica until it is closed.
+     */
+    private static Connection track(Replica replica, Connection connection) {
+        replica.inUse.incrementAndGet();
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        default -> {
+                        }
+                    }
+                    if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+                        replica.inUse.decrementAndGet();
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    private static void closeIfPossible(DataSource dataSource) throws IOException {
+        if (dataSource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final AtomicInteger inUse = new AtomicInteger();
+        private volatile boolean healthy;
+        // Epoch millis up to which the primary's commits are known to have been applied
+        private volatile long appliedThrough = Long.MIN_VALUE;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.testing_exam_webapp.config;
+
+import org.hibernate.SessionEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Counts transactions, JDBC statements and flush work of one Hibernate session and logs them at
+ * DEBUG when the session closes. With open-in-view a session spans the whole request, so each
+ * line shows what one request cost. Hibernate creates an instance per session; it is registered
+ * through {@code hibernate.session.events.auto}.
+ */
+public class SessionMetricsListener implements SessionEventListener {
+    private static final Logger log = LoggerFactory.getLogger(SessionMetricsListener.class);
+
+    private int commits;
+    private int rollbacks;
+    private int statements;
+    private int flushes;
+    private int flushedEntities;
+    private long flushNanos;
+    private long flushStarted;
+
+    @Override
+    public void transactionCompletion(boolean successful) {
+        if (successful) {
+            commits++;
+        } else {
+            rollbacks++;
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        statements++;
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        statements++;
+    }
+
+    @Override
+    public void flushStart() {
+        flushStarted = System.nanoTime();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        flushes++;
+        flushedEntities += numberOfEntities;
+        flushNanos += System.nanoTime() - flushStarted;
+    }
+
+    @Override
+    public void end() {
+        if (log.isDebugEnabled() && (statements > 0 || commits + rollbacks > 0)) {
+            log.debug(summary());
+        }
+    }
+
+    String summary() {
+        return commits + " commits, " + rollbacks + " rollbacks, " + statements + " statements, "
+                + flushes + " flushes of " + flushedEntities + " entities in " + flushNanos / 1_000 + " us";
+    }
+}
@@ -0,0 +1,103 @@
+package com.testing_exam_webapp.config;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+
+/**
+ * Keeps the application to one running instance per database. The change counters behind
+ * conditional GETs and the in-memory indexes (patient search, duplicates, cohorts, active
+ * prescriptions, expiry digest) live in the process and only see writes made through it, so a
+ * second instance would answer with stale 304s and stale index results.
+ * <p>
+ * The instance holds a lease row in the primary, renewed on a schedule, and refuses to start
+ * while another process holds an unexpired one. The lease is taken before Hibernate sets up the
+ * schema, which with {@code ddl-auto=create-drop} would otherwise wipe the running instance's
+ * data first. A process that dies without releasing it blocks new instances until it expires.
+ */
+@Component
+public class SingleInstanceLease {
+    private static final Logger log = LoggerFactory.getLogger(SingleInstanceLease.class);
+    private static final String LEASE = "application";
+    // pid@host, shared by every context in this JVM
+    private static final String PROCESS = ManagementFactory.getRuntimeMXBean().getName();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long leaseMillis;
+    private final String holder;
+    private final Clock clock;
+
+    @Autowired
+    public SingleInstanceLease(DataSource dataSource, @Value("${app.instance.lease-ms:30000}") long leaseMillis) {
+        this(dataSource, leaseMillis, PROCESS, Clock.systemDefaultZone());
+        acquire();
+    }
+
+    SingleInstanceLease(DataSource dataSource, long leaseMillis, String holder, Clock clock) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.leaseMillis = leaseMillis;
+        this.holder = holder;
+        this.clock = clock;
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS instance_lease (lease_name VARCHAR(64) PRIMARY KEY, "
+                + "holder VARCHAR(255) NOT NULL, expires_at BIGINT NOT NULL)");
+    }
+
+    /**
+     * Takes the lease, or extends it when this process already holds it.
+     *
+     * @throws IllegalStateException if another process holds an unexpired lease
+     */
+    void acquire() {
+        long now = clock.millis();
+        int taken = jdbcTemplate.update("UPDATE instance_lease SET holder = ?, expires_at = ? "
+                + "WHERE lease_name = ? AND (holder = ? OR expires_at < ?)", holder, now + leaseMillis, LEASE, holder, now);
+        if (taken > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO instance_lease (lease_name, holder, expires_at) VALUES (?, ?, ?)",
+                    LEASE, holder, now + leaseMillis);
+        } catch (DuplicateKeyException e) {
+            String other = jdbcTemplate.queryForObject("SELECT holder FROM instance_lease WHERE lease_name = ?",
+                    String.class, LEASE);
+            throw new IllegalStateException("Another instance (" + other + ") is running against this database; "
+                    + "run a single instance, its change counters and indexes are in memory");
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.instance.lease-renew-ms:10000}",
+            fixedDelayString = "${app.instance.lease-renew-ms:10000}")
+    public void renew() {
+        try {
+            acquire();
+        } catch (IllegalStateException e) {
+            log.error("Instance lease lost; another instance took over after it expired", e);
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        jdbcTemplate.update("DELETE FROM instance_lease WHERE lease_name = ? AND holder = ?", LEASE, holder);
+    }
+
+    /**
+     * Makes the entity manager factory, and so Hibernate's schema setup, wait for the lease.
+     */
+    @Component
+    static class AcquiredBeforeSchema extends EntityManagerFactoryDependsOnPostProcessor {
+        AcquiredBeforeSchema() {
+            super(SingleInstanceLease.class);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.testing_exam_webapp.controller;
+
+import com.testing_exam_webapp.dto.CohortResult;
+import com.testing_exam_webapp.dto.DoctorWorkloadWeek;
+import com.testing_exam_webapp.dto.HospitalWorkloadWeek;
+import com.testing_exam_webapp.dto.SpecialityWorkloadWeek;
+import com.testing_exam_webapp.model.types.DoctorSpecialityType;
+import com.testing_exam_webapp.service.CohortService;
+import com.testing_exam_webapp.service.DoctorWorkloadService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/analytics")
+public class AnalyticsController {
+
+    private final CohortService cohortService;
+    private final DoctorWorkloadService doctorWorkloadService;
+
+    public AnalyticsController(CohortService cohortService, DoctorWorkloadService doctorWorkloadService) {
+        this.cohortService = cohortService;
+        this.doctorWorkloadService = doctorWorkloadService;
+    }
+
+    @GetMapping("/cohort")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<CohortResult> getCohort(@RequestParam String q,
+                                                  @RequestParam(defaultValue = "100") int limit) {
+        CohortResult result = cohortService.query(q, limit);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @GetMapping("/workload/doctors")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<DoctorWorkloadWeek>> getDoctorWorkload(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) UUID hospitalId,
+            @RequestParam(required = false) DoctorSpecialityType speciality) {
+        List<DoctorWorkloadWeek> weeks = doctorWorkloadService.getDoctorWorkload(from, to, hospitalId, speciality);
+        if (weeks.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(weeks, HttpStatus.OK);
+    }
+
+    @GetMapping("/workload/hospitals")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<HospitalWorkloadWeek>> getHospitalWorkload(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) DoctorSpecialityType speciality) {
+        List<HospitalWorkloadWeek> weeks = doctorWorkloadService.getHospitalWorkload(from, to, speciality);
+        if (weeks.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(weeks, HttpStatus.OK);
+    }
+
+    @GetMapping("/workload/specialities")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<SpecialityWorkloadWeek>> getSpecialityWorkload(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) UUID hospitalId) {
+        List<SpecialityWorkloadWeek> weeks = doctorWorkloadService.getSpecialityWorkload(from, to, hospitalId);
+        if (weeks.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(weeks, HttpStatus.OK);
+    }
+
+    @PostMapping("/workload/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Integer> backfillWorkload(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        int weeks = from == null && to == null
+                ? doctorWorkloadService.backfill()
+                : doctorWorkloadService.backfill(from, to);
+        return new ResponseEntity<>(weeks, HttpStatus.OK);
+    }
+}
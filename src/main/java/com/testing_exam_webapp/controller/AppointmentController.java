@@ -1,11 +1,16 @@
 package com.testing_exam_webapp.controller;
 
 import com.testing_exam_webapp.dto.AppointmentRequest;
+import com.testing_exam_webapp.dto.FreeSlot;
 import com.testing_exam_webapp.model.mysql.Appointment;
 import com.testing_exam_webapp.model.types.AppointmentStatusType;
+import com.testing_exam_webapp.model.types.DoctorSpecialityType;
+import com.testing_exam_webapp.model.types.EntityTable;
 import com.testing_exam_webapp.service.AppointmentService;
+import com.testing_exam_webapp.service.FreeSlotService;
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -20,12 +25,15 @@ import java.util.UUID;
 public class AppointmentController {
 
     private final AppointmentService appointmentService;
+    private final FreeSlotService freeSlotService;
 
-    public AppointmentController(AppointmentService appointmentService) {
+    public AppointmentController(AppointmentService appointmentService, FreeSlotService freeSlotService) {
         this.appointmentService = appointmentService;
+        this.freeSlotService = freeSlotService;
     }
 
     @GetMapping("/all")
+    @ConditionalGet(EntityTable.APPOINTMENTS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Appointment>> getAppointments() {
         List<Appointment> appointments = appointmentService.getAppointments();
@@ -36,24 +44,26 @@ public class AppointmentController {
     }
 
     @GetMapping("/{id}")
+    @ConditionalGet(EntityTable.APPOINTMENTS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<Appointment> getAppointmentById(@PathVariable UUID id) {
         Appointment appointment = appointmentService.getAppointmentById(id);
-        return new ResponseEntity<>(appointment, HttpStatus.OK);
+        return new ResponseEntity<>(appointment, EntityTags.of(appointment.getVersion()), HttpStatus.OK);
     }
 
     @PostMapping("/create")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<Appointment> createAppointment(@Valid @RequestBody AppointmentRequest request) {
         Appointment appointment = appointmentService.createAppointment(request);
-        return new ResponseEntity<>(appointment, HttpStatus.CREATED);
+        return new ResponseEntity<>(appointment, EntityTags.of(appointment.getVersion()), HttpStatus.CREATED);
     }
 
     @PutMapping("/update/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Appointment> updateAppointment(@PathVariable UUID id, @Valid @RequestBody AppointmentRequest request) {
-        Appointment appointment = appointmentService.updateAppointment(id, request);
-        return new ResponseEntity<>(appointment, HttpStatus.OK);
+    public ResponseEntity<Appointment> updateAppointment(@PathVariable UUID id, @Valid @RequestBody AppointmentRequest request,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Appointment appointment = appointmentService.updateAppointment(id, request, EntityTags.expectedVersion(ifMatch));
+        return new ResponseEntity<>(appointment, EntityTags.of(appointment.getVersion()), HttpStatus.OK);
     }
 
     @DeleteMapping("/delete/{id}")
@@ -65,6 +75,7 @@ public class AppointmentController {
 
     // Query endpoints
     @GetMapping("/by-patient/{patientId}")
+    @ConditionalGet(EntityTable.APPOINTMENTS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Appointment>> getAppointmentsByPatientId(@PathVariable UUID patientId) {
         List<Appointment> appointments = appointmentService.getAppointmentsByPatientId(patientId);
@@ -75,6 +86,7 @@ public class AppointmentController {
     }
 
     @GetMapping("/by-doctor/{doctorId}")
+    @ConditionalGet(EntityTable.APPOINTMENTS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Appointment>> getAppointmentsByDoctorId(@PathVariable UUID doctorId) {
         List<Appointment> appointments = appointmentService.getAppointmentsByDoctorId(doctorId);
@@ -85,6 +97,7 @@ public class AppointmentController {
     }
 
     @GetMapping("/by-nurse/{nurseId}")
+    @ConditionalGet(EntityTable.APPOINTMENTS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Appointment>> getAppointmentsByNurseId(@PathVariable UUID nurseId) {
         List<Appointment> appointments = appointmentService.getAppointmentsByNurseId(nurseId);
@@ -95,6 +108,7 @@ public class AppointmentController {
     }
 
     @GetMapping("/by-status/{status}")
+    @ConditionalGet(EntityTable.APPOINTMENTS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Appointment>> getAppointmentsByStatus(@PathVariable AppointmentStatusType status) {
         List<Appointment> appointments = appointmentService.getAppointmentsByStatus(status);
@@ -105,6 +119,7 @@ public class AppointmentController {
     }
 
     @GetMapping("/by-date/{date}")
+    @ConditionalGet(EntityTable.APPOINTMENTS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Appointment>> getAppointmentsByDate(
             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
@@ -116,6 +131,7 @@ public class AppointmentController {
     }
 
     @GetMapping("/by-date-range")
+    @ConditionalGet(EntityTable.APPOINTMENTS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Appointment>> getAppointmentsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
@@ -126,4 +142,35 @@ public class AppointmentController {
         }
         return new ResponseEntity<>(appointments, HttpStatus.OK);
     }
+
+    @GetMapping("/free-slots")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<FreeSlot>> getFreeSlots(
+            @RequestParam UUID doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "30") int duration,
+            @RequestParam(defaultValue = "100") int limit) {
+        List<FreeSlot> slots = freeSlotService.findFreeSlots(doctorId, from, to, duration, limit);
+        if (slots.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(slots, HttpStatus.OK);
+    }
+
+    @GetMapping("/free-slots/by-speciality")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<FreeSlot>> getFreeSlotsBySpeciality(
+            @RequestParam DoctorSpecialityType speciality,
+            @RequestParam UUID wardId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "30") int duration,
+            @RequestParam(defaultValue = "100") int limit) {
+        List<FreeSlot> slots = freeSlotService.findFreeSlotsBySpeciality(speciality, wardId, from, to, duration, limit);
+        if (slots.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(slots, HttpStatus.OK);
+    }
 }
@@ -0,0 +1,37 @@
+package com.testing_exam_webapp.controller;
+
+import com.testing_exam_webapp.dto.ClinicalTextPage;
+import com.testing_exam_webapp.model.types.ClinicalTextType;
+import com.testing_exam_webapp.service.ClinicalTextSearchService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/clinical-text")
+public class ClinicalTextController {
+
+    private final ClinicalTextSearchService clinicalTextSearchService;
+
+    public ClinicalTextController(ClinicalTextSearchService clinicalTextSearchService) {
+        this.clinicalTextSearchService = clinicalTextSearchService;
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<ClinicalTextPage> search(@RequestParam String q,
+                                                   @RequestParam(required = false) ClinicalTextType type,
+                                                   @RequestParam(defaultValue = "0") int page,
+                                                   @RequestParam(defaultValue = "20") int size) {
+        ClinicalTextPage result = clinicalTextSearchService.search(q, type, page, size);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Integer> rebuild() {
+        int indexed = clinicalTextSearchService.rebuild();
+        return new ResponseEntity<>(indexed, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,21 @@
+package com.testing_exam_webapp.controller;
+
+import com.testing_exam_webapp.model.types.EntityTable;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET endpoint whose response depends only on the rows of the given resource's table
+ * and the tables nested in it. Such responses get an entity tag from the change counters and
+ * the resource's Cache-Control policy, and a matching {@code If-None-Match} is answered with
+ * 304 before the handler runs. Not for responses that also depend on the clock or on
+ * in-memory state rebuilt outside of writes.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+    EntityTable value();
+}
@@ -0,0 +1,28 @@
+package com.testing_exam_webapp.controller;
+
+import com.testing_exam_webapp.dto.DashboardSummary;
+import com.testing_exam_webapp.service.DashboardService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    @GetMapping("/summary")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<DashboardSummary> getSummary() {
+        DashboardSummary summary = dashboardService.getSummary();
+        return new ResponseEntity<>(summary, HttpStatus.OK);
+    }
+}
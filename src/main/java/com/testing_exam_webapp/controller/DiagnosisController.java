@@ -2,8 +2,10 @@ package com.testing_exam_webapp.controller;
 
 import com.testing_exam_webapp.dto.DiagnosisRequest;
 import com.testing_exam_webapp.model.mysql.Diagnosis;
+import com.testing_exam_webapp.model.types.EntityTable;
 import com.testing_exam_webapp.service.DiagnosisService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -23,6 +25,7 @@ public class DiagnosisController {
     }
 
     @GetMapping("/all")
+    @ConditionalGet(EntityTable.DIAGNOSES)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Diagnosis>> getDiagnoses() {
         List<Diagnosis> diagnoses = diagnosisService.getDiagnoses();
@@ -33,24 +36,26 @@ public class DiagnosisController {
     }
 
     @GetMapping("/{id}")
+    @ConditionalGet(EntityTable.DIAGNOSES)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<Diagnosis> getDiagnosisById(@PathVariable UUID id) {
         Diagnosis diagnosis = diagnosisService.getDiagnosisById(id);
-        return new ResponseEntity<>(diagnosis, HttpStatus.OK);
+        return new ResponseEntity<>(diagnosis, EntityTags.of(diagnosis.getVersion()), HttpStatus.OK);
     }
 
     @PostMapping("/create")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Diagnosis> createDiagnosis(@Valid @RequestBody DiagnosisRequest request) {
         Diagnosis diagnosis = diagnosisService.createDiagnosis(request);
-        return new ResponseEntity<>(diagnosis, HttpStatus.CREATED);
+        return new ResponseEntity<>(diagnosis, EntityTags.of(diagnosis.getVersion()), HttpStatus.CREATED);
     }
 
     @PutMapping("/update/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Diagnosis> updateDiagnosis(@PathVariable UUID id, @Valid @RequestBody DiagnosisRequest request) {
-        Diagnosis diagnosis = diagnosisService.updateDiagnosis(id, request);
-        return new ResponseEntity<>(diagnosis, HttpStatus.OK);
+    public ResponseEntity<Diagnosis> updateDiagnosis(@PathVariable UUID id, @Valid @RequestBody DiagnosisRequest request,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Diagnosis diagnosis = diagnosisService.updateDiagnosis(id, request, EntityTags.expectedVersion(ifMatch));
+        return new ResponseEntity<>(diagnosis, EntityTags.of(diagnosis.getVersion()), HttpStatus.OK);
     }
 
     @DeleteMapping("/delete/{id}")
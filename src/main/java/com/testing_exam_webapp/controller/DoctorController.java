@@ -3,8 +3,10 @@ package com.testing_exam_webapp.controller;
 import com.testing_exam_webapp.dto.DoctorRequest;
 import com.testing_exam_webapp.model.mysql.Doctor;
 import com.testing_exam_webapp.model.types.DoctorSpecialityType;
+import com.testing_exam_webapp.model.types.EntityTable;
 import com.testing_exam_webapp.service.DoctorService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -24,6 +26,7 @@ public class DoctorController {
     }
 
     @GetMapping("/all")
+    @ConditionalGet(EntityTable.DOCTORS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Doctor>> getDoctors() {
         List<Doctor> doctors = doctorService.getDoctors();
@@ -34,24 +37,26 @@ public class DoctorController {
     }
 
     @GetMapping("/{id}")
+    @ConditionalGet(EntityTable.DOCTORS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<Doctor> getDoctorById(@PathVariable UUID id) {
         Doctor doctor = doctorService.getDoctorById(id);
-        return new ResponseEntity<>(doctor, HttpStatus.OK);
+        return new ResponseEntity<>(doctor, EntityTags.of(doctor.getVersion()), HttpStatus.OK);
     }
 
     @PostMapping("/create")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Doctor> createDoctor(@Valid @RequestBody DoctorRequest request) {
         Doctor doctor = doctorService.createDoctor(request);
-        return new ResponseEntity<>(doctor, HttpStatus.CREATED);
+        return new ResponseEntity<>(doctor, EntityTags.of(doctor.getVersion()), HttpStatus.CREATED);
     }
 
     @PutMapping("/update/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Doctor> updateDoctor(@PathVariable UUID id, @Valid @RequestBody DoctorRequest request) {
-        Doctor doctor = doctorService.updateDoctor(id, request);
-        return new ResponseEntity<>(doctor, HttpStatus.OK);
+    public ResponseEntity<Doctor> updateDoctor(@PathVariable UUID id, @Valid @RequestBody DoctorRequest request,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Doctor doctor = doctorService.updateDoctor(id, request, EntityTags.expectedVersion(ifMatch));
+        return new ResponseEntity<>(doctor, EntityTags.of(doctor.getVersion()), HttpStatus.OK);
     }
 
     @DeleteMapping("/delete/{id}")
@@ -63,6 +68,7 @@ public class DoctorController {
 
     // Query endpoints
     @GetMapping("/by-ward/{wardId}")
+    @ConditionalGet(EntityTable.DOCTORS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Doctor>> getDoctorsByWardId(@PathVariable UUID wardId) {
         List<Doctor> doctors = doctorService.getDoctorsByWardId(wardId);
@@ -73,6 +79,7 @@ public class DoctorController {
     }
 
     @GetMapping("/by-speciality/{speciality}")
+    @ConditionalGet(EntityTable.DOCTORS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Doctor>> getDoctorsBySpeciality(@PathVariable DoctorSpecialityType speciality) {
         List<Doctor> doctors = doctorService.getDoctorsBySpeciality(speciality);
@@ -83,6 +90,7 @@ public class DoctorController {
     }
 
     @GetMapping("/by-hospital/{hospitalId}")
+    @ConditionalGet(EntityTable.DOCTORS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Doctor>> getDoctorsByHospitalId(@PathVariable UUID hospitalId) {
         List<Doctor> doctors = doctorService.getDoctorsByHospitalId(hospitalId);
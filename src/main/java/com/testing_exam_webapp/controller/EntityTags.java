@@ -0,0 +1,62 @@
+package com.testing_exam_webapp.controller;
+
+import com.testing_exam_webapp.config.ConditionalGetInterceptor;
+import com.testing_exam_webapp.exception.ValidationException;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.List;
+
+/**
+ * Strong entity tags made from entity versions. Clients send the tag of the version they edited
+ * back in {@code If-Match}, and the update is rejected with 409 if the entity changed since.
+ * On {@link ConditionalGet} endpoints the tag is {@code version:token}, so entities nested in
+ * the response also invalidate it; only the version part is compared on update.
+ */
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    static HttpHeaders of(Long version) {
+        HttpHeaders headers = new HttpHeaders();
+        if (version != null) {
+            RequestAttributes request = RequestContextHolder.getRequestAttributes();
+            Object token = request != null
+                    ? request.getAttribute(ConditionalGetInterceptor.TOKEN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                    : null;
+            headers.setETag("\"" + version + (token != null ? ":" + token : "") + "\"");
+        }
+        return headers;
+    }
+
+    /**
+     * The version named by an {@code If-Match} header, or null when the header is absent or
+     * {@code *} and the update should not be checked.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        List<ETag> tags = ETag.parse(ifMatch);
+        if (tags.size() != 1) {
+            throw new ValidationException("If-Match must contain exactly one entity tag");
+        }
+        ETag tag = tags.get(0);
+        if (tag.isWildcard()) {
+            return null;
+        }
+        if (tag.weak()) {
+            throw new ValidationException("If-Match needs a strong entity tag");
+        }
+        String value = tag.tag();
+        int separator = value.indexOf(':');
+        try {
+            return Long.valueOf(separator < 0 ? value : value.substring(0, separator));
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Unknown entity tag " + tag.formattedTag());
+        }
+    }
+}
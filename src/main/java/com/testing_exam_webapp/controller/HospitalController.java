@@ -2,8 +2,10 @@ package com.testing_exam_webapp.controller;
 
 import com.testing_exam_webapp.dto.HospitalRequest;
 import com.testing_exam_webapp.model.mysql.Hospital;
+import com.testing_exam_webapp.model.types.EntityTable;
 import com.testing_exam_webapp.service.HospitalService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -23,6 +25,7 @@ public class HospitalController {
     }
 
     @GetMapping("/all")
+    @ConditionalGet(EntityTable.HOSPITALS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Hospital>> getHospitals() {
         List<Hospital> hospitals = hospitalService.getHospitals();
@@ -33,24 +36,26 @@ public class HospitalController {
     }
 
     @GetMapping("/{id}")
+    @ConditionalGet(EntityTable.HOSPITALS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<Hospital> getHospitalById(@PathVariable UUID id) {
         Hospital hospital = hospitalService.getHospitalById(id);
-        return new ResponseEntity<>(hospital, HttpStatus.OK);
+        return new ResponseEntity<>(hospital, EntityTags.of(hospital.getVersion()), HttpStatus.OK);
     }
 
     @PostMapping("/create")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Hospital> createHospital(@Valid @RequestBody HospitalRequest request) {
         Hospital hospital = hospitalService.createHospital(request);
-        return new ResponseEntity<>(hospital, HttpStatus.CREATED);
+        return new ResponseEntity<>(hospital, EntityTags.of(hospital.getVersion()), HttpStatus.CREATED);
     }
 
     @PutMapping("/update/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Hospital> updateHospital(@PathVariable UUID id, @Valid @RequestBody HospitalRequest request) {
-        Hospital hospital = hospitalService.updateHospital(id, request);
-        return new ResponseEntity<>(hospital, HttpStatus.OK);
+    public ResponseEntity<Hospital> updateHospital(@PathVariable UUID id, @Valid @RequestBody HospitalRequest request,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Hospital hospital = hospitalService.updateHospital(id, request, EntityTags.expectedVersion(ifMatch));
+        return new ResponseEntity<>(hospital, EntityTags.of(hospital.getVersion()), HttpStatus.OK);
     }
 
     @DeleteMapping("/delete/{id}")
@@ -62,6 +67,7 @@ public class HospitalController {
 
     // Query endpoints
     @GetMapping("/by-city/{city}")
+    @ConditionalGet(EntityTable.HOSPITALS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Hospital>> getHospitalsByCity(@PathVariable String city) {
         List<Hospital> hospitals = hospitalService.getHospitalsByCity(city);
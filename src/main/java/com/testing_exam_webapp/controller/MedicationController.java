@@ -2,8 +2,10 @@ package com.testing_exam_webapp.controller;
 
 import com.testing_exam_webapp.dto.MedicationRequest;
 import com.testing_exam_webapp.model.mysql.Medication;
+import com.testing_exam_webapp.model.types.EntityTable;
 import com.testing_exam_webapp.service.MedicationService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -23,6 +25,7 @@ public class MedicationController {
     }
 
     @GetMapping("/all")
+    @ConditionalGet(EntityTable.MEDICATIONS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Medication>> getMedications() {
         List<Medication> medications = medicationService.getMedications();
@@ -33,24 +36,26 @@ public class MedicationController {
     }
 
     @GetMapping("/{id}")
+    @ConditionalGet(EntityTable.MEDICATIONS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<Medication> getMedicationById(@PathVariable UUID id) {
         Medication medication = medicationService.getMedicationById(id);
-        return new ResponseEntity<>(medication, HttpStatus.OK);
+        return new ResponseEntity<>(medication, EntityTags.of(medication.getVersion()), HttpStatus.OK);
     }
 
     @PostMapping("/create")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Medication> createMedication(@Valid @RequestBody MedicationRequest request) {
         Medication medication = medicationService.createMedication(request);
-        return new ResponseEntity<>(medication, HttpStatus.CREATED);
+        return new ResponseEntity<>(medication, EntityTags.of(medication.getVersion()), HttpStatus.CREATED);
     }
 
     @PutMapping("/update/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Medication> updateMedication(@PathVariable UUID id, @Valid @RequestBody MedicationRequest request) {
-        Medication medication = medicationService.updateMedication(id, request);
-        return new ResponseEntity<>(medication, HttpStatus.OK);
+    public ResponseEntity<Medication> updateMedication(@PathVariable UUID id, @Valid @RequestBody MedicationRequest request,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Medication medication = medicationService.updateMedication(id, request, EntityTags.expectedVersion(ifMatch));
+        return new ResponseEntity<>(medication, EntityTags.of(medication.getVersion()), HttpStatus.OK);
     }
 
     @DeleteMapping("/delete/{id}")
@@ -2,8 +2,10 @@ package com.testing_exam_webapp.controller;
 
 import com.testing_exam_webapp.dto.NurseRequest;
 import com.testing_exam_webapp.model.mysql.Nurse;
+import com.testing_exam_webapp.model.types.EntityTable;
 import com.testing_exam_webapp.service.NurseService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -23,6 +25,7 @@ public class NurseController {
     }
 
     @GetMapping("/all")
+    @ConditionalGet(EntityTable.NURSES)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Nurse>> getNurses() {
         List<Nurse> nurses = nurseService.getNurses();
@@ -33,24 +36,26 @@ public class NurseController {
     }
 
     @GetMapping("/{id}")
+    @ConditionalGet(EntityTable.NURSES)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<Nurse> getNurseById(@PathVariable UUID id) {
         Nurse nurse = nurseService.getNurseById(id);
-        return new ResponseEntity<>(nurse, HttpStatus.OK);
+        return new ResponseEntity<>(nurse, EntityTags.of(nurse.getVersion()), HttpStatus.OK);
     }
 
     @PostMapping("/create")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Nurse> createNurse(@Valid @RequestBody NurseRequest request) {
         Nurse nurse = nurseService.createNurse(request);
-        return new ResponseEntity<>(nurse, HttpStatus.CREATED);
+        return new ResponseEntity<>(nurse, EntityTags.of(nurse.getVersion()), HttpStatus.CREATED);
     }
 
     @PutMapping("/update/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Nurse> updateNurse(@PathVariable UUID id, @Valid @RequestBody NurseRequest request) {
-        Nurse nurse = nurseService.updateNurse(id, request);
-        return new ResponseEntity<>(nurse, HttpStatus.OK);
+    public ResponseEntity<Nurse> updateNurse(@PathVariable UUID id, @Valid @RequestBody NurseRequest request,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Nurse nurse = nurseService.updateNurse(id, request, EntityTags.expectedVersion(ifMatch));
+        return new ResponseEntity<>(nurse, EntityTags.of(nurse.getVersion()), HttpStatus.OK);
     }
 
     @DeleteMapping("/delete/{id}")
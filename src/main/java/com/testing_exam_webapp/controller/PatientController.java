@@ -1,9 +1,16 @@
 package com.testing_exam_webapp.controller;
 
+import com.testing_exam_webapp.dto.MergeCandidate;
+import com.testing_exam_webapp.dto.PatientCreated;
 import com.testing_exam_webapp.dto.PatientRequest;
+import com.testing_exam_webapp.dto.PatientSearchHit;
+import com.testing_exam_webapp.dto.TimelinePage;
 import com.testing_exam_webapp.model.mysql.Patient;
+import com.testing_exam_webapp.model.types.EntityTable;
 import com.testing_exam_webapp.service.PatientService;
+import com.testing_exam_webapp.service.PatientTimelineService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,12 +24,15 @@ import java.util.UUID;
 public class PatientController {
 
     private final PatientService patientService;
+    private final PatientTimelineService patientTimelineService;
 
-    public PatientController(PatientService patientService) {
+    public PatientController(PatientService patientService, PatientTimelineService patientTimelineService) {
         this.patientService = patientService;
+        this.patientTimelineService = patientTimelineService;
     }
 
     @GetMapping("/all")
+    @ConditionalGet(EntityTable.PATIENTS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Patient>> getPatients() {
         List<Patient> patients = patientService.getPatients();
@@ -32,25 +42,56 @@ public class PatientController {
         return new ResponseEntity<>(patients, HttpStatus.OK);
     }
 
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<PatientSearchHit>> searchPatients(@RequestParam String q,
+                                                                 @RequestParam(defaultValue = "20") int limit) {
+        List<PatientSearchHit> hits = patientService.searchPatients(q, limit);
+        if (hits.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(hits, HttpStatus.OK);
+    }
+
+    @GetMapping("/duplicates")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<MergeCandidate>> getMergeCandidates(@RequestParam(defaultValue = "0") double minScore) {
+        List<MergeCandidate> candidates = patientService.getMergeCandidates(minScore);
+        if (candidates.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(candidates, HttpStatus.OK);
+    }
+
+    @PostMapping("/duplicates/scan")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Integer> scanForDuplicates() {
+        return new ResponseEntity<>(patientService.scanForDuplicates(), HttpStatus.OK);
+    }
+
     @GetMapping("/{id}")
+    @ConditionalGet(EntityTable.PATIENTS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<Patient> getPatientById(@PathVariable UUID id) {
         Patient patient = patientService.getPatientById(id);
-        return new ResponseEntity<>(patient, HttpStatus.OK);
+        return new ResponseEntity<>(patient, EntityTags.of(patient.getVersion()), HttpStatus.OK);
     }
 
     @PostMapping("/create")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Patient> createPatient(@Valid @RequestBody PatientRequest request) {
+    public ResponseEntity<PatientCreated> createPatient(@Valid @RequestBody PatientRequest request) {
         Patient patient = patientService.createPatient(request);
-        return new ResponseEntity<>(patient, HttpStatus.CREATED);
+        // Likely duplicates do not block the create; they are returned with the new patient for review
+        PatientCreated created = new PatientCreated(patient, patientService.findPossibleDuplicates(patient));
+        return new ResponseEntity<>(created, EntityTags.of(patient.getVersion()), HttpStatus.CREATED);
     }
 
     @PutMapping("/update/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Patient> updatePatient(@PathVariable UUID id, @Valid @RequestBody PatientRequest request) {
-        Patient patient = patientService.updatePatient(id, request);
-        return new ResponseEntity<>(patient, HttpStatus.OK);
+    public ResponseEntity<Patient> updatePatient(@PathVariable UUID id, @Valid @RequestBody PatientRequest request,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Patient patient = patientService.updatePatient(id, request, EntityTags.expectedVersion(ifMatch));
+        return new ResponseEntity<>(patient, EntityTags.of(patient.getVersion()), HttpStatus.OK);
     }
 
     @DeleteMapping("/delete/{id}")
@@ -62,6 +103,7 @@ public class PatientController {
 
     // Query endpoints
     @GetMapping("/by-ward/{wardId}")
+    @ConditionalGet(EntityTable.PATIENTS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Patient>> getPatientsByWardId(@PathVariable UUID wardId) {
         List<Patient> patients = patientService.getPatientsByWardId(wardId);
@@ -72,6 +114,7 @@ public class PatientController {
     }
 
     @GetMapping("/by-hospital/{hospitalId}")
+    @ConditionalGet(EntityTable.PATIENTS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Patient>> getPatientsByHospitalId(@PathVariable UUID hospitalId) {
         List<Patient> patients = patientService.getPatientsByHospitalId(hospitalId);
@@ -80,5 +123,13 @@ public class PatientController {
         }
         return new ResponseEntity<>(patients, HttpStatus.OK);
     }
-}
 
+    @GetMapping("/{id}/timeline")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<TimelinePage> getPatientTimeline(@PathVariable UUID id,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "20") int limit) {
+        TimelinePage page = patientTimelineService.getTimeline(id, cursor, limit);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+}
@@ -1,14 +1,21 @@
 package com.testing_exam_webapp.controller;
 
+import com.testing_exam_webapp.dto.ActiveMedication;
+import com.testing_exam_webapp.dto.ExpiryDigest;
 import com.testing_exam_webapp.dto.PrescriptionRequest;
 import com.testing_exam_webapp.model.mysql.Prescription;
+import com.testing_exam_webapp.model.types.EntityTable;
+import com.testing_exam_webapp.service.PrescriptionExpiryService;
 import com.testing_exam_webapp.service.PrescriptionService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,12 +24,16 @@ import java.util.UUID;
 public class PrescriptionController {
 
     private final PrescriptionService prescriptionService;
+    private final PrescriptionExpiryService prescriptionExpiryService;
 
-    public PrescriptionController(PrescriptionService prescriptionService) {
+    public PrescriptionController(PrescriptionService prescriptionService,
+                                  PrescriptionExpiryService prescriptionExpiryService) {
         this.prescriptionService = prescriptionService;
+        this.prescriptionExpiryService = prescriptionExpiryService;
     }
 
     @GetMapping("/all")
+    @ConditionalGet(EntityTable.PRESCRIPTIONS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Prescription>> getPrescriptions() {
         List<Prescription> prescriptions = prescriptionService.getPrescriptions();
@@ -33,24 +44,26 @@ public class PrescriptionController {
     }
 
     @GetMapping("/{id}")
+    @ConditionalGet(EntityTable.PRESCRIPTIONS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<Prescription> getPrescriptionById(@PathVariable UUID id) {
         Prescription prescription = prescriptionService.getPrescriptionById(id);
-        return new ResponseEntity<>(prescription, HttpStatus.OK);
+        return new ResponseEntity<>(prescription, EntityTags.of(prescription.getVersion()), HttpStatus.OK);
     }
 
     @PostMapping("/create")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Prescription> createPrescription(@Valid @RequestBody PrescriptionRequest request) {
         Prescription prescription = prescriptionService.createPrescription(request);
-        return new ResponseEntity<>(prescription, HttpStatus.CREATED);
+        return new ResponseEntity<>(prescription, EntityTags.of(prescription.getVersion()), HttpStatus.CREATED);
     }
 
     @PutMapping("/update/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Prescription> updatePrescription(@PathVariable UUID id, @Valid @RequestBody PrescriptionRequest request) {
-        Prescription prescription = prescriptionService.updatePrescription(id, request);
-        return new ResponseEntity<>(prescription, HttpStatus.OK);
+    public ResponseEntity<Prescription> updatePrescription(@PathVariable UUID id, @Valid @RequestBody PrescriptionRequest request,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Prescription prescription = prescriptionService.updatePrescription(id, request, EntityTags.expectedVersion(ifMatch));
+        return new ResponseEntity<>(prescription, EntityTags.of(prescription.getVersion()), HttpStatus.OK);
     }
 
     @DeleteMapping("/delete/{id}")
@@ -59,5 +72,73 @@ public class PrescriptionController {
         prescriptionService.deletePrescription(id);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
-}
 
+    // Active-prescription endpoints; date defaults to today
+    @GetMapping("/active")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<Prescription>> getActivePrescriptions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        List<Prescription> prescriptions = prescriptionService.getActivePrescriptions(date);
+        if (prescriptions.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(prescriptions, HttpStatus.OK);
+    }
+
+    @GetMapping("/active/by-patient/{patientId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<Prescription>> getActivePrescriptionsByPatientId(
+            @PathVariable UUID patientId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        List<Prescription> prescriptions = prescriptionService.getActivePrescriptionsByPatientId(patientId, date);
+        if (prescriptions.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(prescriptions, HttpStatus.OK);
+    }
+
+    @GetMapping("/active/by-doctor/{doctorId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<Prescription>> getActivePrescriptionsByDoctorId(
+            @PathVariable UUID doctorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        List<Prescription> prescriptions = prescriptionService.getActivePrescriptionsByDoctorId(doctorId, date);
+        if (prescriptions.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(prescriptions, HttpStatus.OK);
+    }
+
+    @GetMapping("/active/by-medication/{medicationId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<Prescription>> getActivePrescriptionsByMedicationId(
+            @PathVariable UUID medicationId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        List<Prescription> prescriptions = prescriptionService.getActivePrescriptionsByMedicationId(medicationId, date);
+        if (prescriptions.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(prescriptions, HttpStatus.OK);
+    }
+
+    @GetMapping("/active/by-ward/{wardId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<ActiveMedication>> getActiveMedicationsByWardId(
+            @PathVariable UUID wardId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        List<ActiveMedication> medications = prescriptionService.getActiveMedicationsByWardId(wardId, date);
+        if (medications.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(medications, HttpStatus.OK);
+    }
+
+    @GetMapping("/expiring")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<ExpiryDigest> getExpiringPrescriptions(@RequestParam(defaultValue = "7") int days,
+                                                                 @RequestParam(required = false) UUID wardId,
+                                                                 @RequestParam(required = false) UUID doctorId) {
+        ExpiryDigest digest = prescriptionExpiryService.getExpiring(days, wardId, doctorId);
+        return new ResponseEntity<>(digest, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,63 @@
+package com.testing_exam_webapp.controller;
+
+import com.testing_exam_webapp.dto.ReportJob;
+import com.testing_exam_webapp.service.MonthlyReportService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/reports")
+public class ReportController {
+
+    private final MonthlyReportService monthlyReportService;
+
+    public ReportController(MonthlyReportService monthlyReportService) {
+        this.monthlyReportService = monthlyReportService;
+    }
+
+    @PostMapping("/monthly")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReportJob> startMonthlyReport(@RequestParam YearMonth month) {
+        ReportJob job = monthlyReportService.startMonthlyReport(month);
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/jobs")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<ReportJob>> getJobs() {
+        List<ReportJob> jobs = monthlyReportService.getJobs();
+        if (jobs.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(jobs, HttpStatus.OK);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<ReportJob> getJob(@PathVariable UUID jobId) {
+        ReportJob job = monthlyReportService.getJob(jobId);
+        return new ResponseEntity<>(job, HttpStatus.OK);
+    }
+
+    @GetMapping("/jobs/{jobId}/hospitals/{hospitalId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<Resource> getHospitalReport(@PathVariable UUID jobId, @PathVariable UUID hospitalId) {
+        Path file = monthlyReportService.getReportFile(jobId, hospitalId);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(new MediaType("text", "csv"));
+        headers.setContentDisposition(ContentDisposition.attachment().filename(file.getFileName().toString()).build());
+        return new ResponseEntity<>(new FileSystemResource(file), headers, HttpStatus.OK);
+    }
+}
@@ -2,8 +2,10 @@ package com.testing_exam_webapp.controller;
 
 import com.testing_exam_webapp.dto.SurgeryRequest;
 import com.testing_exam_webapp.model.mysql.Surgery;
+import com.testing_exam_webapp.model.types.EntityTable;
 import com.testing_exam_webapp.service.SurgeryService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -23,6 +25,7 @@ public class SurgeryController {
     }
 
     @GetMapping("/all")
+    @ConditionalGet(EntityTable.SURGERIES)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Surgery>> getSurgeries() {
         List<Surgery> surgeries = surgeryService.getSurgeries();
@@ -33,24 +36,26 @@ public class SurgeryController {
     }
 
     @GetMapping("/{id}")
+    @ConditionalGet(EntityTable.SURGERIES)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<Surgery> getSurgeryById(@PathVariable UUID id) {
         Surgery surgery = surgeryService.getSurgeryById(id);
-        return new ResponseEntity<>(surgery, HttpStatus.OK);
+        return new ResponseEntity<>(surgery, EntityTags.of(surgery.getVersion()), HttpStatus.OK);
     }
 
     @PostMapping("/create")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Surgery> createSurgery(@Valid @RequestBody SurgeryRequest request) {
         Surgery surgery = surgeryService.createSurgery(request);
-        return new ResponseEntity<>(surgery, HttpStatus.CREATED);
+        return new ResponseEntity<>(surgery, EntityTags.of(surgery.getVersion()), HttpStatus.CREATED);
     }
 
     @PutMapping("/update/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Surgery> updateSurgery(@PathVariable UUID id, @Valid @RequestBody SurgeryRequest request) {
-        Surgery surgery = surgeryService.updateSurgery(id, request);
-        return new ResponseEntity<>(surgery, HttpStatus.OK);
+    public ResponseEntity<Surgery> updateSurgery(@PathVariable UUID id, @Valid @RequestBody SurgeryRequest request,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Surgery surgery = surgeryService.updateSurgery(id, request, EntityTags.expectedVersion(ifMatch));
+        return new ResponseEntity<>(surgery, EntityTags.of(surgery.getVersion()), HttpStatus.OK);
     }
 
     @DeleteMapping("/delete/{id}")
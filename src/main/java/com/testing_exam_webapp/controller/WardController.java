@@ -2,9 +2,11 @@ package com.testing_exam_webapp.controller;
 
 import com.testing_exam_webapp.dto.WardRequest;
 import com.testing_exam_webapp.model.mysql.Ward;
+import com.testing_exam_webapp.model.types.EntityTable;
 import com.testing_exam_webapp.model.types.WardType;
 import com.testing_exam_webapp.service.WardService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -24,6 +26,7 @@ public class WardController {
     }
 
     @GetMapping("/all")
+    @ConditionalGet(EntityTable.WARDS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Ward>> getWards() {
         List<Ward> wards = wardService.getWards();
@@ -34,24 +37,26 @@ public class WardController {
     }
 
     @GetMapping("/{id}")
+    @ConditionalGet(EntityTable.WARDS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<Ward> getWardById(@PathVariable UUID id) {
         Ward ward = wardService.getWardById(id);
-        return new ResponseEntity<>(ward, HttpStatus.OK);
+        return new ResponseEntity<>(ward, EntityTags.of(ward.getVersion()), HttpStatus.OK);
     }
 
     @PostMapping("/create")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Ward> createWard(@Valid @RequestBody WardRequest request) {
         Ward ward = wardService.createWard(request);
-        return new ResponseEntity<>(ward, HttpStatus.CREATED);
+        return new ResponseEntity<>(ward, EntityTags.of(ward.getVersion()), HttpStatus.CREATED);
     }
 
     @PutMapping("/update/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Ward> updateWard(@PathVariable UUID id, @Valid @RequestBody WardRequest request) {
-        Ward ward = wardService.updateWard(id, request);
-        return new ResponseEntity<>(ward, HttpStatus.OK);
+    public ResponseEntity<Ward> updateWard(@PathVariable UUID id, @Valid @RequestBody WardRequest request,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Ward ward = wardService.updateWard(id, request, EntityTags.expectedVersion(ifMatch));
+        return new ResponseEntity<>(ward, EntityTags.of(ward.getVersion()), HttpStatus.OK);
     }
 
     @DeleteMapping("/delete/{id}")
@@ -63,6 +68,7 @@ public class WardController {
 
     // Query endpoints
     @GetMapping("/by-type/{type}")
+    @ConditionalGet(EntityTable.WARDS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Ward>> getWardsByType(@PathVariable WardType type) {
         List<Ward> wards = wardService.getWardsByType(type);
@@ -73,6 +79,7 @@ public class WardController {
     }
 
     @GetMapping("/by-hospital/{hospitalId}")
+    @ConditionalGet(EntityTable.WARDS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<List<Ward>> getWardsByHospitalId(@PathVariable UUID hospitalId) {
         List<Ward> wards = wardService.getWardsByHospitalId(hospitalId);
@@ -1,20 +1,32 @@
 package com.testing_exam_webapp.controller;
 
 import com.testing_exam_webapp.dto.WeatherDto;
+import com.testing_exam_webapp.model.mysql.Hospital;
+import com.testing_exam_webapp.service.HospitalService;
 import com.testing_exam_webapp.service.WeatherService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.util.*;
+
 @RestController
 @RequestMapping("/api/weather")
 public class WeatherController {
 
     private final WeatherService weatherService;
+    private final HospitalService hospitalService;
+    private final Duration batchDeadline;
 
-    public WeatherController(WeatherService weatherService) {
+    public WeatherController(WeatherService weatherService,
+                             HospitalService hospitalService,
+                             @Value("${weather.batch.deadline-ms:3000}") long batchDeadlineMs) {
         this.weatherService = weatherService;
+        this.hospitalService = hospitalService;
+        this.batchDeadline = Duration.ofMillis(batchDeadlineMs);
     }
 
     @GetMapping
@@ -24,5 +36,40 @@ public class WeatherController {
         WeatherDto weather = weatherService.getWeatherByCity(city);
         return new ResponseEntity<>(weather, HttpStatus.OK);
     }
-}
 
+    @GetMapping("/batch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<Map<String, WeatherDto>> getWeatherBatch(@RequestParam("city") List<String> cities) {
+        Map<String, WeatherDto> weather = weatherService.getWeatherForCities(cities, batchDeadline);
+        return new ResponseEntity<>(weather, HttpStatus.OK);
+    }
+
+    @GetMapping("/batch/hospitals")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<Map<UUID, WeatherDto>> getWeatherForHospitals(
+            @RequestParam(name = "hospitalId", required = false) List<UUID> hospitalIds) {
+        List<Hospital> hospitals = (hospitalIds == null || hospitalIds.isEmpty())
+                ? hospitalService.getHospitals()
+                : hospitalService.getHospitalsByIds(hospitalIds);
+        if (hospitals.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+
+        Set<String> cities = new LinkedHashSet<>();
+        for (Hospital hospital : hospitals) {
+            if (hospital.getCity() != null) {
+                cities.add(hospital.getCity());
+            }
+        }
+        Map<String, WeatherDto> weatherByCity = weatherService.getWeatherForCities(cities, batchDeadline);
+
+        Map<UUID, WeatherDto> weatherByHospital = new LinkedHashMap<>();
+        for (Hospital hospital : hospitals) {
+            WeatherDto weather = weatherByCity.get(hospital.getCity());
+            if (weather != null) {
+                weatherByHospital.put(hospital.getHospitalId(), weather);
+            }
+        }
+        return new ResponseEntity<>(weatherByHospital, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,8 @@
+package com.testing_exam_webapp.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record ActiveMedication(UUID prescriptionId, UUID patientId, String patientName, UUID medicationId,
+                               String medicationName, String dosage, LocalDate startDate, LocalDate endDate) {
+}
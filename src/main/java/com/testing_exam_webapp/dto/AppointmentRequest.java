@@ -1,11 +1,14 @@
 package com.testing_exam_webapp.dto;
 
 import com.testing_exam_webapp.model.types.AppointmentStatusType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.UUID;
 
 @Getter
@@ -13,6 +16,12 @@ import java.util.UUID;
 public class AppointmentRequest {
     @NotNull(message = "Appointment date is required")
     private LocalDate appointmentDate;
+
+    private LocalTime startTime;
+
+    @Min(value = 5, message = "Duration must be between 5 and 480 minutes")
+    @Max(value = 480, message = "Duration must be between 5 and 480 minutes")
+    private Integer durationMinutes;
     
     private String reason;
     
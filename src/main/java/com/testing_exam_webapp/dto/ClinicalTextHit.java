@@ -0,0 +1,13 @@
+package com.testing_exam_webapp.dto;
+
+import com.testing_exam_webapp.model.types.ClinicalTextType;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A matching diagnosis or surgery. The snippet is HTML-escaped with matches wrapped in {@code <mark>}.
+ */
+public record ClinicalTextHit(ClinicalTextType type, UUID id, LocalDate date, UUID doctorId, UUID patientId,
+                              String snippet, float score) {
+}
@@ -0,0 +1,10 @@
+package com.testing_exam_webapp.dto;
+
+import java.util.List;
+
+/**
+ * One page of clinical text matches. {@code totalHits} is a lower bound when {@code totalHitsExact} is false.
+ */
+public record ClinicalTextPage(String query, int page, int size, long totalHits, boolean totalHitsExact,
+                               List<ClinicalTextHit> hits) {
+}
@@ -0,0 +1,7 @@
+package com.testing_exam_webapp.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record CohortResult(String query, int patientCount, List<UUID> patientIds, boolean truncated) {
+}
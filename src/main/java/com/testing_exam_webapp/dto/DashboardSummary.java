@@ -0,0 +1,24 @@
+package com.testing_exam_webapp.dto;
+
+import com.testing_exam_webapp.model.types.AppointmentStatusType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardSummary {
+    private long patients;
+    private long doctors;
+    private long nurses;
+    private long appointments;
+    private long hospitals;
+    private long wards;
+    private Map<UUID, Long> patientsPerWard;
+    private Map<AppointmentStatusType, Long> appointmentsTodayByStatus;
+    private Map<UUID, Long> staffPerHospital;
+}
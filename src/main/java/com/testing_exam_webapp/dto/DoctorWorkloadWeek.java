@@ -0,0 +1,11 @@
+package com.testing_exam_webapp.dto;
+
+import com.testing_exam_webapp.model.types.DoctorSpecialityType;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record DoctorWorkloadWeek(UUID doctorId, String doctorName, DoctorSpecialityType speciality,
+                                 UUID hospitalId, String hospitalName, LocalDate weekStart,
+                                 long appointments, long surgeries, long prescriptions) {
+}
@@ -0,0 +1,7 @@
+package com.testing_exam_webapp.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record DuplicateCandidate(UUID patientId, String patientName, LocalDate dateOfBirth, double score) {
+}
@@ -0,0 +1,8 @@
+package com.testing_exam_webapp.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record ExpiringPrescription(UUID prescriptionId, UUID patientId, String patientName, UUID wardId,
+                                   UUID doctorId, String doctorName, String medicationName, LocalDate endDate) {
+}
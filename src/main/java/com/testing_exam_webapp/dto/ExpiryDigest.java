@@ -0,0 +1,15 @@
+package com.testing_exam_webapp.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Prescriptions ending between {@code from} and {@code to}, ordered by end date, with counts per
+ * ward and per doctor. {@code scannedAt} is when the underlying digest was last refreshed.
+ */
+public record ExpiryDigest(LocalDate from, LocalDate to, List<ExpiringPrescription> prescriptions,
+                           Map<UUID, Long> perWard, Map<UUID, Long> perDoctor, LocalDateTime scannedAt) {
+}
@@ -0,0 +1,7 @@
+package com.testing_exam_webapp.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record FreeSlot(UUID doctorId, LocalDateTime start, LocalDateTime end) {
+}
@@ -0,0 +1,8 @@
+package com.testing_exam_webapp.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record HospitalWorkloadWeek(UUID hospitalId, String hospitalName, LocalDate weekStart,
+                                   long appointments, long surgeries, long prescriptions) {
+}
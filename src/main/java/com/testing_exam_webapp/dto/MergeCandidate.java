@@ -0,0 +1,9 @@
+package com.testing_exam_webapp.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record MergeCandidate(UUID firstPatientId, String firstPatientName, LocalDate firstDateOfBirth,
+                             UUID secondPatientId, String secondPatientName, LocalDate secondDateOfBirth,
+                             double score) {
+}
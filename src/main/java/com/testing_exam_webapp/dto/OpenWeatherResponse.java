@@ -0,0 +1,51 @@
+package com.testing_exam_webapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * Subset of the OpenWeatherMap "current weather" payload that we actually read.
+ * Unknown fields are skipped by Jackson instead of being materialised into a generic map tree.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record OpenWeatherResponse(Sys sys, Main main, List<Weather> weather, Wind wind) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Sys(String country) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Main(Double temp, Double humidity) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Weather(String main, String description, String icon) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Wind(Double speed) {
+    }
+
+    public WeatherDto toWeatherDto(String city) {
+        WeatherDto dto = new WeatherDto();
+        dto.setCity(city);
+        if (sys != null) {
+            dto.setCountry(sys.country());
+        }
+        if (main != null) {
+            dto.setTemperature(main.temp());
+            dto.setHumidity(main.humidity());
+        }
+        if (weather != null && !weather.isEmpty()) {
+            Weather first = weather.get(0);
+            dto.setDescription(first.description());
+            dto.setCondition(first.main());
+            dto.setIcon(first.icon());
+        }
+        if (wind != null) {
+            dto.setWindSpeed(wind.speed());
+        }
+        return dto;
+    }
+}
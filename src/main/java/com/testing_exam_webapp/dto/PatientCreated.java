@@ -0,0 +1,15 @@
+package com.testing_exam_webapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.testing_exam_webapp.model.mysql.Patient;
+
+import java.util.List;
+
+/**
+ * Response of {@code POST /patients/create}: the new patient's fields plus the likely
+ * duplicates found for it, which are left out when there are none.
+ */
+public record PatientCreated(@JsonUnwrapped Patient patient,
+                             @JsonInclude(JsonInclude.Include.NON_EMPTY) List<DuplicateCandidate> possibleDuplicates) {
+}
@@ -0,0 +1,6 @@
+package com.testing_exam_webapp.dto;
+
+import java.util.UUID;
+
+public record PatientSearchHit(UUID patientId, String patientName, double score) {
+}
@@ -0,0 +1,13 @@
+package com.testing_exam_webapp.dto;
+
+import com.testing_exam_webapp.model.types.ReportJobStatus;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+public record ReportJob(UUID jobId, YearMonth month, ReportJobStatus status, int hospitalsTotal, int hospitalsDone,
+                        List<UUID> reportedHospitalIds, List<String> failures,
+                        LocalDateTime startedAt, LocalDateTime finishedAt) {
+}
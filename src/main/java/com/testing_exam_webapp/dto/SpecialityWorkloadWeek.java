@@ -0,0 +1,9 @@
+package com.testing_exam_webapp.dto;
+
+import com.testing_exam_webapp.model.types.DoctorSpecialityType;
+
+import java.time.LocalDate;
+
+public record SpecialityWorkloadWeek(DoctorSpecialityType speciality, LocalDate weekStart,
+                                     long appointments, long surgeries, long prescriptions) {
+}
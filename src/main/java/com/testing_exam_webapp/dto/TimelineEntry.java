@@ -0,0 +1,15 @@
+package com.testing_exam_webapp.dto;
+
+import com.testing_exam_webapp.model.types.TimelineEntryType;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record TimelineEntry(LocalDate date,
+                            TimelineEntryType type,
+                            UUID id,
+                            String summary,
+                            String detail,
+                            UUID doctorId,
+                            String doctorName) {
+}
@@ -0,0 +1,10 @@
+package com.testing_exam_webapp.dto;
+
+import java.util.List;
+
+/**
+ * One page of a patient timeline; pass {@code nextCursor} back to get the following page.
+ * It is null on the last page.
+ */
+public record TimelinePage(List<TimelineEntry> entries, String nextCursor) {
+}
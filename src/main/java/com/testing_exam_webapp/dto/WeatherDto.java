@@ -1,5 +1,6 @@
 package com.testing_exam_webapp.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,5 +17,10 @@ public class WeatherDto {
     private Double humidity;
     private Double windSpeed;
     private String condition;
+    // Only set on batch lookups that missed their deadline: an older cached reading, or no reading at all
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean stale;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean unavailable;
 }
 
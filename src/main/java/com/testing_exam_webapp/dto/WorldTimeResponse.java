@@ -0,0 +1,20 @@
+package com.testing_exam_webapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Subset of the WorldTimeAPI timezone payload that we actually read.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record WorldTimeResponse(
+        String datetime,
+        String timezone,
+        String abbreviation,
+        @JsonProperty("day_of_week") Integer dayOfWeek,
+        @JsonProperty("day_of_year") Integer dayOfYear) {
+
+    public TimeDto toTimeDto() {
+        return new TimeDto(datetime, timezone, abbreviation, dayOfWeek, dayOfYear);
+    }
+}
@@ -0,0 +1,10 @@
+package com.testing_exam_webapp.event;
+
+import java.util.List;
+
+/**
+ * Published when a counted entity is inserted, moved or deleted. Each key in {@code removed}
+ * is decremented and each key in {@code added} incremented once the transaction commits.
+ */
+public record CounterChangedEvent(List<CounterKey> removed, List<CounterKey> added) {
+}
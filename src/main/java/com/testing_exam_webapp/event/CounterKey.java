@@ -0,0 +1,72 @@
+package com.testing_exam_webapp.event;
+
+import com.testing_exam_webapp.model.mysql.*;
+import com.testing_exam_webapp.model.types.AppointmentStatusType;
+import com.testing_exam_webapp.model.types.CounterType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Identifies one counter in the {@link com.testing_exam_webapp.service.CounterStore}. Only the
+ * fields relevant to the counter type are set; the rest are null.
+ */
+public record CounterKey(CounterType type, UUID id, LocalDate date, AppointmentStatusType status) {
+
+    public static CounterKey total(CounterType type) {
+        return new CounterKey(type, null, null, null);
+    }
+
+    public static CounterKey of(CounterType type, UUID id) {
+        return new CounterKey(type, id, null, null);
+    }
+
+    public static CounterKey appointmentStatus(AppointmentStatusType status) {
+        return new CounterKey(CounterType.APPOINTMENTS_PER_STATUS, null, null, status);
+    }
+
+    public static CounterKey appointmentDay(LocalDate date, AppointmentStatusType status) {
+        return new CounterKey(CounterType.APPOINTMENTS_PER_DAY_AND_STATUS, null, date, status);
+    }
+
+    /**
+     * Returns every counter the given entity contributes one to, in its current state.
+     */
+    public static List<CounterKey> keysOf(Object entity) {
+        List<CounterKey> keys = new ArrayList<>(3);
+        if (entity instanceof Patient patient) {
+            keys.add(total(CounterType.PATIENTS));
+            if (patient.getWard() != null) {
+                keys.add(of(CounterType.PATIENTS_PER_WARD, patient.getWard().getWardId()));
+            }
+            if (patient.getHospital() != null) {
+                keys.add(of(CounterType.PATIENTS_PER_HOSPITAL, patient.getHospital().getHospitalId()));
+            }
+        } else if (entity instanceof Doctor doctor) {
+            keys.add(total(CounterType.DOCTORS));
+            if (doctor.getHospital() != null) {
+                keys.add(of(CounterType.DOCTORS_PER_HOSPITAL, doctor.getHospital().getHospitalId()));
+            }
+        } else if (entity instanceof Nurse nurse) {
+            keys.add(total(CounterType.NURSES));
+            if (nurse.getHospital() != null) {
+                keys.add(of(CounterType.NURSES_PER_HOSPITAL, nurse.getHospital().getHospitalId()));
+            }
+        } else if (entity instanceof Appointment appointment) {
+            keys.add(total(CounterType.APPOINTMENTS));
+            if (appointment.getStatus() != null) {
+                keys.add(appointmentStatus(appointment.getStatus()));
+                if (appointment.getAppointmentDate() != null) {
+                    keys.add(appointmentDay(appointment.getAppointmentDate(), appointment.getStatus()));
+                }
+            }
+        } else if (entity instanceof Hospital) {
+            keys.add(total(CounterType.HOSPITALS));
+        } else if (entity instanceof Ward) {
+            keys.add(total(CounterType.WARDS));
+        }
+        return keys;
+    }
+}
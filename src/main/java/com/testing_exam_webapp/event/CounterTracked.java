@@ -0,0 +1,13 @@
+package com.testing_exam_webapp.event;
+
+import java.util.List;
+
+/**
+ * Entity whose counter keys can change on update. The keys seen at load time are kept on the
+ * instance so the listener can move the entity from its old counters to its new ones.
+ */
+public interface CounterTracked {
+    List<CounterKey> getCountedKeys();
+
+    void setCountedKeys(List<CounterKey> countedKeys);
+}
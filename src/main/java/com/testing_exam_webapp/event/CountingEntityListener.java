@@ -0,0 +1,66 @@
+package com.testing_exam_webapp.event;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JPA listener that turns entity writes into {@link CounterChangedEvent}s. Bulk JPQL/native
+ * updates bypass it; the reconciliation job corrects any drift those cause.
+ */
+@Component
+public class CountingEntityListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CountingEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostLoad
+    void onLoad(Object entity) {
+        remember(entity, CounterKey.keysOf(entity));
+    }
+
+    @PostPersist
+    void onPersist(Object entity) {
+        List<CounterKey> keys = CounterKey.keysOf(entity);
+        eventPublisher.publishEvent(new CounterChangedEvent(List.of(), keys));
+        remember(entity, keys);
+    }
+
+    @PostUpdate
+    void onUpdate(Object entity) {
+        if (!(entity instanceof CounterTracked tracked) || tracked.getCountedKeys() == null) {
+            return;
+        }
+        List<CounterKey> current = CounterKey.keysOf(entity);
+        List<CounterKey> removed = new ArrayList<>(tracked.getCountedKeys());
+        removed.removeAll(current);
+        List<CounterKey> added = new ArrayList<>(current);
+        added.removeAll(tracked.getCountedKeys());
+        if (!removed.isEmpty() || !added.isEmpty()) {
+            eventPublisher.publishEvent(new CounterChangedEvent(removed, added));
+        }
+        tracked.setCountedKeys(current);
+    }
+
+    @PostRemove
+    void onRemove(Object entity) {
+        List<CounterKey> keys = entity instanceof CounterTracked tracked && tracked.getCountedKeys() != null
+                ? tracked.getCountedKeys()
+                : CounterKey.keysOf(entity);
+        eventPublisher.publishEvent(new CounterChangedEvent(keys, List.of()));
+    }
+
+    private void remember(Object entity, List<CounterKey> keys) {
+        if (entity instanceof CounterTracked tracked) {
+            tracked.setCountedKeys(keys);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.testing_exam_webapp.event;
+
+import com.testing_exam_webapp.model.mysql.*;
+import com.testing_exam_webapp.model.types.EntityTable;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener that turns entity writes into {@link TableChangedEvent}s for the change counters
+ * behind conditional GETs. Bulk JPQL/native updates bypass it; their callers report the change
+ * themselves.
+ */
+@Component
+public class TableChangeListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TableChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onChange(Object entity) {
+        EntityTable table = tableOf(entity);
+        if (table != null) {
+            eventPublisher.publishEvent(new TableChangedEvent(table));
+        }
+    }
+
+    static EntityTable tableOf(Object entity) {
+        if (entity instanceof Appointment) {
+            return EntityTable.APPOINTMENTS;
+        } else if (entity instanceof Diagnosis) {
+            return EntityTable.DIAGNOSES;
+        } else if (entity instanceof Doctor) {
+            return EntityTable.DOCTORS;
+        } else if (entity instanceof Hospital) {
+            return EntityTable.HOSPITALS;
+        } else if (entity instanceof Medication) {
+            return EntityTable.MEDICATIONS;
+        } else if (entity instanceof Nurse) {
+            return EntityTable.NURSES;
+        } else if (entity instanceof Patient) {
+            return EntityTable.PATIENTS;
+        } else if (entity instanceof Prescription) {
+            return EntityTable.PRESCRIPTIONS;
+        } else if (entity instanceof Surgery) {
+            return EntityTable.SURGERIES;
+        } else if (entity instanceof Ward) {
+            return EntityTable.WARDS;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.testing_exam_webapp.event;
+
+import com.testing_exam_webapp.model.types.EntityTable;
+
+/**
+ * Published when a row of the table is inserted, updated or deleted. The table's change
+ * counter is bumped once the transaction commits.
+ */
+public record TableChangedEvent(EntityTable table) {
+}
@@ -0,0 +1,11 @@
+package com.testing_exam_webapp.event;
+
+import java.util.List;
+
+/**
+ * Published when an appointment, surgery or prescription is inserted, moved or deleted. Each
+ * key in {@code removed} is decremented and each key in {@code added} incremented once the
+ * transaction commits.
+ */
+public record WorkloadChangedEvent(List<WorkloadKey> removed, List<WorkloadKey> added) {
+}
@@ -0,0 +1,71 @@
+package com.testing_exam_webapp.event;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JPA listener that turns appointment, surgery and prescription writes into
+ * {@link WorkloadChangedEvent}s. Bulk JPQL/native updates bypass it; the nightly backfill
+ * rebuilds the rollup from the source tables.
+ */
+@Component
+public class WorkloadEntityListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public WorkloadEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostLoad
+    void onLoad(Object entity) {
+        remember(entity, WorkloadKey.keysOf(entity));
+    }
+
+    @PostPersist
+    void onPersist(Object entity) {
+        List<WorkloadKey> keys = WorkloadKey.keysOf(entity);
+        if (!keys.isEmpty()) {
+            eventPublisher.publishEvent(new WorkloadChangedEvent(List.of(), keys));
+        }
+        remember(entity, keys);
+    }
+
+    @PostUpdate
+    void onUpdate(Object entity) {
+        if (!(entity instanceof WorkloadTracked tracked) || tracked.getWorkloadKeys() == null) {
+            return;
+        }
+        List<WorkloadKey> current = WorkloadKey.keysOf(entity);
+        List<WorkloadKey> removed = new ArrayList<>(tracked.getWorkloadKeys());
+        removed.removeAll(current);
+        List<WorkloadKey> added = new ArrayList<>(current);
+        added.removeAll(tracked.getWorkloadKeys());
+        if (!removed.isEmpty() || !added.isEmpty()) {
+            eventPublisher.publishEvent(new WorkloadChangedEvent(removed, added));
+        }
+        tracked.setWorkloadKeys(current);
+    }
+
+    @PostRemove
+    void onRemove(Object entity) {
+        List<WorkloadKey> keys = entity instanceof WorkloadTracked tracked && tracked.getWorkloadKeys() != null
+                ? tracked.getWorkloadKeys()
+                : WorkloadKey.keysOf(entity);
+        if (!keys.isEmpty()) {
+            eventPublisher.publishEvent(new WorkloadChangedEvent(keys, List.of()));
+        }
+    }
+
+    private void remember(Object entity, List<WorkloadKey> keys) {
+        if (entity instanceof WorkloadTracked tracked) {
+            tracked.setWorkloadKeys(keys);
+        }
+    }
+}
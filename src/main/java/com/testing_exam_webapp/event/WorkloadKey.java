@@ -0,0 +1,48 @@
+package com.testing_exam_webapp.event;
+
+import com.testing_exam_webapp.model.mysql.Appointment;
+import com.testing_exam_webapp.model.mysql.Doctor;
+import com.testing_exam_webapp.model.mysql.Prescription;
+import com.testing_exam_webapp.model.mysql.Surgery;
+import com.testing_exam_webapp.model.types.AppointmentStatusType;
+import com.testing_exam_webapp.model.types.WorkloadMetric;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One cell of the doctor weekly workload rollup: a doctor, the Monday starting the week and
+ * the metric an entity counts towards.
+ */
+public record WorkloadKey(UUID doctorId, LocalDate weekStart, WorkloadMetric metric) {
+
+    public static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    /**
+     * Returns the workload cell the given entity counts towards in its current state, if any.
+     */
+    public static List<WorkloadKey> keysOf(Object entity) {
+        if (entity instanceof Appointment appointment) {
+            return appointment.getStatus() == AppointmentStatusType.CANCELLED
+                    ? List.of()
+                    : keyOf(appointment.getDoctor(), appointment.getAppointmentDate(), WorkloadMetric.APPOINTMENTS);
+        } else if (entity instanceof Surgery surgery) {
+            return keyOf(surgery.getDoctor(), surgery.getSurgeryDate(), WorkloadMetric.SURGERIES);
+        } else if (entity instanceof Prescription prescription) {
+            return keyOf(prescription.getDoctor(), prescription.getStartDate(), WorkloadMetric.PRESCRIPTIONS);
+        }
+        return List.of();
+    }
+
+    private static List<WorkloadKey> keyOf(Doctor doctor, LocalDate date, WorkloadMetric metric) {
+        if (doctor == null || doctor.getDoctorId() == null || date == null) {
+            return List.of();
+        }
+        return List.of(new WorkloadKey(doctor.getDoctorId(), weekStart(date), metric));
+    }
+}
@@ -0,0 +1,13 @@
+package com.testing_exam_webapp.event;
+
+import java.util.List;
+
+/**
+ * Entity counted in the doctor workload rollup. Like {@link CounterTracked}, the keys seen at
+ * load time are kept on the instance so an update can move it between weeks or doctors.
+ */
+public interface WorkloadTracked {
+    List<WorkloadKey> getWorkloadKeys();
+
+    void setWorkloadKeys(List<WorkloadKey> workloadKeys);
+}
@@ -0,0 +1,7 @@
+package com.testing_exam_webapp.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -8,12 +8,15 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 
 @Getter
 @Setter
 @MappedSuperclass
 public abstract class AppointmentBase {
     protected LocalDate appointmentDate;
+    protected LocalTime startTime;
+    protected Integer durationMinutes;
     protected String reason;
     @Enumerated(EnumType.STRING)
     protected AppointmentStatusType status;
@@ -1,23 +1,59 @@
 package com.testing_exam_webapp.model.mysql;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.testing_exam_webapp.event.CounterKey;
+import com.testing_exam_webapp.event.CounterTracked;
+import com.testing_exam_webapp.event.CountingEntityListener;
+import com.testing_exam_webapp.event.TableChangeListener;
+import com.testing_exam_webapp.event.WorkloadEntityListener;
+import com.testing_exam_webapp.event.WorkloadKey;
+import com.testing_exam_webapp.event.WorkloadTracked;
 import com.testing_exam_webapp.model.entity_bases.AppointmentBase;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Getter
 @Setter
 @Entity
-@Table(name = "appointments")
-public class Appointment extends AppointmentBase {
+@Table(name = "appointments", indexes = {
+        @Index(name = "idx_appointments_doctor_start", columnList = "doctor_doctor_id, starts_at"),
+        @Index(name = "idx_appointments_nurse_start", columnList = "nurse_nurse_id, starts_at"),
+        @Index(name = "idx_appointments_status_date", columnList = "status, appointment_date"),
+        @Index(name = "idx_appointments_date", columnList = "appointment_date")
+})
+@EntityListeners({CountingEntityListener.class, WorkloadEntityListener.class, TableChangeListener.class})
+public class Appointment extends AppointmentBase implements CounterTracked, WorkloadTracked {
     @Id
     private UUID appointmentId;
+    @Version
+    private Long version;
     @ManyToOne
     private Patient patient;
     @ManyToOne
+    @JoinColumn(name = "doctor_doctor_id")
     private Doctor doctor;
     @ManyToOne
+    @JoinColumn(name = "nurse_nurse_id")
     private Nurse nurse;
+
+    // Derived from appointmentDate, startTime and durationMinutes; indexed per clinician for conflict checks
+    @JsonIgnore
+    @Column(name = "starts_at")
+    private LocalDateTime startsAt;
+    @JsonIgnore
+    @Column(name = "ends_at")
+    private LocalDateTime endsAt;
+
+    @Transient
+    @JsonIgnore
+    private List<CounterKey> countedKeys;
+
+    @Transient
+    @JsonIgnore
+    private List<WorkloadKey> workloadKeys;
 }
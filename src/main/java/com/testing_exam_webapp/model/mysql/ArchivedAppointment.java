@@ -0,0 +1,43 @@
+package com.testing_exam_webapp.model.mysql;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.testing_exam_webapp.model.entity_bases.AppointmentBase;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Appointment moved out of {@code appointments} by the archival job. Same columns as
+ * {@link Appointment}, so rows can be copied with INSERT ... SELECT.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "appointments_archive", indexes = {
+        @Index(name = "idx_appointments_archive_date", columnList = "appointment_date")
+})
+public class ArchivedAppointment extends AppointmentBase {
+    @Id
+    private UUID appointmentId;
+    @Version
+    private Long version;
+    @ManyToOne
+    @JoinColumn(name = "patient_patient_id")
+    private Patient patient;
+    @ManyToOne
+    @JoinColumn(name = "doctor_doctor_id")
+    private Doctor doctor;
+    @ManyToOne
+    @JoinColumn(name = "nurse_nurse_id")
+    private Nurse nurse;
+
+    @JsonIgnore
+    @Column(name = "starts_at")
+    private LocalDateTime startsAt;
+    @JsonIgnore
+    @Column(name = "ends_at")
+    private LocalDateTime endsAt;
+}
@@ -1,5 +1,6 @@
 package com.testing_exam_webapp.model.mysql;
 
+import com.testing_exam_webapp.event.TableChangeListener;
 import com.testing_exam_webapp.model.entity_bases.DiagnosisBase;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -11,9 +12,12 @@ import java.util.UUID;
 @Setter
 @Entity
 @Table(name = "diagnosis")
+@EntityListeners(TableChangeListener.class)
 public class Diagnosis extends DiagnosisBase {
     @Id
     private UUID diagnosisId;
+    @Version
+    private Long version;
     @ManyToOne
     private Doctor doctor;
 }
@@ -1,21 +1,34 @@
 package com.testing_exam_webapp.model.mysql;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.testing_exam_webapp.event.CounterKey;
+import com.testing_exam_webapp.event.CounterTracked;
+import com.testing_exam_webapp.event.CountingEntityListener;
+import com.testing_exam_webapp.event.TableChangeListener;
 import com.testing_exam_webapp.model.entity_bases.DoctorBase;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.List;
 import java.util.UUID;
 
 @Getter
 @Setter
 @Entity
 @Table(name = "doctors")
-public class Doctor extends DoctorBase {
+@EntityListeners({CountingEntityListener.class, TableChangeListener.class})
+public class Doctor extends DoctorBase implements CounterTracked {
     @Id
     private UUID doctorId;
+    @Version
+    private Long version;
     @ManyToOne
     private Ward ward;
     @ManyToOne
     private Hospital hospital;
+
+    @Transient
+    @JsonIgnore
+    private List<CounterKey> countedKeys;
 }
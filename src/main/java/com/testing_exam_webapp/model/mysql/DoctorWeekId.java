@@ -0,0 +1,19 @@
+package com.testing_exam_webapp.model.mysql;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class DoctorWeekId implements Serializable {
+    private UUID doctorId;
+    private LocalDate weekStart;
+}
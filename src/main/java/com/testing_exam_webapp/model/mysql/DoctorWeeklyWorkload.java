@@ -0,0 +1,32 @@
+package com.testing_exam_webapp.model.mysql;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Appointments, surgeries and prescriptions per doctor per week (weeks start on Monday).
+ * Maintained incrementally from entity writes by DoctorWorkloadService and rebuilt from the
+ * source tables by its backfill job. Cancelled appointments are not counted.
+ */
+@Getter
+@Setter
+@Entity
+@IdClass(DoctorWeekId.class)
+@Table(name = "doctor_weekly_workload", indexes = {
+        @Index(name = "idx_doctor_weekly_workload_week", columnList = "week_start")
+})
+public class DoctorWeeklyWorkload {
+    @Id
+    @Column(name = "doctor_id")
+    private UUID doctorId;
+    @Id
+    @Column(name = "week_start")
+    private LocalDate weekStart;
+    private long appointments;
+    private long surgeries;
+    private long prescriptions;
+}
@@ -1,6 +1,8 @@
 package com.testing_exam_webapp.model.mysql;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.testing_exam_webapp.event.CountingEntityListener;
+import com.testing_exam_webapp.event.TableChangeListener;
 import com.testing_exam_webapp.model.entity_bases.HospitalBase;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -13,9 +15,13 @@ import java.util.UUID;
 @Setter
 @Entity
 @Table(name = "hospitals")
+@EntityListeners({CountingEntityListener.class, TableChangeListener.class})
 public class Hospital extends HospitalBase {
     @Id
     private UUID hospitalId;
+
+    @Version
+    private Long version;
     
     @ManyToMany
     @JoinTable(
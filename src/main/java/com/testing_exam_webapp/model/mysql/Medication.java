@@ -1,9 +1,12 @@
 package com.testing_exam_webapp.model.mysql;
 
+import com.testing_exam_webapp.event.TableChangeListener;
 import com.testing_exam_webapp.model.entity_bases.MedicationBase;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -13,7 +16,10 @@ import java.util.UUID;
 @Setter
 @Entity
 @Table(name = "medications")
+@EntityListeners(TableChangeListener.class)
 public class Medication extends MedicationBase {
     @Id
     private UUID medicationId;
+    @Version
+    private Long version;
 }
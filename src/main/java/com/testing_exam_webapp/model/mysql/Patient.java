@@ -1,10 +1,16 @@
 package com.testing_exam_webapp.model.mysql;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.testing_exam_webapp.event.CounterKey;
+import com.testing_exam_webapp.event.CounterTracked;
+import com.testing_exam_webapp.event.CountingEntityListener;
+import com.testing_exam_webapp.event.TableChangeListener;
 import com.testing_exam_webapp.model.entity_bases.PatientBase;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -12,9 +18,12 @@ import java.util.UUID;
 @Setter
 @Entity
 @Table(name = "patients")
-public class Patient extends PatientBase {
+@EntityListeners({CountingEntityListener.class, TableChangeListener.class})
+public class Patient extends PatientBase implements CounterTracked {
     @Id
     private UUID patientId;
+    @Version
+    private Long version;
     @ManyToOne
     private Ward ward;
     @ManyToOne
@@ -22,4 +31,7 @@ public class Patient extends PatientBase {
     @ManyToMany
     private Set<Diagnosis> diagnosis;
 
+    @Transient
+    @JsonIgnore
+    private List<CounterKey> countedKeys;
 }
@@ -1,23 +1,54 @@
 package com.testing_exam_webapp.model.mysql;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.testing_exam_webapp.event.TableChangeListener;
+import com.testing_exam_webapp.event.WorkloadEntityListener;
+import com.testing_exam_webapp.event.WorkloadKey;
+import com.testing_exam_webapp.event.WorkloadTracked;
 import com.testing_exam_webapp.model.entity_bases.PrescriptionBase;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Getter
 @Setter
 @Entity
-@Table(name = "prescriptions")
-public class Prescription extends PrescriptionBase {
+@Table(name = "prescriptions", indexes = {
+        @Index(name = "idx_prescriptions_patient_dates", columnList = "patient_patient_id, start_date, end_date"),
+        @Index(name = "idx_prescriptions_doctor_dates", columnList = "doctor_doctor_id, start_date, end_date"),
+        @Index(name = "idx_prescriptions_medication_dates", columnList = "medication_medication_id, start_date, end_date"),
+        @Index(name = "idx_prescriptions_dates", columnList = "start_date, end_date"),
+        @Index(name = "idx_prescriptions_end_date", columnList = "end_date"),
+        @Index(name = "idx_prescriptions_updated_at", columnList = "updated_at")
+})
+@EntityListeners({WorkloadEntityListener.class, TableChangeListener.class})
+public class Prescription extends PrescriptionBase implements WorkloadTracked {
     @Id
     private UUID prescriptionId;
+    @Version
+    private Long version;
     @ManyToOne
+    @JoinColumn(name = "patient_patient_id")
     private Patient patient;
     @ManyToOne
+    @JoinColumn(name = "doctor_doctor_id")
     private Doctor doctor;
     @ManyToOne
+    @JoinColumn(name = "medication_medication_id")
     private Medication medication;
+
+    // Lets the expiry scanner pick up only rows written since its last run
+    @JsonIgnore
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Transient
+    @JsonIgnore
+    private List<WorkloadKey> workloadKeys;
 }
@@ -1,21 +1,34 @@
 package com.testing_exam_webapp.model.mysql;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.testing_exam_webapp.event.TableChangeListener;
+import com.testing_exam_webapp.event.WorkloadEntityListener;
+import com.testing_exam_webapp.event.WorkloadKey;
+import com.testing_exam_webapp.event.WorkloadTracked;
 import com.testing_exam_webapp.model.entity_bases.SurgeryBase;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.List;
 import java.util.UUID;
 
 @Getter
 @Setter
 @Entity
 @Table(name = "surgeries")
-public class Surgery extends SurgeryBase {
+@EntityListeners({WorkloadEntityListener.class, TableChangeListener.class})
+public class Surgery extends SurgeryBase implements WorkloadTracked {
     @Id
     private UUID surgeryId;
+    @Version
+    private Long version;
     @ManyToOne
     private Patient patient;
     @ManyToOne
     private Doctor doctor;
+
+    @Transient
+    @JsonIgnore
+    private List<WorkloadKey> workloadKeys;
 }
@@ -14,6 +14,9 @@ import java.util.UUID;
 public class User {
     @Id
     private UUID userId;
+
+    @Version
+    private Long version;
     
     @Column(unique = true, nullable = false)
     private String username;
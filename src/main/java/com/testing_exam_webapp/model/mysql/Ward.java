@@ -1,10 +1,13 @@
 package com.testing_exam_webapp.model.mysql;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.testing_exam_webapp.event.CountingEntityListener;
+import com.testing_exam_webapp.event.TableChangeListener;
 import com.testing_exam_webapp.model.entity_bases.WardBase;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.Set;
 import java.util.UUID;
@@ -13,10 +16,20 @@ import java.util.UUID;
 @Setter
 @Entity
 @Table(name = "wards")
+@EntityListeners({CountingEntityListener.class, TableChangeListener.class})
 public class Ward extends WardBase {
     @Id
     private UUID wardId;
-    
+
+    @Version
+    private Long version;
+
+    // Beds in use; only written by WardRepository.reserveBed/releaseBed so concurrent admissions cannot oversubscribe.
+    // Those also bump the version, since occupancy is part of the ward clients see
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private int occupancy;
+
     @ManyToMany(mappedBy = "wards")
     @JsonIgnoreProperties("wards")
     private Set<Hospital> hospitals;
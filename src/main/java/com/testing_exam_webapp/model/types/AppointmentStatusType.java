@@ -3,5 +3,6 @@ package com.testing_exam_webapp.model.types;
 public enum AppointmentStatusType {
     SCHEDULED,
     COMPLETED,
-    CANCELLED
+    CANCELLED,
+    NO_SHOW
 }
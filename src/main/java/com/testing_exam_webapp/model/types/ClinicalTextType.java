@@ -0,0 +1,6 @@
+package com.testing_exam_webapp.model.types;
+
+public enum ClinicalTextType {
+    DIAGNOSIS,
+    SURGERY
+}
@@ -0,0 +1,16 @@
+package com.testing_exam_webapp.model.types;
+
+public enum CounterType {
+    PATIENTS,
+    DOCTORS,
+    NURSES,
+    APPOINTMENTS,
+    HOSPITALS,
+    WARDS,
+    PATIENTS_PER_WARD,
+    PATIENTS_PER_HOSPITAL,
+    DOCTORS_PER_HOSPITAL,
+    NURSES_PER_HOSPITAL,
+    APPOINTMENTS_PER_STATUS,
+    APPOINTMENTS_PER_DAY_AND_STATUS
+}
@@ -0,0 +1,14 @@
+package com.testing_exam_webapp.model.types;
+
+public enum EntityTable {
+    APPOINTMENTS,
+    DIAGNOSES,
+    DOCTORS,
+    HOSPITALS,
+    MEDICATIONS,
+    NURSES,
+    PATIENTS,
+    PRESCRIPTIONS,
+    SURGERIES,
+    WARDS
+}
@@ -0,0 +1,7 @@
+package com.testing_exam_webapp.model.types;
+
+public enum WorkloadMetric {
+    APPOINTMENTS,
+    SURGERIES,
+    PRESCRIPTIONS
+}
@@ -2,11 +2,23 @@ package com.testing_exam_webapp.repository;
 
 import com.testing_exam_webapp.model.mysql.Appointment;
 import com.testing_exam_webapp.model.types.AppointmentStatusType;
+import com.testing_exam_webapp.repository.projection.AppointmentTimelineRow;
+import com.testing_exam_webapp.repository.projection.BookedInterval;
+import com.testing_exam_webapp.repository.projection.DateStatusCount;
+import com.testing_exam_webapp.repository.projection.StatusCount;
+import com.testing_exam_webapp.repository.projection.WardStatusCount;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,4 +35,89 @@ public interface AppointmentRepository extends JpaRepository<Appointment, UUID>
     List<Appointment> findByStatus(AppointmentStatusType status);
     List<Appointment> findByAppointmentDate(LocalDate date);
     List<Appointment> findByAppointmentDateBetween(LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT a.status AS status, COUNT(a) AS total FROM Appointment a WHERE a.status IS NOT NULL GROUP BY a.status")
+    List<StatusCount> countPerStatus();
+
+    @Query("SELECT a.appointmentDate AS date, a.status AS status, COUNT(a) AS total FROM Appointment a " +
+           "WHERE a.appointmentDate IS NOT NULL AND a.status IS NOT NULL GROUP BY a.appointmentDate, a.status")
+    List<DateStatusCount> countPerDateAndStatus();
+
+    /**
+     * Moves at most {@code batchSize} scheduled appointments dated before {@code before} to the
+     * target status. Each call is its own short transaction and walks idx_appointments_status_date,
+     * so row locks are only held for one batch; callers loop until fewer rows than the batch come back.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE appointments SET status = :target, version = version + 1 " +
+                   "WHERE status = 'SCHEDULED' AND appointment_date < :before LIMIT :batchSize", nativeQuery = true)
+    int transitionScheduledBefore(@Param("target") String target,
+                                  @Param("before") LocalDate before,
+                                  @Param("batchSize") int batchSize);
+
+    /**
+     * Appointments of the doctor overlapping [start, end). The extra lower bound on startsAt
+     * (start minus the longest allowed duration) keeps the lookup a short range scan on
+     * idx_appointments_doctor_start instead of reading the doctor's whole history.
+     * <p>
+     * A locking read, so it sees bookings committed after the transaction's snapshot was taken
+     * (e.g. while it waited for the doctor's row lock).
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT a FROM Appointment a WHERE a.doctor.doctorId = :doctorId " +
+           "AND a.startsAt > :earliestStart AND a.startsAt < :end AND a.endsAt > :start " +
+           "AND a.status <> com.testing_exam_webapp.model.types.AppointmentStatusType.CANCELLED")
+    List<Appointment> findDoctorConflicts(@Param("doctorId") UUID doctorId,
+                                          @Param("earliestStart") LocalDateTime earliestStart,
+                                          @Param("start") LocalDateTime start,
+                                          @Param("end") LocalDateTime end);
+
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT a FROM Appointment a WHERE a.nurse.nurseId = :nurseId " +
+           "AND a.startsAt > :earliestStart AND a.startsAt < :end AND a.endsAt > :start " +
+           "AND a.status <> com.testing_exam_webapp.model.types.AppointmentStatusType.CANCELLED")
+    List<Appointment> findNurseConflicts(@Param("nurseId") UUID nurseId,
+                                         @Param("earliestStart") LocalDateTime earliestStart,
+                                         @Param("start") LocalDateTime start,
+                                         @Param("end") LocalDateTime end);
+
+    /**
+     * Booked time of the given doctors overlapping [start, end), bounded below like
+     * {@link #findDoctorConflicts} so it stays a range scan on idx_appointments_doctor_start.
+     */
+    @Query("SELECT a.doctor.doctorId AS clinicianId, a.startsAt AS startsAt, a.endsAt AS endsAt FROM Appointment a " +
+           "WHERE a.doctor.doctorId IN :doctorIds " +
+           "AND a.startsAt > :earliestStart AND a.startsAt < :end AND a.endsAt > :start " +
+           "AND a.status <> com.testing_exam_webapp.model.types.AppointmentStatusType.CANCELLED")
+    List<BookedInterval> findDoctorBookings(@Param("doctorIds") Collection<UUID> doctorIds,
+                                            @Param("earliestStart") LocalDateTime earliestStart,
+                                            @Param("start") LocalDateTime start,
+                                            @Param("end") LocalDateTime end);
+
+    /**
+     * Timeline rows of the patient after the keyset cursor, newest first; see PatientTimelineService.
+     */
+    @Query("SELECT a.appointmentDate AS date, a.appointmentId AS id, a.reason AS summary, a.status AS status, " +
+           "d.doctorId AS doctorId, d.doctorName AS doctorName FROM Appointment a LEFT JOIN a.doctor d " +
+           "WHERE a.patient.patientId = :patientId AND a.appointmentDate IS NOT NULL " +
+           "AND (:cursorDate IS NULL OR a.appointmentDate < :cursorDate " +
+           "OR (a.appointmentDate = :cursorDate AND (:cursorMode = 2 OR (:cursorMode = 1 AND a.appointmentId > :cursorId)))) " +
+           "ORDER BY a.appointmentDate DESC, a.appointmentId ASC")
+    List<AppointmentTimelineRow> findTimelineRows(@Param("patientId") UUID patientId,
+                                                  @Param("cursorDate") LocalDate cursorDate,
+                                                  @Param("cursorMode") int cursorMode,
+                                                  @Param("cursorId") UUID cursorId,
+                                                  Pageable page);
+
+    /**
+     * Appointments of the hospital's patients between the dates, counted per patient ward and status.
+     */
+    @Query("SELECT w.wardId AS wardId, a.status AS status, COUNT(a) AS total FROM Appointment a " +
+           "JOIN a.patient p LEFT JOIN p.ward w " +
+           "WHERE p.hospital.hospitalId = :hospitalId AND a.appointmentDate BETWEEN :from AND :to " +
+           "GROUP BY w.wardId, a.status")
+    List<WardStatusCount> countPerWardAndStatus(@Param("hospitalId") UUID hospitalId,
+                                                @Param("from") LocalDate from,
+                                                @Param("to") LocalDate to);
 }
@@ -0,0 +1,55 @@
+package com.testing_exam_webapp.repository;
+
+import com.testing_exam_webapp.model.mysql.ArchivedAppointment;
+import com.testing_exam_webapp.repository.projection.WardStatusCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ArchivedAppointmentRepository extends JpaRepository<ArchivedAppointment, UUID> {
+    List<ArchivedAppointment> findByAppointmentDate(LocalDate date);
+    List<ArchivedAppointment> findByAppointmentDateBetween(LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT MAX(a.appointmentDate) FROM ArchivedAppointment a")
+    Optional<LocalDate> findLatestAppointmentDate();
+
+    /**
+     * Copies the oldest {@code batchSize} appointments dated before {@code cutoff} into the
+     * archive. Must run in the same transaction as {@link #deleteArchivedBefore}, which removes
+     * exactly these rows from the live table.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO appointments_archive (appointment_id, version, appointment_date, start_time, duration_minutes, " +
+                   "reason, status, starts_at, ends_at, patient_patient_id, doctor_doctor_id, nurse_nurse_id) " +
+                   "SELECT appointment_id, version, appointment_date, start_time, duration_minutes, reason, status, starts_at, " +
+                   "ends_at, patient_patient_id, doctor_doctor_id, nurse_nurse_id FROM appointments " +
+                   "WHERE appointment_date < :cutoff ORDER BY appointment_date, appointment_id LIMIT :batchSize",
+           nativeQuery = true)
+    int copyBatchBefore(@Param("cutoff") LocalDate cutoff, @Param("batchSize") int batchSize);
+
+    /**
+     * Deletes the oldest {@code batchSize} live appointments dated before {@code cutoff} that are
+     * already in the archive. Same ordering as {@link #copyBatchBefore}, and the EXISTS guard
+     * makes sure nothing is deleted that was not copied.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM appointments WHERE appointment_date < :cutoff AND EXISTS " +
+                   "(SELECT 1 FROM appointments_archive r WHERE r.appointment_id = appointments.appointment_id) " +
+                   "ORDER BY appointment_date, appointment_id LIMIT :batchSize",
+           nativeQuery = true)
+    int deleteArchivedBefore(@Param("cutoff") LocalDate cutoff, @Param("batchSize") int batchSize);
+
+    @Query("SELECT w.wardId AS wardId, a.status AS status, COUNT(a) AS total FROM ArchivedAppointment a " +
+           "JOIN a.patient p LEFT JOIN p.ward w " +
+           "WHERE p.hospital.hospitalId = :hospitalId AND a.appointmentDate BETWEEN :from AND :to " +
+           "GROUP BY w.wardId, a.status")
+    List<WardStatusCount> countPerWardAndStatus(@Param("hospitalId") UUID hospitalId,
+                                                @Param("from") LocalDate from,
+                                                @Param("to") LocalDate to);
+}
@@ -1,10 +1,37 @@
 package com.testing_exam_webapp.repository;
 
 import com.testing_exam_webapp.model.mysql.Diagnosis;
+import com.testing_exam_webapp.repository.projection.ClinicalTextRow;
+import com.testing_exam_webapp.repository.projection.TimelineRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 public interface DiagnosisRepository extends JpaRepository<Diagnosis, UUID> {
-}
+    /**
+     * Timeline rows of the patient after the keyset cursor, newest first; see PatientTimelineService.
+     */
+    @Query("SELECT g.diagnosisDate AS date, g.diagnosisId AS id, g.description AS summary, " +
+           "d.doctorId AS doctorId, d.doctorName AS doctorName FROM Patient pt JOIN pt.diagnosis g LEFT JOIN g.doctor d " +
+           "WHERE pt.patientId = :patientId AND g.diagnosisDate IS NOT NULL " +
+           "AND (:cursorDate IS NULL OR g.diagnosisDate < :cursorDate " +
+           "OR (g.diagnosisDate = :cursorDate AND (:cursorMode = 2 OR (:cursorMode = 1 AND g.diagnosisId > :cursorId)))) " +
+           "ORDER BY g.diagnosisDate DESC, g.diagnosisId ASC")
+    List<TimelineRow> findTimelineRows(@Param("patientId") UUID patientId,
+                                       @Param("cursorDate") LocalDate cursorDate,
+                                       @Param("cursorMode") int cursorMode,
+                                       @Param("cursorId") UUID cursorId,
+                                       Pageable page);
 
+    /**
+     * Descriptions in ID order after {@code afterId}, one keyset batch at a time.
+     */
+    @Query("SELECT g.diagnosisId AS id, g.diagnosisDate AS date, d.doctorId AS doctorId, g.description AS description " +
+           "FROM Diagnosis g LEFT JOIN g.doctor d WHERE g.diagnosisId > :afterId ORDER BY g.diagnosisId")
+    List<ClinicalTextRow> findTextBatch(@Param("afterId") UUID afterId, Pageable page);
+}
@@ -2,20 +2,39 @@ package com.testing_exam_webapp.repository;
 
 import com.testing_exam_webapp.model.mysql.Doctor;
 import com.testing_exam_webapp.model.types.DoctorSpecialityType;
+import com.testing_exam_webapp.repository.projection.IdCount;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface DoctorRepository extends JpaRepository<Doctor, UUID> {
+    /**
+     * Loads the doctor and locks the row until the transaction ends, so bookings of the same
+     * doctor check for overlaps and insert one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Doctor d WHERE d.doctorId = :doctorId")
+    Optional<Doctor> findByIdForBooking(@Param("doctorId") UUID doctorId);
+
     @Query("SELECT d FROM Doctor d WHERE d.ward.wardId = :wardId")
     List<Doctor> findByWardId(@Param("wardId") UUID wardId);
     
     List<Doctor> findBySpeciality(DoctorSpecialityType speciality);
+
+    @Query("SELECT d FROM Doctor d WHERE d.ward.wardId = :wardId AND d.speciality = :speciality")
+    List<Doctor> findByWardIdAndSpeciality(@Param("wardId") UUID wardId,
+                                           @Param("speciality") DoctorSpecialityType speciality);
     
     @Query("SELECT d FROM Doctor d WHERE d.hospital.hospitalId = :hospitalId")
     List<Doctor> findByHospitalId(@Param("hospitalId") UUID hospitalId);
+
+    @Query("SELECT d.hospital.hospitalId AS id, COUNT(d) AS total FROM Doctor d WHERE d.hospital IS NOT NULL GROUP BY d.hospital.hospitalId")
+    List<IdCount> countPerHospital();
 }
 
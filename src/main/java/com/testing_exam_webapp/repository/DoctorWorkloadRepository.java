@@ -0,0 +1,112 @@
+package com.testing_exam_webapp.repository;
+
+import com.testing_exam_webapp.model.mysql.DoctorWeekId;
+import com.testing_exam_webapp.model.mysql.DoctorWeeklyWorkload;
+import com.testing_exam_webapp.model.types.DoctorSpecialityType;
+import com.testing_exam_webapp.repository.projection.DateRange;
+import com.testing_exam_webapp.repository.projection.DoctorWorkloadRow;
+import com.testing_exam_webapp.repository.projection.HospitalWorkloadRow;
+import com.testing_exam_webapp.repository.projection.SpecialityWorkloadRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface DoctorWorkloadRepository extends JpaRepository<DoctorWeeklyWorkload, DoctorWeekId> {
+
+    /**
+     * Adds the given deltas to one doctor's week, creating the row if it does not exist yet.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO doctor_weekly_workload (doctor_id, week_start, appointments, surgeries, prescriptions) " +
+                   "VALUES (:doctorId, :weekStart, :appointments, :surgeries, :prescriptions) AS new " +
+                   "ON DUPLICATE KEY UPDATE appointments = appointments + new.appointments, " +
+                   "surgeries = surgeries + new.surgeries, prescriptions = prescriptions + new.prescriptions",
+           nativeQuery = true)
+    int addToWeek(@Param("doctorId") UUID doctorId, @Param("weekStart") LocalDate weekStart,
+                  @Param("appointments") long appointments, @Param("surgeries") long surgeries,
+                  @Param("prescriptions") long prescriptions);
+
+    @Modifying
+    @Query(value = "DELETE FROM doctor_weekly_workload WHERE week_start >= :from AND week_start < :to", nativeQuery = true)
+    int deleteWeeks(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = "DELETE FROM doctor_weekly_workload WHERE week_start < :from OR week_start >= :to", nativeQuery = true)
+    int deleteWeeksOutside(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Recomputes the weeks starting in {@code [from, to)} from the source tables, archived
+     * appointments included and cancelled appointments left out. Run after {@link #deleteWeeks}
+     * for the same range in one transaction; {@code from} and {@code to} must be Mondays.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO doctor_weekly_workload (doctor_id, week_start, appointments, surgeries, prescriptions) " +
+                   "SELECT doctor_id, week_start, SUM(appointments), SUM(surgeries), SUM(prescriptions) FROM (" +
+                   "SELECT doctor_doctor_id AS doctor_id, DATE_SUB(appointment_date, INTERVAL WEEKDAY(appointment_date) DAY) AS week_start, " +
+                   "COUNT(*) AS appointments, 0 AS surgeries, 0 AS prescriptions FROM appointments " +
+                   "WHERE doctor_doctor_id IS NOT NULL AND appointment_date >= :from AND appointment_date < :to " +
+                   "AND (status IS NULL OR status <> 'CANCELLED') GROUP BY 1, 2 " +
+                   "UNION ALL SELECT doctor_doctor_id, DATE_SUB(appointment_date, INTERVAL WEEKDAY(appointment_date) DAY), " +
+                   "COUNT(*), 0, 0 FROM appointments_archive " +
+                   "WHERE doctor_doctor_id IS NOT NULL AND appointment_date >= :from AND appointment_date < :to " +
+                   "AND (status IS NULL OR status <> 'CANCELLED') GROUP BY 1, 2 " +
+                   "UNION ALL SELECT doctor_doctor_id, DATE_SUB(surgery_date, INTERVAL WEEKDAY(surgery_date) DAY), " +
+                   "0, COUNT(*), 0 FROM surgeries " +
+                   "WHERE doctor_doctor_id IS NOT NULL AND surgery_date >= :from AND surgery_date < :to GROUP BY 1, 2 " +
+                   "UNION ALL SELECT doctor_doctor_id, DATE_SUB(start_date, INTERVAL WEEKDAY(start_date) DAY), " +
+                   "0, 0, COUNT(*) FROM prescriptions " +
+                   "WHERE doctor_doctor_id IS NOT NULL AND start_date >= :from AND start_date < :to GROUP BY 1, 2" +
+                   ") s GROUP BY doctor_id, week_start",
+           nativeQuery = true)
+    int rebuildWeeks(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT MIN(a.appointmentDate) AS first, MAX(a.appointmentDate) AS last FROM Appointment a")
+    DateRange findAppointmentDateRange();
+
+    @Query("SELECT MIN(a.appointmentDate) AS first, MAX(a.appointmentDate) AS last FROM ArchivedAppointment a")
+    DateRange findArchivedAppointmentDateRange();
+
+    @Query("SELECT MIN(s.surgeryDate) AS first, MAX(s.surgeryDate) AS last FROM Surgery s")
+    DateRange findSurgeryDateRange();
+
+    @Query("SELECT MIN(p.startDate) AS first, MAX(p.startDate) AS last FROM Prescription p")
+    DateRange findPrescriptionDateRange();
+
+    @Query("SELECT w.doctorId AS doctorId, d.doctorName AS doctorName, d.speciality AS speciality, " +
+           "h.hospitalId AS hospitalId, h.hospitalName AS hospitalName, w.weekStart AS weekStart, " +
+           "w.appointments AS appointments, w.surgeries AS surgeries, w.prescriptions AS prescriptions " +
+           "FROM DoctorWeeklyWorkload w JOIN Doctor d ON d.doctorId = w.doctorId LEFT JOIN d.hospital h " +
+           "WHERE w.weekStart >= :from AND w.weekStart <= :to " +
+           "AND (w.appointments > 0 OR w.surgeries > 0 OR w.prescriptions > 0) " +
+           "AND (:hospitalId IS NULL OR h.hospitalId = :hospitalId) " +
+           "AND (:speciality IS NULL OR d.speciality = :speciality) " +
+           "ORDER BY w.weekStart, d.doctorName")
+    List<DoctorWorkloadRow> findDoctorWeeks(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                            @Param("hospitalId") UUID hospitalId,
+                                            @Param("speciality") DoctorSpecialityType speciality);
+
+    @Query("SELECT h.hospitalId AS hospitalId, h.hospitalName AS hospitalName, w.weekStart AS weekStart, " +
+           "SUM(w.appointments) AS appointments, SUM(w.surgeries) AS surgeries, SUM(w.prescriptions) AS prescriptions " +
+           "FROM DoctorWeeklyWorkload w JOIN Doctor d ON d.doctorId = w.doctorId JOIN d.hospital h " +
+           "WHERE w.weekStart >= :from AND w.weekStart <= :to " +
+           "AND (:speciality IS NULL OR d.speciality = :speciality) " +
+           "GROUP BY h.hospitalId, h.hospitalName, w.weekStart " +
+           "ORDER BY w.weekStart, h.hospitalName")
+    List<HospitalWorkloadRow> sumByHospital(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                            @Param("speciality") DoctorSpecialityType speciality);
+
+    @Query("SELECT d.speciality AS speciality, w.weekStart AS weekStart, " +
+           "SUM(w.appointments) AS appointments, SUM(w.surgeries) AS surgeries, SUM(w.prescriptions) AS prescriptions " +
+           "FROM DoctorWeeklyWorkload w JOIN Doctor d ON d.doctorId = w.doctorId LEFT JOIN d.hospital h " +
+           "WHERE w.weekStart >= :from AND w.weekStart <= :to " +
+           "AND (:hospitalId IS NULL OR h.hospitalId = :hospitalId) " +
+           "GROUP BY d.speciality, w.weekStart " +
+           "ORDER BY w.weekStart, d.speciality")
+    List<SpecialityWorkloadRow> sumBySpeciality(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                @Param("hospitalId") UUID hospitalId);
+}
@@ -1,12 +1,19 @@
 package com.testing_exam_webapp.repository;
 
 import com.testing_exam_webapp.model.mysql.Hospital;
+import com.testing_exam_webapp.repository.projection.HospitalNameRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.UUID;
 
 public interface HospitalRepository extends JpaRepository<Hospital, UUID> {
     List<Hospital> findByCity(String city);
-}
 
+    @Query("SELECT DISTINCT h.city FROM Hospital h WHERE h.city IS NOT NULL")
+    List<String> findDistinctCities();
+
+    @Query("SELECT h.hospitalId AS id, h.hospitalName AS name FROM Hospital h ORDER BY h.hospitalName")
+    List<HospitalNameRow> findAllNames();
+}
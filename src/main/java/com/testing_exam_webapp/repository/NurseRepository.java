@@ -1,10 +1,26 @@
 package com.testing_exam_webapp.repository;
 
 import com.testing_exam_webapp.model.mysql.Nurse;
+import com.testing_exam_webapp.repository.projection.IdCount;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface NurseRepository extends JpaRepository<Nurse, UUID> {
-}
+    /**
+     * Loads the nurse and locks the row until the transaction ends; see
+     * {@link DoctorRepository#findByIdForBooking}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT n FROM Nurse n WHERE n.nurseId = :nurseId")
+    Optional<Nurse> findByIdForBooking(@Param("nurseId") UUID nurseId);
 
+    @Query("SELECT n.hospital.hospitalId AS id, COUNT(n) AS total FROM Nurse n WHERE n.hospital IS NOT NULL GROUP BY n.hospital.hospitalId")
+    List<IdCount> countPerHospital();
+}
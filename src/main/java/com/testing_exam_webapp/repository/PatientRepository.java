@@ -1,6 +1,11 @@
 package com.testing_exam_webapp.repository;
 
 import com.testing_exam_webapp.model.mysql.Patient;
+import com.testing_exam_webapp.repository.projection.IdCount;
+import com.testing_exam_webapp.repository.projection.IdPair;
+import com.testing_exam_webapp.repository.projection.PatientFactsRow;
+import com.testing_exam_webapp.repository.projection.PatientIdentityRow;
+import com.testing_exam_webapp.repository.projection.PatientNameRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,5 +19,23 @@ public interface PatientRepository extends JpaRepository<Patient, UUID> {
     
     @Query("SELECT p FROM Patient p WHERE p.hospital.hospitalId = :hospitalId")
     List<Patient> findByHospitalId(@Param("hospitalId") UUID hospitalId);
-}
 
+    @Query("SELECT p.ward.wardId AS id, COUNT(p) AS total FROM Patient p WHERE p.ward IS NOT NULL GROUP BY p.ward.wardId")
+    List<IdCount> countPerWard();
+
+    @Query("SELECT p.hospital.hospitalId AS id, COUNT(p) AS total FROM Patient p WHERE p.hospital IS NOT NULL GROUP BY p.hospital.hospitalId")
+    List<IdCount> countPerHospital();
+
+    @Query("SELECT p.patientId AS id, p.patientName AS name FROM Patient p")
+    List<PatientNameRow> findAllNames();
+
+    @Query("SELECT p.patientId AS id, p.patientName AS name, p.dateOfBirth AS dateOfBirth FROM Patient p")
+    List<PatientIdentityRow> findAllIdentities();
+
+    @Query("SELECT p.patientId AS id, w.wardId AS wardId, h.hospitalId AS hospitalId, p.gender AS gender, " +
+           "p.dateOfBirth AS dateOfBirth FROM Patient p LEFT JOIN p.ward w LEFT JOIN p.hospital h")
+    List<PatientFactsRow> findAllFacts();
+
+    @Query("SELECT p.patientId AS firstId, d.diagnosisId AS secondId FROM Patient p JOIN p.diagnosis d")
+    List<IdPair> findAllDiagnosisLinks();
+}
@@ -1,10 +1,113 @@
 package com.testing_exam_webapp.repository;
 
 import com.testing_exam_webapp.model.mysql.Prescription;
+import com.testing_exam_webapp.repository.projection.ActivePrescriptionRow;
+import com.testing_exam_webapp.repository.projection.ExpiringPrescriptionRow;
+import com.testing_exam_webapp.repository.projection.PrescriptionTimelineRow;
+import com.testing_exam_webapp.repository.projection.WardMedicationCount;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public interface PrescriptionRepository extends JpaRepository<Prescription, UUID> {
-}
+    // A prescription is active on a date from its start date through its end date; no end date means ongoing
+    @Query("SELECT p FROM Prescription p WHERE p.startDate <= :date AND (p.endDate IS NULL OR p.endDate >= :date) " +
+           "ORDER BY p.startDate")
+    List<Prescription> findActiveOn(@Param("date") LocalDate date);
+
+    @Query("SELECT p FROM Prescription p WHERE p.patient.patientId = :patientId AND p.startDate <= :date " +
+           "AND (p.endDate IS NULL OR p.endDate >= :date) ORDER BY p.startDate")
+    List<Prescription> findActiveByPatientId(@Param("patientId") UUID patientId, @Param("date") LocalDate date);
+
+    @Query("SELECT p FROM Prescription p WHERE p.doctor.doctorId = :doctorId AND p.startDate <= :date " +
+           "AND (p.endDate IS NULL OR p.endDate >= :date) ORDER BY p.startDate")
+    List<Prescription> findActiveByDoctorId(@Param("doctorId") UUID doctorId, @Param("date") LocalDate date);
+
+    @Query("SELECT p FROM Prescription p WHERE p.medication.medicationId = :medicationId AND p.startDate <= :date " +
+           "AND (p.endDate IS NULL OR p.endDate >= :date) ORDER BY p.startDate")
+    List<Prescription> findActiveByMedicationId(@Param("medicationId") UUID medicationId, @Param("date") LocalDate date);
+
+    /**
+     * Prescriptions of admitted patients that have not ended before {@code from}; source of ActivePrescriptionIndex.
+     */
+    @Query("SELECT p.prescriptionId AS prescriptionId, pt.patientId AS patientId, pt.patientName AS patientName, " +
+           "w.wardId AS wardId, m.medicationId AS medicationId, m.medicationName AS medicationName, m.dosage AS dosage, " +
+           "p.startDate AS startDate, p.endDate AS endDate " +
+           "FROM Prescription p JOIN p.patient pt JOIN pt.ward w LEFT JOIN p.medication m " +
+           "WHERE p.startDate IS NOT NULL AND (p.endDate IS NULL OR p.endDate >= :from)")
+    List<ActivePrescriptionRow> findWardRowsNotEndedBefore(@Param("from") LocalDate from);
 
+    @Query("SELECT p.prescriptionId AS prescriptionId, pt.patientId AS patientId, pt.patientName AS patientName, " +
+           "w.wardId AS wardId, m.medicationId AS medicationId, m.medicationName AS medicationName, m.dosage AS dosage, " +
+           "p.startDate AS startDate, p.endDate AS endDate " +
+           "FROM Prescription p JOIN p.patient pt JOIN pt.ward w LEFT JOIN p.medication m " +
+           "WHERE w.wardId = :wardId AND p.startDate <= :date AND (p.endDate IS NULL OR p.endDate >= :date) " +
+           "ORDER BY p.startDate")
+    List<ActivePrescriptionRow> findActiveRowsByWardId(@Param("wardId") UUID wardId, @Param("date") LocalDate date);
+
+    /**
+     * Timeline rows of the patient after the keyset cursor, newest first; see PatientTimelineService.
+     */
+    @Query("SELECT p.startDate AS date, p.prescriptionId AS id, m.medicationName AS summary, p.endDate AS endDate, " +
+           "d.doctorId AS doctorId, d.doctorName AS doctorName FROM Prescription p LEFT JOIN p.medication m LEFT JOIN p.doctor d " +
+           "WHERE p.patient.patientId = :patientId AND p.startDate IS NOT NULL " +
+           "AND (:cursorDate IS NULL OR p.startDate < :cursorDate " +
+           "OR (p.startDate = :cursorDate AND (:cursorMode = 2 OR (:cursorMode = 1 AND p.prescriptionId > :cursorId)))) " +
+           "ORDER BY p.startDate DESC, p.prescriptionId ASC")
+    List<PrescriptionTimelineRow> findTimelineRows(@Param("patientId") UUID patientId,
+                                                   @Param("cursorDate") LocalDate cursorDate,
+                                                   @Param("cursorMode") int cursorMode,
+                                                   @Param("cursorId") UUID cursorId,
+                                                   Pageable page);
+
+    /**
+     * Next batch of prescriptions ending between {@code from} and {@code to}, keyset-paged by
+     * (end date, ID) after the given position so each batch is a range scan on the end_date index.
+     */
+    @Query("SELECT p.prescriptionId AS prescriptionId, pt.patientId AS patientId, pt.patientName AS patientName, " +
+           "w.wardId AS wardId, d.doctorId AS doctorId, d.doctorName AS doctorName, m.medicationName AS medicationName, " +
+           "p.endDate AS endDate, p.updatedAt AS updatedAt " +
+           "FROM Prescription p LEFT JOIN p.patient pt LEFT JOIN pt.ward w LEFT JOIN p.doctor d LEFT JOIN p.medication m " +
+           "WHERE p.endDate BETWEEN :from AND :to " +
+           "AND (p.endDate > :afterDate OR (p.endDate = :afterDate AND p.prescriptionId > :afterId)) " +
+           "ORDER BY p.endDate, p.prescriptionId")
+    List<ExpiringPrescriptionRow> findExpiringBatch(@Param("from") LocalDate from,
+                                                    @Param("to") LocalDate to,
+                                                    @Param("afterDate") LocalDate afterDate,
+                                                    @Param("afterId") UUID afterId,
+                                                    Pageable page);
+
+    /**
+     * Next batch of prescriptions written between {@code since} and {@code until}, keyset-paged by
+     * (updated at, ID) after the given position.
+     */
+    @Query("SELECT p.prescriptionId AS prescriptionId, pt.patientId AS patientId, pt.patientName AS patientName, " +
+           "w.wardId AS wardId, d.doctorId AS doctorId, d.doctorName AS doctorName, m.medicationName AS medicationName, " +
+           "p.endDate AS endDate, p.updatedAt AS updatedAt " +
+           "FROM Prescription p LEFT JOIN p.patient pt LEFT JOIN pt.ward w LEFT JOIN p.doctor d LEFT JOIN p.medication m " +
+           "WHERE p.updatedAt <= :until " +
+           "AND (p.updatedAt > :afterTime OR (p.updatedAt = :afterTime AND p.prescriptionId > :afterId)) " +
+           "ORDER BY p.updatedAt, p.prescriptionId")
+    List<ExpiringPrescriptionRow> findChangedBatch(@Param("until") LocalDateTime until,
+                                                   @Param("afterTime") LocalDateTime afterTime,
+                                                   @Param("afterId") UUID afterId,
+                                                   Pageable page);
+
+    /**
+     * Prescriptions of the hospital's patients started between the dates, counted per patient
+     * ward and medication.
+     */
+    @Query("SELECT w.wardId AS wardId, m.medicationName AS medicationName, COUNT(p) AS total FROM Prescription p " +
+           "JOIN p.patient pt LEFT JOIN pt.ward w LEFT JOIN p.medication m " +
+           "WHERE pt.hospital.hospitalId = :hospitalId AND p.startDate BETWEEN :from AND :to " +
+           "GROUP BY w.wardId, m.medicationName")
+    List<WardMedicationCount> countPerWardAndMedication(@Param("hospitalId") UUID hospitalId,
+                                                        @Param("from") LocalDate from,
+                                                        @Param("to") LocalDate to);
+}
@@ -1,10 +1,53 @@
 package com.testing_exam_webapp.repository;
 
 import com.testing_exam_webapp.model.mysql.Surgery;
+import com.testing_exam_webapp.repository.projection.IdCount;
+import com.testing_exam_webapp.repository.projection.SurgeryDateRow;
+import com.testing_exam_webapp.repository.projection.SurgeryTextRow;
+import com.testing_exam_webapp.repository.projection.TimelineRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 public interface SurgeryRepository extends JpaRepository<Surgery, UUID> {
-}
+    /**
+     * Timeline rows of the patient after the keyset cursor, newest first; see PatientTimelineService.
+     */
+    @Query("SELECT s.surgeryDate AS date, s.surgeryId AS id, s.description AS summary, " +
+           "d.doctorId AS doctorId, d.doctorName AS doctorName FROM Surgery s LEFT JOIN s.doctor d " +
+           "WHERE s.patient.patientId = :patientId AND s.surgeryDate IS NOT NULL " +
+           "AND (:cursorDate IS NULL OR s.surgeryDate < :cursorDate " +
+           "OR (s.surgeryDate = :cursorDate AND (:cursorMode = 2 OR (:cursorMode = 1 AND s.surgeryId > :cursorId)))) " +
+           "ORDER BY s.surgeryDate DESC, s.surgeryId ASC")
+    List<TimelineRow> findTimelineRows(@Param("patientId") UUID patientId,
+                                       @Param("cursorDate") LocalDate cursorDate,
+                                       @Param("cursorMode") int cursorMode,
+                                       @Param("cursorId") UUID cursorId,
+                                       Pageable page);
+
+    /**
+     * Descriptions in ID order after {@code afterId}, one keyset batch at a time.
+     */
+    @Query("SELECT s.surgeryId AS id, s.surgeryDate AS date, d.doctorId AS doctorId, p.patientId AS patientId, " +
+           "s.description AS description FROM Surgery s LEFT JOIN s.doctor d LEFT JOIN s.patient p " +
+           "WHERE s.surgeryId > :afterId ORDER BY s.surgeryId")
+    List<SurgeryTextRow> findTextBatch(@Param("afterId") UUID afterId, Pageable page);
 
+    @Query("SELECT s.surgeryId AS id, s.patient.patientId AS patientId, s.surgeryDate AS date FROM Surgery s " +
+           "WHERE s.patient IS NOT NULL AND s.surgeryDate IS NOT NULL")
+    List<SurgeryDateRow> findAllDates();
+
+    /**
+     * Surgeries of the hospital's patients between the dates, counted per patient ward.
+     */
+    @Query("SELECT w.wardId AS id, COUNT(s) AS total FROM Surgery s JOIN s.patient p LEFT JOIN p.ward w " +
+           "WHERE p.hospital.hospitalId = :hospitalId AND s.surgeryDate BETWEEN :from AND :to GROUP BY w.wardId")
+    List<IdCount> countPerWard(@Param("hospitalId") UUID hospitalId,
+                               @Param("from") LocalDate from,
+                               @Param("to") LocalDate to);
+}
@@ -2,9 +2,12 @@ package com.testing_exam_webapp.repository;
 
 import com.testing_exam_webapp.model.mysql.Ward;
 import com.testing_exam_webapp.model.types.WardType;
+import com.testing_exam_webapp.repository.projection.WardCensusRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
@@ -14,5 +17,47 @@ public interface WardRepository extends JpaRepository<Ward, UUID> {
     
     @Query("SELECT w FROM Ward w JOIN w.hospitals h WHERE h.hospitalId = :hospitalId")
     List<Ward> findByHospitalId(@Param("hospitalId") UUID hospitalId);
-}
 
+    /**
+     * Takes one bed if the ward has room. The conditional update only locks the ward's row for
+     * the statement, and returns 0 when the ward is already full.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Ward w SET w.occupancy = w.occupancy + 1, w.version = w.version + 1 " +
+           "WHERE w.wardId = :wardId AND w.occupancy < w.maxCapacity")
+    int reserveBed(@Param("wardId") UUID wardId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Ward w SET w.occupancy = w.occupancy - 1, w.version = w.version + 1 " +
+           "WHERE w.wardId = :wardId AND w.occupancy > 0")
+    int releaseBed(@Param("wardId") UUID wardId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Ward w SET w.occupancy = w.occupancy - 1, w.version = w.version + 1 " +
+           "WHERE w.occupancy > 0 AND w.wardId IN " +
+           "(SELECT p.ward.wardId FROM Patient p WHERE p.patientId = :patientId)")
+    int releaseBedOfPatient(@Param("patientId") UUID patientId);
+
+    /**
+     * Sets each ward's occupancy to the number of patients assigned to it, for wards where the
+     * two disagree (e.g. patients admitted before occupancy was tracked). Returns the wards fixed.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Ward w SET w.occupancy = (SELECT COUNT(p) FROM Patient p WHERE p.ward = w), " +
+           "w.version = w.version + 1 " +
+           "WHERE w.occupancy <> (SELECT COUNT(p) FROM Patient p WHERE p.ward = w)")
+    int recountOccupancy();
+
+    /**
+     * The hospital's wards with their beds and how many of the hospital's patients are assigned
+     * to each, in one query.
+     */
+    @Query("SELECT w.wardId AS wardId, w.type AS wardType, w.maxCapacity AS maxCapacity, w.occupancy AS occupancy, " +
+           "(SELECT COUNT(p) FROM Patient p WHERE p.ward = w AND p.hospital = h) AS patients " +
+           "FROM Hospital h JOIN h.wards w WHERE h.hospitalId = :hospitalId ORDER BY w.type, w.wardId")
+    List<WardCensusRow> findCensusByHospitalId(@Param("hospitalId") UUID hospitalId);
+}
@@ -0,0 +1,27 @@
+package com.testing_exam_webapp.repository.projection;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A prescription with the patient, ward and medication fields needed for the per-ward medication view.
+ */
+public interface ActivePrescriptionRow {
+    UUID getPrescriptionId();
+
+    UUID getPatientId();
+
+    String getPatientName();
+
+    UUID getWardId();
+
+    UUID getMedicationId();
+
+    String getMedicationName();
+
+    String getDosage();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+}
@@ -0,0 +1,7 @@
+package com.testing_exam_webapp.repository.projection;
+
+import com.testing_exam_webapp.model.types.AppointmentStatusType;
+
+public interface AppointmentTimelineRow extends TimelineRow {
+    AppointmentStatusType getStatus();
+}
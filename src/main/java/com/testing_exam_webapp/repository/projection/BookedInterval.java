@@ -0,0 +1,15 @@
+package com.testing_exam_webapp.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Time a clinician is booked, without loading the appointment and its associations.
+ */
+public interface BookedInterval {
+    UUID getClinicianId();
+
+    LocalDateTime getStartsAt();
+
+    LocalDateTime getEndsAt();
+}
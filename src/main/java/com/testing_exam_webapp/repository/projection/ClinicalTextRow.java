@@ -0,0 +1,17 @@
+package com.testing_exam_webapp.repository.projection;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Free-text description of a diagnosis or surgery, as read to rebuild the clinical text index.
+ */
+public interface ClinicalTextRow {
+    UUID getId();
+
+    LocalDate getDate();
+
+    UUID getDoctorId();
+
+    String getDescription();
+}
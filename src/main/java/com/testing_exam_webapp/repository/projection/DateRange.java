@@ -0,0 +1,12 @@
+package com.testing_exam_webapp.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Earliest and latest date of a {@code MIN}/{@code MAX} query; both null for an empty table.
+ */
+public interface DateRange {
+    LocalDate getFirst();
+
+    LocalDate getLast();
+}
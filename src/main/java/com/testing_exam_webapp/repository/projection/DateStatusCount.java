@@ -0,0 +1,16 @@
+package com.testing_exam_webapp.repository.projection;
+
+import com.testing_exam_webapp.model.types.AppointmentStatusType;
+
+import java.time.LocalDate;
+
+/**
+ * Row of a {@code GROUP BY} query that counts appointments per day and status.
+ */
+public interface DateStatusCount {
+    LocalDate getDate();
+
+    AppointmentStatusType getStatus();
+
+    Long getTotal();
+}
@@ -0,0 +1,29 @@
+package com.testing_exam_webapp.repository.projection;
+
+import com.testing_exam_webapp.model.types.DoctorSpecialityType;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One doctor's weekly workload together with the doctor's speciality and hospital.
+ */
+public interface DoctorWorkloadRow {
+    UUID getDoctorId();
+
+    String getDoctorName();
+
+    DoctorSpecialityType getSpeciality();
+
+    UUID getHospitalId();
+
+    String getHospitalName();
+
+    LocalDate getWeekStart();
+
+    Long getAppointments();
+
+    Long getSurgeries();
+
+    Long getPrescriptions();
+}
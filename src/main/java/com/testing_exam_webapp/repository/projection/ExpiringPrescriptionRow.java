@@ -0,0 +1,28 @@
+package com.testing_exam_webapp.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The fields of a prescription kept in the expiry digest, plus the keyset columns used to page through it.
+ */
+public interface ExpiringPrescriptionRow {
+    UUID getPrescriptionId();
+
+    UUID getPatientId();
+
+    String getPatientName();
+
+    UUID getWardId();
+
+    UUID getDoctorId();
+
+    String getDoctorName();
+
+    String getMedicationName();
+
+    LocalDate getEndDate();
+
+    LocalDateTime getUpdatedAt();
+}
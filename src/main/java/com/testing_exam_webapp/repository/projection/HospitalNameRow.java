@@ -0,0 +1,12 @@
+package com.testing_exam_webapp.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Hospital ID and name only, for fanning per-hospital work out without loading entities.
+ */
+public interface HospitalNameRow {
+    UUID getId();
+
+    String getName();
+}
@@ -0,0 +1,21 @@
+package com.testing_exam_webapp.repository.projection;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Row of a {@code GROUP BY} query that sums the weekly workload per hospital.
+ */
+public interface HospitalWorkloadRow {
+    UUID getHospitalId();
+
+    String getHospitalName();
+
+    LocalDate getWeekStart();
+
+    Long getAppointments();
+
+    Long getSurgeries();
+
+    Long getPrescriptions();
+}
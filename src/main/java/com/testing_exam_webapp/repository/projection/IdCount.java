@@ -0,0 +1,12 @@
+package com.testing_exam_webapp.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Row of a {@code GROUP BY} query that counts rows per referenced entity ID.
+ */
+public interface IdCount {
+    UUID getId();
+
+    Long getTotal();
+}
@@ -0,0 +1,12 @@
+package com.testing_exam_webapp.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Two related IDs, e.g. one row of a many-to-many join table.
+ */
+public interface IdPair {
+    UUID getFirstId();
+
+    UUID getSecondId();
+}
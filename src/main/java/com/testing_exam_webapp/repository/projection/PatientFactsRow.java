@@ -0,0 +1,19 @@
+package com.testing_exam_webapp.repository.projection;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Patient attributes indexed by the cohort index, loaded without entities or their associations.
+ */
+public interface PatientFactsRow {
+    UUID getId();
+
+    UUID getWardId();
+
+    UUID getHospitalId();
+
+    String getGender();
+
+    LocalDate getDateOfBirth();
+}
@@ -0,0 +1,15 @@
+package com.testing_exam_webapp.repository.projection;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Patient ID, name and date of birth, for building the duplicate blocking index without loading entities.
+ */
+public interface PatientIdentityRow {
+    UUID getId();
+
+    String getName();
+
+    LocalDate getDateOfBirth();
+}
@@ -0,0 +1,12 @@
+package com.testing_exam_webapp.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Patient ID and name only, for building the in-memory name index without loading entities.
+ */
+public interface PatientNameRow {
+    UUID getId();
+
+    String getName();
+}
@@ -0,0 +1,7 @@
+package com.testing_exam_webapp.repository.projection;
+
+import java.time.LocalDate;
+
+public interface PrescriptionTimelineRow extends TimelineRow {
+    LocalDate getEndDate();
+}
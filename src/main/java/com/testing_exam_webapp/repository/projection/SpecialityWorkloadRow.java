@@ -0,0 +1,20 @@
+package com.testing_exam_webapp.repository.projection;
+
+import com.testing_exam_webapp.model.types.DoctorSpecialityType;
+
+import java.time.LocalDate;
+
+/**
+ * Row of a {@code GROUP BY} query that sums the weekly workload per doctor speciality.
+ */
+public interface SpecialityWorkloadRow {
+    DoctorSpecialityType getSpeciality();
+
+    LocalDate getWeekStart();
+
+    Long getAppointments();
+
+    Long getSurgeries();
+
+    Long getPrescriptions();
+}
@@ -0,0 +1,12 @@
+package com.testing_exam_webapp.repository.projection;
+
+import com.testing_exam_webapp.model.types.AppointmentStatusType;
+
+/**
+ * Row of a {@code GROUP BY} query that counts appointments per status.
+ */
+public interface StatusCount {
+    AppointmentStatusType getStatus();
+
+    Long getTotal();
+}
@@ -0,0 +1,15 @@
+package com.testing_exam_webapp.repository.projection;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Surgery ID, patient and date, for the cohort index.
+ */
+public interface SurgeryDateRow {
+    UUID getId();
+
+    UUID getPatientId();
+
+    LocalDate getDate();
+}
@@ -0,0 +1,7 @@
+package com.testing_exam_webapp.repository.projection;
+
+import java.util.UUID;
+
+public interface SurgeryTextRow extends ClinicalTextRow {
+    UUID getPatientId();
+}
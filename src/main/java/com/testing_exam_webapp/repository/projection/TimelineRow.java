@@ -0,0 +1,19 @@
+package com.testing_exam_webapp.repository.projection;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One event of a patient's history, as selected for the timeline.
+ */
+public interface TimelineRow {
+    LocalDate getDate();
+
+    UUID getId();
+
+    String getSummary();
+
+    UUID getDoctorId();
+
+    String getDoctorName();
+}
@@ -0,0 +1,20 @@
+package com.testing_exam_webapp.repository.projection;
+
+import com.testing_exam_webapp.model.types.WardType;
+
+import java.util.UUID;
+
+/**
+ * A ward of one hospital with its beds and the number of that hospital's patients assigned to it.
+ */
+public interface WardCensusRow {
+    UUID getWardId();
+
+    WardType getWardType();
+
+    Integer getMaxCapacity();
+
+    Integer getOccupancy();
+
+    Long getPatients();
+}
@@ -0,0 +1,14 @@
+package com.testing_exam_webapp.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Row of a {@code GROUP BY} query that counts prescriptions per patient ward and medication.
+ */
+public interface WardMedicationCount {
+    UUID getWardId();
+
+    String getMedicationName();
+
+    Long getTotal();
+}
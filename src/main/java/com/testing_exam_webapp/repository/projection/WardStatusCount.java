@@ -0,0 +1,16 @@
+package com.testing_exam_webapp.repository.projection;
+
+import com.testing_exam_webapp.model.types.AppointmentStatusType;
+
+import java.util.UUID;
+
+/**
+ * Row of a {@code GROUP BY} query that counts appointments per patient ward and status.
+ */
+public interface WardStatusCount {
+    UUID getWardId();
+
+    AppointmentStatusType getStatus();
+
+    Long getTotal();
+}
@@ -0,0 +1,181 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.ActiveMedication;
+import com.testing_exam_webapp.repository.PrescriptionRepository;
+import com.testing_exam_webapp.repository.projection.ActivePrescriptionRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory per-ward interval trees over the prescriptions that have not ended yet, answering
+ * "which medications are active in this ward on day X" without a query. Built lazily from one
+ * projection query and rebuilt when the day changes, after prescription writes and ward moves
+ * commit through {@link PrescriptionService} and {@link PatientService} (see {@link #invalidate()}),
+ * or after the configured max age as a backstop for writes made elsewhere. Dates before today fall
+ * back to the database.
+ */
+@Component
+public class ActivePrescriptionIndex {
+    private final PrescriptionRepository prescriptionRepository;
+    private final Clock clock;
+    private final long maxAgeMillis;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public ActivePrescriptionIndex(PrescriptionRepository prescriptionRepository,
+                                   @Value("${app.prescriptions.active-index-max-age-ms:300000}") long maxAgeMillis) {
+        this(prescriptionRepository, maxAgeMillis, Clock.systemDefaultZone());
+    }
+
+    ActivePrescriptionIndex(PrescriptionRepository prescriptionRepository, long maxAgeMillis, Clock clock) {
+        this.prescriptionRepository = prescriptionRepository;
+        this.maxAgeMillis = maxAgeMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Medications active in the ward on the given date, ordered by start date.
+     */
+    public List<ActiveMedication> activeInWard(UUID wardId, LocalDate date) {
+        LocalDate today = LocalDate.now(clock);
+        if (date.isBefore(today)) {
+            return prescriptionRepository.findActiveRowsByWardId(wardId, date).stream()
+                    .map(ActivePrescriptionIndex::toActiveMedication)
+                    .toList();
+        }
+        IntervalTree<ActiveMedication> tree = current(today).byWard().get(wardId);
+        return tree != null ? tree.stab(toDay(date)) : List.of();
+    }
+
+    /**
+     * Marks the index stale; the next read rebuilds it. Call once the write has committed, or a
+     * concurrent rebuild can read the old rows and still count as current.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    private Snapshot current(LocalDate today) {
+        Snapshot current = snapshot;
+        if (isFresh(current, today)) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (isFresh(current, today)) {
+                return current;
+            }
+            // Read the generation first so writes during the query leave this snapshot stale
+            long builtGeneration = generation.get();
+            long builtAt = clock.millis();
+            Map<UUID, List<IntervalTree.Interval<ActiveMedication>>> intervals = new HashMap<>();
+            for (ActivePrescriptionRow row : prescriptionRepository.findWardRowsNotEndedBefore(today)) {
+                int end = row.getEndDate() != null ? toDay(row.getEndDate()) : Integer.MAX_VALUE;
+                intervals.computeIfAbsent(row.getWardId(), wardId -> new ArrayList<>())
+                        .add(new IntervalTree.Interval<>(toDay(row.getStartDate()), end, toActiveMedication(row)));
+            }
+            Map<UUID, IntervalTree<ActiveMedication>> byWard = new HashMap<>();
+            intervals.forEach((wardId, wardIntervals) -> byWard.put(wardId, new IntervalTree<>(wardIntervals)));
+            snapshot = new Snapshot(today, builtAt, builtGeneration, byWard);
+            return snapshot;
+        }
+    }
+
+    private boolean isFresh(Snapshot current, LocalDate today) {
+        return current != null
+                && current.day().equals(today)
+                && current.generation() == generation.get()
+                && clock.millis() - current.builtAt() < maxAgeMillis;
+    }
+
+    private static int toDay(LocalDate date) {
+        return (int) date.toEpochDay();
+    }
+
+    private static ActiveMedication toActiveMedication(ActivePrescriptionRow row) {
+        return new ActiveMedication(row.getPrescriptionId(), row.getPatientId(), row.getPatientName(),
+                row.getMedicationId(), row.getMedicationName(), row.getDosage(), row.getStartDate(), row.getEndDate());
+    }
+
+    private record Snapshot(LocalDate day, long builtAt, long generation,
+                            Map<UUID, IntervalTree<ActiveMedication>> byWard) {
+    }
+
+    /**
+     * Static interval tree over closed integer intervals. Intervals are sorted by start and laid
+     * out as an implicit balanced tree over the array (the midpoint of each range is the node),
+     * with the maximum end of every subtree stored alongside so stabbing queries can skip
+     * subtrees that end before the point: O(log n + k) per query.
+     */
+    static final class IntervalTree<T> {
+        private final int[] starts;
+        private final int[] ends;
+        private final int[] maxEnds;
+        private final List<T> values;
+
+        IntervalTree(List<Interval<T>> intervals) {
+            List<Interval<T>> sorted = new ArrayList<>(intervals);
+            sorted.sort(Comparator.comparingInt(Interval::start));
+            int size = sorted.size();
+            this.starts = new int[size];
+            this.ends = new int[size];
+            this.maxEnds = new int[size];
+            this.values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                Interval<T> interval = sorted.get(i);
+                starts[i] = interval.start();
+                ends[i] = interval.end();
+                values.add(interval.value());
+            }
+            buildMaxEnds(0, size);
+        }
+
+        /**
+         * Values of all intervals containing the point, ordered by interval start.
+         */
+        List<T> stab(int point) {
+            List<T> result = new ArrayList<>();
+            stab(point, 0, starts.length, result);
+            return result;
+        }
+
+        private int buildMaxEnds(int from, int to) {
+            if (from >= to) {
+                return Integer.MIN_VALUE;
+            }
+            int mid = (from + to) >>> 1;
+            int max = Math.max(ends[mid], Math.max(buildMaxEnds(from, mid), buildMaxEnds(mid + 1, to)));
+            maxEnds[mid] = max;
+            return max;
+        }
+
+        private void stab(int point, int from, int to, List<T> result) {
+            if (from >= to) {
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            if (maxEnds[mid] < point) {
+                return;
+            }
+            stab(point, from, mid, result);
+            if (starts[mid] > point) {
+                // Everything to the right starts even later
+                return;
+            }
+            if (ends[mid] >= point) {
+                result.add(values.get(mid));
+            }
+            stab(point, mid + 1, to, result);
+        }
+
+        record Interval<T>(int start, int end, T value) {
+        }
+    }
+}
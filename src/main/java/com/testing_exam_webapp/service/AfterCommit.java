@@ -0,0 +1,39 @@
+package com.testing_exam_webapp.service;
+
+import org.slf4j.Logger;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory index updates until the surrounding transaction commits, so a rolled back
+ * write never shows up in an index. Without a transaction the update runs right away.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Runs the update after the current transaction commits, or right away without one. The
+     * database write has already happened by then, so a failing update is only logged.
+     */
+    static void run(Runnable update, Logger log, String failureMessage) {
+        Runnable guarded = () -> {
+            try {
+                update.run();
+            } catch (RuntimeException e) {
+                log.warn(failureMessage, e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+}
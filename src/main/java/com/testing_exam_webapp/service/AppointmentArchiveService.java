@@ -0,0 +1,167 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.model.mysql.Appointment;
+import com.testing_exam_webapp.model.mysql.ArchivedAppointment;
+import com.testing_exam_webapp.model.types.EntityTable;
+import com.testing_exam_webapp.repository.ArchivedAppointmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Moves appointments older than the configured horizon from {@code appointments} into
+ * {@code appointments_archive} in bounded batches, each copied and deleted in one short
+ * transaction. Date queries only touch the archive when their range reaches back to the
+ * newest archived date. Archived appointments can still be read by ID but no longer changed.
+ */
+@Service
+public class AppointmentArchiveService {
+    private static final Logger log = LoggerFactory.getLogger(AppointmentArchiveService.class);
+
+    private final ArchivedAppointmentRepository archivedAppointmentRepository;
+    private final CounterReconciler counterReconciler;
+    private final ChangeCounters changeCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final int archiveAfterDays;
+    private final int batchSize;
+    private final Clock clock;
+
+    // Newest appointment date in the archive, loaded lazily; queries starting after it skip the archive
+    private volatile Optional<LocalDate> latestArchivedDate;
+
+    @Autowired
+    public AppointmentArchiveService(ArchivedAppointmentRepository archivedAppointmentRepository,
+                                     CounterReconciler counterReconciler,
+                                     ChangeCounters changeCounters,
+                                     TransactionTemplate transactionTemplate,
+                                     @Value("${app.appointments.archive-after-days:365}") int archiveAfterDays,
+                                     @Value("${app.appointments.archive-batch-size:500}") int batchSize) {
+        this(archivedAppointmentRepository, counterReconciler, changeCounters, transactionTemplate, archiveAfterDays, batchSize,
+                Clock.systemDefaultZone());
+    }
+
+    AppointmentArchiveService(ArchivedAppointmentRepository archivedAppointmentRepository,
+                              CounterReconciler counterReconciler,
+                              ChangeCounters changeCounters,
+                              TransactionTemplate transactionTemplate,
+                              int archiveAfterDays,
+                              int batchSize,
+                              Clock clock) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Archive batch size must be positive");
+        }
+        this.archivedAppointmentRepository = archivedAppointmentRepository;
+        this.counterReconciler = counterReconciler;
+        this.changeCounters = changeCounters;
+        this.transactionTemplate = transactionTemplate;
+        this.archiveAfterDays = archiveAfterDays;
+        this.batchSize = batchSize;
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${app.appointments.archive-cron:0 45 0 * * *}")
+    public void archiveScheduled() {
+        archiveOldAppointments();
+    }
+
+    /**
+     * Archives every appointment dated before the horizon and returns how many were moved.
+     */
+    int archiveOldAppointments() {
+        LocalDate cutoff = LocalDate.now(clock).minusDays(archiveAfterDays);
+        long started = System.nanoTime();
+        // Widen the archive range before moving rows so concurrent date queries never miss a committed batch
+        Optional<LocalDate> before = latestArchivedDate;
+        if (before == null || before.isEmpty() || before.get().isBefore(cutoff.minusDays(1))) {
+            latestArchivedDate = Optional.of(cutoff.minusDays(1));
+        }
+        int total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> {
+                int copied = archivedAppointmentRepository.copyBatchBefore(cutoff, batchSize);
+                int deleted = archivedAppointmentRepository.deleteArchivedBefore(cutoff, batchSize);
+                if (copied != deleted) {
+                    throw new IllegalStateException("Archived " + copied + " appointments but deleted " + deleted);
+                }
+                return copied;
+            });
+            total += moved;
+        } while (moved == batchSize);
+
+        latestArchivedDate = archivedAppointmentRepository.findLatestAppointmentDate();
+        if (total > 0) {
+            counterReconciler.reconcile();
+            changeCounters.touch(EntityTable.APPOINTMENTS);
+            log.info("Archived {} appointments dated before {} in {} ms",
+                    total, cutoff, (System.nanoTime() - started) / 1_000_000);
+        }
+        return total;
+    }
+
+    public Optional<Appointment> findArchivedById(UUID appointmentId) {
+        return archivedAppointmentRepository.findById(appointmentId).map(AppointmentArchiveService::toAppointment);
+    }
+
+    public boolean isArchived(UUID appointmentId) {
+        return archivedAppointmentRepository.existsById(appointmentId);
+    }
+
+    public List<Appointment> findArchivedOn(LocalDate date) {
+        if (!reachesIntoArchive(date)) {
+            return List.of();
+        }
+        return archivedAppointmentRepository.findByAppointmentDate(date).stream()
+                .map(AppointmentArchiveService::toAppointment)
+                .toList();
+    }
+
+    /**
+     * Archived appointments between the dates, or an empty list without a query when the range
+     * starts after everything in the archive.
+     */
+    public List<Appointment> findArchivedBetween(LocalDate startDate, LocalDate endDate) {
+        if (!reachesIntoArchive(startDate)) {
+            return List.of();
+        }
+        return archivedAppointmentRepository.findByAppointmentDateBetween(startDate, endDate).stream()
+                .map(AppointmentArchiveService::toAppointment)
+                .toList();
+    }
+
+    private boolean reachesIntoArchive(LocalDate startDate) {
+        Optional<LocalDate> latest = latestArchivedDate;
+        if (latest == null) {
+            latest = archivedAppointmentRepository.findLatestAppointmentDate();
+            latestArchivedDate = latest;
+        }
+        return latest.isPresent() && !startDate.isAfter(latest.get());
+    }
+
+    private static Appointment toAppointment(ArchivedAppointment archived) {
+        Appointment appointment = new Appointment();
+        appointment.setAppointmentId(archived.getAppointmentId());
+        appointment.setVersion(archived.getVersion());
+        appointment.setAppointmentDate(archived.getAppointmentDate());
+        appointment.setStartTime(archived.getStartTime());
+        appointment.setDurationMinutes(archived.getDurationMinutes());
+        appointment.setReason(archived.getReason());
+        appointment.setStatus(archived.getStatus());
+        appointment.setPatient(archived.getPatient());
+        appointment.setDoctor(archived.getDoctor());
+        appointment.setNurse(archived.getNurse());
+        appointment.setStartsAt(archived.getStartsAt());
+        appointment.setEndsAt(archived.getEndsAt());
+        return appointment;
+    }
+}
@@ -1,7 +1,9 @@
 package com.testing_exam_webapp.service;
 
 import com.testing_exam_webapp.dto.AppointmentRequest;
+import com.testing_exam_webapp.exception.ConflictException;
 import com.testing_exam_webapp.exception.EntityNotFoundException;
+import com.testing_exam_webapp.exception.ValidationException;
 import com.testing_exam_webapp.model.mysql.Appointment;
 import com.testing_exam_webapp.model.mysql.Doctor;
 import com.testing_exam_webapp.model.mysql.Nurse;
@@ -12,43 +14,59 @@ import com.testing_exam_webapp.repository.DoctorRepository;
 import com.testing_exam_webapp.repository.NurseRepository;
 import com.testing_exam_webapp.repository.PatientRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class AppointmentService {
+    static final int DEFAULT_DURATION_MINUTES = 30;
+    static final int MIN_DURATION_MINUTES = 5;
+    static final int MAX_DURATION_MINUTES = 480;
+
     private final AppointmentRepository appointmentRepository;
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
     private final NurseRepository nurseRepository;
+    private final AppointmentArchiveService appointmentArchiveService;
 
     public AppointmentService(AppointmentRepository appointmentRepository,
                               PatientRepository patientRepository,
                               DoctorRepository doctorRepository,
-                              NurseRepository nurseRepository) {
+                              NurseRepository nurseRepository,
+                              AppointmentArchiveService appointmentArchiveService) {
         this.appointmentRepository = appointmentRepository;
         this.patientRepository = patientRepository;
         this.doctorRepository = doctorRepository;
         this.nurseRepository = nurseRepository;
+        this.appointmentArchiveService = appointmentArchiveService;
     }
 
+    @Transactional(readOnly = true)
     public List<Appointment> getAppointments() {
         return appointmentRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Appointment getAppointmentById(UUID id) {
         UUID appointmentId = Objects.requireNonNull(id, "Appointment ID cannot be null");
         return appointmentRepository.findById(appointmentId)
+                .or(() -> appointmentArchiveService.findArchivedById(appointmentId))
                 .orElseThrow(() -> new EntityNotFoundException("Appointment not found"));
     }
 
+    @Transactional
     public Appointment createAppointment(AppointmentRequest request) {
         Appointment appointment = new Appointment();
         appointment.setAppointmentId(UUID.randomUUID());
-        appointment.setAppointmentDate(request.getAppointmentDate());
+        applySchedule(appointment, request);
         appointment.setReason(request.getReason());
         appointment.setStatus(request.getStatus());
 
@@ -59,29 +77,19 @@ public class AppointmentService {
             appointment.setPatient(patient);
         }
 
-        UUID doctorId = request.getDoctorId();
-        if (doctorId != null) {
-            Doctor doctor = doctorRepository.findById(doctorId)
-                    .orElseThrow(() -> new EntityNotFoundException("Doctor not found"));
-            appointment.setDoctor(doctor);
-        }
-
-        UUID nurseId = request.getNurseId();
-        if (nurseId != null) {
-            Nurse nurse = nurseRepository.findById(nurseId)
-                    .orElseThrow(() -> new EntityNotFoundException("Nurse not found"));
-            appointment.setNurse(nurse);
-        }
-
+        assignClinicians(appointment, request);
+        checkForDoubleBooking(appointment);
         return appointmentRepository.save(appointment);
     }
 
-    public Appointment updateAppointment(UUID id, AppointmentRequest request) {
+    @Transactional
+    public Appointment updateAppointment(UUID id, AppointmentRequest request, Long expectedVersion) {
         UUID appointmentId = Objects.requireNonNull(id, "Appointment ID cannot be null");
         Appointment appointment = appointmentRepository.findById(appointmentId)
-                .orElseThrow(() -> new EntityNotFoundException("Appointment not found"));
+                .orElseThrow(() -> notFound(appointmentId));
+        EntityVersions.check(expectedVersion, appointment.getVersion(), "Appointment");
 
-        appointment.setAppointmentDate(request.getAppointmentDate());
+        applySchedule(appointment, request);
         appointment.setReason(request.getReason());
         appointment.setStatus(request.getStatus());
 
@@ -92,60 +100,175 @@ public class AppointmentService {
             appointment.setPatient(patient);
         }
 
+        assignClinicians(appointment, request);
+        checkForDoubleBooking(appointment);
+        return appointmentRepository.save(appointment);
+    }
+
+    @Transactional
+    public void deleteAppointment(UUID id) {
+        UUID appointmentId = Objects.requireNonNull(id, "Appointment ID cannot be null");
+        if (!appointmentRepository.existsById(appointmentId)) {
+            throw notFound(appointmentId);
+        }
+        appointmentRepository.deleteById(appointmentId);
+    }
+
+    /**
+     * Archived appointments are history: readable by ID, but rejected as a conflict on writes.
+     */
+    private RuntimeException notFound(UUID appointmentId) {
+        if (appointmentArchiveService.isArchived(appointmentId)) {
+            return new ConflictException("Appointment has been archived and can no longer be changed");
+        }
+        return new EntityNotFoundException("Appointment not found");
+    }
+
+    private void applySchedule(Appointment appointment, AppointmentRequest request) {
+        appointment.setAppointmentDate(request.getAppointmentDate());
+        appointment.setStartTime(request.getStartTime());
+        if (request.getAppointmentDate() == null || request.getStartTime() == null) {
+            // Day-only appointment without a time slot; nothing to conflict with
+            appointment.setDurationMinutes(null);
+            appointment.setStartsAt(null);
+            appointment.setEndsAt(null);
+            return;
+        }
+
+        int duration = request.getDurationMinutes() != null ? request.getDurationMinutes() : DEFAULT_DURATION_MINUTES;
+        if (duration < MIN_DURATION_MINUTES || duration > MAX_DURATION_MINUTES) {
+            throw new ValidationException("Duration must be between " + MIN_DURATION_MINUTES + " and " +
+                    MAX_DURATION_MINUTES + " minutes");
+        }
+        LocalDateTime startsAt = request.getAppointmentDate().atTime(request.getStartTime());
+        appointment.setDurationMinutes(duration);
+        appointment.setStartsAt(startsAt);
+        appointment.setEndsAt(startsAt.plusMinutes(duration));
+    }
+
+    /**
+     * Sets the requested doctor and nurse. When the appointment takes a time slot their rows are
+     * locked (doctor first, then nurse, so two bookings cannot deadlock) until commit, which makes
+     * concurrent bookings of the same clinician run the overlap check and insert one at a time.
+     */
+    private void assignClinicians(Appointment appointment, AppointmentRequest request) {
+        boolean booksSlot = booksSlot(appointment);
+
         UUID doctorId = request.getDoctorId();
+        if (doctorId == null && booksSlot && appointment.getDoctor() != null) {
+            // Rescheduling with the current doctor still has to take the doctor's lock
+            doctorId = appointment.getDoctor().getDoctorId();
+        }
         if (doctorId != null) {
-            Doctor doctor = doctorRepository.findById(doctorId)
+            Doctor doctor = (booksSlot ? doctorRepository.findByIdForBooking(doctorId) : doctorRepository.findById(doctorId))
                     .orElseThrow(() -> new EntityNotFoundException("Doctor not found"));
             appointment.setDoctor(doctor);
         }
 
         UUID nurseId = request.getNurseId();
+        if (nurseId == null && booksSlot && appointment.getNurse() != null) {
+            nurseId = appointment.getNurse().getNurseId();
+        }
         if (nurseId != null) {
-            Nurse nurse = nurseRepository.findById(nurseId)
+            Nurse nurse = (booksSlot ? nurseRepository.findByIdForBooking(nurseId) : nurseRepository.findById(nurseId))
                     .orElseThrow(() -> new EntityNotFoundException("Nurse not found"));
             appointment.setNurse(nurse);
         }
+    }
 
-        return appointmentRepository.save(appointment);
+    private static boolean booksSlot(Appointment appointment) {
+        return appointment.getStartsAt() != null && appointment.getStatus() != AppointmentStatusType.CANCELLED;
     }
 
-    public void deleteAppointment(UUID id) {
-        UUID appointmentId = Objects.requireNonNull(id, "Appointment ID cannot be null");
-        if (!appointmentRepository.existsById(appointmentId)) {
-            throw new EntityNotFoundException("Appointment not found");
+    private void checkForDoubleBooking(Appointment appointment) {
+        if (!booksSlot(appointment)) {
+            return;
+        }
+        LocalDateTime earliestStart = appointment.getStartsAt().minusMinutes(MAX_DURATION_MINUTES);
+
+        Doctor doctor = appointment.getDoctor();
+        if (doctor != null) {
+            rejectConflicts(appointment, "Doctor " + doctor.getDoctorName(),
+                    appointmentRepository.findDoctorConflicts(doctor.getDoctorId(), earliestStart,
+                            appointment.getStartsAt(), appointment.getEndsAt()));
+        }
+
+        Nurse nurse = appointment.getNurse();
+        if (nurse != null) {
+            rejectConflicts(appointment, "Nurse " + nurse.getNurseName(),
+                    appointmentRepository.findNurseConflicts(nurse.getNurseId(), earliestStart,
+                            appointment.getStartsAt(), appointment.getEndsAt()));
+        }
+    }
+
+    private void rejectConflicts(Appointment appointment, String clinician, List<Appointment> overlapping) {
+        for (Appointment other : overlapping) {
+            if (!other.getAppointmentId().equals(appointment.getAppointmentId())) {
+                throw new ConflictException(clinician + " is already booked on " + other.getAppointmentDate() +
+                        " from " + other.getStartsAt().toLocalTime() + " to " + other.getEndsAt().toLocalTime());
+            }
         }
-        appointmentRepository.deleteById(appointmentId);
     }
 
     // Query methods
+    @Transactional(readOnly = true)
     public List<Appointment> getAppointmentsByPatientId(UUID patientId) {
         Objects.requireNonNull(patientId, "Patient ID cannot be null");
         return appointmentRepository.findByPatientId(patientId);
     }
 
+    @Transactional(readOnly = true)
     public List<Appointment> getAppointmentsByDoctorId(UUID doctorId) {
         Objects.requireNonNull(doctorId, "Doctor ID cannot be null");
         return appointmentRepository.findByDoctorId(doctorId);
     }
 
+    @Transactional(readOnly = true)
     public List<Appointment> getAppointmentsByNurseId(UUID nurseId) {
         Objects.requireNonNull(nurseId, "Nurse ID cannot be null");
         return appointmentRepository.findByNurseId(nurseId);
     }
 
+    @Transactional(readOnly = true)
     public List<Appointment> getAppointmentsByStatus(AppointmentStatusType status) {
         Objects.requireNonNull(status, "Status cannot be null");
         return appointmentRepository.findByStatus(status);
     }
 
+    @Transactional(readOnly = true)
     public List<Appointment> getAppointmentsByDate(LocalDate date) {
         Objects.requireNonNull(date, "Date cannot be null");
-        return appointmentRepository.findByAppointmentDate(date);
+        List<Appointment> live = appointmentRepository.findByAppointmentDate(date);
+        return withArchived(appointmentArchiveService.findArchivedOn(date), live);
     }
 
+    @Transactional(readOnly = true)
     public List<Appointment> getAppointmentsByDateRange(LocalDate startDate, LocalDate endDate) {
         Objects.requireNonNull(startDate, "Start date cannot be null");
         Objects.requireNonNull(endDate, "End date cannot be null");
-        return appointmentRepository.findByAppointmentDateBetween(startDate, endDate);
+        List<Appointment> live = appointmentRepository.findByAppointmentDateBetween(startDate, endDate);
+        return withArchived(appointmentArchiveService.findArchivedBetween(startDate, endDate), live);
+    }
+
+    /**
+     * Archived appointments followed by live ones. Callers read the live table first: the archive
+     * only ever gains rows, so an archive batch committing between the two reads shows its rows
+     * in both results instead of neither, and the live copies are dropped here.
+     */
+    private List<Appointment> withArchived(List<Appointment> archived, List<Appointment> live) {
+        if (archived.isEmpty()) {
+            return live;
+        }
+        Set<UUID> archivedIds = new HashSet<>();
+        for (Appointment appointment : archived) {
+            archivedIds.add(appointment.getAppointmentId());
+        }
+        List<Appointment> appointments = new ArrayList<>(archived);
+        for (Appointment appointment : live) {
+            if (!archivedIds.contains(appointment.getAppointmentId())) {
+                appointments.add(appointment);
+            }
+        }
+        return appointments;
     }
 }
@@ -0,0 +1,92 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.model.types.AppointmentStatusType;
+import com.testing_exam_webapp.model.types.EntityTable;
+import com.testing_exam_webapp.repository.AppointmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.EnumSet;
+
+/**
+ * Nightly job that closes out scheduled appointments whose date has passed, so they stop
+ * showing up as SCHEDULED. Rows are updated with chunked bulk statements rather than entity
+ * saves; the entity listeners do not see them, so the counters are reconciled and the
+ * appointment change counter bumped afterwards.
+ */
+@Service
+public class AppointmentStatusTransitionService {
+    private static final Logger log = LoggerFactory.getLogger(AppointmentStatusTransitionService.class);
+
+    private final AppointmentRepository appointmentRepository;
+    private final CounterReconciler counterReconciler;
+    private final ChangeCounters changeCounters;
+    private final AppointmentStatusType targetStatus;
+    private final int batchSize;
+    private final Clock clock;
+
+    @Autowired
+    public AppointmentStatusTransitionService(AppointmentRepository appointmentRepository,
+                                              CounterReconciler counterReconciler,
+                                              ChangeCounters changeCounters,
+                                              @Value("${app.appointments.past-scheduled-status:NO_SHOW}") AppointmentStatusType targetStatus,
+                                              @Value("${app.appointments.transition-batch-size:1000}") int batchSize) {
+        this(appointmentRepository, counterReconciler, changeCounters, targetStatus, batchSize, Clock.systemDefaultZone());
+    }
+
+    AppointmentStatusTransitionService(AppointmentRepository appointmentRepository,
+                                       CounterReconciler counterReconciler,
+                                       ChangeCounters changeCounters,
+                                       AppointmentStatusType targetStatus,
+                                       int batchSize,
+                                       Clock clock) {
+        if (!EnumSet.of(AppointmentStatusType.COMPLETED, AppointmentStatusType.NO_SHOW).contains(targetStatus)) {
+            throw new IllegalArgumentException("Past scheduled appointments can only become COMPLETED or NO_SHOW");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Transition batch size must be positive");
+        }
+        this.appointmentRepository = appointmentRepository;
+        this.counterReconciler = counterReconciler;
+        this.changeCounters = changeCounters;
+        this.targetStatus = targetStatus;
+        this.batchSize = batchSize;
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${app.appointments.transition-cron:0 15 0 * * *}")
+    public void transitionScheduled() {
+        transitionPastAppointments();
+    }
+
+    /**
+     * Transitions every scheduled appointment dated before today and returns how many rows changed.
+     */
+    int transitionPastAppointments() {
+        LocalDate today = LocalDate.now(clock);
+        long started = System.nanoTime();
+        int total = 0;
+        int batches = 0;
+        int updated;
+        do {
+            updated = appointmentRepository.transitionScheduledBefore(targetStatus.name(), today, batchSize);
+            total += updated;
+            batches++;
+        } while (updated == batchSize);
+
+        long elapsedMillis = Math.max((System.nanoTime() - started) / 1_000_000, 1);
+        if (total > 0) {
+            counterReconciler.reconcile();
+            changeCounters.touch(EntityTable.APPOINTMENTS);
+            log.info("Moved {} past scheduled appointments to {} in {} batches, {} ms ({} rows/s)",
+                    total, targetStatus, batches, elapsedMillis, total * 1000L / elapsedMillis);
+        }
+        return total;
+    }
+}
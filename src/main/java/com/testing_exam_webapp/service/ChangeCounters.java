@@ -0,0 +1,135 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.event.CounterChangedEvent;
+import com.testing_exam_webapp.event.CounterKey;
+import com.testing_exam_webapp.event.TableChangedEvent;
+import com.testing_exam_webapp.model.types.CounterType;
+import com.testing_exam_webapp.model.types.EntityTable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory change counter per table, bumped after each committed write, from which the entity
+ * tags of conditional GETs are built. A tag covers the resource's own table and every table
+ * nested in its JSON, so a cached response can be validated without touching the database.
+ * <p>
+ * Counters restart at zero with the process, so tags also carry a per-start epoch and tags
+ * handed out before a restart never match again. They only see this process's writes, which is
+ * why only one instance may run against a database (see {@code SingleInstanceLease}).
+ * <p>
+ * Each table also remembers when it last changed (startup counts as a change, for commits made
+ * by the previous process), so a read that pairs its data with a tag can tell whether a replica
+ * is recent enough to serve it.
+ */
+@Service
+public class ChangeCounters {
+    private static final Map<EntityTable, Set<EntityTable>> SHOWN_TABLES = shownTables();
+
+    private final AtomicLongArray counters = new AtomicLongArray(EntityTable.values().length);
+    private final AtomicLongArray changedAt = new AtomicLongArray(EntityTable.values().length);
+    private final String epoch;
+
+    public ChangeCounters() {
+        this(Long.toString(System.currentTimeMillis(), 36));
+    }
+
+    ChangeCounters(String epoch) {
+        this.epoch = epoch;
+        long startedAt = System.currentTimeMillis();
+        for (int i = 0; i < changedAt.length(); i++) {
+            changedAt.set(i, startedAt);
+        }
+    }
+
+    public long get(EntityTable table) {
+        return counters.get(table.ordinal());
+    }
+
+    /**
+     * Validator for the current state of a resource: the epoch and the summed counters of every
+     * table shown in it. Bumping any of them changes the sum.
+     */
+    public String token(EntityTable resource) {
+        long sum = 0;
+        for (EntityTable table : SHOWN_TABLES.get(resource)) {
+            sum += counters.get(table.ordinal());
+        }
+        return epoch + "-" + sum;
+    }
+
+    /**
+     * When a table shown in the resource last changed, in epoch millis. Read it after
+     * {@link #token(EntityTable)}: data committed by then covers at least that token.
+     */
+    public long changedAt(EntityTable resource) {
+        long latest = 0;
+        for (EntityTable table : SHOWN_TABLES.get(resource)) {
+            latest = Math.max(latest, changedAt.get(table.ordinal()));
+        }
+        return latest;
+    }
+
+    /**
+     * Marks the table changed. For writes that bypass the entity listener; call it after they
+     * commit, so a tag is never paired with data older than it.
+     */
+    public void touch(EntityTable table) {
+        // Time first, so whoever sees the new count also sees a change time at least this late
+        changedAt.accumulateAndGet(table.ordinal(), System.currentTimeMillis(), Math::max);
+        counters.incrementAndGet(table.ordinal());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTableChanged(TableChangedEvent event) {
+        touch(event.table());
+    }
+
+    /**
+     * Admitting, moving or discharging a patient updates the ward's bed count with a bulk
+     * statement; the patient-per-ward counter moves at exactly those points.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCounterChanged(CounterChangedEvent event) {
+        if (movesWard(event.removed()) || movesWard(event.added())) {
+            touch(EntityTable.WARDS);
+        }
+    }
+
+    private static boolean movesWard(List<CounterKey> keys) {
+        for (CounterKey key : keys) {
+            if (key.type() == CounterType.PATIENTS_PER_WARD) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The tables whose rows appear in each resource's JSON, following the associations Jackson
+     * serializes.
+     */
+    private static Map<EntityTable, Set<EntityTable>> shownTables() {
+        Map<EntityTable, Set<EntityTable>> shown = new EnumMap<>(EntityTable.class);
+        Set<EntityTable> facilities = EnumSet.of(EntityTable.HOSPITALS, EntityTable.WARDS);
+        shown.put(EntityTable.HOSPITALS, facilities);
+        shown.put(EntityTable.WARDS, facilities);
+        shown.put(EntityTable.MEDICATIONS, EnumSet.of(EntityTable.MEDICATIONS));
+        shown.put(EntityTable.DOCTORS, with(facilities, EntityTable.DOCTORS));
+        shown.put(EntityTable.NURSES, with(facilities, EntityTable.NURSES));
+        shown.put(EntityTable.DIAGNOSES, with(shown.get(EntityTable.DOCTORS), EntityTable.DIAGNOSES));
+        shown.put(EntityTable.PATIENTS, with(shown.get(EntityTable.DIAGNOSES), EntityTable.PATIENTS));
+        shown.put(EntityTable.APPOINTMENTS, with(shown.get(EntityTable.PATIENTS), EntityTable.NURSES, EntityTable.APPOINTMENTS));
+        shown.put(EntityTable.PRESCRIPTIONS, with(shown.get(EntityTable.PATIENTS), EntityTable.MEDICATIONS, EntityTable.PRESCRIPTIONS));
+        shown.put(EntityTable.SURGERIES, with(shown.get(EntityTable.PATIENTS), EntityTable.SURGERIES));
+        return shown;
+    }
+
+    private static Set<EntityTable> with(Set<EntityTable> tables, EntityTable... more) {
+        Set<EntityTable> combined = EnumSet.copyOf(tables);
+        combined.addAll(Arrays.asList(more));
+        return combined;
+    }
+}
@@ -0,0 +1,91 @@
+package com.testing_exam_webapp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps user-supplied city names (mostly Danish spellings) to the names the weather API understands.
+ * <p>
+ * Every alias is folded once at construction time (NFKC, lower case, diacritics stripped, Danish
+ * letters transliterated, punctuation dropped) into a lookup table, so normalizing a request is a
+ * single fold plus one hash lookup. Common encoding-damaged spellings of each alias, such as
+ * "KÃ¸benhavn" or "K?benhavn", are folded into the table as well.
+ */
+public class CityNameNormalizer {
+
+    private static final Map<String, String> DEFAULT_ALIASES = new LinkedHashMap<>();
+
+    static {
+        DEFAULT_ALIASES.put("København", "Copenhagen");
+        DEFAULT_ALIASES.put("Kobenhavn", "Copenhagen");
+        DEFAULT_ALIASES.put("Kbh", "Copenhagen");
+        DEFAULT_ALIASES.put("Copenhagen", "Copenhagen");
+        DEFAULT_ALIASES.put("Århus", "Aarhus");
+        DEFAULT_ALIASES.put("Aarhus", "Aarhus");
+        DEFAULT_ALIASES.put("Ålborg", "Aalborg");
+        DEFAULT_ALIASES.put("Aalborg", "Aalborg");
+    }
+
+    private final Map<String, String> aliases = new HashMap<>();
+
+    /**
+     * @param configuredAliases extra aliases as comma-separated {@code alias:City} pairs,
+     *                          e.g. {@code "Helsingør:Helsingor,Odense:Odense"}; may be empty
+     */
+    public CityNameNormalizer(String configuredAliases) {
+        DEFAULT_ALIASES.forEach(this::register);
+        if (configuredAliases != null && !configuredAliases.isBlank()) {
+            for (String pair : configuredAliases.split(",")) {
+                int separator = pair.indexOf(':');
+                if (separator <= 0 || separator == pair.length() - 1) {
+                    throw new IllegalArgumentException("Invalid city alias '" + pair.trim()
+                            + "', expected alias:City");
+                }
+                register(pair.substring(0, separator).trim(), pair.substring(separator + 1).trim());
+            }
+        }
+    }
+
+    /**
+     * Returns the canonical API name for the city, or the trimmed input if no alias matches.
+     */
+    public String normalize(String city) {
+        String trimmed = city.trim();
+        String canonical = aliases.get(fold(trimmed));
+        return canonical != null ? canonical : trimmed;
+    }
+
+    private void register(String alias, String canonical) {
+        aliases.put(fold(alias), canonical);
+        aliases.put(fold(canonical), canonical);
+        // UTF-8 read as Latin-1 ("KÃ¸benhavn") and non-ASCII replaced by '?' ("K?benhavn")
+        aliases.putIfAbsent(fold(new String(alias.getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1)),
+                canonical);
+        aliases.putIfAbsent(fold(alias.replaceAll("[^\\x00-\\x7F]", "?")), canonical);
+    }
+
+    static String fold(String value) {
+        String compatible = Normalizer.normalize(value, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        String decomposed = Normalizer.normalize(compatible, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            switch (c) {
+                case 'ø' -> folded.append('o');
+                case 'æ' -> folded.append("ae");
+                case 'ß' -> folded.append("ss");
+                default -> {
+                    // Combining marks left over from NFD are not letters, so diacritics drop out here
+                    if (Character.isLetterOrDigit(c)) {
+                        folded.append(c);
+                    }
+                }
+            }
+        }
+        return folded.toString();
+    }
+}
@@ -0,0 +1,248 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.model.types.ClinicalTextType;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.*;
+import org.apache.lucene.index.*;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.*;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.Directory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Embedded Lucene index over diagnosis and surgery descriptions. Descriptions are indexed with
+ * offsets so the unified highlighter builds snippets from the postings without re-analysing
+ * the stored text. Writes go to one {@link IndexWriter} and become searchable through a
+ * near-real-time {@link SearcherManager}; {@link #commit()} makes them durable.
+ * <p>
+ * {@link #rebuild(Iterable)} replaces the whole index. Searches keep seeing the previous
+ * contents until it finishes, and writes arriving meanwhile are queued and applied on top.
+ */
+public class ClinicalTextIndex implements Closeable {
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String DATE = "date";
+    private static final String DOCTOR_ID = "doctorId";
+    private static final String PATIENT_ID = "patientId";
+    private static final String DESCRIPTION = "description";
+    private static final FieldType DESCRIPTION_TYPE = new FieldType(TextField.TYPE_STORED);
+
+    static {
+        DESCRIPTION_TYPE.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS);
+        DESCRIPTION_TYPE.freeze();
+    }
+
+    private final Directory directory;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Object rebuildLock = new Object();
+    private IndexWriter writer;
+    private volatile SearcherManager searcherManager;
+    // Writes reported while a rebuild runs, keyed by document key; empty means deleted
+    private Map<String, Optional<ClinicalText>> pendingDuringRebuild;
+
+    public record ClinicalText(ClinicalTextType type, UUID id, LocalDate date, UUID doctorId, UUID patientId,
+                               String description) {
+    }
+
+    public record Hit(ClinicalTextType type, UUID id, LocalDate date, UUID doctorId, UUID patientId,
+                      String snippet, float score) {
+    }
+
+    public record Page(List<Hit> hits, long totalHits, boolean totalHitsExact) {
+    }
+
+    public ClinicalTextIndex(Directory directory) throws IOException {
+        this.directory = directory;
+        open();
+    }
+
+    private void open() throws IOException {
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    public synchronized void upsert(ClinicalText text) {
+        if (pendingDuringRebuild != null) {
+            pendingDuringRebuild.put(key(text.type(), text.id()), Optional.of(text));
+            return;
+        }
+        try {
+            writer.updateDocument(new Term(KEY, key(text.type(), text.id())), toDocument(text));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void delete(ClinicalTextType type, UUID id) {
+        if (pendingDuringRebuild != null) {
+            pendingDuringRebuild.put(key(type, id), Optional.empty());
+            return;
+        }
+        try {
+            writer.deleteDocuments(new Term(KEY, key(type, id)));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Replaces the index with the given texts and returns how many were indexed. On failure the
+     * index rolls back to what it held before the rebuild.
+     */
+    public int rebuild(Iterable<ClinicalText> texts) throws IOException {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                writer.commit();
+                pendingDuringRebuild = new LinkedHashMap<>();
+            }
+            int indexed = 0;
+            try {
+                writer.deleteAll();
+                for (ClinicalText text : texts) {
+                    writer.addDocument(toDocument(text));
+                    indexed++;
+                }
+            } catch (IOException | RuntimeException e) {
+                synchronized (this) {
+                    SearcherManager previous = searcherManager;
+                    writer.rollback();
+                    open();
+                    previous.close();
+                    replayPending();
+                }
+                throw e;
+            }
+            synchronized (this) {
+                replayPending();
+                writer.commit();
+                searcherManager.maybeRefreshBlocking();
+            }
+            return indexed;
+        }
+    }
+
+    private void replayPending() throws IOException {
+        Map<String, Optional<ClinicalText>> pending = pendingDuringRebuild;
+        pendingDuringRebuild = null;
+        for (Map.Entry<String, Optional<ClinicalText>> entry : pending.entrySet()) {
+            Term key = new Term(KEY, entry.getKey());
+            if (entry.getValue().isPresent()) {
+                writer.updateDocument(key, toDocument(entry.getValue().get()));
+            } else {
+                writer.deleteDocuments(key);
+            }
+        }
+        searcherManager.maybeRefresh();
+    }
+
+    public synchronized void commit() throws IOException {
+        if (pendingDuringRebuild == null && writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    public int size() throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return searcher.getIndexReader().numDocs();
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * One page of matches by relevance. The query uses the simple query syntax: all terms must
+     * match, {@code "..."} is a phrase, {@code *} a prefix, {@code -} excludes and {@code |}
+     * means or. Snippets mark the matching terms with {@code <mark>} and escape everything else.
+     */
+    public Page search(String queryText, ClinicalTextType type, int offset, int limit, int snippetLength)
+            throws IOException {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, DESCRIPTION);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query query = parser.parse(queryText);
+        if (type != null) {
+            query = new BooleanQuery.Builder()
+                    .add(query, BooleanClause.Occur.MUST)
+                    .add(new TermQuery(new Term(TYPE, type.name())), BooleanClause.Occur.FILTER)
+                    .build();
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs top = searcher.search(query, offset + limit);
+            ScoreDoc[] pageDocs = top.scoreDocs.length > offset
+                    ? Arrays.copyOfRange(top.scoreDocs, offset, top.scoreDocs.length)
+                    : new ScoreDoc[0];
+            String[] snippets = pageDocs.length == 0 ? new String[0] : UnifiedHighlighter.builder(searcher, analyzer)
+                    .withFormatter(new DefaultPassageFormatter("<mark>", "</mark>", " … ", true))
+                    .withMaxLength(snippetLength)
+                    .build()
+                    .highlight(DESCRIPTION, query, new TopDocs(top.totalHits, pageDocs), 2);
+
+            StoredFields storedFields = searcher.storedFields();
+            List<Hit> hits = new ArrayList<>(pageDocs.length);
+            for (int i = 0; i < pageDocs.length; i++) {
+                Document document = storedFields.document(pageDocs[i].doc);
+                hits.add(new Hit(ClinicalTextType.valueOf(document.get(TYPE)),
+                        UUID.fromString(document.get(ID)),
+                        parseDate(document.get(DATE)),
+                        parseId(document.get(DOCTOR_ID)),
+                        parseId(document.get(PATIENT_ID)),
+                        snippets[i],
+                        pageDocs[i].score));
+            }
+            return new Page(hits, top.totalHits.value, top.totalHits.relation == TotalHits.Relation.EQUAL_TO);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+
+    private static Document toDocument(ClinicalText text) {
+        Document document = new Document();
+        document.add(new StringField(KEY, key(text.type(), text.id()), Field.Store.NO));
+        document.add(new StringField(TYPE, text.type().name(), Field.Store.YES));
+        document.add(new StoredField(ID, text.id().toString()));
+        if (text.date() != null) {
+            document.add(new StoredField(DATE, text.date().toString()));
+        }
+        if (text.doctorId() != null) {
+            document.add(new StoredField(DOCTOR_ID, text.doctorId().toString()));
+        }
+        if (text.patientId() != null) {
+            document.add(new StoredField(PATIENT_ID, text.patientId().toString()));
+        }
+        document.add(new Field(DESCRIPTION, text.description() != null ? text.description() : "", DESCRIPTION_TYPE));
+        return document;
+    }
+
+    private static String key(ClinicalTextType type, UUID id) {
+        return type.name() + ":" + id;
+    }
+
+    private static LocalDate parseDate(String value) {
+        return value != null ? LocalDate.parse(value) : null;
+    }
+
+    private static UUID parseId(String value) {
+        return value != null ? UUID.fromString(value) : null;
+    }
+}
@@ -0,0 +1,194 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.ClinicalTextHit;
+import com.testing_exam_webapp.dto.ClinicalTextPage;
+import com.testing_exam_webapp.exception.ValidationException;
+import com.testing_exam_webapp.model.mysql.Diagnosis;
+import com.testing_exam_webapp.model.mysql.Surgery;
+import com.testing_exam_webapp.model.types.ClinicalTextType;
+import com.testing_exam_webapp.repository.DiagnosisRepository;
+import com.testing_exam_webapp.repository.SurgeryRepository;
+import com.testing_exam_webapp.repository.projection.ClinicalTextRow;
+import com.testing_exam_webapp.repository.projection.SurgeryTextRow;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Full-text search over diagnosis and surgery descriptions, backed by a {@link ClinicalTextIndex}
+ * on local disk. {@link DiagnosisService} and {@link SurgeryService} report every write; the
+ * index is updated once the surrounding transaction commits, so rolled-back writes never show
+ * up. At startup the index is rebuilt when its size does not match the tables, and
+ * {@link #rebuild()} (POST /clinical-text/rebuild) rebuilds it on demand.
+ */
+@Service
+public class ClinicalTextSearchService {
+    private static final Logger log = LoggerFactory.getLogger(ClinicalTextSearchService.class);
+    private static final UUID FIRST_ID = new UUID(0, 0);
+    static final int MAX_SIZE = 100;
+    // Deeper pages cost a full top-n collection each, so paging stops here
+    static final int MAX_WINDOW = 1000;
+    private static final int SNIPPET_LENGTH = 300;
+
+    private final ClinicalTextIndex index;
+    private final DiagnosisRepository diagnosisRepository;
+    private final SurgeryRepository surgeryRepository;
+    private final int batchSize;
+
+    @Autowired
+    public ClinicalTextSearchService(DiagnosisRepository diagnosisRepository,
+                                     SurgeryRepository surgeryRepository,
+                                     @Value("${app.search.index-dir:data/clinical-text-index}") String indexDir,
+                                     @Value("${app.search.rebuild-batch-size:1000}") int batchSize) throws IOException {
+        this(new ClinicalTextIndex(FSDirectory.open(Path.of(indexDir).toAbsolutePath())),
+                diagnosisRepository, surgeryRepository, batchSize);
+    }
+
+    ClinicalTextSearchService(ClinicalTextIndex index,
+                              DiagnosisRepository diagnosisRepository,
+                              SurgeryRepository surgeryRepository,
+                              int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Rebuild batch size must be positive");
+        }
+        this.index = index;
+        this.diagnosisRepository = diagnosisRepository;
+        this.surgeryRepository = surgeryRepository;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfStale() {
+        long expected = diagnosisRepository.count() + surgeryRepository.count();
+        int indexed;
+        try {
+            indexed = index.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (indexed != expected) {
+            log.info("Clinical text index holds {} documents but the tables have {} rows; rebuilding", indexed, expected);
+            rebuild();
+        }
+    }
+
+    /**
+     * Re-reads every diagnosis and surgery description in keyset batches and replaces the index.
+     * Returns the number of indexed documents.
+     */
+    public int rebuild() {
+        long started = System.nanoTime();
+        Stream<ClinicalTextIndex.ClinicalText> texts = Stream.concat(
+                batches(diagnosisRepository::findTextBatch,
+                        row -> toText(ClinicalTextType.DIAGNOSIS, row, null)),
+                batches(surgeryRepository::findTextBatch,
+                        (SurgeryTextRow row) -> toText(ClinicalTextType.SURGERY, row, row.getPatientId())));
+        int indexed;
+        try {
+            indexed = index.rebuild(texts::iterator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Rebuilt clinical text index with {} documents in {} ms",
+                indexed, (System.nanoTime() - started) / 1_000_000);
+        return indexed;
+    }
+
+    @Scheduled(initialDelayString = "${app.search.commit-interval-ms:30000}",
+            fixedDelayString = "${app.search.commit-interval-ms:30000}")
+    public void commit() throws IOException {
+        index.commit();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        index.commit();
+        index.close();
+    }
+
+    public ClinicalTextPage search(String query, ClinicalTextType type, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("Search query cannot be empty");
+        }
+        if (page < 0) {
+            throw new ValidationException("Page cannot be negative");
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            throw new ValidationException("Size must be between 1 and " + MAX_SIZE);
+        }
+        if ((long) (page + 1) * size > MAX_WINDOW) {
+            throw new ValidationException("Only the first " + MAX_WINDOW + " matches can be paged through");
+        }
+        try {
+            ClinicalTextIndex.Page result = index.search(query, type, page * size, size, SNIPPET_LENGTH);
+            List<ClinicalTextHit> hits = result.hits().stream()
+                    .map(hit -> new ClinicalTextHit(hit.type(), hit.id(), hit.date(), hit.doctorId(),
+                            hit.patientId(), hit.snippet(), hit.score()))
+                    .toList();
+            return new ClinicalTextPage(query, page, size, result.totalHits(), result.totalHitsExact(), hits);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void indexDiagnosis(Diagnosis diagnosis) {
+        ClinicalTextIndex.ClinicalText text = new ClinicalTextIndex.ClinicalText(ClinicalTextType.DIAGNOSIS,
+                diagnosis.getDiagnosisId(), diagnosis.getDiagnosisDate(),
+                diagnosis.getDoctor() != null ? diagnosis.getDoctor().getDoctorId() : null,
+                null, diagnosis.getDescription());
+        afterCommit(() -> index.upsert(text));
+    }
+
+    public void indexSurgery(Surgery surgery) {
+        ClinicalTextIndex.ClinicalText text = new ClinicalTextIndex.ClinicalText(ClinicalTextType.SURGERY,
+                surgery.getSurgeryId(), surgery.getSurgeryDate(),
+                surgery.getDoctor() != null ? surgery.getDoctor().getDoctorId() : null,
+                surgery.getPatient() != null ? surgery.getPatient().getPatientId() : null,
+                surgery.getDescription());
+        afterCommit(() -> index.upsert(text));
+    }
+
+    public void removeDiagnosis(UUID diagnosisId) {
+        afterCommit(() -> index.delete(ClinicalTextType.DIAGNOSIS, diagnosisId));
+    }
+
+    public void removeSurgery(UUID surgeryId) {
+        afterCommit(() -> index.delete(ClinicalTextType.SURGERY, surgeryId));
+    }
+
+    private static void afterCommit(Runnable update) {
+        AfterCommit.run(update, log, "Clinical text index update failed; run POST /clinical-text/rebuild to resync");
+    }
+
+    private <R extends ClinicalTextRow> Stream<ClinicalTextIndex.ClinicalText> batches(
+            BiFunction<UUID, Pageable, List<R>> query, Function<R, ClinicalTextIndex.ClinicalText> toText) {
+        Pageable batch = PageRequest.of(0, batchSize);
+        return Stream.iterate(query.apply(FIRST_ID, batch), rows -> !rows.isEmpty(),
+                        rows -> rows.size() < batchSize ? List.of() : query.apply(rows.get(rows.size() - 1).getId(), batch))
+                .flatMap(List::stream)
+                .map(toText);
+    }
+
+    private static ClinicalTextIndex.ClinicalText toText(ClinicalTextType type, ClinicalTextRow row, UUID patientId) {
+        return new ClinicalTextIndex.ClinicalText(type, row.getId(), row.getDate(), row.getDoctorId(), patientId,
+                row.getDescription());
+    }
+}
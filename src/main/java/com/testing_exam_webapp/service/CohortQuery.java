@@ -0,0 +1,230 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.exception.ValidationException;
+import com.testing_exam_webapp.service.PatientCohortIndex.Dimension;
+
+import java.util.*;
+
+/**
+ * Boolean cohort query over {@link PatientCohortIndex} bitmaps, parsed from text such as
+ * {@code ward:<id> AND diagnosis:<id> AND surgery:2025-Q3 AND NOT gender:male}.
+ * <p>
+ * Terms are {@code field:value}, where a comma separated value list matches any of them. Fields
+ * are {@code ward}, {@code hospital} and {@code diagnosis} (IDs), {@code gender}, {@code born}
+ * (a year or {@code 1980..1989}) and {@code surgery} (a quarter like {@code 2025-Q3} or a whole
+ * year). Terms combine with {@code AND} (also implied between adjacent terms), {@code OR},
+ * {@code NOT} and parentheses; AND binds tighter than OR.
+ */
+public sealed interface CohortQuery {
+    int MAX_LENGTH = 2000;
+    int MAX_YEAR_RANGE = 150;
+
+    CompressedBitmap evaluate(PatientCohortIndex index);
+
+    static CohortQuery parse(String text) {
+        if (text == null || text.isBlank()) {
+            throw new ValidationException("Cohort query cannot be empty");
+        }
+        if (text.length() > MAX_LENGTH) {
+            throw new ValidationException("Cohort query cannot be longer than " + MAX_LENGTH + " characters");
+        }
+        Parser parser = new Parser(tokenize(text));
+        CohortQuery query = parser.or();
+        if (parser.position < parser.tokens.size()) {
+            throw new ValidationException("Unexpected '" + parser.tokens.get(parser.position) + "' in cohort query");
+        }
+        return query;
+    }
+
+    record Term(Dimension dimension, List<Object> values) implements CohortQuery {
+        @Override
+        public CompressedBitmap evaluate(PatientCohortIndex index) {
+            List<CompressedBitmap> bitmaps = new ArrayList<>(values.size());
+            for (Object value : values) {
+                bitmaps.add(index.bitmap(dimension, value));
+            }
+            return CompressedBitmap.orAll(bitmaps);
+        }
+    }
+
+    record Not(CohortQuery query) implements CohortQuery {
+        @Override
+        public CompressedBitmap evaluate(PatientCohortIndex index) {
+            return CompressedBitmap.andNot(index.live(), query.evaluate(index));
+        }
+    }
+
+    record Or(List<CohortQuery> queries) implements CohortQuery {
+        @Override
+        public CompressedBitmap evaluate(PatientCohortIndex index) {
+            List<CompressedBitmap> bitmaps = new ArrayList<>(queries.size());
+            for (CohortQuery query : queries) {
+                bitmaps.add(query.evaluate(index));
+            }
+            return CompressedBitmap.orAll(bitmaps);
+        }
+    }
+
+    record And(List<CohortQuery> queries) implements CohortQuery {
+        /**
+         * Intersects the positive operands smallest first, stopping once the result is empty,
+         * then subtracts negated operands directly rather than complementing them first.
+         */
+        @Override
+        public CompressedBitmap evaluate(PatientCohortIndex index) {
+            List<CompressedBitmap> positive = new ArrayList<>();
+            List<CohortQuery> negated = new ArrayList<>();
+            for (CohortQuery query : queries) {
+                if (query instanceof Not not) {
+                    negated.add(not.query());
+                } else {
+                    positive.add(query.evaluate(index));
+                }
+            }
+            positive.sort(Comparator.comparingInt(CompressedBitmap::cardinality));
+            CompressedBitmap result = positive.isEmpty() ? index.live() : positive.get(0);
+            for (int i = 1; i < positive.size() && !result.isEmpty(); i++) {
+                result = CompressedBitmap.and(result, positive.get(i));
+            }
+            for (CohortQuery query : negated) {
+                if (result.isEmpty()) {
+                    break;
+                }
+                result = CompressedBitmap.andNot(result, query.evaluate(index));
+            }
+            return result;
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (char c : text.toCharArray()) {
+            if (c == '(' || c == ')' || Character.isWhitespace(c)) {
+                if (!current.isEmpty()) {
+                    tokens.add(current.toString());
+                    current.setLength(0);
+                }
+                if (c == '(' || c == ')') {
+                    tokens.add(String.valueOf(c));
+                }
+            } else {
+                current.append(c);
+            }
+        }
+        if (!current.isEmpty()) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    final class Parser {
+        private final List<String> tokens;
+        private int position;
+
+        private Parser(List<String> tokens) {
+            this.tokens = tokens;
+        }
+
+        private CohortQuery or() {
+            List<CohortQuery> operands = new ArrayList<>(List.of(and()));
+            while (accept("OR")) {
+                operands.add(and());
+            }
+            return operands.size() == 1 ? operands.get(0) : new Or(operands);
+        }
+
+        private CohortQuery and() {
+            List<CohortQuery> operands = new ArrayList<>(List.of(unary()));
+            while (position < tokens.size() && !peek("OR") && !peek(")")) {
+                accept("AND");
+                operands.add(unary());
+            }
+            return operands.size() == 1 ? operands.get(0) : new And(operands);
+        }
+
+        private CohortQuery unary() {
+            if (accept("NOT")) {
+                return new Not(unary());
+            }
+            if (accept("(")) {
+                CohortQuery inner = or();
+                if (!accept(")")) {
+                    throw new ValidationException("Missing ')' in cohort query");
+                }
+                return inner;
+            }
+            if (position == tokens.size()) {
+                throw new ValidationException("Cohort query ends unexpectedly");
+            }
+            return term(tokens.get(position++));
+        }
+
+        private boolean peek(String token) {
+            return position < tokens.size() && tokens.get(position).equalsIgnoreCase(token);
+        }
+
+        private boolean accept(String token) {
+            if (peek(token)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private static CohortQuery term(String token) {
+            int colon = token.indexOf(':');
+            if (colon <= 0 || colon == token.length() - 1) {
+                throw new ValidationException("Expected field:value in cohort query but got '" + token + "'");
+            }
+            String field = token.substring(0, colon).toLowerCase(Locale.ROOT);
+            List<Object> values = new ArrayList<>();
+            Dimension dimension = switch (field) {
+                case "ward" -> Dimension.WARD;
+                case "hospital" -> Dimension.HOSPITAL;
+                case "diagnosis" -> Dimension.DIAGNOSIS;
+                case "gender" -> Dimension.GENDER;
+                case "born" -> Dimension.BIRTH_YEAR;
+                case "surgery" -> Dimension.SURGERY_QUARTER;
+                default -> throw new ValidationException("Unknown cohort field '" + field + "'");
+            };
+            for (String value : token.substring(colon + 1).split(",")) {
+                addValues(dimension, value.trim(), values);
+            }
+            return new Term(dimension, values);
+        }
+
+        private static void addValues(Dimension dimension, String value, List<Object> values) {
+            try {
+                switch (dimension) {
+                    case WARD, HOSPITAL, DIAGNOSIS -> values.add(UUID.fromString(value));
+                    case GENDER -> values.add(value);
+                    case BIRTH_YEAR -> {
+                        int separator = value.indexOf("..");
+                        int from = Integer.parseInt(separator < 0 ? value : value.substring(0, separator));
+                        int to = separator < 0 ? from : Integer.parseInt(value.substring(separator + 2));
+                        if (to < from || to - from > MAX_YEAR_RANGE) {
+                            throw new ValidationException("Invalid birth year range '" + value + "'");
+                        }
+                        for (int year = from; year <= to; year++) {
+                            values.add(year);
+                        }
+                    }
+                    case SURGERY_QUARTER -> {
+                        if (value.matches("\\d{4}-[Qq][1-4]")) {
+                            values.add(value.toUpperCase(Locale.ROOT));
+                        } else if (value.matches("\\d{4}")) {
+                            for (int quarter = 1; quarter <= 4; quarter++) {
+                                values.add(value + "-Q" + quarter);
+                            }
+                        } else {
+                            throw new ValidationException("Surgery must be a year or a quarter like 2025-Q3, got '" + value + "'");
+                        }
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("Invalid value '" + value + "' for cohort field " + dimension);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.CohortResult;
+import com.testing_exam_webapp.exception.ValidationException;
+import com.testing_exam_webapp.model.mysql.Diagnosis;
+import com.testing_exam_webapp.model.mysql.Patient;
+import com.testing_exam_webapp.model.mysql.Surgery;
+import com.testing_exam_webapp.repository.PatientRepository;
+import com.testing_exam_webapp.repository.SurgeryRepository;
+import com.testing_exam_webapp.repository.projection.IdPair;
+import com.testing_exam_webapp.repository.projection.PatientFactsRow;
+import com.testing_exam_webapp.repository.projection.SurgeryDateRow;
+import com.testing_exam_webapp.service.PatientCohortIndex.PatientFacts;
+import com.testing_exam_webapp.service.PatientCohortIndex.SurgeryFact;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Answers cohort queries for {@code /analytics/cohort} from a {@link PatientCohortIndex}. The
+ * index is built from three projection queries at startup into a fresh instance that replaces
+ * the live one when done, and is kept current by the patient, surgery and diagnosis services,
+ * whose reported changes are applied once their transaction commits.
+ */
+@Service
+public class CohortService {
+    private static final Logger log = LoggerFactory.getLogger(CohortService.class);
+    static final int MAX_LIMIT = 1000;
+
+    private final PatientRepository patientRepository;
+    private final SurgeryRepository surgeryRepository;
+    private volatile PatientCohortIndex index = new PatientCohortIndex();
+    // Changes reported while a rebuild is reading the tables, replayed on the new index before it goes live
+    private Queue<Consumer<PatientCohortIndex>> pendingDuringRebuild;
+
+    public CohortService(PatientRepository patientRepository, SurgeryRepository surgeryRepository) {
+        this.patientRepository = patientRepository;
+        this.surgeryRepository = surgeryRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        synchronized (this) {
+            pendingDuringRebuild = new ConcurrentLinkedQueue<>();
+        }
+        PatientCohortIndex fresh = new PatientCohortIndex();
+        try {
+            Map<UUID, Set<UUID>> diagnoses = new HashMap<>();
+            for (IdPair link : patientRepository.findAllDiagnosisLinks()) {
+                diagnoses.computeIfAbsent(link.getFirstId(), id -> new HashSet<>()).add(link.getSecondId());
+            }
+            for (PatientFactsRow row : patientRepository.findAllFacts()) {
+                fresh.putPatient(new PatientFacts(row.getId(), row.getWardId(), row.getHospitalId(),
+                        diagnoses.getOrDefault(row.getId(), Set.of()), row.getGender(), row.getDateOfBirth()));
+            }
+            for (SurgeryDateRow row : surgeryRepository.findAllDates()) {
+                fresh.putSurgery(new SurgeryFact(row.getId(), row.getPatientId(), row.getDate()));
+            }
+            synchronized (this) {
+                pendingDuringRebuild.forEach(change -> change.accept(fresh));
+                index = fresh;
+            }
+        } finally {
+            synchronized (this) {
+                pendingDuringRebuild = null;
+            }
+        }
+        log.info("Indexed {} patients for cohort queries in {} ms", fresh.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Patients matching the boolean cohort query; see {@link CohortQuery} for the syntax.
+     */
+    public CohortResult query(String query, int limit) {
+        if (limit < 0 || limit > MAX_LIMIT) {
+            throw new ValidationException("Limit must be between 0 and " + MAX_LIMIT);
+        }
+        PatientCohortIndex.Result result = index.evaluate(CohortQuery.parse(query), limit);
+        return new CohortResult(query.trim(), result.count(), result.patientIds(), result.count() > result.patientIds().size());
+    }
+
+    public void indexPatient(Patient patient) {
+        Set<UUID> diagnosisIds = new HashSet<>();
+        if (patient.getDiagnosis() != null) {
+            for (Diagnosis diagnosis : patient.getDiagnosis()) {
+                diagnosisIds.add(diagnosis.getDiagnosisId());
+            }
+        }
+        PatientFacts facts = new PatientFacts(patient.getPatientId(),
+                patient.getWard() != null ? patient.getWard().getWardId() : null,
+                patient.getHospital() != null ? patient.getHospital().getHospitalId() : null,
+                diagnosisIds, patient.getGender(), patient.getDateOfBirth());
+        apply(target -> target.putPatient(facts));
+    }
+
+    public void removePatient(UUID patientId) {
+        apply(target -> target.removePatient(patientId));
+    }
+
+    public void indexSurgery(Surgery surgery) {
+        SurgeryFact fact = new SurgeryFact(surgery.getSurgeryId(),
+                surgery.getPatient() != null ? surgery.getPatient().getPatientId() : null, surgery.getSurgeryDate());
+        apply(target -> target.putSurgery(fact));
+    }
+
+    public void removeSurgery(UUID surgeryId) {
+        apply(target -> target.removeSurgery(surgeryId));
+    }
+
+    public void removeDiagnosis(UUID diagnosisId) {
+        apply(target -> target.removeDiagnosis(diagnosisId));
+    }
+
+    private void apply(Consumer<PatientCohortIndex> change) {
+        AfterCommit.run(() -> applyNow(change), log, "Cohort index update failed; it resyncs on the next restart");
+    }
+
+    private synchronized void applyNow(Consumer<PatientCohortIndex> change) {
+        change.accept(index);
+        if (pendingDuringRebuild != null) {
+            pendingDuringRebuild.add(change);
+        }
+    }
+}
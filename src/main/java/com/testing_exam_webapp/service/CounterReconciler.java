@@ -0,0 +1,152 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.event.CounterKey;
+import com.testing_exam_webapp.model.types.CounterType;
+import com.testing_exam_webapp.repository.*;
+import com.testing_exam_webapp.repository.projection.DateStatusCount;
+import com.testing_exam_webapp.repository.projection.IdCount;
+import com.testing_exam_webapp.repository.projection.StatusCount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Seeds the {@link CounterStore} from the database at startup and periodically compares it
+ * against fresh GROUP BY counts, correcting any drift (e.g. from bulk updates that bypass the
+ * entity listener). At startup it also recounts ward occupancy from the patients table.
+ */
+@Service
+public class CounterReconciler {
+    private static final Logger log = LoggerFactory.getLogger(CounterReconciler.class);
+
+    private final CounterStore counterStore;
+    private final PatientRepository patientRepository;
+    private final DoctorRepository doctorRepository;
+    private final NurseRepository nurseRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final HospitalRepository hospitalRepository;
+    private final WardRepository wardRepository;
+    private final Executor queryExecutor;
+
+    public CounterReconciler(CounterStore counterStore,
+                             PatientRepository patientRepository,
+                             DoctorRepository doctorRepository,
+                             NurseRepository nurseRepository,
+                             AppointmentRepository appointmentRepository,
+                             HospitalRepository hospitalRepository,
+                             WardRepository wardRepository,
+                             @Qualifier("queryExecutor") Executor queryExecutor) {
+        this.counterStore = counterStore;
+        this.patientRepository = patientRepository;
+        this.doctorRepository = doctorRepository;
+        this.nurseRepository = nurseRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.hospitalRepository = hospitalRepository;
+        this.wardRepository = wardRepository;
+        this.queryExecutor = queryExecutor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        int corrected = reconcile();
+        log.info("Counter store built from database ({} counters set)", corrected);
+        int recounted = wardRepository.recountOccupancy();
+        if (recounted > 0) {
+            log.info("Ward occupancy recounted from assigned patients ({} wards corrected)", recounted);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.counters.reconcile-interval-ms:300000}",
+            fixedDelayString = "${app.counters.reconcile-interval-ms:300000}")
+    public void reconcileScheduled() {
+        int corrected = reconcile();
+        if (corrected > 0) {
+            log.warn("Counter store drifted from database; corrected {} counters", corrected);
+        }
+    }
+
+    /**
+     * Brings every counter in line with the database and returns how many had to change.
+     * Writes committed while the queries run may show up as drift and be corrected again on
+     * the next pass.
+     */
+    int reconcile() {
+        Map<CounterKey, Long> expected = loadFromDatabase();
+        int corrected = 0;
+        for (CounterType type : CounterType.values()) {
+            for (Map.Entry<CounterKey, Long> entry : counterStore.snapshot(type).entrySet()) {
+                if (!expected.containsKey(entry.getKey())) {
+                    counterStore.add(entry.getKey(), -entry.getValue());
+                    corrected++;
+                }
+            }
+        }
+        for (Map.Entry<CounterKey, Long> entry : expected.entrySet()) {
+            long delta = entry.getValue() - counterStore.get(entry.getKey());
+            if (delta != 0) {
+                counterStore.add(entry.getKey(), delta);
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+
+    private Map<CounterKey, Long> loadFromDatabase() {
+        CompletableFuture<Long> patients = async(patientRepository::count);
+        CompletableFuture<Long> doctors = async(doctorRepository::count);
+        CompletableFuture<Long> nurses = async(nurseRepository::count);
+        CompletableFuture<Long> appointments = async(appointmentRepository::count);
+        CompletableFuture<Long> hospitals = async(hospitalRepository::count);
+        CompletableFuture<Long> wards = async(wardRepository::count);
+        CompletableFuture<List<IdCount>> patientsPerWard = async(patientRepository::countPerWard);
+        CompletableFuture<List<IdCount>> patientsPerHospital = async(patientRepository::countPerHospital);
+        CompletableFuture<List<IdCount>> doctorsPerHospital = async(doctorRepository::countPerHospital);
+        CompletableFuture<List<IdCount>> nursesPerHospital = async(nurseRepository::countPerHospital);
+        CompletableFuture<List<StatusCount>> appointmentsPerStatus = async(appointmentRepository::countPerStatus);
+        CompletableFuture<List<DateStatusCount>> appointmentsPerDay = async(appointmentRepository::countPerDateAndStatus);
+
+        Map<CounterKey, Long> expected = new HashMap<>();
+        putTotal(expected, CounterType.PATIENTS, patients.join());
+        putTotal(expected, CounterType.DOCTORS, doctors.join());
+        putTotal(expected, CounterType.NURSES, nurses.join());
+        putTotal(expected, CounterType.APPOINTMENTS, appointments.join());
+        putTotal(expected, CounterType.HOSPITALS, hospitals.join());
+        putTotal(expected, CounterType.WARDS, wards.join());
+        putPerId(expected, CounterType.PATIENTS_PER_WARD, patientsPerWard.join());
+        putPerId(expected, CounterType.PATIENTS_PER_HOSPITAL, patientsPerHospital.join());
+        putPerId(expected, CounterType.DOCTORS_PER_HOSPITAL, doctorsPerHospital.join());
+        putPerId(expected, CounterType.NURSES_PER_HOSPITAL, nursesPerHospital.join());
+        for (StatusCount row : appointmentsPerStatus.join()) {
+            expected.put(CounterKey.appointmentStatus(row.getStatus()), row.getTotal());
+        }
+        for (DateStatusCount row : appointmentsPerDay.join()) {
+            expected.put(CounterKey.appointmentDay(row.getDate(), row.getStatus()), row.getTotal());
+        }
+        return expected;
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, queryExecutor);
+    }
+
+    private void putTotal(Map<CounterKey, Long> expected, CounterType type, long total) {
+        if (total != 0) {
+            expected.put(CounterKey.total(type), total);
+        }
+    }
+
+    private void putPerId(Map<CounterKey, Long> expected, CounterType type, List<IdCount> rows) {
+        for (IdCount row : rows) {
+            expected.put(CounterKey.of(type, row.getId()), row.getTotal());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.event.CounterChangedEvent;
+import com.testing_exam_webapp.event.CounterKey;
+import com.testing_exam_webapp.model.types.CounterType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory entity counts, seeded by {@link CounterReconciler} and kept current by applying
+ * {@link CounterChangedEvent}s after commit. Reads never touch the database or take a lock.
+ */
+@Service
+public class CounterStore {
+    private final Map<CounterType, ConcurrentHashMap<CounterKey, LongAdder>> counters = new EnumMap<>(CounterType.class);
+
+    public CounterStore() {
+        for (CounterType type : CounterType.values()) {
+            counters.put(type, new ConcurrentHashMap<>());
+        }
+    }
+
+    public long get(CounterKey key) {
+        LongAdder adder = counters.get(key.type()).get(key);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    /**
+     * Returns the non-zero counters of one type, e.g. patients per ward.
+     */
+    public Map<CounterKey, Long> snapshot(CounterType type) {
+        Map<CounterKey, Long> snapshot = new HashMap<>();
+        counters.get(type).forEach((key, adder) -> {
+            long value = adder.sum();
+            if (value != 0) {
+                snapshot.put(key, value);
+            }
+        });
+        return snapshot;
+    }
+
+    public void add(CounterKey key, long delta) {
+        counters.get(key.type()).computeIfAbsent(key, k -> new LongAdder()).add(delta);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCounterChanged(CounterChangedEvent event) {
+        for (CounterKey key : event.removed()) {
+            add(key, -1);
+        }
+        for (CounterKey key : event.added()) {
+            add(key, 1);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.DashboardSummary;
+import com.testing_exam_webapp.event.CounterKey;
+import com.testing_exam_webapp.model.types.AppointmentStatusType;
+import com.testing_exam_webapp.model.types.CounterType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.*;
+
+@Service
+public class DashboardService {
+    private final CounterStore counterStore;
+    private final Clock clock;
+
+    @Autowired
+    public DashboardService(CounterStore counterStore) {
+        this(counterStore, Clock.systemDefaultZone());
+    }
+
+    DashboardService(CounterStore counterStore, Clock clock) {
+        this.counterStore = counterStore;
+        this.clock = clock;
+    }
+
+    /**
+     * Builds the dashboard from the in-memory {@link CounterStore}, so a page view costs no
+     * database round trips.
+     */
+    public DashboardSummary getSummary() {
+        LocalDate today = LocalDate.now(clock);
+
+        Map<AppointmentStatusType, Long> appointmentsTodayByStatus = new EnumMap<>(AppointmentStatusType.class);
+        for (AppointmentStatusType status : AppointmentStatusType.values()) {
+            appointmentsTodayByStatus.put(status, counterStore.get(CounterKey.appointmentDay(today, status)));
+        }
+
+        Map<UUID, Long> staffPerHospital = countsById(CounterType.DOCTORS_PER_HOSPITAL);
+        countsById(CounterType.NURSES_PER_HOSPITAL).forEach((id, total) -> staffPerHospital.merge(id, total, Long::sum));
+
+        return new DashboardSummary(
+                total(CounterType.PATIENTS),
+                total(CounterType.DOCTORS),
+                total(CounterType.NURSES),
+                total(CounterType.APPOINTMENTS),
+                total(CounterType.HOSPITALS),
+                total(CounterType.WARDS),
+                countsById(CounterType.PATIENTS_PER_WARD),
+                appointmentsTodayByStatus,
+                staffPerHospital);
+    }
+
+    private long total(CounterType type) {
+        return counterStore.get(CounterKey.total(type));
+    }
+
+    private Map<UUID, Long> countsById(CounterType type) {
+        Map<UUID, Long> counts = new HashMap<>();
+        counterStore.snapshot(type).forEach((key, total) -> counts.put(key.id(), total));
+        return counts;
+    }
+}
@@ -7,6 +7,7 @@ import com.testing_exam_webapp.model.mysql.Doctor;
 import com.testing_exam_webapp.repository.DiagnosisRepository;
 import com.testing_exam_webapp.repository.DoctorRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Objects;
@@ -16,23 +17,32 @@ import java.util.UUID;
 public class DiagnosisService {
     private final DiagnosisRepository diagnosisRepository;
     private final DoctorRepository doctorRepository;
+    private final ClinicalTextSearchService clinicalTextSearchService;
+    private final CohortService cohortService;
 
     public DiagnosisService(DiagnosisRepository diagnosisRepository,
-                            DoctorRepository doctorRepository) {
+                            DoctorRepository doctorRepository,
+                            ClinicalTextSearchService clinicalTextSearchService,
+                            CohortService cohortService) {
         this.diagnosisRepository = diagnosisRepository;
         this.doctorRepository = doctorRepository;
+        this.clinicalTextSearchService = clinicalTextSearchService;
+        this.cohortService = cohortService;
     }
 
+    @Transactional(readOnly = true)
     public List<Diagnosis> getDiagnoses() {
         return diagnosisRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Diagnosis getDiagnosisById(UUID id) {
         UUID diagnosisId = Objects.requireNonNull(id, "Diagnosis ID cannot be null");
         return diagnosisRepository.findById(diagnosisId)
                 .orElseThrow(() -> new EntityNotFoundException("Diagnosis not found"));
     }
 
+    @Transactional
     public Diagnosis createDiagnosis(DiagnosisRequest request) {
         Diagnosis diagnosis = new Diagnosis();
         diagnosis.setDiagnosisId(UUID.randomUUID());
@@ -46,13 +56,17 @@ public class DiagnosisService {
             diagnosis.setDoctor(doctor);
         }
 
-        return diagnosisRepository.save(diagnosis);
+        Diagnosis saved = diagnosisRepository.save(diagnosis);
+        clinicalTextSearchService.indexDiagnosis(diagnosis);
+        return saved;
     }
 
-    public Diagnosis updateDiagnosis(UUID id, DiagnosisRequest request) {
+    @Transactional
+    public Diagnosis updateDiagnosis(UUID id, DiagnosisRequest request, Long expectedVersion) {
         UUID diagnosisId = Objects.requireNonNull(id, "Diagnosis ID cannot be null");
         Diagnosis diagnosis = diagnosisRepository.findById(diagnosisId)
                 .orElseThrow(() -> new EntityNotFoundException("Diagnosis not found"));
+        EntityVersions.check(expectedVersion, diagnosis.getVersion(), "Diagnosis");
 
         diagnosis.setDiagnosisDate(request.getDiagnosisDate());
         diagnosis.setDescription(request.getDescription());
@@ -64,15 +78,20 @@ public class DiagnosisService {
             diagnosis.setDoctor(doctor);
         }
 
-        return diagnosisRepository.save(diagnosis);
+        Diagnosis saved = diagnosisRepository.save(diagnosis);
+        clinicalTextSearchService.indexDiagnosis(diagnosis);
+        return saved;
     }
 
+    @Transactional
     public void deleteDiagnosis(UUID id) {
         UUID diagnosisId = Objects.requireNonNull(id, "Diagnosis ID cannot be null");
         if (!diagnosisRepository.existsById(diagnosisId)) {
             throw new EntityNotFoundException("Diagnosis not found");
         }
         diagnosisRepository.deleteById(diagnosisId);
+        clinicalTextSearchService.removeDiagnosis(diagnosisId);
+        cohortService.removeDiagnosis(diagnosisId);
     }
 }
 
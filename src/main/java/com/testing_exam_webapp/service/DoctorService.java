@@ -11,6 +11,7 @@ import com.testing_exam_webapp.repository.DoctorRepository;
 import com.testing_exam_webapp.repository.HospitalRepository;
 import com.testing_exam_webapp.repository.WardRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Objects;
@@ -29,16 +30,19 @@ public class DoctorService {
         this.hospitalRepository = hospitalRepository;
     }
 
+    @Transactional(readOnly = true)
     public List<Doctor> getDoctors() {
         return doctorRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Doctor getDoctorById(UUID id) {
         UUID doctorId = Objects.requireNonNull(id, "Doctor ID cannot be null");
         return doctorRepository.findById(doctorId)
                 .orElseThrow(() -> new EntityNotFoundException("Doctor not found"));
     }
 
+    @Transactional
     public Doctor createDoctor(DoctorRequest request) {
         Doctor doctor = new Doctor();
         doctor.setDoctorId(UUID.randomUUID());
@@ -83,10 +87,12 @@ public class DoctorService {
         return doctorRepository.save(doctor);
     }
 
-    public Doctor updateDoctor(UUID id, DoctorRequest request) {
+    @Transactional
+    public Doctor updateDoctor(UUID id, DoctorRequest request, Long expectedVersion) {
         UUID doctorId = Objects.requireNonNull(id, "Doctor ID cannot be null");
         Doctor doctor = doctorRepository.findById(doctorId)
                 .orElseThrow(() -> new EntityNotFoundException("Doctor not found"));
+        EntityVersions.check(expectedVersion, doctor.getVersion(), "Doctor");
 
         doctor.setDoctorName(request.getDoctorName());
         doctor.setSpeciality(request.getSpeciality());
@@ -129,6 +135,7 @@ public class DoctorService {
         return doctorRepository.save(doctor);
     }
 
+    @Transactional
     public void deleteDoctor(UUID id) {
         UUID doctorId = Objects.requireNonNull(id, "Doctor ID cannot be null");
         if (!doctorRepository.existsById(doctorId)) {
@@ -138,16 +145,19 @@ public class DoctorService {
     }
 
     // Query methods
+    @Transactional(readOnly = true)
     public List<Doctor> getDoctorsByWardId(UUID wardId) {
         Objects.requireNonNull(wardId, "Ward ID cannot be null");
         return doctorRepository.findByWardId(wardId);
     }
 
+    @Transactional(readOnly = true)
     public List<Doctor> getDoctorsBySpeciality(DoctorSpecialityType speciality) {
         Objects.requireNonNull(speciality, "Speciality cannot be null");
         return doctorRepository.findBySpeciality(speciality);
     }
 
+    @Transactional(readOnly = true)
     public List<Doctor> getDoctorsByHospitalId(UUID hospitalId) {
         Objects.requireNonNull(hospitalId, "Hospital ID cannot be null");
         return doctorRepository.findByHospitalId(hospitalId);
@@ -0,0 +1,200 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.DoctorWorkloadWeek;
+import com.testing_exam_webapp.dto.HospitalWorkloadWeek;
+import com.testing_exam_webapp.dto.SpecialityWorkloadWeek;
+import com.testing_exam_webapp.event.WorkloadChangedEvent;
+import com.testing_exam_webapp.event.WorkloadKey;
+import com.testing_exam_webapp.exception.ValidationException;
+import com.testing_exam_webapp.model.mysql.DoctorWeekId;
+import com.testing_exam_webapp.model.types.DoctorSpecialityType;
+import com.testing_exam_webapp.repository.DoctorWorkloadRepository;
+import com.testing_exam_webapp.repository.projection.DateRange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Appointments, surgeries and prescriptions per doctor per week, served from the
+ * {@code doctor_weekly_workload} rollup instead of scanning each doctor's history.
+ * <p>
+ * Writes to the source entities reach the rollup as {@link WorkloadChangedEvent}s, applied as
+ * one upsert per touched doctor and week after the writing transaction commits. Bulk SQL
+ * bypasses the entity listener and an upsert can fail after its source row committed, so a
+ * backfill job rebuilds the rollup from the source tables nightly, in chunks of weeks that are
+ * each deleted and recomputed in one transaction.
+ */
+@Service
+public class DoctorWorkloadService {
+    private static final Logger log = LoggerFactory.getLogger(DoctorWorkloadService.class);
+    static final int MAX_RANGE_DAYS = 731;
+
+    private final DoctorWorkloadRepository doctorWorkloadRepository;
+    private final TransactionTemplate transactionTemplate;
+    // Upserts run after the writing transaction has committed, so they need a transaction of their own
+    private final TransactionTemplate upsertTemplate;
+    private final int chunkWeeks;
+
+    @Autowired
+    public DoctorWorkloadService(DoctorWorkloadRepository doctorWorkloadRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${app.workload.backfill-chunk-weeks:12}") int chunkWeeks) {
+        this(doctorWorkloadRepository, transactionTemplate, requiresNew(transactionTemplate), chunkWeeks);
+    }
+
+    DoctorWorkloadService(DoctorWorkloadRepository doctorWorkloadRepository,
+                          TransactionTemplate transactionTemplate,
+                          TransactionTemplate upsertTemplate,
+                          int chunkWeeks) {
+        if (chunkWeeks < 1) {
+            throw new IllegalArgumentException("Workload backfill chunk must be at least one week");
+        }
+        this.doctorWorkloadRepository = doctorWorkloadRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.upsertTemplate = upsertTemplate;
+        this.chunkWeeks = chunkWeeks;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (doctorWorkloadRepository.count() == 0) {
+            backfill();
+        }
+    }
+
+    @Scheduled(cron = "${app.workload.backfill-cron:0 0 2 * * *}")
+    public void backfillScheduled() {
+        backfill();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWorkloadChanged(WorkloadChangedEvent event) {
+        Map<DoctorWeekId, long[]> deltas = new LinkedHashMap<>();
+        event.removed().forEach(key -> accumulate(deltas, key, -1));
+        event.added().forEach(key -> accumulate(deltas, key, 1));
+        deltas.values().removeIf(delta -> delta[0] == 0 && delta[1] == 0 && delta[2] == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            upsertTemplate.executeWithoutResult(status -> deltas.forEach((week, delta) ->
+                    doctorWorkloadRepository.addToWeek(week.getDoctorId(), week.getWeekStart(), delta[0], delta[1], delta[2])));
+        } catch (DataAccessException e) {
+            // The source rows are committed; the next backfill brings the rollup back in line
+            log.warn("Could not update doctor workload rollup for {}", deltas.keySet(), e);
+        }
+    }
+
+    /**
+     * Rebuilds the whole rollup from the source tables and returns the number of weeks covered.
+     */
+    public synchronized int backfill() {
+        long started = System.nanoTime();
+        List<DateRange> ranges = List.of(
+                doctorWorkloadRepository.findAppointmentDateRange(),
+                doctorWorkloadRepository.findArchivedAppointmentDateRange(),
+                doctorWorkloadRepository.findSurgeryDateRange(),
+                doctorWorkloadRepository.findPrescriptionDateRange());
+        Optional<LocalDate> first = ranges.stream().map(DateRange::getFirst).filter(Objects::nonNull).min(Comparator.naturalOrder());
+        Optional<LocalDate> last = ranges.stream().map(DateRange::getLast).filter(Objects::nonNull).max(Comparator.naturalOrder());
+        if (first.isEmpty() || last.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> doctorWorkloadRepository.deleteAllInBatch());
+            return 0;
+        }
+        LocalDate from = WorkloadKey.weekStart(first.get());
+        LocalDate to = WorkloadKey.weekStart(last.get()).plusWeeks(1);
+        transactionTemplate.executeWithoutResult(status -> doctorWorkloadRepository.deleteWeeksOutside(from, to));
+        int weeks = rebuild(from, to);
+        log.info("Backfilled doctor workload for {} weeks from {} in {} ms", weeks, from,
+                (System.nanoTime() - started) / 1_000_000);
+        return weeks;
+    }
+
+    /**
+     * Rebuilds the weeks overlapping {@code [from, to]} and returns the number of weeks covered.
+     */
+    public synchronized int backfill(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return rebuild(WorkloadKey.weekStart(from), WorkloadKey.weekStart(to).plusWeeks(1));
+    }
+
+    @Transactional(readOnly = true)
+    public List<DoctorWorkloadWeek> getDoctorWorkload(LocalDate from, LocalDate to, UUID hospitalId,
+                                                      DoctorSpecialityType speciality) {
+        validateRange(from, to);
+        return doctorWorkloadRepository.findDoctorWeeks(WorkloadKey.weekStart(from), to, hospitalId, speciality).stream()
+                .map(row -> new DoctorWorkloadWeek(row.getDoctorId(), row.getDoctorName(), row.getSpeciality(),
+                        row.getHospitalId(), row.getHospitalName(), row.getWeekStart(),
+                        row.getAppointments(), row.getSurgeries(), row.getPrescriptions()))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<HospitalWorkloadWeek> getHospitalWorkload(LocalDate from, LocalDate to, DoctorSpecialityType speciality) {
+        validateRange(from, to);
+        return doctorWorkloadRepository.sumByHospital(WorkloadKey.weekStart(from), to, speciality).stream()
+                .map(row -> new HospitalWorkloadWeek(row.getHospitalId(), row.getHospitalName(), row.getWeekStart(),
+                        row.getAppointments(), row.getSurgeries(), row.getPrescriptions()))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<SpecialityWorkloadWeek> getSpecialityWorkload(LocalDate from, LocalDate to, UUID hospitalId) {
+        validateRange(from, to);
+        return doctorWorkloadRepository.sumBySpeciality(WorkloadKey.weekStart(from), to, hospitalId).stream()
+                .map(row -> new SpecialityWorkloadWeek(row.getSpeciality(), row.getWeekStart(),
+                        row.getAppointments(), row.getSurgeries(), row.getPrescriptions()))
+                .toList();
+    }
+
+    private int rebuild(LocalDate from, LocalDate to) {
+        int weeks = 0;
+        for (LocalDate chunkStart = from; chunkStart.isBefore(to); chunkStart = chunkStart.plusWeeks(chunkWeeks)) {
+            LocalDate chunkStartFinal = chunkStart;
+            LocalDate chunkEnd = chunkStart.plusWeeks(chunkWeeks).isBefore(to) ? chunkStart.plusWeeks(chunkWeeks) : to;
+            transactionTemplate.executeWithoutResult(status -> {
+                doctorWorkloadRepository.deleteWeeks(chunkStartFinal, chunkEnd);
+                doctorWorkloadRepository.rebuildWeeks(chunkStartFinal, chunkEnd);
+            });
+            weeks += (int) ChronoUnit.WEEKS.between(chunkStart, chunkEnd);
+        }
+        return weeks;
+    }
+
+    private static void accumulate(Map<DoctorWeekId, long[]> deltas, WorkloadKey key, int sign) {
+        long[] delta = deltas.computeIfAbsent(new DoctorWeekId(key.doctorId(), key.weekStart()), week -> new long[3]);
+        // Indexed in WorkloadMetric order: appointments, surgeries, prescriptions
+        delta[key.metric().ordinal()] += sign;
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        Objects.requireNonNull(from, "From date cannot be null");
+        Objects.requireNonNull(to, "To date cannot be null");
+        if (to.isBefore(from)) {
+            throw new ValidationException("From date must not be after to date");
+        }
+        if (from.plusDays(MAX_RANGE_DAYS).isBefore(to)) {
+            throw new ValidationException("Workload range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
+    private static TransactionTemplate requiresNew(TransactionTemplate transactionTemplate) {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+}
@@ -0,0 +1,203 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.DuplicateCandidate;
+import com.testing_exam_webapp.dto.MergeCandidate;
+import com.testing_exam_webapp.exception.ValidationException;
+import com.testing_exam_webapp.repository.PatientRepository;
+import com.testing_exam_webapp.repository.projection.PatientIdentityRow;
+import com.testing_exam_webapp.service.PatientBlockingIndex.Identity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Finds likely duplicate patients through a {@link PatientBlockingIndex}. New patients are
+ * checked against the few patients sharing one of their blocking keys, so flagging does not
+ * depend on table size. A batch scan rebuilds the index from one projection query, splits the
+ * shared blocks into partitions scored in parallel on the query executor, and keeps the
+ * resulting merge candidates in memory for {@code GET /patients/duplicates}. Reported patient
+ * changes reach the index once the reporting transaction commits.
+ */
+@Service
+public class DuplicatePatientService {
+    private static final Logger log = LoggerFactory.getLogger(DuplicatePatientService.class);
+
+    // Blocks larger than this are compared within a sliding window over the sorted names instead of pairwise
+    static final int MAX_PAIRWISE_BLOCK = 100;
+    static final int WINDOW = 20;
+
+    private final PatientRepository patientRepository;
+    private final Executor queryExecutor;
+    private final double threshold;
+    private final int partitions;
+    private final PatientBlockingIndex index = new PatientBlockingIndex();
+    private volatile List<MergeCandidate> mergeCandidates = List.of();
+    private final PendingChanges<Identity> pendingDuringScan = new PendingChanges<>();
+
+    @Autowired
+    public DuplicatePatientService(PatientRepository patientRepository,
+                                   @Qualifier("queryExecutor") Executor queryExecutor,
+                                   @Value("${app.patients.duplicate-threshold:0.85}") double threshold,
+                                   @Value("${app.patients.duplicate-scan-partitions:4}") int partitions) {
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("Duplicate threshold must be in (0, 1]");
+        }
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Duplicate scan partitions must be positive");
+        }
+        this.patientRepository = patientRepository;
+        this.queryExecutor = queryExecutor;
+        this.threshold = threshold;
+        this.partitions = partitions;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialScan() {
+        scan();
+    }
+
+    @Scheduled(cron = "${app.patients.duplicate-scan-cron:0 30 1 * * *}")
+    public void scheduledScan() {
+        scan();
+    }
+
+    /**
+     * Rebuilds the blocking index, scores every pair sharing a block and returns the number of
+     * merge candidates at or above the threshold.
+     */
+    public synchronized int scan() {
+        long started = System.nanoTime();
+        pendingDuringScan.during(() -> {
+            List<Identity> identities = new ArrayList<>();
+            for (PatientIdentityRow row : patientRepository.findAllIdentities()) {
+                identities.add(new Identity(row.getId(), row.getName(), row.getDateOfBirth()));
+            }
+            index.rebuild(identities);
+        }, (id, identity) -> index.put(identity), index::remove);
+
+        List<List<List<Identity>>> parts = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            parts.add(new ArrayList<>());
+        }
+        List<List<Identity>> blocks = index.sharedBlocks();
+        // Largest blocks first, dealt round-robin, so partitions carry similar work
+        blocks.sort(Comparator.comparingInt((List<Identity> block) -> block.size()).reversed());
+        for (int i = 0; i < blocks.size(); i++) {
+            parts.get(i % partitions).add(blocks.get(i));
+        }
+        List<CompletableFuture<Map<String, MergeCandidate>>> futures = parts.stream()
+                .map(part -> CompletableFuture.supplyAsync(() -> scorePartition(part), queryExecutor))
+                .toList();
+
+        // A pair sharing several keys can be found by more than one partition
+        Map<String, MergeCandidate> merged = new HashMap<>();
+        for (CompletableFuture<Map<String, MergeCandidate>> future : futures) {
+            merged.putAll(future.join());
+        }
+        List<MergeCandidate> candidates = new ArrayList<>(merged.values());
+        candidates.sort(Comparator.comparingDouble(MergeCandidate::score).reversed()
+                .thenComparing(MergeCandidate::firstPatientName, Comparator.nullsLast(Comparator.naturalOrder())));
+        mergeCandidates = List.copyOf(candidates);
+        log.info("Duplicate scan compared {} blocks of {} patients in {} ms and found {} merge candidates",
+                blocks.size(), index.size(), (System.nanoTime() - started) / 1_000_000, candidates.size());
+        return candidates.size();
+    }
+
+    /**
+     * Indexed patients that likely are the same person as the given name and date of birth,
+     * best match first.
+     */
+    public List<DuplicateCandidate> findPossibleDuplicates(UUID patientId, String patientName, LocalDate dateOfBirth) {
+        List<DuplicateCandidate> duplicates = new ArrayList<>();
+        for (Identity candidate : index.candidates(patientId, patientName, dateOfBirth)) {
+            double score = PatientSimilarity.score(patientName, dateOfBirth, candidate.name(), candidate.dateOfBirth());
+            if (score >= threshold) {
+                duplicates.add(new DuplicateCandidate(candidate.id(), candidate.name(), candidate.dateOfBirth(), score));
+            }
+        }
+        duplicates.sort(Comparator.comparingDouble(DuplicateCandidate::score).reversed());
+        return duplicates;
+    }
+
+    /**
+     * Merge candidates from the last scan scoring at least {@code minScore}; pairs involving a
+     * patient deleted since are left out.
+     */
+    public List<MergeCandidate> getMergeCandidates(double minScore) {
+        if (minScore < 0 || minScore > 1) {
+            throw new ValidationException("Minimum score must be between 0 and 1");
+        }
+        return mergeCandidates.stream()
+                .filter(candidate -> candidate.score() >= minScore)
+                .filter(candidate -> index.get(candidate.firstPatientId()).isPresent()
+                        && index.get(candidate.secondPatientId()).isPresent())
+                .toList();
+    }
+
+    public void indexPatient(UUID patientId, String patientName, LocalDate dateOfBirth) {
+        Identity identity = new Identity(patientId, patientName, dateOfBirth);
+        afterCommit(() -> {
+            index.put(identity);
+            pendingDuringScan.put(patientId, identity);
+        });
+    }
+
+    public void removePatient(UUID patientId) {
+        afterCommit(() -> {
+            index.remove(patientId);
+            pendingDuringScan.remove(patientId);
+        });
+    }
+
+    private static void afterCommit(Runnable update) {
+        AfterCommit.run(update, log, "Duplicate blocking index update failed; run POST /patients/duplicates/scan to resync");
+    }
+
+    private Map<String, MergeCandidate> scorePartition(List<List<Identity>> blocks) {
+        Map<String, MergeCandidate> found = new HashMap<>();
+        for (List<Identity> block : blocks) {
+            if (block.size() <= MAX_PAIRWISE_BLOCK) {
+                for (int i = 0; i < block.size(); i++) {
+                    for (int j = i + 1; j < block.size(); j++) {
+                        compare(block.get(i), block.get(j), found);
+                    }
+                }
+            } else {
+                List<Identity> sorted = new ArrayList<>(block);
+                sorted.sort(Comparator.comparing(identity -> NameTrigramIndex.normalize(identity.name())));
+                for (int i = 0; i < sorted.size(); i++) {
+                    for (int j = i + 1; j < Math.min(sorted.size(), i + WINDOW); j++) {
+                        compare(sorted.get(i), sorted.get(j), found);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private void compare(Identity a, Identity b, Map<String, MergeCandidate> found) {
+        // Order the pair by ID so both partitions and both block orders produce the same key
+        Identity first = a.id().compareTo(b.id()) < 0 ? a : b;
+        Identity second = first == a ? b : a;
+        String key = first.id() + "|" + second.id();
+        if (found.containsKey(key)) {
+            return;
+        }
+        double score = PatientSimilarity.score(first.name(), first.dateOfBirth(), second.name(), second.dateOfBirth());
+        if (score >= threshold) {
+            found.put(key, new MergeCandidate(first.id(), first.name(), first.dateOfBirth(),
+                    second.id(), second.name(), second.dateOfBirth(), score));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.exception.ConflictException;
+
+/**
+ * Compares the version a client last read, as sent in {@code If-Match}, with the stored one
+ * before an update is applied. Changes that land between this check and the flush are caught
+ * by Hibernate's version check on the UPDATE itself.
+ */
+final class EntityVersions {
+
+    private EntityVersions() {
+    }
+
+    static void check(Long expectedVersion, Long currentVersion, String entityName) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new ConflictException(entityName + " was changed by someone else since version " + expectedVersion
+                    + "; reload it and try again");
+        }
+    }
+}
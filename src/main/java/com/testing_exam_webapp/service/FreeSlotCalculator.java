@@ -0,0 +1,170 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.FreeSlot;
+import com.testing_exam_webapp.repository.projection.BookedInterval;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Computes free appointment slots for one clinician from their bookings. Each day is a bitmap
+ * of 5-minute slots where set bits are unavailable (outside working hours, booked or already
+ * past), so finding a gap is a scan over five longs per day.
+ */
+public class FreeSlotCalculator {
+    static final int SLOT_MINUTES = 5;
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private final Set<DayOfWeek> workingDays;
+    private final DayOccupancy workingHours;
+
+    public FreeSlotCalculator(LocalTime workdayStart, LocalTime workdayEnd, Set<DayOfWeek> workingDays) {
+        if (!workdayStart.isBefore(workdayEnd)) {
+            throw new IllegalArgumentException("Workday start must be before workday end");
+        }
+        this.workingDays = EnumSet.copyOf(workingDays);
+        this.workingHours = new DayOccupancy();
+        workingHours.set(0, slotFloor(workdayStart.toSecondOfDay() / 60));
+        workingHours.set(slotFloor(workdayEnd.toSecondOfDay() / 60), SLOTS_PER_DAY);
+    }
+
+    /**
+     * Returns back-to-back slots of the given length in every free gap between {@code from} and
+     * {@code to} (inclusive), ordered by start time, skipping anything before {@code notBefore}.
+     */
+    public List<FreeSlot> freeSlots(UUID doctorId, Collection<? extends BookedInterval> bookings,
+                                    LocalDate from, LocalDate to, int durationMinutes, LocalDateTime notBefore) {
+        Map<LocalDate, DayOccupancy> days = new TreeMap<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (workingDays.contains(date.getDayOfWeek()) && !date.isBefore(notBefore.toLocalDate())) {
+                DayOccupancy day = workingHours.copy();
+                if (date.equals(notBefore.toLocalDate())) {
+                    day.set(0, slotCeil(notBefore.toLocalTime().toSecondOfDay() / 60));
+                }
+                days.put(date, day);
+            }
+        }
+
+        for (BookedInterval booking : bookings) {
+            LocalDate date = booking.getStartsAt().toLocalDate();
+            LocalDate lastDate = booking.getEndsAt().toLocalDate();
+            for (; !date.isAfter(lastDate); date = date.plusDays(1)) {
+                DayOccupancy day = days.get(date);
+                if (day == null) {
+                    continue;
+                }
+                int fromSlot = date.equals(booking.getStartsAt().toLocalDate())
+                        ? slotFloor(booking.getStartsAt().toLocalTime().toSecondOfDay() / 60) : 0;
+                int toSlot = date.equals(booking.getEndsAt().toLocalDate())
+                        ? slotCeil(booking.getEndsAt().toLocalTime().toSecondOfDay() / 60) : SLOTS_PER_DAY;
+                day.set(fromSlot, toSlot);
+            }
+        }
+
+        int needed = (durationMinutes + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        List<FreeSlot> slots = new ArrayList<>();
+        for (Map.Entry<LocalDate, DayOccupancy> entry : days.entrySet()) {
+            DayOccupancy day = entry.getValue();
+            int gapStart = day.nextClear(0);
+            while (gapStart < SLOTS_PER_DAY) {
+                int gapEnd = day.nextSet(gapStart);
+                for (int slot = gapStart; slot + needed <= gapEnd; slot += needed) {
+                    LocalDateTime start = entry.getKey().atStartOfDay().plusMinutes((long) slot * SLOT_MINUTES);
+                    slots.add(new FreeSlot(doctorId, start, start.plusMinutes(durationMinutes)));
+                }
+                gapStart = day.nextClear(gapEnd);
+            }
+        }
+        return slots;
+    }
+
+    private static int slotFloor(int minuteOfDay) {
+        return minuteOfDay / SLOT_MINUTES;
+    }
+
+    private static int slotCeil(int minuteOfDay) {
+        return (minuteOfDay + SLOT_MINUTES - 1) / SLOT_MINUTES;
+    }
+
+    /**
+     * Fixed-size bitmap of the 5-minute slots in one day.
+     */
+    static final class DayOccupancy {
+        private final long[] words;
+
+        DayOccupancy() {
+            this.words = new long[(SLOTS_PER_DAY + 63) / 64];
+        }
+
+        private DayOccupancy(long[] words) {
+            this.words = words;
+        }
+
+        DayOccupancy copy() {
+            return new DayOccupancy(words.clone());
+        }
+
+        /**
+         * Marks slots [from, to) as unavailable.
+         */
+        void set(int from, int to) {
+            from = Math.max(from, 0);
+            to = Math.min(to, SLOTS_PER_DAY);
+            if (from >= to) {
+                return;
+            }
+            int startWord = from >>> 6;
+            int endWord = (to - 1) >>> 6;
+            long firstMask = -1L << from;
+            long lastMask = -1L >>> -to;
+            if (startWord == endWord) {
+                words[startWord] |= firstMask & lastMask;
+                return;
+            }
+            words[startWord] |= firstMask;
+            for (int i = startWord + 1; i < endWord; i++) {
+                words[i] = -1L;
+            }
+            words[endWord] |= lastMask;
+        }
+
+        /**
+         * Returns the first free slot at or after {@code from}, or {@link #SLOTS_PER_DAY}.
+         */
+        int nextClear(int from) {
+            int index = from >>> 6;
+            if (index >= words.length) {
+                return SLOTS_PER_DAY;
+            }
+            long word = ~words[index] & (-1L << from);
+            while (word == 0) {
+                if (++index == words.length) {
+                    return SLOTS_PER_DAY;
+                }
+                word = ~words[index];
+            }
+            return Math.min(index * 64 + Long.numberOfTrailingZeros(word), SLOTS_PER_DAY);
+        }
+
+        /**
+         * Returns the first unavailable slot at or after {@code from}, or {@link #SLOTS_PER_DAY}.
+         */
+        int nextSet(int from) {
+            int index = from >>> 6;
+            if (index >= words.length) {
+                return SLOTS_PER_DAY;
+            }
+            long word = words[index] & (-1L << from);
+            while (word == 0) {
+                if (++index == words.length) {
+                    return SLOTS_PER_DAY;
+                }
+                word = words[index];
+            }
+            return Math.min(index * 64 + Long.numberOfTrailingZeros(word), SLOTS_PER_DAY);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.FreeSlot;
+import com.testing_exam_webapp.exception.EntityNotFoundException;
+import com.testing_exam_webapp.exception.ValidationException;
+import com.testing_exam_webapp.model.mysql.Doctor;
+import com.testing_exam_webapp.model.types.DoctorSpecialityType;
+import com.testing_exam_webapp.repository.AppointmentRepository;
+import com.testing_exam_webapp.repository.DoctorRepository;
+import com.testing_exam_webapp.repository.projection.BookedInterval;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+@Service
+public class FreeSlotService {
+    static final int MAX_RANGE_DAYS = 62;
+
+    private final AppointmentRepository appointmentRepository;
+    private final DoctorRepository doctorRepository;
+    private final Executor queryExecutor;
+    private final FreeSlotCalculator calculator;
+    private final Clock clock;
+
+    @Autowired
+    public FreeSlotService(AppointmentRepository appointmentRepository,
+                           DoctorRepository doctorRepository,
+                           @Qualifier("queryExecutor") Executor queryExecutor,
+                           @Value("${app.scheduling.workday-start:08:00}") String workdayStart,
+                           @Value("${app.scheduling.workday-end:16:00}") String workdayEnd,
+                           @Value("${app.scheduling.working-days:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY}") String workingDays) {
+        this(appointmentRepository, doctorRepository, queryExecutor,
+                new FreeSlotCalculator(LocalTime.parse(workdayStart), LocalTime.parse(workdayEnd), parseDays(workingDays)),
+                Clock.systemDefaultZone());
+    }
+
+    FreeSlotService(AppointmentRepository appointmentRepository,
+                    DoctorRepository doctorRepository,
+                    Executor queryExecutor,
+                    FreeSlotCalculator calculator,
+                    Clock clock) {
+        this.appointmentRepository = appointmentRepository;
+        this.doctorRepository = doctorRepository;
+        this.queryExecutor = queryExecutor;
+        this.calculator = calculator;
+        this.clock = clock;
+    }
+
+    public List<FreeSlot> findFreeSlots(UUID doctorId, LocalDate from, LocalDate to, int durationMinutes, int limit) {
+        Objects.requireNonNull(doctorId, "Doctor ID cannot be null");
+        validate(from, to, durationMinutes, limit);
+        if (!doctorRepository.existsById(doctorId)) {
+            throw new EntityNotFoundException("Doctor not found");
+        }
+        return search(List.of(doctorId), from, to, durationMinutes, limit);
+    }
+
+    /**
+     * Searches every doctor of the speciality in the ward. Their bookings are loaded with one
+     * indexed query and the per-doctor bitmaps are then filled and scanned in parallel.
+     */
+    public List<FreeSlot> findFreeSlotsBySpeciality(DoctorSpecialityType speciality, UUID wardId,
+                                                    LocalDate from, LocalDate to, int durationMinutes, int limit) {
+        Objects.requireNonNull(speciality, "Speciality cannot be null");
+        Objects.requireNonNull(wardId, "Ward ID cannot be null");
+        validate(from, to, durationMinutes, limit);
+        List<UUID> doctorIds = doctorRepository.findByWardIdAndSpeciality(wardId, speciality).stream()
+                .map(Doctor::getDoctorId)
+                .toList();
+        if (doctorIds.isEmpty()) {
+            return List.of();
+        }
+        return search(doctorIds, from, to, durationMinutes, limit);
+    }
+
+    private List<FreeSlot> search(List<UUID> doctorIds, LocalDate from, LocalDate to, int durationMinutes, int limit) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        Map<UUID, List<BookedInterval>> bookingsByDoctor = appointmentRepository
+                .findDoctorBookings(doctorIds, start.minusMinutes(AppointmentService.MAX_DURATION_MINUTES), start, end)
+                .stream()
+                .collect(Collectors.groupingBy(BookedInterval::getClinicianId));
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        List<CompletableFuture<List<FreeSlot>>> perDoctor = new ArrayList<>(doctorIds.size());
+        for (UUID doctorId : doctorIds) {
+            List<BookedInterval> bookings = bookingsByDoctor.getOrDefault(doctorId, List.of());
+            perDoctor.add(CompletableFuture.supplyAsync(
+                    () -> calculator.freeSlots(doctorId, bookings, from, to, durationMinutes, now), queryExecutor));
+        }
+
+        List<FreeSlot> slots = new ArrayList<>();
+        for (CompletableFuture<List<FreeSlot>> future : perDoctor) {
+            slots.addAll(future.join());
+        }
+        slots.sort(Comparator.comparing(FreeSlot::start));
+        return slots.size() > limit ? new ArrayList<>(slots.subList(0, limit)) : slots;
+    }
+
+    private void validate(LocalDate from, LocalDate to, int durationMinutes, int limit) {
+        Objects.requireNonNull(from, "From date cannot be null");
+        Objects.requireNonNull(to, "To date cannot be null");
+        if (to.isBefore(from)) {
+            throw new ValidationException("From date must not be after to date");
+        }
+        if (from.plusDays(MAX_RANGE_DAYS).isBefore(to)) {
+            throw new ValidationException("Search range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        if (durationMinutes < FreeSlotCalculator.SLOT_MINUTES || durationMinutes > AppointmentService.MAX_DURATION_MINUTES) {
+            throw new ValidationException("Duration must be between " + FreeSlotCalculator.SLOT_MINUTES +
+                    " and " + AppointmentService.MAX_DURATION_MINUTES + " minutes");
+        }
+        if (limit <= 0) {
+            throw new ValidationException("Limit must be positive");
+        }
+    }
+
+    private static Set<DayOfWeek> parseDays(String workingDays) {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (String day : workingDays.split(",")) {
+            if (!day.isBlank()) {
+                days.add(DayOfWeek.valueOf(day.trim().toUpperCase(Locale.ROOT)));
+            }
+        }
+        return days;
+    }
+}
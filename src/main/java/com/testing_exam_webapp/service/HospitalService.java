@@ -7,6 +7,7 @@ import com.testing_exam_webapp.model.mysql.Ward;
 import com.testing_exam_webapp.repository.HospitalRepository;
 import com.testing_exam_webapp.repository.WardRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 
@@ -20,16 +21,19 @@ public class HospitalService {
         this.wardRepository = wardRepository;
     }
 
+    @Transactional(readOnly = true)
     public List<Hospital> getHospitals() {
         return hospitalRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Hospital getHospitalById(UUID id) {
         UUID hospitalId = Objects.requireNonNull(id, "Hospital ID cannot be null");
         return hospitalRepository.findById(hospitalId)
                 .orElseThrow(() -> new EntityNotFoundException("Hospital not found"));
     }
 
+    @Transactional
     public Hospital createHospital(HospitalRequest request) {
         Hospital hospital = new Hospital();
         hospital.setHospitalId(UUID.randomUUID());
@@ -51,10 +55,12 @@ public class HospitalService {
         return hospitalRepository.save(hospital);
     }
 
-    public Hospital updateHospital(UUID id, HospitalRequest request) {
+    @Transactional
+    public Hospital updateHospital(UUID id, HospitalRequest request, Long expectedVersion) {
         UUID hospitalId = Objects.requireNonNull(id, "Hospital ID cannot be null");
         Hospital hospital = hospitalRepository.findById(hospitalId)
                 .orElseThrow(() -> new EntityNotFoundException("Hospital not found"));
+        EntityVersions.check(expectedVersion, hospital.getVersion(), "Hospital");
 
         hospital.setHospitalName(request.getHospitalName());
         hospital.setAddress(request.getAddress());
@@ -74,6 +80,7 @@ public class HospitalService {
         return hospitalRepository.save(hospital);
     }
 
+    @Transactional
     public void deleteHospital(UUID id) {
         UUID hospitalId = Objects.requireNonNull(id, "Hospital ID cannot be null");
         if (!hospitalRepository.existsById(hospitalId)) {
@@ -83,6 +90,13 @@ public class HospitalService {
     }
 
     // Query methods
+    @Transactional(readOnly = true)
+    public List<Hospital> getHospitalsByIds(Collection<UUID> ids) {
+        Objects.requireNonNull(ids, "Hospital IDs cannot be null");
+        return hospitalRepository.findAllById(ids);
+    }
+
+    @Transactional(readOnly = true)
     public List<Hospital> getHospitalsByCity(String city) {
         Objects.requireNonNull(city, "City cannot be null");
         return hospitalRepository.findByCity(city);
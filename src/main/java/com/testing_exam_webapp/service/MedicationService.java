@@ -5,6 +5,7 @@ import com.testing_exam_webapp.exception.EntityNotFoundException;
 import com.testing_exam_webapp.model.mysql.Medication;
 import com.testing_exam_webapp.repository.MedicationRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Objects;
@@ -18,16 +19,19 @@ public class MedicationService {
         this.medicationRepository = medicationRepository;
     }
 
+    @Transactional(readOnly = true)
     public List<Medication> getMedications() {
         return medicationRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Medication getMedicationById(UUID id) {
         UUID medicationId = Objects.requireNonNull(id, "Medication ID cannot be null");
         return medicationRepository.findById(medicationId)
                 .orElseThrow(() -> new EntityNotFoundException("Medication not found"));
     }
 
+    @Transactional
     public Medication createMedication(MedicationRequest request) {
         Medication medication = new Medication();
         medication.setMedicationId(UUID.randomUUID());
@@ -37,10 +41,12 @@ public class MedicationService {
         return medicationRepository.save(medication);
     }
 
-    public Medication updateMedication(UUID id, MedicationRequest request) {
+    @Transactional
+    public Medication updateMedication(UUID id, MedicationRequest request, Long expectedVersion) {
         UUID medicationId = Objects.requireNonNull(id, "Medication ID cannot be null");
         Medication medication = medicationRepository.findById(medicationId)
                 .orElseThrow(() -> new EntityNotFoundException("Medication not found"));
+        EntityVersions.check(expectedVersion, medication.getVersion(), "Medication");
 
         medication.setMedicationName(request.getMedicationName());
         medication.setDosage(request.getDosage());
@@ -48,6 +54,7 @@ public class MedicationService {
         return medicationRepository.save(medication);
     }
 
+    @Transactional
     public void deleteMedication(UUID id) {
         UUID medicationId = Objects.requireNonNull(id, "Medication ID cannot be null");
         if (!medicationRepository.existsById(medicationId)) {
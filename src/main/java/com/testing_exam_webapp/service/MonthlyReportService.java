@@ -0,0 +1,329 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.ReportJob;
+import com.testing_exam_webapp.exception.EntityNotFoundException;
+import com.testing_exam_webapp.exception.ValidationException;
+import com.testing_exam_webapp.model.types.ReportJobStatus;
+import com.testing_exam_webapp.model.types.WardType;
+import com.testing_exam_webapp.repository.*;
+import com.testing_exam_webapp.repository.projection.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Generates monthly per-hospital reports as CSV files, off-request.
+ * <p>
+ * A job forks one task per hospital into the report pool, and each hospital task forks its four
+ * grouped projection queries (ward census, appointments per ward and status, surgeries per ward,
+ * prescriptions per ward and medication) before streaming the rows into
+ * {@code <report-dir>/<yyyy-MM>/hospital-<id>.csv}. Activity is attributed to the hospital and
+ * ward the patient is assigned to when the report runs. Progress is polled through
+ * {@link #getJob}; finished jobs beyond {@link #MAX_JOBS} are forgotten, oldest first.
+ */
+@Service
+public class MonthlyReportService {
+    private static final Logger log = LoggerFactory.getLogger(MonthlyReportService.class);
+    static final int MAX_JOBS = 50;
+    static final String[] HEADER = {"hospital_id", "hospital_name", "month", "section", "ward_id", "ward_type", "item", "count"};
+
+    private final HospitalRepository hospitalRepository;
+    private final WardRepository wardRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final ArchivedAppointmentRepository archivedAppointmentRepository;
+    private final SurgeryRepository surgeryRepository;
+    private final PrescriptionRepository prescriptionRepository;
+    private final ForkJoinPool reportPool;
+    private final Path reportDir;
+    private final Clock clock;
+    private final Map<UUID, Job> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MonthlyReportService(HospitalRepository hospitalRepository,
+                                WardRepository wardRepository,
+                                AppointmentRepository appointmentRepository,
+                                ArchivedAppointmentRepository archivedAppointmentRepository,
+                                SurgeryRepository surgeryRepository,
+                                PrescriptionRepository prescriptionRepository,
+                                @Qualifier("reportPool") ForkJoinPool reportPool,
+                                @Value("${app.reports.dir:data/reports}") String reportDir) {
+        this(hospitalRepository, wardRepository, appointmentRepository, archivedAppointmentRepository,
+                surgeryRepository, prescriptionRepository, reportPool, Path.of(reportDir).toAbsolutePath(),
+                Clock.systemDefaultZone());
+    }
+
+    MonthlyReportService(HospitalRepository hospitalRepository,
+                         WardRepository wardRepository,
+                         AppointmentRepository appointmentRepository,
+                         ArchivedAppointmentRepository archivedAppointmentRepository,
+                         SurgeryRepository surgeryRepository,
+                         PrescriptionRepository prescriptionRepository,
+                         ForkJoinPool reportPool,
+                         Path reportDir,
+                         Clock clock) {
+        this.hospitalRepository = hospitalRepository;
+        this.wardRepository = wardRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.archivedAppointmentRepository = archivedAppointmentRepository;
+        this.surgeryRepository = surgeryRepository;
+        this.prescriptionRepository = prescriptionRepository;
+        this.reportPool = reportPool;
+        this.reportDir = reportDir;
+        this.clock = clock;
+    }
+
+    /**
+     * Starts generating the reports for the month and returns the job to poll. A job already
+     * running for the same month is returned instead of starting a second one.
+     */
+    public synchronized ReportJob startMonthlyReport(YearMonth month) {
+        Objects.requireNonNull(month, "Month cannot be null");
+        if (month.isAfter(YearMonth.now(clock))) {
+            throw new ValidationException("Cannot report on a month that has not started");
+        }
+        for (Job job : jobs.values()) {
+            if (job.month.equals(month) && job.status == ReportJobStatus.RUNNING) {
+                return job.snapshot();
+            }
+        }
+        Job job = new Job(UUID.randomUUID(), month, LocalDateTime.now(clock));
+        jobs.put(job.id, job);
+        evictFinishedJobs();
+        job.task = reportPool.submit(new ReportTask(job));
+        return job.snapshot();
+    }
+
+    public ReportJob getJob(UUID jobId) {
+        Objects.requireNonNull(jobId, "Job ID cannot be null");
+        return findJob(jobId).snapshot();
+    }
+
+    public List<ReportJob> getJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing((Job job) -> job.startedAt).reversed())
+                .map(Job::snapshot)
+                .toList();
+    }
+
+    /**
+     * The CSV file written for the hospital by the job.
+     */
+    public Path getReportFile(UUID jobId, UUID hospitalId) {
+        Objects.requireNonNull(hospitalId, "Hospital ID cannot be null");
+        Job job = findJob(Objects.requireNonNull(jobId, "Job ID cannot be null"));
+        if (!job.reported.contains(hospitalId)) {
+            throw new EntityNotFoundException("Report not found");
+        }
+        Path file = reportFile(job.month, hospitalId);
+        if (!Files.isReadable(file)) {
+            throw new EntityNotFoundException("Report not found");
+        }
+        return file;
+    }
+
+    /**
+     * Waits for the job to finish; for tests.
+     */
+    void awaitJob(UUID jobId) {
+        findJob(jobId).task.join();
+    }
+
+    Path reportFile(YearMonth month, UUID hospitalId) {
+        return reportDir.resolve(month.toString()).resolve("hospital-" + hospitalId + ".csv");
+    }
+
+    private Job findJob(UUID jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new EntityNotFoundException("Report job not found");
+        }
+        return job;
+    }
+
+    private void evictFinishedJobs() {
+        if (jobs.size() <= MAX_JOBS) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(job -> job.status != ReportJobStatus.RUNNING)
+                .sorted(Comparator.comparing(job -> job.startedAt))
+                .limit(jobs.size() - MAX_JOBS)
+                .forEach(job -> jobs.remove(job.id));
+    }
+
+    private void writeReport(Job job, HospitalNameRow hospital, boolean includeArchive) throws IOException {
+        LocalDate from = job.month.atDay(1);
+        LocalDate to = job.month.atEndOfMonth();
+        UUID hospitalId = hospital.getId();
+        ForkJoinTask<List<WardCensusRow>> census =
+                ForkJoinTask.adapt(() -> wardRepository.findCensusByHospitalId(hospitalId)).fork();
+        ForkJoinTask<List<WardStatusCount>> appointments =
+                ForkJoinTask.adapt(() -> appointmentRepository.countPerWardAndStatus(hospitalId, from, to)).fork();
+        ForkJoinTask<List<WardStatusCount>> archived = includeArchive
+                ? ForkJoinTask.adapt(() -> archivedAppointmentRepository.countPerWardAndStatus(hospitalId, from, to)).fork()
+                : null;
+        ForkJoinTask<List<IdCount>> surgeries =
+                ForkJoinTask.adapt(() -> surgeryRepository.countPerWard(hospitalId, from, to)).fork();
+        ForkJoinTask<List<WardMedicationCount>> prescriptions =
+                ForkJoinTask.adapt(() -> prescriptionRepository.countPerWardAndMedication(hospitalId, from, to)).fork();
+
+        Map<UUID, WardType> wardTypes = new HashMap<>();
+        List<WardCensusRow> wards = census.join();
+        wards.forEach(ward -> wardTypes.put(ward.getWardId(), ward.getWardType()));
+
+        // Live and archived counts for the same ward and status add up
+        Map<WardItem, Long> appointmentCounts = new HashMap<>();
+        List<WardStatusCount> appointmentRows = new ArrayList<>(appointments.join());
+        if (archived != null) {
+            appointmentRows.addAll(archived.join());
+        }
+        for (WardStatusCount row : appointmentRows) {
+            String status = row.getStatus() != null ? row.getStatus().name() : "UNKNOWN";
+            appointmentCounts.merge(new WardItem(row.getWardId(), status), row.getTotal(), Long::sum);
+        }
+
+        Map<String, List<Line>> sections = new LinkedHashMap<>();
+        sections.put("ward_census", wards.stream()
+                .flatMap(ward -> Stream.of(
+                        new Line(ward.getWardId(), "patients", ward.getPatients()),
+                        new Line(ward.getWardId(), "max_capacity", ward.getMaxCapacity()),
+                        new Line(ward.getWardId(), "occupied_beds", ward.getOccupancy())))
+                .toList());
+        sections.put("appointments", appointmentCounts.entrySet().stream()
+                .map(entry -> new Line(entry.getKey().wardId(), entry.getKey().item(), entry.getValue()))
+                .sorted(lineOrder(wardTypes))
+                .toList());
+        sections.put("surgeries", surgeries.join().stream()
+                .map(row -> new Line(row.getId(), "surgeries", row.getTotal()))
+                .sorted(lineOrder(wardTypes))
+                .toList());
+        sections.put("prescriptions", prescriptions.join().stream()
+                .map(row -> new Line(row.getWardId(), Objects.toString(row.getMedicationName(), "UNKNOWN"), row.getTotal()))
+                .sorted(lineOrder(wardTypes))
+                .toList());
+
+        try (CsvChannelWriter writer = new CsvChannelWriter(reportFile(job.month, hospitalId))) {
+            writer.writeRow((Object[]) HEADER);
+            for (Map.Entry<String, List<Line>> section : sections.entrySet()) {
+                for (Line line : section.getValue()) {
+                    writer.writeRow(hospitalId, hospital.getName(), job.month, section.getKey(), line.wardId(),
+                            wardTypes.get(line.wardId()), line.item(), line.count());
+                }
+            }
+            writer.commit();
+        }
+    }
+
+    /**
+     * Orders lines by ward type, then ward, then item; lines without a ward come last.
+     */
+    private static Comparator<Line> lineOrder(Map<UUID, WardType> wardTypes) {
+        return Comparator.comparing((Line line) -> Objects.toString(wardTypes.get(line.wardId()), "~"))
+                .thenComparing(line -> Objects.toString(line.wardId(), "~"))
+                .thenComparing(Line::item);
+    }
+
+    private record WardItem(UUID wardId, String item) {
+    }
+
+    private record Line(UUID wardId, String item, long count) {
+    }
+
+    private final class ReportTask extends RecursiveAction {
+        private final Job job;
+
+        private ReportTask(Job job) {
+            this.job = job;
+        }
+
+        @Override
+        protected void compute() {
+            long started = System.nanoTime();
+            try {
+                LocalDate firstDay = job.month.atDay(1);
+                boolean includeArchive = archivedAppointmentRepository.findLatestAppointmentDate()
+                        .map(latest -> !firstDay.isAfter(latest))
+                        .orElse(false);
+                List<HospitalNameRow> hospitals = hospitalRepository.findAllNames();
+                job.total = hospitals.size();
+                invokeAll(hospitals.stream().map(hospital -> new HospitalTask(job, hospital, includeArchive)).toList());
+            } catch (RuntimeException e) {
+                log.warn("Monthly report job {} for {} failed", job.id, job.month, e);
+                job.failures.add(String.valueOf(e.getMessage()));
+            }
+            job.finish(LocalDateTime.now(clock));
+            log.info("Monthly report job {} for {} wrote {} of {} hospital reports in {} ms", job.id, job.month,
+                    job.reported.size(), job.total, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private final class HospitalTask extends RecursiveAction {
+        private final Job job;
+        private final HospitalNameRow hospital;
+        private final boolean includeArchive;
+
+        private HospitalTask(Job job, HospitalNameRow hospital, boolean includeArchive) {
+            this.job = job;
+            this.hospital = hospital;
+            this.includeArchive = includeArchive;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                writeReport(job, hospital, includeArchive);
+                job.reported.add(hospital.getId());
+            } catch (IOException | RuntimeException e) {
+                // One hospital failing leaves the others' reports intact; the job ends FAILED
+                log.warn("Monthly report for hospital {} and {} failed", hospital.getId(), job.month, e);
+                job.failures.add(hospital.getId() + ": " + e.getMessage());
+            } finally {
+                job.done.incrementAndGet();
+            }
+        }
+    }
+
+    private static final class Job {
+        private final UUID id;
+        private final YearMonth month;
+        private final LocalDateTime startedAt;
+        private final AtomicInteger done = new AtomicInteger();
+        private final Set<UUID> reported = ConcurrentHashMap.newKeySet();
+        private final Queue<String> failures = new ConcurrentLinkedQueue<>();
+        private volatile int total;
+        private volatile ReportJobStatus status = ReportJobStatus.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile ForkJoinTask<?> task;
+
+        private Job(UUID id, YearMonth month, LocalDateTime startedAt) {
+            this.id = id;
+            this.month = month;
+            this.startedAt = startedAt;
+        }
+
+        private void finish(LocalDateTime now) {
+            finishedAt = now;
+            status = failures.isEmpty() ? ReportJobStatus.COMPLETED : ReportJobStatus.FAILED;
+        }
+
+        private ReportJob snapshot() {
+            return new ReportJob(id, month, status, total, done.get(), List.copyOf(reported),
+                    List.copyOf(failures), startedAt, finishedAt);
+        }
+    }
+}
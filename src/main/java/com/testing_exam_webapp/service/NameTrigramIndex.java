@@ -0,0 +1,510 @@
+package com.testing_exam_webapp.service;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram inverted index over names. Every name gets a dense int ordinal and each
+ * trigram maps to a sorted int[] posting list of ordinals. Words are padded ("  ann ") so
+ * trigrams at the start of a word make prefix queries work, and the last query word is matched
+ * as a prefix. A query counts shared trigrams per ordinal in a reused short[] and keeps the top k
+ * in a small heap; names sharing too few trigrams with the query are dropped, which gives typo
+ * tolerance without scanning every name. Names containing every query trigram are found first
+ * by intersecting posting lists, and the fuzzy pass only runs when they do not fill the page.
+ */
+public class NameTrigramIndex {
+    // Share of the query's trigrams a name must contain to match; short queries must match fully
+    static final double MIN_COVERAGE = 0.5;
+    static final int FUZZY_MIN_TRIGRAMS = 4;
+    // Share required of the remaining hits once some name contains every query trigram
+    static final double VARIANT_COVERAGE = 0.75;
+    // Keeps per-name match counts within a short
+    static final int MAX_QUERY_LENGTH = 64;
+    private static final Map<Character, String> FOLDED = Map.of(
+            'ø', "o", 'æ', "ae", 'œ', "oe", 'ß', "ss", 'ð', "d", 'þ', "th", 'ł', "l", 'đ', "d", 'ı', "i");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<short[]> countBuffers = ThreadLocal.withInitial(() -> new short[0]);
+
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private UUID[] ids = new UUID[1024];
+    private String[] names = new String[1024];
+    private long[][] trigrams = new long[1024][];
+    // Trigram count per ordinal, kept apart from the key arrays so ranking does not chase pointers
+    private int[] trigramCounts = new int[1024];
+    private int nextOrdinal;
+
+    public record Hit(UUID id, String name, double score) {
+    }
+
+    /**
+     * Replaces the whole index; deleted ordinals are compacted away.
+     */
+    public void rebuild(Map<UUID, String> entries) {
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            postings.clear();
+            int capacity = Math.max(1024, entries.size());
+            ids = new UUID[capacity];
+            names = new String[capacity];
+            trigrams = new long[capacity][];
+            trigramCounts = new int[capacity];
+            nextOrdinal = 0;
+            for (Map.Entry<UUID, String> entry : entries.entrySet()) {
+                add(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(UUID id, String name) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal == null) {
+                add(id, name);
+                return;
+            }
+            unlink(ordinal);
+            link(ordinal, name);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal != null) {
+                unlink(ordinal);
+                ids[ordinal] = null;
+                names[ordinal] = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best matches for the query, highest score first. Names containing more of the query's
+     * trigrams always rank higher; among equal matches, names whose trigram set overlaps the
+     * query's more (i.e. closer in length) win. The score is scaled to (0, 1].
+     */
+    public List<Hit> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.length() > MAX_QUERY_LENGTH) {
+            normalized = normalized.substring(0, MAX_QUERY_LENGTH).trim();
+        }
+        long[] queryTrigrams = trigramsOf(normalized, true);
+        if (queryTrigrams.length == 0 || limit < 1) {
+            return List.of();
+        }
+        int minMatches = queryTrigrams.length < FUZZY_MIN_TRIGRAMS
+                ? queryTrigrams.length
+                : (int) Math.ceil(queryTrigrams.length * MIN_COVERAGE);
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[queryTrigrams.length];
+            int listCount = 0;
+            for (long trigram : queryTrigrams) {
+                Postings list = postings.get(trigram);
+                if (list != null) {
+                    lists[listCount++] = list;
+                }
+            }
+            if (listCount < minMatches) {
+                return List.of();
+            }
+            Arrays.sort(lists, 0, listCount, Comparator.comparingInt(list -> list.size));
+
+            TopK top = new TopK(limit);
+            boolean exactDone = listCount == queryTrigrams.length;
+            if (exactDone) {
+                // Names containing every trigram: intersect from the shortest list while that still
+                // narrows the candidates a lot, then check the rest only for names that would rank
+                int[] candidates = Arrays.copyOf(lists[0].values, lists[0].size);
+                for (int l = 1; l < listCount && candidates.length > 0; l++) {
+                    int before = candidates.length;
+                    candidates = intersect(candidates, lists[l]);
+                    if (candidates.length > before / 2) {
+                        break;
+                    }
+                }
+                for (int ordinal : candidates) {
+                    double score = score(queryTrigrams.length, queryTrigrams.length, trigramCounts[ordinal]);
+                    if (top.accepts(score) && containsAll(trigrams[ordinal], queryTrigrams)) {
+                        top.offer(ordinal, score);
+                    }
+                }
+                if (top.size == limit || minMatches == queryTrigrams.length) {
+                    return hits(top);
+                }
+                if (top.size > 0) {
+                    // The query names someone who exists; only fill up with close spelling variants
+                    minMatches = Math.max(minMatches, (int) Math.ceil(queryTrigrams.length * VARIANT_COVERAGE));
+                }
+            }
+
+            short[] counts = countBuffers.get();
+            if (counts.length < nextOrdinal) {
+                counts = new short[ids.length];
+                countBuffers.set(counts);
+            }
+            // A name with enough matches must occur in one of the shortest (lists - minMatches + 1)
+            // lists, so only those seed candidates; longer lists are only probed for known candidates
+            int seedLists = listCount - minMatches + 1;
+            int[] touched = new int[64];
+            int touchedCount = 0;
+            for (int l = 0; l < seedLists; l++) {
+                int[] values = lists[l].values;
+                for (int i = 0, n = lists[l].size; i < n; i++) {
+                    int ordinal = values[i];
+                    if (counts[ordinal]++ == 0) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touchedCount * 2);
+                        }
+                        touched[touchedCount++] = ordinal;
+                    }
+                }
+            }
+            for (int l = seedLists; l < listCount; l++) {
+                // Drop names that can no longer reach minMatches even if they are in every remaining list
+                int needed = minMatches - (listCount - l);
+                int kept = 0;
+                for (int i = 0; i < touchedCount; i++) {
+                    int ordinal = touched[i];
+                    if (counts[ordinal] >= needed) {
+                        touched[kept++] = ordinal;
+                    } else {
+                        counts[ordinal] = 0;
+                    }
+                }
+                touchedCount = kept;
+                Postings list = lists[l];
+                int[] values = list.values;
+                int n = list.size;
+                if ((long) touchedCount * log2(n) < n) {
+                    for (int i = 0; i < touchedCount; i++) {
+                        if (Arrays.binarySearch(values, 0, n, touched[i]) >= 0) {
+                            counts[touched[i]]++;
+                        }
+                    }
+                } else {
+                    for (int i = 0; i < n; i++) {
+                        if (counts[values[i]] > 0) {
+                            counts[values[i]]++;
+                        }
+                    }
+                }
+            }
+
+            for (int i = 0; i < touchedCount; i++) {
+                int ordinal = touched[i];
+                int matches = counts[ordinal];
+                counts[ordinal] = 0;
+                if (matches < minMatches || (exactDone && matches == queryTrigrams.length)) {
+                    continue;
+                }
+                top.offer(ordinal, score(matches, queryTrigrams.length, trigramCounts[ordinal]));
+            }
+            return hits(top);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Hit> hits(TopK top) {
+        List<Hit> hits = new ArrayList<>(top.size);
+        for (int slot : top.slotsByScore()) {
+            int ordinal = top.ordinals[slot];
+            hits.add(new Hit(ids[ordinal], names[ordinal], top.scores[slot]));
+        }
+        return hits;
+    }
+
+    /**
+     * Matched trigrams plus the Jaccard overlap (at most 1) as a tie breaker, scaled to (0, 1].
+     */
+    private static double score(int matches, int queryTrigrams, int nameTrigrams) {
+        double overlap = (double) matches / (queryTrigrams + nameTrigrams - matches);
+        return (matches + overlap) / (queryTrigrams + 1);
+    }
+
+    private static boolean containsAll(long[] nameTrigrams, long[] queryTrigrams) {
+        int i = 0;
+        for (long trigram : queryTrigrams) {
+            while (i < nameTrigrams.length && nameTrigrams[i] < trigram) {
+                i++;
+            }
+            if (i == nameTrigrams.length || nameTrigrams[i] != trigram) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Candidates that also occur in the list. Galloping from the last match keeps this close to
+     * O(candidates * log(gap)) when the list is much longer than the candidates.
+     */
+    private static int[] intersect(int[] candidates, Postings list) {
+        int[] values = list.values;
+        int n = list.size;
+        int[] result = new int[candidates.length];
+        int count = 0;
+        int low = 0;
+        for (int candidate : candidates) {
+            int step = 1;
+            int high = low;
+            while (high < n && values[high] < candidate) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            int index = Arrays.binarySearch(values, low, Math.min(high + 1, n), candidate);
+            if (index >= 0) {
+                result[count++] = candidate;
+                low = index + 1;
+            } else {
+                low = -index - 1;
+            }
+            if (low >= n) {
+                break;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static int log2(int n) {
+        return 32 - Integer.numberOfLeadingZeros(n);
+    }
+
+    private void add(UUID id, String name) {
+        int ordinal = nextOrdinal++;
+        if (ordinal == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            trigrams = Arrays.copyOf(trigrams, capacity);
+            trigramCounts = Arrays.copyOf(trigramCounts, capacity);
+        }
+        ids[ordinal] = id;
+        ordinals.put(id, ordinal);
+        link(ordinal, name);
+    }
+
+    private void link(int ordinal, String name) {
+        names[ordinal] = name;
+        long[] keys = trigramsOf(normalize(name), false);
+        trigrams[ordinal] = keys;
+        trigramCounts[ordinal] = keys.length;
+        for (long key : keys) {
+            postings.computeIfAbsent(key, k -> new Postings()).insert(ordinal);
+        }
+    }
+
+    private void unlink(int ordinal) {
+        for (long key : trigrams[ordinal]) {
+            Postings list = postings.get(key);
+            if (list != null && list.delete(ordinal) && list.size == 0) {
+                postings.remove(key);
+            }
+        }
+        trigrams[ordinal] = new long[0];
+        trigramCounts[ordinal] = 0;
+    }
+
+    /**
+     * Lower case without accents; anything that is not a letter or digit separates words.
+     * Letters NFD does not decompose (ø, æ, ß, ...) are folded to their usual ASCII spelling.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        StringBuilder normalized = new StringBuilder(stripped.length());
+        boolean space = true;
+        for (int i = 0; i < stripped.length(); i++) {
+            char c = Character.toLowerCase(stripped.charAt(i));
+            String folded = FOLDED.get(c);
+            if (folded != null) {
+                normalized.append(folded);
+                space = false;
+            } else if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+                space = false;
+            } else if (!space) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+        int length = normalized.length();
+        return length > 0 && normalized.charAt(length - 1) == ' ' ? normalized.substring(0, length - 1) : normalized.toString();
+    }
+
+    /**
+     * Distinct trigram keys of the words, sorted. With {@code prefixLast} the last word gets no
+     * trailing pad, so it matches any word it is a prefix of.
+     */
+    static long[] trigramsOf(String normalized, boolean prefixLast) {
+        if (normalized.isEmpty()) {
+            return new long[0];
+        }
+        String[] words = normalized.split(" ");
+        long[] keys = new long[normalized.length() + 3 * words.length];
+        int count = 0;
+        for (int w = 0; w < words.length; w++) {
+            String padded = "  " + words[w] + (prefixLast && w == words.length - 1 ? "" : " ");
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                keys[count++] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+            }
+        }
+        long[] sorted = Arrays.copyOf(keys, count);
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, distinct);
+    }
+
+    /**
+     * Sorted, growable posting list of ordinals. New names get the highest ordinal so the
+     * common case is an append.
+     */
+    private static final class Postings {
+        private int[] values = new int[4];
+        private int size;
+
+        void insert(int ordinal) {
+            if (size > 0 && values[size - 1] >= ordinal) {
+                int index = Arrays.binarySearch(values, 0, size, ordinal);
+                if (index >= 0) {
+                    return;
+                }
+                insertAt(-index - 1, ordinal);
+                return;
+            }
+            insertAt(size, ordinal);
+        }
+
+        boolean delete(int ordinal) {
+            int index = Arrays.binarySearch(values, 0, size, ordinal);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        private void insertAt(int index, int ordinal) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = ordinal;
+            size++;
+        }
+    }
+
+    /**
+     * Min-heap of the best {@code k} ordinals by score, on primitive arrays.
+     */
+    private static final class TopK {
+        private final int[] ordinals;
+        private final double[] scores;
+        private int size;
+
+        TopK(int k) {
+            this.ordinals = new int[k];
+            this.scores = new double[k];
+        }
+
+        boolean accepts(double score) {
+            return size < ordinals.length || score > scores[0];
+        }
+
+        void offer(int ordinal, double score) {
+            if (size < ordinals.length) {
+                ordinals[size] = ordinal;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (score > scores[0]) {
+                ordinals[0] = ordinal;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        /**
+         * Heap slots ordered by descending score.
+         */
+        Integer[] slotsByScore() {
+            Integer[] slots = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                slots[i] = i;
+            }
+            Arrays.sort(slots, (a, b) -> Double.compare(scores[b], scores[a]));
+            return slots;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (scores[parent] <= scores[index]) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int smallest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && scores[left] < scores[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && scores[right] < scores[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(smallest, index);
+                index = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int ordinal = ordinals[a];
+            ordinals[a] = ordinals[b];
+            ordinals[b] = ordinal;
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
@@ -10,6 +10,7 @@ import com.testing_exam_webapp.repository.HospitalRepository;
 import com.testing_exam_webapp.repository.NurseRepository;
 import com.testing_exam_webapp.repository.WardRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Objects;
@@ -28,16 +29,19 @@ public class NurseService {
         this.hospitalRepository = hospitalRepository;
     }
 
+    @Transactional(readOnly = true)
     public List<Nurse> getNurses() {
         return nurseRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Nurse getNurseById(UUID id) {
         UUID nurseId = Objects.requireNonNull(id, "Nurse ID cannot be null");
         return nurseRepository.findById(nurseId)
                 .orElseThrow(() -> new EntityNotFoundException("Nurse not found"));
     }
 
+    @Transactional
     public Nurse createNurse(NurseRequest request) {
         Nurse nurse = new Nurse();
         nurse.setNurseId(UUID.randomUUID());
@@ -82,10 +86,12 @@ public class NurseService {
         return nurseRepository.save(nurse);
     }
 
-    public Nurse updateNurse(UUID id, NurseRequest request) {
+    @Transactional
+    public Nurse updateNurse(UUID id, NurseRequest request, Long expectedVersion) {
         UUID nurseId = Objects.requireNonNull(id, "Nurse ID cannot be null");
         Nurse nurse = nurseRepository.findById(nurseId)
                 .orElseThrow(() -> new EntityNotFoundException("Nurse not found"));
+        EntityVersions.check(expectedVersion, nurse.getVersion(), "Nurse");
 
         nurse.setNurseName(request.getNurseName());
         nurse.setSpeciality(request.getSpeciality());
@@ -128,6 +134,7 @@ public class NurseService {
         return nurseRepository.save(nurse);
     }
 
+    @Transactional
     public void deleteNurse(UUID id) {
         UUID nurseId = Objects.requireNonNull(id, "Nurse ID cannot be null");
         if (!nurseRepository.existsById(nurseId)) {
@@ -0,0 +1,207 @@
+package com.testing_exam_webapp.service;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hash index from blocking keys to the patients sharing them. A key combines phonetic codes
+ * of the name with the birth year or full date of birth, so spelling variants of the same
+ * person ("Mikkel Jensen", "Michael Jenssen") land in the same block while unrelated patients
+ * almost never do. Looking up the candidates for a new patient is a handful of hash probes,
+ * independent of how many patients exist.
+ */
+public class PatientBlockingIndex {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Identity> identities = new HashMap<>();
+    private final Map<String, Set<UUID>> blocks = new HashMap<>();
+
+    public record Identity(UUID id, String name, LocalDate dateOfBirth) {
+    }
+
+    /**
+     * Replaces the whole index.
+     */
+    public void rebuild(Collection<Identity> entries) {
+        lock.writeLock().lock();
+        try {
+            identities.clear();
+            blocks.clear();
+            for (Identity identity : entries) {
+                add(identity);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Identity identity) {
+        lock.writeLock().lock();
+        try {
+            unlink(identity.id());
+            add(identity);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            unlink(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return identities.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<Identity> get(UUID id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(identities.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexed patients sharing at least one blocking key with the given name and date of birth,
+     * excluding {@code excludeId}.
+     */
+    public List<Identity> candidates(UUID excludeId, String name, LocalDate dateOfBirth) {
+        Set<String> keys = keysOf(name, dateOfBirth);
+        lock.readLock().lock();
+        try {
+            Set<UUID> ids = new LinkedHashSet<>();
+            for (String key : keys) {
+                ids.addAll(blocks.getOrDefault(key, Set.of()));
+            }
+            ids.remove(excludeId);
+            List<Identity> candidates = new ArrayList<>(ids.size());
+            for (UUID id : ids) {
+                candidates.add(identities.get(id));
+            }
+            return candidates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copy of every block holding more than one patient, for the batch scan.
+     */
+    public List<List<Identity>> sharedBlocks() {
+        lock.readLock().lock();
+        try {
+            List<List<Identity>> shared = new ArrayList<>();
+            for (Set<UUID> block : blocks.values()) {
+                if (block.size() > 1) {
+                    List<Identity> members = new ArrayList<>(block.size());
+                    for (UUID id : block) {
+                        members.add(identities.get(id));
+                    }
+                    shared.add(members);
+                }
+            }
+            return shared;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Identity identity) {
+        identities.put(identity.id(), identity);
+        for (String key : keysOf(identity.name(), identity.dateOfBirth())) {
+            blocks.computeIfAbsent(key, k -> new HashSet<>()).add(identity.id());
+        }
+    }
+
+    private void unlink(UUID id) {
+        Identity previous = identities.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String key : keysOf(previous.name(), previous.dateOfBirth())) {
+            Set<UUID> block = blocks.get(key);
+            if (block != null && block.remove(id) && block.isEmpty()) {
+                blocks.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Blocking keys for a patient: the first and last name codes in either order with the birth
+     * year, which tolerates swapped names and day/month typos, plus each of those codes with the
+     * full date of birth, which tolerates one name part changing entirely (nicknames, marriage).
+     */
+    static Set<String> keysOf(String name, LocalDate dateOfBirth) {
+        String normalized = NameTrigramIndex.normalize(name);
+        if (normalized.isEmpty() || dateOfBirth == null) {
+            return Set.of();
+        }
+        String[] words = normalized.split(" ");
+        String first = phonetic(words[0]);
+        String last = phonetic(words[words.length - 1]);
+        Set<String> keys = new HashSet<>(4);
+        if (words.length == 1) {
+            keys.add("n:" + first + "|" + dateOfBirth.getYear());
+            keys.add("d:" + first + "|" + dateOfBirth);
+            return keys;
+        }
+        String pair = first.compareTo(last) <= 0 ? first + "+" + last : last + "+" + first;
+        keys.add("n:" + pair + "|" + dateOfBirth.getYear());
+        keys.add("d:" + first + "|" + dateOfBirth);
+        keys.add("d:" + last + "|" + dateOfBirth);
+        return keys;
+    }
+
+    /**
+     * Soundex-style code for one normalized word. Unlike classic Soundex the first letter is
+     * coded by its sound class too, so "Carl" and "Karl" share a code, and a few common
+     * spelling pairs (ph/f, ck/k, th/t, aa/a) are unified first.
+     */
+    static String phonetic(String word) {
+        String rewritten = word.replace("ph", "f").replace("ck", "k").replace("th", "t").replace("aa", "a");
+        StringBuilder code = new StringBuilder(4);
+        char previous = 0;
+        for (int i = 0; i < rewritten.length() && code.length() < 4; i++) {
+            char c = rewritten.charAt(i);
+            char soundClass = soundClass(c);
+            if (code.length() == 0) {
+                code.append(soundClass == 0 || soundClass == '-' ? '0' : soundClass);
+                previous = soundClass;
+            } else if (soundClass == 0) {
+                // Vowels separate repeated consonants ("Hannan" keeps both n's), h and w do not
+                if (c != 'h' && c != 'w') {
+                    previous = 0;
+                }
+            } else if (soundClass != '-' && soundClass != previous) {
+                code.append(soundClass);
+                previous = soundClass;
+            }
+        }
+        return code.toString();
+    }
+
+    private static char soundClass(char c) {
+        return switch (c) {
+            case 'b', 'f', 'p', 'v' -> '1';
+            case 'c', 'g', 'j', 'k', 'q', 's', 'x', 'z' -> '2';
+            case 'd', 't' -> '3';
+            case 'l' -> '4';
+            case 'm', 'n' -> '5';
+            case 'r' -> '6';
+            case 'a', 'e', 'i', 'o', 'u', 'y', 'h', 'w' -> 0;
+            default -> '-';
+        };
+    }
+}
@@ -0,0 +1,245 @@
+package com.testing_exam_webapp.service;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory analytical index over patients. Every patient gets a dense int ordinal, and each
+ * attribute value (a ward, a diagnosis, a birth year, a quarter with surgery, ...) keeps a
+ * {@link CompressedBitmap} of the ordinals having it, so a cohort is answered by intersecting
+ * a few bitmaps instead of joining tables. Ordinals of deleted patients are dropped from the
+ * live set and reused only after a rebuild.
+ */
+public class PatientCohortIndex {
+
+    public enum Dimension {
+        WARD, HOSPITAL, DIAGNOSIS, GENDER, BIRTH_YEAR, SURGERY_QUARTER
+    }
+
+    public record PatientFacts(UUID patientId, UUID wardId, UUID hospitalId, Set<UUID> diagnosisIds,
+                               String gender, LocalDate dateOfBirth) {
+    }
+
+    public record SurgeryFact(UUID surgeryId, UUID patientId, LocalDate surgeryDate) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final Map<Dimension, Map<Object, CompressedBitmap>> bitmaps = new EnumMap<>(Dimension.class);
+    private final CompressedBitmap live = new CompressedBitmap();
+    // Values each ordinal is set in, so updates clear exactly the bits they set
+    private final Map<Integer, Map<Dimension, Set<Object>>> valuesByOrdinal = new HashMap<>();
+    private final Map<UUID, SurgeryFact> surgeries = new HashMap<>();
+    // Surgeries per patient ordinal and quarter; the quarter bit is cleared when the last one goes
+    private final Map<Integer, Map<String, Integer>> surgeryQuarters = new HashMap<>();
+    private UUID[] ids = new UUID[1024];
+    private int nextOrdinal;
+
+    public PatientCohortIndex() {
+        for (Dimension dimension : Dimension.values()) {
+            bitmaps.put(dimension, new HashMap<>());
+        }
+    }
+
+    public void putPatient(PatientFacts facts) {
+        lock.writeLock().lock();
+        try {
+            int ordinal = ordinalOf(facts.patientId());
+            Map<Dimension, Set<Object>> previous = valuesByOrdinal.remove(ordinal);
+            if (previous != null) {
+                previous.forEach((dimension, values) -> values.forEach(value -> clear(dimension, value, ordinal)));
+            }
+            Map<Dimension, Set<Object>> values = new EnumMap<>(Dimension.class);
+            if (facts.wardId() != null) {
+                values.put(Dimension.WARD, Set.of(facts.wardId()));
+            }
+            if (facts.hospitalId() != null) {
+                values.put(Dimension.HOSPITAL, Set.of(facts.hospitalId()));
+            }
+            if (facts.diagnosisIds() != null && !facts.diagnosisIds().isEmpty()) {
+                values.put(Dimension.DIAGNOSIS, Set.copyOf(facts.diagnosisIds()));
+            }
+            String gender = genderKey(facts.gender());
+            if (gender != null) {
+                values.put(Dimension.GENDER, Set.of(gender));
+            }
+            if (facts.dateOfBirth() != null) {
+                values.put(Dimension.BIRTH_YEAR, Set.of(facts.dateOfBirth().getYear()));
+            }
+            values.forEach((dimension, keys) -> keys.forEach(value -> set(dimension, value, ordinal)));
+            valuesByOrdinal.put(ordinal, values);
+            live.add(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removePatient(UUID patientId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(patientId);
+            if (ordinal == null) {
+                return;
+            }
+            live.remove(ordinal);
+            Map<Dimension, Set<Object>> previous = valuesByOrdinal.remove(ordinal);
+            if (previous != null) {
+                previous.forEach((dimension, values) -> values.forEach(value -> clear(dimension, value, ordinal)));
+            }
+            Map<String, Integer> quarters = surgeryQuarters.remove(ordinal);
+            if (quarters != null) {
+                quarters.keySet().forEach(quarter -> clear(Dimension.SURGERY_QUARTER, quarter, ordinal));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putSurgery(SurgeryFact surgery) {
+        lock.writeLock().lock();
+        try {
+            unlinkSurgery(surgery.surgeryId());
+            if (surgery.patientId() == null || surgery.surgeryDate() == null) {
+                return;
+            }
+            int ordinal = ordinalOf(surgery.patientId());
+            String quarter = quarterOf(surgery.surgeryDate());
+            surgeryQuarters.computeIfAbsent(ordinal, key -> new HashMap<>()).merge(quarter, 1, Integer::sum);
+            set(Dimension.SURGERY_QUARTER, quarter, ordinal);
+            surgeries.put(surgery.surgeryId(), surgery);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeSurgery(UUID surgeryId) {
+        lock.writeLock().lock();
+        try {
+            unlinkSurgery(surgeryId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Clears a deleted diagnosis from every patient that had it.
+     */
+    public void removeDiagnosis(UUID diagnosisId) {
+        lock.writeLock().lock();
+        try {
+            CompressedBitmap patients = bitmaps.get(Dimension.DIAGNOSIS).remove(diagnosisId);
+            if (patients != null) {
+                patients.forEach(ordinal -> {
+                    Set<Object> diagnoses = valuesByOrdinal.getOrDefault(ordinal, Map.of()).get(Dimension.DIAGNOSIS);
+                    if (diagnoses != null) {
+                        Set<Object> remaining = new HashSet<>(diagnoses);
+                        remaining.remove(diagnosisId);
+                        valuesByOrdinal.get(ordinal).put(Dimension.DIAGNOSIS, remaining);
+                    }
+                });
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Evaluates the query against the index and returns the matching patient count and up to
+     * {@code limit} of their IDs.
+     */
+    public Result evaluate(CohortQuery query, int limit) {
+        lock.readLock().lock();
+        try {
+            CompressedBitmap matches = CompressedBitmap.and(query.evaluate(this), live);
+            int[] matchedOrdinals = matches.toArray(limit);
+            List<UUID> patientIds = new ArrayList<>(matchedOrdinals.length);
+            for (int ordinal : matchedOrdinals) {
+                patientIds.add(ids[ordinal]);
+            }
+            return new Result(matches.cardinality(), patientIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public record Result(int count, List<UUID> patientIds) {
+    }
+
+    /**
+     * Bitmap for one attribute value, empty when no patient has it. Only called by
+     * {@link CohortQuery} while {@link #evaluate} holds the read lock; never modify the result.
+     */
+    CompressedBitmap bitmap(Dimension dimension, Object value) {
+        Object key = dimension == Dimension.GENDER ? genderKey((String) value) : value;
+        CompressedBitmap bitmap = bitmaps.get(dimension).get(key);
+        return bitmap != null ? bitmap : new CompressedBitmap();
+    }
+
+    CompressedBitmap live() {
+        return live;
+    }
+
+    static String quarterOf(LocalDate date) {
+        return date.getYear() + "-Q" + ((date.getMonthValue() - 1) / 3 + 1);
+    }
+
+    private static String genderKey(String gender) {
+        return gender == null || gender.isBlank() ? null : gender.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void unlinkSurgery(UUID surgeryId) {
+        SurgeryFact previous = surgeries.remove(surgeryId);
+        if (previous == null) {
+            return;
+        }
+        Integer ordinal = ordinals.get(previous.patientId());
+        Map<String, Integer> quarters = ordinal != null ? surgeryQuarters.get(ordinal) : null;
+        if (quarters == null) {
+            return;
+        }
+        String quarter = quarterOf(previous.surgeryDate());
+        if (quarters.merge(quarter, -1, Integer::sum) <= 0) {
+            quarters.remove(quarter);
+            clear(Dimension.SURGERY_QUARTER, quarter, ordinal);
+        }
+    }
+
+    private int ordinalOf(UUID patientId) {
+        Integer ordinal = ordinals.get(patientId);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        if (nextOrdinal == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        ids[nextOrdinal] = patientId;
+        ordinals.put(patientId, nextOrdinal);
+        return nextOrdinal++;
+    }
+
+    private void set(Dimension dimension, Object value, int ordinal) {
+        bitmaps.get(dimension).computeIfAbsent(value, key -> new CompressedBitmap()).add(ordinal);
+    }
+
+    private void clear(Dimension dimension, Object value, int ordinal) {
+        Map<Object, CompressedBitmap> byValue = bitmaps.get(dimension);
+        CompressedBitmap bitmap = byValue.get(value);
+        if (bitmap != null) {
+            bitmap.remove(ordinal);
+            if (bitmap.isEmpty()) {
+                byValue.remove(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.PatientSearchHit;
+import com.testing_exam_webapp.exception.ValidationException;
+import com.testing_exam_webapp.repository.PatientRepository;
+import com.testing_exam_webapp.repository.projection.PatientNameRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Patient name search backed by a {@link NameTrigramIndex}. The index is built from one
+ * projection query at startup and kept current by {@link PatientService}, which reports every
+ * created, renamed or deleted patient, so searches never touch the database. Reported changes
+ * are applied once the reporting transaction commits, so a rollback leaves the index untouched.
+ */
+@Service
+public class PatientSearchService {
+    private static final Logger log = LoggerFactory.getLogger(PatientSearchService.class);
+    static final int MAX_LIMIT = 100;
+
+    private final PatientRepository patientRepository;
+    private final NameTrigramIndex index = new NameTrigramIndex();
+    private final PendingChanges<String> pendingDuringRebuild = new PendingChanges<>();
+
+    public PatientSearchService(PatientRepository patientRepository) {
+        this.patientRepository = patientRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        pendingDuringRebuild.during(() -> {
+            Map<UUID, String> names = new HashMap<>();
+            for (PatientNameRow row : patientRepository.findAllNames()) {
+                names.put(row.getId(), row.getName());
+            }
+            index.rebuild(names);
+        }, index::put, index::remove);
+        log.info("Indexed {} patient names in {} ms", index.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Best matching patients for the query, highest score first. The last word matches as a
+     * prefix and small typos are tolerated.
+     */
+    public List<PatientSearchHit> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("Search query cannot be empty");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return index.search(query, limit).stream()
+                .map(hit -> new PatientSearchHit(hit.id(), hit.name(), hit.score()))
+                .toList();
+    }
+
+    public void indexPatient(UUID patientId, String patientName) {
+        afterCommit(() -> {
+            index.put(patientId, patientName);
+            pendingDuringRebuild.put(patientId, patientName);
+        });
+    }
+
+    public void removePatient(UUID patientId) {
+        afterCommit(() -> {
+            index.remove(patientId);
+            pendingDuringRebuild.remove(patientId);
+        });
+    }
+
+    private static void afterCommit(Runnable update) {
+        AfterCommit.run(update, log, "Patient name index update failed; it resyncs on the next restart");
+    }
+}
@@ -1,6 +1,9 @@
 package com.testing_exam_webapp.service;
 
+import com.testing_exam_webapp.dto.DuplicateCandidate;
+import com.testing_exam_webapp.dto.MergeCandidate;
 import com.testing_exam_webapp.dto.PatientRequest;
+import com.testing_exam_webapp.dto.PatientSearchHit;
 import com.testing_exam_webapp.exception.EntityNotFoundException;
 import com.testing_exam_webapp.exception.ValidationException;
 import com.testing_exam_webapp.model.mysql.Diagnosis;
@@ -11,36 +14,59 @@ import com.testing_exam_webapp.repository.DiagnosisRepository;
 import com.testing_exam_webapp.repository.HospitalRepository;
 import com.testing_exam_webapp.repository.PatientRepository;
 import com.testing_exam_webapp.repository.WardRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 
 @Service
 public class PatientService {
+    private static final Logger log = LoggerFactory.getLogger(PatientService.class);
+
     private final PatientRepository patientRepository;
     private final WardRepository wardRepository;
     private final HospitalRepository hospitalRepository;
     private final DiagnosisRepository diagnosisRepository;
+    private final PatientSearchService patientSearchService;
+    private final DuplicatePatientService duplicatePatientService;
+    private final CohortService cohortService;
+    private final ActivePrescriptionIndex activePrescriptionIndex;
+    private final PrescriptionExpiryService prescriptionExpiryService;
 
     public PatientService(PatientRepository patientRepository,
                           WardRepository wardRepository,
-                          HospitalRepository hospitalRepository, DiagnosisRepository diagnosisRepository) {
+                          HospitalRepository hospitalRepository, DiagnosisRepository diagnosisRepository,
+                          PatientSearchService patientSearchService,
+                          DuplicatePatientService duplicatePatientService,
+                          CohortService cohortService,
+                          ActivePrescriptionIndex activePrescriptionIndex,
+                          PrescriptionExpiryService prescriptionExpiryService) {
         this.patientRepository = patientRepository;
         this.wardRepository = wardRepository;
         this.hospitalRepository = hospitalRepository;
         this.diagnosisRepository = diagnosisRepository;
+        this.patientSearchService = patientSearchService;
+        this.duplicatePatientService = duplicatePatientService;
+        this.cohortService = cohortService;
+        this.activePrescriptionIndex = activePrescriptionIndex;
+        this.prescriptionExpiryService = prescriptionExpiryService;
     }
 
+    @Transactional(readOnly = true)
     public List<Patient> getPatients() {
         return patientRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Patient getPatientById(UUID id) {
         UUID patientId = Objects.requireNonNull(id, "Patient ID cannot be null");
         return patientRepository.findById(patientId)
                 .orElseThrow(() -> new EntityNotFoundException("Patient not found"));
     }
 
+    @Transactional
     public Patient createPatient(PatientRequest request) {
         Patient patient = new Patient();
         patient.setPatientId(UUID.randomUUID());
@@ -91,16 +117,27 @@ public class PatientService {
             }
         }
         
+        if (ward != null) {
+            reserveBed(ward);
+        }
+
         patient.setWard(ward);
         patient.setHospital(hospital);
 
-        return patientRepository.save(patient);
+        Patient saved = patientRepository.save(patient);
+        patientSearchService.indexPatient(patient.getPatientId(), patient.getPatientName());
+        duplicatePatientService.indexPatient(patient.getPatientId(), patient.getPatientName(), patient.getDateOfBirth());
+        cohortService.indexPatient(patient);
+        return saved;
     }
 
-    public Patient updatePatient(UUID id, PatientRequest request) {
+    @Transactional
+    public Patient updatePatient(UUID id, PatientRequest request, Long expectedVersion) {
         UUID patientId = Objects.requireNonNull(id, "Patient ID cannot be null");
         Patient patient = patientRepository.findById(patientId)
                 .orElseThrow(() -> new EntityNotFoundException("Patient not found"));
+        EntityVersions.check(expectedVersion, patient.getVersion(), "Patient");
+        UUID previousWardId = patient.getWard() != null ? patient.getWard().getWardId() : null;
 
         patient.setPatientName(request.getPatientName());
         patient.setDateOfBirth(request.getDateOfBirth());
@@ -149,29 +186,88 @@ public class PatientService {
             }
         }
         
+        UUID newWardId = ward != null ? ward.getWardId() : null;
+        if (!Objects.equals(previousWardId, newWardId)) {
+            if (ward != null) {
+                reserveBed(ward);
+            }
+            if (previousWardId != null) {
+                wardRepository.releaseBed(previousWardId);
+            }
+            // The patient's prescriptions now count towards the new ward
+            afterCommit(() -> {
+                activePrescriptionIndex.invalidate();
+                prescriptionExpiryService.movePatient(patientId, newWardId);
+            });
+        }
+
         patient.setWard(ward);
         patient.setHospital(hospital);
 
-        return patientRepository.save(patient);
+        Patient saved = patientRepository.save(patient);
+        patientSearchService.indexPatient(patient.getPatientId(), patient.getPatientName());
+        duplicatePatientService.indexPatient(patient.getPatientId(), patient.getPatientName(), patient.getDateOfBirth());
+        cohortService.indexPatient(patient);
+        return saved;
     }
 
+    @Transactional
     public void deletePatient(UUID id) {
         UUID patientId = Objects.requireNonNull(id, "Patient ID cannot be null");
         if (!patientRepository.existsById(patientId)) {
             throw new EntityNotFoundException("Patient not found");
         }
+        wardRepository.releaseBedOfPatient(patientId);
         patientRepository.deleteById(patientId);
+        patientSearchService.removePatient(patientId);
+        duplicatePatientService.removePatient(patientId);
+        cohortService.removePatient(patientId);
+    }
+
+    private void reserveBed(Ward ward) {
+        if (wardRepository.reserveBed(ward.getWardId()) == 0) {
+            throw new ValidationException(
+                "The selected ward is full (" + ward.getMaxCapacity() + " beds). " +
+                "Please select another ward."
+            );
+        }
+    }
+
+    private static void afterCommit(Runnable update) {
+        AfterCommit.run(update, log, "Prescription index update failed; it resyncs on the next rebuild or full expiry scan");
     }
 
     // Query methods
+    @Transactional(readOnly = true)
     public List<Patient> getPatientsByWardId(UUID wardId) {
         Objects.requireNonNull(wardId, "Ward ID cannot be null");
         return patientRepository.findByWardId(wardId);
     }
 
+    @Transactional(readOnly = true)
     public List<Patient> getPatientsByHospitalId(UUID hospitalId) {
         Objects.requireNonNull(hospitalId, "Hospital ID cannot be null");
         return patientRepository.findByHospitalId(hospitalId);
     }
-}
 
+    public List<PatientSearchHit> searchPatients(String query, int limit) {
+        return patientSearchService.search(query, limit);
+    }
+
+    /**
+     * Indexed patients that likely are the same person as the given patient, best match first.
+     * The patient itself is never returned, so this also works once it has been indexed.
+     */
+    public List<DuplicateCandidate> findPossibleDuplicates(Patient patient) {
+        return duplicatePatientService.findPossibleDuplicates(
+                patient.getPatientId(), patient.getPatientName(), patient.getDateOfBirth());
+    }
+
+    public List<MergeCandidate> getMergeCandidates(double minScore) {
+        return duplicatePatientService.getMergeCandidates(minScore);
+    }
+
+    public int scanForDuplicates() {
+        return duplicatePatientService.scan();
+    }
+}
@@ -0,0 +1,96 @@
+package com.testing_exam_webapp.service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Similarity score between two patient identities in [0, 1]: Jaro-Winkler over the normalized
+ * names (also compared with the words sorted, so swapped first and last names still match)
+ * weighted 0.7, and the date of birth weighted 0.3, with half credit for a single differing
+ * field or swapped day and month.
+ */
+final class PatientSimilarity {
+    private static final double NAME_WEIGHT = 0.7;
+    private static final double BIRTH_DATE_WEIGHT = 0.3;
+
+    private PatientSimilarity() {
+    }
+
+    static double score(String firstName, LocalDate firstDateOfBirth, String secondName, LocalDate secondDateOfBirth) {
+        String first = NameTrigramIndex.normalize(firstName);
+        String second = NameTrigramIndex.normalize(secondName);
+        double name = Math.max(jaroWinkler(first, second), jaroWinkler(sortedWords(first), sortedWords(second)));
+        double score = NAME_WEIGHT * name + BIRTH_DATE_WEIGHT * birthDateScore(firstDateOfBirth, secondDateOfBirth);
+        return Math.round(score * 1000) / 1000.0;
+    }
+
+    static double birthDateScore(LocalDate first, LocalDate second) {
+        if (first == null || second == null) {
+            return 0;
+        }
+        if (first.equals(second)) {
+            return 1;
+        }
+        int differing = (first.getYear() != second.getYear() ? 1 : 0)
+                + (first.getMonthValue() != second.getMonthValue() ? 1 : 0)
+                + (first.getDayOfMonth() != second.getDayOfMonth() ? 1 : 0);
+        boolean swapped = first.getYear() == second.getYear()
+                && first.getMonthValue() == second.getDayOfMonth()
+                && first.getDayOfMonth() == second.getMonthValue();
+        return differing == 1 || swapped ? 0.5 : 0;
+    }
+
+    static double jaroWinkler(String first, String second) {
+        if (first.equals(second)) {
+            return 1;
+        }
+        if (first.isEmpty() || second.isEmpty()) {
+            return 0;
+        }
+        int window = Math.max(0, Math.max(first.length(), second.length()) / 2 - 1);
+        boolean[] firstMatched = new boolean[first.length()];
+        boolean[] secondMatched = new boolean[second.length()];
+        int matches = 0;
+        for (int i = 0; i < first.length(); i++) {
+            int from = Math.max(0, i - window);
+            int to = Math.min(second.length() - 1, i + window);
+            for (int j = from; j <= to; j++) {
+                if (!secondMatched[j] && first.charAt(i) == second.charAt(j)) {
+                    firstMatched[i] = true;
+                    secondMatched[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0;
+        }
+        int transpositions = 0;
+        for (int i = 0, j = 0; i < first.length(); i++) {
+            if (firstMatched[i]) {
+                while (!secondMatched[j]) {
+                    j++;
+                }
+                if (first.charAt(i) != second.charAt(j)) {
+                    transpositions++;
+                }
+                j++;
+            }
+        }
+        double m = matches;
+        double jaro = (m / first.length() + m / second.length() + (m - transpositions / 2.0) / m) / 3;
+        int prefix = 0;
+        while (prefix < 4 && prefix < first.length() && prefix < second.length()
+                && first.charAt(prefix) == second.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * 0.1 * (1 - jaro);
+    }
+
+    private static String sortedWords(String normalized) {
+        String[] words = normalized.split(" ");
+        Arrays.sort(words);
+        return String.join(" ", words);
+    }
+}
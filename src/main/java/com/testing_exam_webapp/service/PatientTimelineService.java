@@ -0,0 +1,182 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.TimelineEntry;
+import com.testing_exam_webapp.dto.TimelinePage;
+import com.testing_exam_webapp.exception.EntityNotFoundException;
+import com.testing_exam_webapp.exception.ValidationException;
+import com.testing_exam_webapp.model.types.TimelineEntryType;
+import com.testing_exam_webapp.repository.*;
+import com.testing_exam_webapp.repository.projection.TimelineRow;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Builds a patient's history from appointments, prescriptions, surgeries and diagnoses.
+ * Entries are ordered by date (newest first), then type, then ID. Paging is keyset based:
+ * each per-type query only reads rows after the cursor and at most one page plus one, and the
+ * four sorted streams are merged here.
+ */
+@Service
+public class PatientTimelineService {
+    static final int MAX_LIMIT = 100;
+
+    // Cursor modes understood by the findTimelineRows queries, relative to the cursor date
+    static final int BEFORE_DATE = 0;
+    static final int SAME_TYPE_AFTER_ID = 1;
+    static final int ON_OR_BEFORE_DATE = 2;
+
+    private static final Comparator<TimelineEntry> TIMELINE_ORDER = Comparator
+            .comparing(TimelineEntry::date, Comparator.reverseOrder())
+            .thenComparing(TimelineEntry::type);
+
+    private final PatientRepository patientRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final PrescriptionRepository prescriptionRepository;
+    private final SurgeryRepository surgeryRepository;
+    private final DiagnosisRepository diagnosisRepository;
+    private final Executor queryExecutor;
+
+    public PatientTimelineService(PatientRepository patientRepository,
+                                  AppointmentRepository appointmentRepository,
+                                  PrescriptionRepository prescriptionRepository,
+                                  SurgeryRepository surgeryRepository,
+                                  DiagnosisRepository diagnosisRepository,
+                                  @Qualifier("queryExecutor") Executor queryExecutor) {
+        this.patientRepository = patientRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.prescriptionRepository = prescriptionRepository;
+        this.surgeryRepository = surgeryRepository;
+        this.diagnosisRepository = diagnosisRepository;
+        this.queryExecutor = queryExecutor;
+    }
+
+    public TimelinePage getTimeline(UUID id, String cursor, int limit) {
+        UUID patientId = Objects.requireNonNull(id, "Patient ID cannot be null");
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (!patientRepository.existsById(patientId)) {
+            throw new EntityNotFoundException("Patient not found");
+        }
+        Cursor after = cursor == null || cursor.isBlank() ? null : Cursor.decode(cursor);
+        Pageable page = PageRequest.of(0, limit + 1);
+
+        CompletableFuture<List<TimelineEntry>> appointments = async(() -> appointmentRepository
+                .findTimelineRows(patientId, dateOf(after), modeFor(after, TimelineEntryType.APPOINTMENT), idOf(after), page)
+                .stream()
+                .map(row -> entry(TimelineEntryType.APPOINTMENT, row, row.getStatus() != null ? row.getStatus().name() : null))
+                .toList());
+        CompletableFuture<List<TimelineEntry>> prescriptions = async(() -> prescriptionRepository
+                .findTimelineRows(patientId, dateOf(after), modeFor(after, TimelineEntryType.PRESCRIPTION), idOf(after), page)
+                .stream()
+                .map(row -> entry(TimelineEntryType.PRESCRIPTION, row, row.getEndDate() != null ? row.getEndDate().toString() : null))
+                .toList());
+        CompletableFuture<List<TimelineEntry>> surgeries = async(() -> surgeryRepository
+                .findTimelineRows(patientId, dateOf(after), modeFor(after, TimelineEntryType.SURGERY), idOf(after), page)
+                .stream()
+                .map(row -> entry(TimelineEntryType.SURGERY, row, null))
+                .toList());
+        CompletableFuture<List<TimelineEntry>> diagnoses = async(() -> diagnosisRepository
+                .findTimelineRows(patientId, dateOf(after), modeFor(after, TimelineEntryType.DIAGNOSIS), idOf(after), page)
+                .stream()
+                .map(row -> entry(TimelineEntryType.DIAGNOSIS, row, null))
+                .toList());
+
+        List<TimelineEntry> merged = merge(
+                List.of(appointments.join(), prescriptions.join(), surgeries.join(), diagnoses.join()), limit + 1);
+        if (merged.size() <= limit) {
+            return new TimelinePage(merged, null);
+        }
+        List<TimelineEntry> entries = merged.subList(0, limit);
+        return new TimelinePage(List.copyOf(entries), Cursor.of(entries.get(limit - 1)).encode());
+    }
+
+    /**
+     * K-way merge of the per-type lists, each already in timeline order. Heads of different
+     * lists never tie because their types differ, so IDs are only ever compared by the database.
+     */
+    private List<TimelineEntry> merge(List<List<TimelineEntry>> sources, int max) {
+        int[] positions = new int[sources.size()];
+        List<TimelineEntry> merged = new ArrayList<>(max);
+        while (merged.size() < max) {
+            int best = -1;
+            for (int i = 0; i < sources.size(); i++) {
+                if (positions[i] < sources.get(i).size() && (best < 0 || TIMELINE_ORDER.compare(
+                        sources.get(i).get(positions[i]), sources.get(best).get(positions[best])) < 0)) {
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            merged.add(sources.get(best).get(positions[best]++));
+        }
+        return merged;
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, queryExecutor);
+    }
+
+    private TimelineEntry entry(TimelineEntryType type, TimelineRow row, String detail) {
+        return new TimelineEntry(row.getDate(), type, row.getId(), row.getSummary(), detail,
+                row.getDoctorId(), row.getDoctorName());
+    }
+
+    private static LocalDate dateOf(Cursor cursor) {
+        return cursor != null ? cursor.date() : null;
+    }
+
+    private static UUID idOf(Cursor cursor) {
+        return cursor != null ? cursor.id() : null;
+    }
+
+    /**
+     * On the cursor's date, types ordered before the cursor's type were fully returned already,
+     * types after it have not started yet, and the cursor's own type continues after its ID.
+     */
+    static int modeFor(Cursor cursor, TimelineEntryType type) {
+        if (cursor == null) {
+            return BEFORE_DATE;
+        }
+        int order = type.compareTo(cursor.type());
+        if (order < 0) {
+            return BEFORE_DATE;
+        }
+        return order == 0 ? SAME_TYPE_AFTER_ID : ON_OR_BEFORE_DATE;
+    }
+
+    record Cursor(LocalDate date, TimelineEntryType type, UUID id) {
+        static Cursor of(TimelineEntry entry) {
+            return new Cursor(entry.date(), entry.type(), entry.id());
+        }
+
+        String encode() {
+            String raw = date + "|" + type + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\|");
+                if (parts.length != 3) {
+                    throw new ValidationException("Invalid timeline cursor");
+                }
+                return new Cursor(LocalDate.parse(parts[0]), TimelineEntryType.valueOf(parts[1]), UUID.fromString(parts[2]));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new ValidationException("Invalid timeline cursor");
+            }
+        }
+    }
+}
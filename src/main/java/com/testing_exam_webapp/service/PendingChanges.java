@@ -0,0 +1,46 @@
+package com.testing_exam_webapp.service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Changes reported to an in-memory index while a rebuild is reading the table. The rebuild
+ * may miss them, so they are replayed on top of the rebuilt index; the last change per ID wins.
+ */
+final class PendingChanges<V> {
+
+    private volatile Map<UUID, Optional<V>> pending;
+
+    /**
+     * Records changes for the duration of {@code rebuild}, which loads and installs the new
+     * index, then replays them through {@code put} and {@code remove}.
+     */
+    void during(Runnable rebuild, BiConsumer<UUID, V> put, Consumer<UUID> remove) {
+        Map<UUID, Optional<V>> recorded = new ConcurrentHashMap<>();
+        pending = recorded;
+        try {
+            rebuild.run();
+            recorded.forEach((id, value) -> value.ifPresentOrElse(v -> put.accept(id, v), () -> remove.accept(id)));
+        } finally {
+            pending = null;
+        }
+    }
+
+    void put(UUID id, V value) {
+        Map<UUID, Optional<V>> recorded = pending;
+        if (recorded != null) {
+            recorded.put(id, Optional.ofNullable(value));
+        }
+    }
+
+    void remove(UUID id) {
+        Map<UUID, Optional<V>> recorded = pending;
+        if (recorded != null) {
+            recorded.put(id, Optional.empty());
+        }
+    }
+}
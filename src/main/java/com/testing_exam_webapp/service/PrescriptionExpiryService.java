@@ -0,0 +1,214 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.ExpiringPrescription;
+import com.testing_exam_webapp.dto.ExpiryDigest;
+import com.testing_exam_webapp.exception.ValidationException;
+import com.testing_exam_webapp.repository.PrescriptionRepository;
+import com.testing_exam_webapp.repository.projection.ExpiringPrescriptionRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps an in-memory digest of prescriptions ending within the configured horizon, so
+ * {@code GET /prescriptions/expiring} never scans the prescriptions table. Scans only run on the
+ * scheduler: the first scan of each day (right after midnight) reads the whole window through
+ * the end_date index; later scans only read rows written since the previous run (by
+ * updated_at). Both page through the table in bounded keyset batches. Deletes and ward moves
+ * do not show up in updated_at, so their services apply them after commit via
+ * {@link #forget(UUID)} and {@link #movePatient(UUID, UUID)}.
+ */
+@Service
+public class PrescriptionExpiryService {
+    private static final Logger log = LoggerFactory.getLogger(PrescriptionExpiryService.class);
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    // updated_at is stamped at flush, not commit. Prescription writes time out after WRITE_TIMEOUT_SECONDS,
+    // so re-reading that far (plus a margin) before the previous run catches rows committed after it
+    static final Duration OVERLAP = Duration.ofSeconds(PrescriptionService.WRITE_TIMEOUT_SECONDS).plusMinutes(1);
+
+    private final PrescriptionRepository prescriptionRepository;
+    private final int horizonDays;
+    private final int batchSize;
+    private final Clock clock;
+    private final Map<UUID, ExpiringPrescription> digest = new ConcurrentHashMap<>();
+    private volatile LocalDate digestDay;
+    private volatile LocalDateTime lastScan;
+
+    @Autowired
+    public PrescriptionExpiryService(PrescriptionRepository prescriptionRepository,
+                                     @Value("${app.prescriptions.expiry-horizon-days:14}") int horizonDays,
+                                     @Value("${app.prescriptions.expiry-batch-size:500}") int batchSize) {
+        this(prescriptionRepository, horizonDays, batchSize, Clock.systemDefaultZone());
+    }
+
+    PrescriptionExpiryService(PrescriptionRepository prescriptionRepository, int horizonDays, int batchSize, Clock clock) {
+        this.prescriptionRepository = prescriptionRepository;
+        this.horizonDays = horizonDays;
+        this.batchSize = batchSize;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialScan() {
+        scan();
+    }
+
+    @Scheduled(initialDelayString = "${app.prescriptions.expiry-scan-interval-ms:600000}",
+            fixedDelayString = "${app.prescriptions.expiry-scan-interval-ms:600000}")
+    public void scheduledScan() {
+        scan();
+    }
+
+    /**
+     * Rebuilds the digest for the new day, so reads move to the new window without waiting for
+     * the next interval.
+     */
+    @Scheduled(cron = "${app.prescriptions.expiry-rollover-cron:0 0 0 * * *}")
+    public void rolloverScan() {
+        scan();
+    }
+
+    /**
+     * Prescriptions ending between today and {@code days} from now, optionally for one ward or doctor.
+     * Only reads the digest; if it has not been rebuilt for today yet, {@code to} stops where the
+     * last scan's window ended.
+     */
+    public ExpiryDigest getExpiring(int days, UUID wardId, UUID doctorId) {
+        if (days < 0 || days > horizonDays) {
+            throw new ValidationException("Days must be between 0 and " + horizonDays);
+        }
+        LocalDate today = LocalDate.now(clock);
+        LocalDate to = today.plusDays(days);
+        LocalDate scannedDay = digestDay;
+        if (scannedDay == null) {
+            return new ExpiryDigest(today, to, List.of(), Map.of(), Map.of(), null);
+        }
+        LocalDate covered = scannedDay.plusDays(horizonDays);
+        if (to.isAfter(covered)) {
+            to = covered;
+        }
+        LocalDate until = to;
+        List<ExpiringPrescription> prescriptions = digest.values().stream()
+                .filter(entry -> !entry.endDate().isBefore(today) && !entry.endDate().isAfter(until))
+                .filter(entry -> wardId == null || wardId.equals(entry.wardId()))
+                .filter(entry -> doctorId == null || doctorId.equals(entry.doctorId()))
+                .sorted(Comparator.comparing(ExpiringPrescription::endDate)
+                        .thenComparing(ExpiringPrescription::prescriptionId))
+                .toList();
+        Map<UUID, Long> perWard = prescriptions.stream()
+                .filter(entry -> entry.wardId() != null)
+                .collect(Collectors.groupingBy(ExpiringPrescription::wardId, Collectors.counting()));
+        Map<UUID, Long> perDoctor = prescriptions.stream()
+                .filter(entry -> entry.doctorId() != null)
+                .collect(Collectors.groupingBy(ExpiringPrescription::doctorId, Collectors.counting()));
+        return new ExpiryDigest(today, to, prescriptions, perWard, perDoctor, lastScan);
+    }
+
+    /**
+     * Drops a deleted prescription. Waits for a running scan, so rows it read before the delete
+     * committed cannot put the entry back.
+     */
+    public synchronized void forget(UUID prescriptionId) {
+        digest.remove(prescriptionId);
+    }
+
+    /**
+     * Moves the patient's entries to the new ward (null when discharged). Waits for a running scan
+     * like {@link #forget(UUID)}.
+     */
+    public synchronized void movePatient(UUID patientId, UUID wardId) {
+        digest.replaceAll((prescriptionId, entry) -> patientId.equals(entry.patientId())
+                ? new ExpiringPrescription(entry.prescriptionId(), entry.patientId(), entry.patientName(), wardId,
+                        entry.doctorId(), entry.doctorName(), entry.medicationName(), entry.endDate())
+                : entry);
+    }
+
+    /**
+     * Refreshes the digest and returns the number of rows read.
+     */
+    synchronized int scan() {
+        LocalDateTime startedAt = LocalDateTime.now(clock);
+        LocalDate today = startedAt.toLocalDate();
+        long started = System.nanoTime();
+        boolean full = !today.equals(digestDay) || lastScan == null;
+        int rows = full ? fullScan(today) : incrementalScan(today, lastScan.minus(OVERLAP), startedAt);
+        digestDay = today;
+        lastScan = startedAt;
+        log.debug("Prescription expiry {} scan read {} rows in {} ms ({} in digest)", full ? "full" : "incremental",
+                rows, (System.nanoTime() - started) / 1_000_000, digest.size());
+        return rows;
+    }
+
+    private int fullScan(LocalDate today) {
+        LocalDate to = today.plusDays(horizonDays);
+        Pageable batch = PageRequest.of(0, batchSize);
+        Map<UUID, ExpiringPrescription> fresh = new HashMap<>();
+        LocalDate afterDate = today.minusDays(1);
+        UUID afterId = FIRST_ID;
+        int rows = 0;
+        while (true) {
+            List<ExpiringPrescriptionRow> page = prescriptionRepository.findExpiringBatch(today, to, afterDate, afterId, batch);
+            for (ExpiringPrescriptionRow row : page) {
+                fresh.put(row.getPrescriptionId(), toEntry(row));
+            }
+            rows += page.size();
+            if (page.size() < batchSize) {
+                break;
+            }
+            ExpiringPrescriptionRow last = page.get(page.size() - 1);
+            afterDate = last.getEndDate();
+            afterId = last.getPrescriptionId();
+        }
+        digest.keySet().retainAll(fresh.keySet());
+        digest.putAll(fresh);
+        return rows;
+    }
+
+    private int incrementalScan(LocalDate today, LocalDateTime since, LocalDateTime until) {
+        LocalDate to = today.plusDays(horizonDays);
+        Pageable batch = PageRequest.of(0, batchSize);
+        LocalDateTime afterTime = since;
+        UUID afterId = FIRST_ID;
+        int rows = 0;
+        while (true) {
+            List<ExpiringPrescriptionRow> page = prescriptionRepository.findChangedBatch(until, afterTime, afterId, batch);
+            for (ExpiringPrescriptionRow row : page) {
+                LocalDate endDate = row.getEndDate();
+                if (endDate != null && !endDate.isBefore(today) && !endDate.isAfter(to)) {
+                    digest.put(row.getPrescriptionId(), toEntry(row));
+                } else {
+                    digest.remove(row.getPrescriptionId());
+                }
+            }
+            rows += page.size();
+            if (page.size() < batchSize) {
+                break;
+            }
+            ExpiringPrescriptionRow last = page.get(page.size() - 1);
+            afterTime = last.getUpdatedAt();
+            afterId = last.getPrescriptionId();
+        }
+        return rows;
+    }
+
+    private static ExpiringPrescription toEntry(ExpiringPrescriptionRow row) {
+        return new ExpiringPrescription(row.getPrescriptionId(), row.getPatientId(), row.getPatientName(),
+                row.getWardId(), row.getDoctorId(), row.getDoctorName(), row.getMedicationName(), row.getEndDate());
+    }
+}
@@ -1,5 +1,6 @@
 package com.testing_exam_webapp.service;
 
+import com.testing_exam_webapp.dto.ActiveMedication;
 import com.testing_exam_webapp.dto.PrescriptionRequest;
 import com.testing_exam_webapp.exception.EntityNotFoundException;
 import com.testing_exam_webapp.model.mysql.Doctor;
@@ -10,39 +11,73 @@ import com.testing_exam_webapp.repository.DoctorRepository;
 import com.testing_exam_webapp.repository.MedicationRepository;
 import com.testing_exam_webapp.repository.PatientRepository;
 import com.testing_exam_webapp.repository.PrescriptionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
 @Service
 public class PrescriptionService {
+    private static final Logger log = LoggerFactory.getLogger(PrescriptionService.class);
+
+    // Writes commit at most this long after their rows are stamped, which bounds what the expiry scan has to re-read
+    static final int WRITE_TIMEOUT_SECONDS = 30;
+
     private final PrescriptionRepository prescriptionRepository;
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
     private final MedicationRepository medicationRepository;
+    private final ActivePrescriptionIndex activePrescriptionIndex;
+    private final PrescriptionExpiryService prescriptionExpiryService;
+    private final Clock clock;
 
+    @Autowired
     public PrescriptionService(PrescriptionRepository prescriptionRepository,
                                PatientRepository patientRepository,
                                DoctorRepository doctorRepository,
-                               MedicationRepository medicationRepository) {
+                               MedicationRepository medicationRepository,
+                               ActivePrescriptionIndex activePrescriptionIndex,
+                               PrescriptionExpiryService prescriptionExpiryService) {
+        this(prescriptionRepository, patientRepository, doctorRepository, medicationRepository,
+                activePrescriptionIndex, prescriptionExpiryService, Clock.systemDefaultZone());
+    }
+
+    PrescriptionService(PrescriptionRepository prescriptionRepository,
+                        PatientRepository patientRepository,
+                        DoctorRepository doctorRepository,
+                        MedicationRepository medicationRepository,
+                        ActivePrescriptionIndex activePrescriptionIndex,
+                        PrescriptionExpiryService prescriptionExpiryService,
+                        Clock clock) {
         this.prescriptionRepository = prescriptionRepository;
         this.patientRepository = patientRepository;
         this.doctorRepository = doctorRepository;
         this.medicationRepository = medicationRepository;
+        this.activePrescriptionIndex = activePrescriptionIndex;
+        this.prescriptionExpiryService = prescriptionExpiryService;
+        this.clock = clock;
     }
 
+    @Transactional(readOnly = true)
     public List<Prescription> getPrescriptions() {
         return prescriptionRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Prescription getPrescriptionById(UUID id) {
         UUID prescriptionId = Objects.requireNonNull(id, "Prescription ID cannot be null");
         return prescriptionRepository.findById(prescriptionId)
                 .orElseThrow(() -> new EntityNotFoundException("Prescription not found"));
     }
 
+    @Transactional(timeout = WRITE_TIMEOUT_SECONDS)
     public Prescription createPrescription(PrescriptionRequest request) {
         Prescription prescription = new Prescription();
         prescription.setPrescriptionId(UUID.randomUUID());
@@ -70,13 +105,17 @@ public class PrescriptionService {
             prescription.setMedication(medication);
         }
 
-        return prescriptionRepository.save(prescription);
+        Prescription saved = prescriptionRepository.save(prescription);
+        afterCommit(activePrescriptionIndex::invalidate);
+        return saved;
     }
 
-    public Prescription updatePrescription(UUID id, PrescriptionRequest request) {
+    @Transactional(timeout = WRITE_TIMEOUT_SECONDS)
+    public Prescription updatePrescription(UUID id, PrescriptionRequest request, Long expectedVersion) {
         UUID prescriptionId = Objects.requireNonNull(id, "Prescription ID cannot be null");
         Prescription prescription = prescriptionRepository.findById(prescriptionId)
                 .orElseThrow(() -> new EntityNotFoundException("Prescription not found"));
+        EntityVersions.check(expectedVersion, prescription.getVersion(), "Prescription");
 
         prescription.setStartDate(request.getStartDate());
         prescription.setEndDate(request.getEndDate());
@@ -102,15 +141,59 @@ public class PrescriptionService {
             prescription.setMedication(medication);
         }
 
-        return prescriptionRepository.save(prescription);
+        Prescription saved = prescriptionRepository.save(prescription);
+        afterCommit(activePrescriptionIndex::invalidate);
+        return saved;
     }
 
+    @Transactional(timeout = WRITE_TIMEOUT_SECONDS)
     public void deletePrescription(UUID id) {
         UUID prescriptionId = Objects.requireNonNull(id, "Prescription ID cannot be null");
         if (!prescriptionRepository.existsById(prescriptionId)) {
             throw new EntityNotFoundException("Prescription not found");
         }
         prescriptionRepository.deleteById(prescriptionId);
+        afterCommit(() -> {
+            activePrescriptionIndex.invalidate();
+            prescriptionExpiryService.forget(prescriptionId);
+        });
+    }
+
+    // Active-prescription queries; a null date means today
+    @Transactional(readOnly = true)
+    public List<Prescription> getActivePrescriptions(LocalDate date) {
+        return prescriptionRepository.findActiveOn(dayOrToday(date));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Prescription> getActivePrescriptionsByPatientId(UUID id, LocalDate date) {
+        UUID patientId = Objects.requireNonNull(id, "Patient ID cannot be null");
+        return prescriptionRepository.findActiveByPatientId(patientId, dayOrToday(date));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Prescription> getActivePrescriptionsByDoctorId(UUID id, LocalDate date) {
+        UUID doctorId = Objects.requireNonNull(id, "Doctor ID cannot be null");
+        return prescriptionRepository.findActiveByDoctorId(doctorId, dayOrToday(date));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Prescription> getActivePrescriptionsByMedicationId(UUID id, LocalDate date) {
+        UUID medicationId = Objects.requireNonNull(id, "Medication ID cannot be null");
+        return prescriptionRepository.findActiveByMedicationId(medicationId, dayOrToday(date));
+    }
+
+    public List<ActiveMedication> getActiveMedicationsByWardId(UUID id, LocalDate date) {
+        UUID wardId = Objects.requireNonNull(id, "Ward ID cannot be null");
+        return activePrescriptionIndex.activeInWard(wardId, dayOrToday(date));
+    }
+
+    private LocalDate dayOrToday(LocalDate date) {
+        return date != null ? date : LocalDate.now(clock);
+    }
+
+    private static void afterCommit(Runnable update) {
+        AfterCommit.run(update, log, "Prescription index update failed; it resyncs on the next rebuild or full expiry scan");
     }
 }
 
@@ -9,6 +9,7 @@ import com.testing_exam_webapp.repository.DoctorRepository;
 import com.testing_exam_webapp.repository.PatientRepository;
 import com.testing_exam_webapp.repository.SurgeryRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Objects;
@@ -19,25 +20,34 @@ public class SurgeryService {
     private final SurgeryRepository surgeryRepository;
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
+    private final ClinicalTextSearchService clinicalTextSearchService;
+    private final CohortService cohortService;
 
     public SurgeryService(SurgeryRepository surgeryRepository,
                           PatientRepository patientRepository,
-                          DoctorRepository doctorRepository) {
+                          DoctorRepository doctorRepository,
+                          ClinicalTextSearchService clinicalTextSearchService,
+                          CohortService cohortService) {
         this.surgeryRepository = surgeryRepository;
         this.patientRepository = patientRepository;
         this.doctorRepository = doctorRepository;
+        this.clinicalTextSearchService = clinicalTextSearchService;
+        this.cohortService = cohortService;
     }
 
+    @Transactional(readOnly = true)
     public List<Surgery> getSurgeries() {
         return surgeryRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Surgery getSurgeryById(UUID id) {
         UUID surgeryId = Objects.requireNonNull(id, "Surgery ID cannot be null");
         return surgeryRepository.findById(surgeryId)
                 .orElseThrow(() -> new EntityNotFoundException("Surgery not found"));
     }
 
+    @Transactional
     public Surgery createSurgery(SurgeryRequest request) {
         Surgery surgery = new Surgery();
         surgery.setSurgeryId(UUID.randomUUID());
@@ -58,13 +68,18 @@ public class SurgeryService {
             surgery.setDoctor(doctor);
         }
 
-        return surgeryRepository.save(surgery);
+        Surgery saved = surgeryRepository.save(surgery);
+        clinicalTextSearchService.indexSurgery(surgery);
+        cohortService.indexSurgery(surgery);
+        return saved;
     }
 
-    public Surgery updateSurgery(UUID id, SurgeryRequest request) {
+    @Transactional
+    public Surgery updateSurgery(UUID id, SurgeryRequest request, Long expectedVersion) {
         UUID surgeryId = Objects.requireNonNull(id, "Surgery ID cannot be null");
         Surgery surgery = surgeryRepository.findById(surgeryId)
                 .orElseThrow(() -> new EntityNotFoundException("Surgery not found"));
+        EntityVersions.check(expectedVersion, surgery.getVersion(), "Surgery");
 
         surgery.setSurgeryDate(request.getSurgeryDate());
         surgery.setDescription(request.getDescription());
@@ -83,15 +98,21 @@ public class SurgeryService {
             surgery.setDoctor(doctor);
         }
 
-        return surgeryRepository.save(surgery);
+        Surgery saved = surgeryRepository.save(surgery);
+        clinicalTextSearchService.indexSurgery(surgery);
+        cohortService.indexSurgery(surgery);
+        return saved;
     }
 
+    @Transactional
     public void deleteSurgery(UUID id) {
         UUID surgeryId = Objects.requireNonNull(id, "Surgery ID cannot be null");
         if (!surgeryRepository.existsById(surgeryId)) {
             throw new EntityNotFoundException("Surgery not found");
         }
         surgeryRepository.deleteById(surgeryId);
+        clinicalTextSearchService.removeSurgery(surgeryId);
+        cohortService.removeSurgery(surgeryId);
     }
 }
 
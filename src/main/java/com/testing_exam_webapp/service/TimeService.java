@@ -1,6 +1,7 @@
 package com.testing_exam_webapp.service;
 
 import com.testing_exam_webapp.dto.TimeDto;
+import com.testing_exam_webapp.dto.WorldTimeResponse;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -9,9 +10,7 @@ import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Map;
 
-@SuppressWarnings("unchecked")
 @Service
 public class TimeService {
 
@@ -31,11 +30,11 @@ public class TimeService {
 
         try {
             String url = String.format("%s/timezone/%s", apiUrl, timezoneToUse);
-            @SuppressWarnings("rawtypes")
-            ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
+            ResponseEntity<WorldTimeResponse> response =
+                    restTemplate.getForEntity(url, WorldTimeResponse.class);
 
             if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                return mapToTimeDto(response.getBody());
+                return response.getBody().toTimeDto();
             } else {
                 return createDefaultTime();
             }
@@ -49,25 +48,6 @@ public class TimeService {
         return getCurrentTime(defaultTimezone);
     }
 
-    private TimeDto mapToTimeDto(Map<String, Object> response) {
-        TimeDto dto = new TimeDto();
-        dto.setDatetime((String) response.get("datetime"));
-        dto.setTimezone((String) response.get("timezone"));
-        dto.setAbbreviation((String) response.get("abbreviation"));
-        
-        Object dayOfWeek = response.get("day_of_week");
-        if (dayOfWeek instanceof Number) {
-            dto.setDayOfWeek(((Number) dayOfWeek).intValue());
-        }
-        
-        Object dayOfYear = response.get("day_of_year");
-        if (dayOfYear instanceof Number) {
-            dto.setDayOfYear(((Number) dayOfYear).intValue());
-        }
-
-        return dto;
-    }
-
     private TimeDto createDefaultTime() {
         TimeDto dto = new TimeDto();
         LocalDateTime now = LocalDateTime.now();
@@ -6,6 +6,7 @@ import com.testing_exam_webapp.model.mysql.Ward;
 import com.testing_exam_webapp.model.types.WardType;
 import com.testing_exam_webapp.repository.WardRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Objects;
@@ -19,16 +20,19 @@ public class WardService {
         this.wardRepository = wardRepository;
     }
 
+    @Transactional(readOnly = true)
     public List<Ward> getWards() {
         return wardRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Ward getWardById(UUID id) {
         UUID wardId = Objects.requireNonNull(id, "Ward ID cannot be null");
         return wardRepository.findById(wardId)
                 .orElseThrow(() -> new EntityNotFoundException("Ward not found"));
     }
 
+    @Transactional
     public Ward createWard(WardRequest request) {
         Ward ward = new Ward();
         ward.setWardId(UUID.randomUUID());
@@ -38,10 +42,12 @@ public class WardService {
         return wardRepository.save(ward);
     }
 
-    public Ward updateWard(UUID id, WardRequest request) {
+    @Transactional
+    public Ward updateWard(UUID id, WardRequest request, Long expectedVersion) {
         UUID wardId = Objects.requireNonNull(id, "Ward ID cannot be null");
         Ward ward = wardRepository.findById(wardId)
                 .orElseThrow(() -> new EntityNotFoundException("Ward not found"));
+        EntityVersions.check(expectedVersion, ward.getVersion(), "Ward");
 
         ward.setType(request.getType());
         ward.setMaxCapacity(request.getMaxCapacity());
@@ -49,6 +55,7 @@ public class WardService {
         return wardRepository.save(ward);
     }
 
+    @Transactional
     public void deleteWard(UUID id) {
         UUID wardId = Objects.requireNonNull(id, "Ward ID cannot be null");
         if (!wardRepository.existsById(wardId)) {
@@ -58,10 +65,12 @@ public class WardService {
     }
 
     // Query methods
+    @Transactional(readOnly = true)
     public List<Ward> getWardsByType(WardType type) {
         return wardRepository.findByType(type);
     }
 
+    @Transactional(readOnly = true)
     public List<Ward> getWardsByHospitalId(UUID hospitalId) {
         Objects.requireNonNull(hospitalId, "Hospital ID cannot be null");
         return wardRepository.findByHospitalId(hospitalId);
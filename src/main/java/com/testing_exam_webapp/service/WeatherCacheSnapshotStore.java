@@ -0,0 +1,98 @@
+package com.testing_exam_webapp.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Persists the weather cache to a local JSON file so a restarted node starts warm.
+ * <p>
+ * The snapshot is written on shutdown and periodically, always to a temporary file in the same
+ * directory that is then atomically moved over the previous snapshot, so a crash mid-write never
+ * leaves a truncated file behind. On startup the snapshot is loaded and expired entries are
+ * dropped. Leaving {@code weather.cache.snapshot-file} empty disables persistence.
+ */
+@Component
+public class WeatherCacheSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(WeatherCacheSnapshotStore.class);
+    private static final TypeReference<List<WeatherService.CacheEntry>> ENTRY_LIST = new TypeReference<>() {
+    };
+
+    private final WeatherService weatherService;
+    private final ObjectMapper objectMapper;
+    private final Path snapshotFile;
+
+    public WeatherCacheSnapshotStore(WeatherService weatherService,
+                                     ObjectMapper objectMapper,
+                                     @Value("${weather.cache.snapshot-file:}") String snapshotFile) {
+        this.weatherService = weatherService;
+        this.objectMapper = objectMapper;
+        this.snapshotFile = snapshotFile.isBlank() ? null : Path.of(snapshotFile).toAbsolutePath();
+    }
+
+    @PostConstruct
+    public void load() {
+        if (snapshotFile == null || !Files.isReadable(snapshotFile)) {
+            return;
+        }
+        try {
+            List<WeatherService.CacheEntry> entries = objectMapper.readValue(snapshotFile.toFile(), ENTRY_LIST);
+            int loaded = weatherService.importCache(entries);
+            log.info("Loaded {} of {} cached weather entries from {}", loaded, entries.size(), snapshotFile);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable weather cache snapshot {}: {}", snapshotFile, e.toString());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${weather.cache.snapshot-interval-ms:60000}",
+               fixedDelayString = "${weather.cache.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        if (snapshotFile == null) {
+            return;
+        }
+        List<WeatherService.CacheEntry> entries = weatherService.exportCache();
+        try {
+            Path directory = snapshotFile.getParent();
+            Files.createDirectories(directory);
+            Path tempFile = Files.createTempFile(directory, snapshotFile.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(tempFile)) {
+                    objectMapper.writeValue(out, entries);
+                }
+                moveIntoPlace(tempFile);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            log.warn("Could not write weather cache snapshot {}: {}", snapshotFile, e.toString());
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    private void moveIntoPlace(Path tempFile) throws IOException {
+        try {
+            Files.move(tempFile, snapshotFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.repository.HospitalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the weather cache hot for every city that has a hospital, so user-facing requests
+ * for known cities are served from the cache. The city list is re-read on every run, which
+ * means newly created hospitals are picked up without a restart. The refresh interval should
+ * stay below {@code weather.cache.ttl-seconds} so entries are replaced before they expire.
+ * Each run also drops long-expired entries for cities that are no longer asked for.
+ */
+@Component
+@ConditionalOnProperty(name = "weather.prewarm.enabled", havingValue = "true", matchIfMissing = true)
+public class WeatherCacheWarmer {
+
+    private static final Logger log = LoggerFactory.getLogger(WeatherCacheWarmer.class);
+
+    private final HospitalRepository hospitalRepository;
+    private final WeatherService weatherService;
+    private final long timeoutMillis;
+
+    public WeatherCacheWarmer(HospitalRepository hospitalRepository,
+                              WeatherService weatherService,
+                              @Value("${weather.prewarm.timeout-ms:30000}") long timeoutMillis) {
+        this.hospitalRepository = hospitalRepository;
+        this.weatherService = weatherService;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Scheduled(initialDelayString = "${weather.prewarm.initial-delay-ms:5000}",
+               fixedDelayString = "${weather.prewarm.interval-ms:300000}")
+    public void prewarm() {
+        int evicted = weatherService.evictExpired();
+        if (evicted > 0) {
+            log.debug("Evicted {} expired weather entries", evicted);
+        }
+        List<String> cities = hospitalRepository.findDistinctCities();
+        if (cities.isEmpty()) {
+            return;
+        }
+        try {
+            weatherService.refreshCities(cities).get(timeoutMillis, TimeUnit.MILLISECONDS);
+            log.debug("Refreshed weather for {} hospital cities", cities.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Weather pre-warm did not complete: {}", e.toString());
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.testing_exam_webapp.service;
 
+import com.testing_exam_webapp.dto.OpenWeatherResponse;
 import com.testing_exam_webapp.dto.WeatherDto;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -10,22 +15,65 @@ import org.springframework.web.client.RestTemplate;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
-@SuppressWarnings("unchecked")
 @Service
 public class WeatherService {
 
+    private static final Logger log = LoggerFactory.getLogger(WeatherService.class);
+
     private final RestTemplate restTemplate;
     private final String apiUrl;
     private final String apiKey;
     private final String defaultCity = "Copenhagen";
+    private final Duration cacheTtl;
+    private final Map<String, CachedWeather> cache = new ConcurrentHashMap<>();
+    // Upstream calls in progress per normalized city; concurrent misses wait for the same call
+    private final Map<String, CompletableFuture<WeatherDto>> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService refreshExecutor;
+    private final CityNameNormalizer cityNameNormalizer;
+
+    public WeatherService(String apiUrl, String apiKey) {
+        this(apiUrl, apiKey, 600, 4, "");
+    }
 
+    @Autowired
     public WeatherService(@Value("${weather.api.url}") String apiUrl,
-                         @Value("${weather.api.key}") String apiKey) {
+                         @Value("${weather.api.key}") String apiKey,
+                         @Value("${weather.cache.ttl-seconds:600}") long cacheTtlSeconds,
+                         @Value("${weather.refresh.threads:4}") int refreshThreads,
+                         @Value("${weather.city-aliases:}") String cityAliases) {
         this.apiUrl = apiUrl;
         this.apiKey = apiKey;
         this.restTemplate = new RestTemplate();
+        this.cacheTtl = Duration.ofSeconds(cacheTtlSeconds);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.refreshExecutor = Executors.newFixedThreadPool(refreshThreads, runnable -> {
+            Thread thread = new Thread(runnable, "weather-refresh-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cityNameNormalizer = new CityNameNormalizer(cityAliases);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
     }
 
     public WeatherDto getWeatherByCity(String city) {
@@ -34,11 +82,9 @@ public class WeatherService {
         
         // Convert Danish city names to English for API compatibility
         String originalCity = cityToUse;
-        cityToUse = normalizeCityName(cityToUse);
-        
-        // Debug: Log the normalization (remove after testing)
+        cityToUse = cityNameNormalizer.normalize(cityToUse);
         if (!originalCity.equals(cityToUse)) {
-            System.out.println("DEBUG: Normalized city from '" + originalCity + "' to '" + cityToUse + "'");
+            log.debug("Normalized city from '{}' to '{}'", originalCity, cityToUse);
         }
 
         // Check if API key is configured
@@ -46,105 +92,206 @@ public class WeatherService {
             return createDefaultWeather(cityToUse);
         }
 
+        // Serve from cache while the entry is fresh; the warmer keeps hospital cities hot
+        long now = System.currentTimeMillis();
+        CachedWeather cached = cache.get(cityToUse);
+        if (cached != null && !cached.isExpired(now)) {
+            return cached.weather();
+        }
+        if (cached != null && isEvictable(cached, now)) {
+            cache.remove(cityToUse, cached);
+        }
+
+        WeatherDto weather = loadWeather(cityToUse);
+        return weather != null ? weather : createDefaultWeather(defaultCity);
+    }
+
+    /**
+     * Resolves weather for several cities concurrently. All lookups share one deadline; cities
+     * that have not answered when it passes get their last cached reading marked stale, or an
+     * unavailable marker when there is none, instead of holding up the whole response. The
+     * result is keyed by the city names as given, in request order.
+     */
+    public Map<String, WeatherDto> getWeatherForCities(Collection<String> cities, Duration deadline) {
+        Map<String, CompletableFuture<WeatherDto>> lookups = new LinkedHashMap<>();
+        for (String city : cities) {
+            lookups.computeIfAbsent(city,
+                    key -> CompletableFuture.supplyAsync(() -> getWeatherByCity(key), refreshExecutor));
+        }
+
         try {
-            // URL encode the city name to handle special characters
-            String encodedCity = URLEncoder.encode(cityToUse, StandardCharsets.UTF_8);
-            String url = String.format("%s?q=%s&appid=%s&units=metric", 
-                    apiUrl, encodedCity, apiKey);
-            
-            @SuppressWarnings("rawtypes")
-            ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
+            CompletableFuture.allOf(lookups.values().toArray(new CompletableFuture[0]))
+                    .get(deadline.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException | ExecutionException e) {
+            // Fall through: finished lookups are used, the rest get a fallback below
+        }
 
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                return mapToWeatherDto(response.getBody(), cityToUse);
-            } else {
-                return createDefaultWeather(defaultCity);
+        Map<String, WeatherDto> result = new LinkedHashMap<>();
+        lookups.forEach((city, lookup) -> {
+            WeatherDto weather = lookup.isDone() && !lookup.isCompletedExceptionally() ? lookup.join() : null;
+            if (weather == null) {
+                lookup.cancel(false);
+                weather = fallbackWeather(city);
             }
-        } catch (HttpClientErrorException.Unauthorized e) {
-            // Invalid API key - return default weather silently
-            return createDefaultWeather(defaultCity);
-        } catch (HttpClientErrorException.NotFound e) {
-            // City not found - try with default city
-            return createDefaultWeather(defaultCity);
-        } catch (HttpClientErrorException e) {
-            // Other HTTP errors - return default weather
-            return createDefaultWeather(defaultCity);
-        } catch (Exception e) {
-            // On any other error, return default weather
-            return createDefaultWeather(defaultCity);
-        }
+            result.put(city, weather);
+        });
+        return result;
     }
 
     /**
-     * Normalizes city names from Danish to English for API compatibility
+     * Fetches fresh weather for every given city on the refresh executor and stores the results
+     * in the cache. Cities are normalized first, so duplicates (e.g. "København" and "Copenhagen")
+     * only cost one upstream call. The returned future completes when all refreshes are done.
      */
-    private String normalizeCityName(String city) {
-        if (city == null) {
-            return defaultCity;
-        }
-        
-        String normalized = city.trim();
-        String lowerNormalized = normalized.toLowerCase();
-        
-        // Copenhagen/København - catch all variations including encoding issues
-        // Check if it contains both "k" (or "K") and "benhavn" anywhere in the string
-        if ((lowerNormalized.contains("k") || normalized.contains("K")) && 
-            (lowerNormalized.contains("benhavn") || normalized.contains("benhavn"))) {
-            return "Copenhagen";
+    public CompletableFuture<Void> refreshCities(Collection<String> cities) {
+        if (apiKey == null || apiKey.trim().isEmpty()) {
+            return CompletableFuture.completedFuture(null);
         }
-        
-        // Exact matches for common variations
-        if (lowerNormalized.equals("københavn") || 
-            lowerNormalized.equals("kobenhavn") || 
-            lowerNormalized.equals("kbh") || 
-            lowerNormalized.equals("copenhagen")) {
-            return "Copenhagen";
+        Set<String> normalizedCities = new LinkedHashSet<>();
+        for (String city : cities) {
+            if (city != null && !city.trim().isEmpty()) {
+                normalizedCities.add(cityNameNormalizer.normalize(city));
+            }
         }
-        // Return as-is if no mapping found
-        return normalized;
+        CompletableFuture<?>[] refreshes = normalizedCities.stream()
+                .map(city -> CompletableFuture.runAsync(() -> loadWeather(city), refreshExecutor))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(refreshes);
     }
 
-    private WeatherDto mapToWeatherDto(Map<String, Object> response, String city) {
-        WeatherDto dto = new WeatherDto();
-        
-        // Extract city and country
-        Map<String, Object> sys = (Map<String, Object>) response.get("sys");
-        if (sys != null) {
-            dto.setCountry((String) sys.get("country"));
+    /**
+     * Drops entries that expired more than one TTL ago and returns how many were dropped. Entries
+     * are kept that long past expiry so a timed-out batch lookup can still serve them as stale.
+     */
+    public int evictExpired() {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        for (Map.Entry<String, CachedWeather> entry : cache.entrySet()) {
+            if (isEvictable(entry.getValue(), now) && cache.remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
         }
-        dto.setCity(city);
+        return evicted;
+    }
 
-        // Extract main weather data
-        Map<String, Object> main = (Map<String, Object>) response.get("main");
-        if (main != null) {
-            Object tempObj = main.get("temp");
-            if (tempObj instanceof Number) {
-                dto.setTemperature(((Number) tempObj).doubleValue());
+    /**
+     * Returns a copy of all cache entries that have not expired yet, for snapshotting to disk.
+     */
+    public List<CacheEntry> exportCache() {
+        long now = System.currentTimeMillis();
+        List<CacheEntry> entries = new ArrayList<>(cache.size());
+        cache.forEach((city, cached) -> {
+            if (!cached.isExpired(now)) {
+                entries.add(new CacheEntry(city, cached.weather(), cached.expiresAtMillis()));
             }
-            Object humidityObj = main.get("humidity");
-            if (humidityObj instanceof Number) {
-                dto.setHumidity(((Number) humidityObj).doubleValue());
+        });
+        return entries;
+    }
+
+    /**
+     * Loads previously exported entries into the cache, discarding expired ones and never
+     * replacing an entry that is fresher than the imported one. Returns the number loaded.
+     */
+    public int importCache(Collection<CacheEntry> entries) {
+        long now = System.currentTimeMillis();
+        int loaded = 0;
+        for (CacheEntry entry : entries) {
+            if (entry.city() == null || entry.weather() == null || entry.expiresAtMillis() <= now) {
+                continue;
             }
+            CachedWeather imported = new CachedWeather(entry.weather(), entry.expiresAtMillis());
+            cache.merge(entry.city(), imported,
+                    (current, candidate) -> candidate.expiresAtMillis() > current.expiresAtMillis() ? candidate : current);
+            loaded++;
         }
+        return loaded;
+    }
 
-        // Extract weather description
-        java.util.List<Map<String, Object>> weatherList = (java.util.List<Map<String, Object>>) response.get("weather");
-        if (weatherList != null && !weatherList.isEmpty()) {
-            Map<String, Object> weather = weatherList.get(0);
-            dto.setDescription((String) weather.get("description"));
-            dto.setCondition((String) weather.get("main"));
-            dto.setIcon((String) weather.get("icon"));
+    /**
+     * Fetches the city unless a fetch for it is already running, in which case this waits for
+     * that one, so concurrent misses cost a single upstream call.
+     */
+    private WeatherDto loadWeather(String cityToUse) {
+        CompletableFuture<WeatherDto> load = new CompletableFuture<>();
+        CompletableFuture<WeatherDto> running = inFlight.putIfAbsent(cityToUse, load);
+        if (running != null) {
+            return running.join();
+        }
+        WeatherDto weather = null;
+        try {
+            weather = fetchWeather(cityToUse);
+            return weather;
+        } finally {
+            inFlight.remove(cityToUse, load);
+            load.complete(weather);
         }
+    }
+
+    private boolean isEvictable(CachedWeather cached, long nowMillis) {
+        return cached.isExpired(nowMillis - cacheTtl.toMillis());
+    }
+
+    /**
+     * Calls the upstream API and caches the result. Returns null when the upstream call fails,
+     * leaving any previously cached entry in place.
+     */
+    private WeatherDto fetchWeather(String cityToUse) {
+        try {
+            // URL encode the city name to handle special characters
+            String encodedCity = URLEncoder.encode(cityToUse, StandardCharsets.UTF_8);
+            String url = String.format("%s?q=%s&appid=%s&units=metric", 
+                    apiUrl, encodedCity, apiKey);
+            
+            ResponseEntity<OpenWeatherResponse> response =
+                    restTemplate.getForEntity(url, OpenWeatherResponse.class);
 
-        // Extract wind speed
-        Map<String, Object> wind = (Map<String, Object>) response.get("wind");
-        if (wind != null) {
-            Object speedObj = wind.get("speed");
-            if (speedObj instanceof Number) {
-                dto.setWindSpeed(((Number) speedObj).doubleValue());
+            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+                WeatherDto weather = response.getBody().toWeatherDto(cityToUse);
+                cache.put(cityToUse, new CachedWeather(weather, System.currentTimeMillis() + cacheTtl.toMillis()));
+                return weather;
+            } else {
+                return null;
             }
+        } catch (HttpClientErrorException.Unauthorized e) {
+            // Invalid API key - fall back to default weather silently
+            return null;
+        } catch (HttpClientErrorException.NotFound e) {
+            // City not found - fall back to default city
+            return null;
+        } catch (HttpClientErrorException e) {
+            // Other HTTP errors - fall back to default weather
+            return null;
+        } catch (Exception e) {
+            // On any other error, fall back to default weather
+            return null;
         }
+    }
 
+    /**
+     * Weather for a city whose lookup did not finish in time: a copy of the last cached reading
+     * flagged stale, even if expired, or a reading flagged unavailable with no values at all.
+     */
+    private WeatherDto fallbackWeather(String city) {
+        String cityToUse = (city == null || city.trim().isEmpty()) ? defaultCity : cityNameNormalizer.normalize(city.trim());
+        CachedWeather cached = cache.get(cityToUse);
+        WeatherDto dto = new WeatherDto();
+        if (cached == null) {
+            dto.setCity(cityToUse);
+            dto.setUnavailable(true);
+            return dto;
+        }
+        WeatherDto weather = cached.weather();
+        dto.setCity(weather.getCity());
+        dto.setCountry(weather.getCountry());
+        dto.setTemperature(weather.getTemperature());
+        dto.setDescription(weather.getDescription());
+        dto.setIcon(weather.getIcon());
+        dto.setHumidity(weather.getHumidity());
+        dto.setWindSpeed(weather.getWindSpeed());
+        dto.setCondition(weather.getCondition());
+        dto.setStale(true);
         return dto;
     }
 
@@ -160,5 +307,13 @@ public class WeatherService {
         dto.setWindSpeed(10.0);
         return dto;
     }
-}
 
+    public record CacheEntry(String city, WeatherDto weather, long expiresAtMillis) {
+    }
+
+    private record CachedWeather(WeatherDto weather, long expiresAtMillis) {
+        boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+    }
+}
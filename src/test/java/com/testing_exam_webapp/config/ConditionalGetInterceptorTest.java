@@ -0,0 +1,135 @@
+package com.testing_exam_webapp.config;
+
+import com.testing_exam_webapp.controller.ConditionalGet;
+import com.testing_exam_webapp.model.types.EntityTable;
+import com.testing_exam_webapp.service.ChangeCounters;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConditionalGetInterceptorTest {
+
+    @Mock
+    private ChangeCounters changeCounters;
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    private ConditionalGetInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(
+                new MapPropertySource("test", Map.of("app.http.max-age.hospitals", "60")));
+        interceptor = new ConditionalGetInterceptor(changeCounters, environment);
+    }
+
+    @Test
+    @DisplayName("preHandle - Matching Token - Not Modified")
+    void preHandle_MatchingToken_NotModified() throws Exception {
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getHeader(HttpHeaders.IF_NONE_MATCH)).thenReturn("\"old-1\", \"e-7\"");
+        when(changeCounters.token(EntityTable.WARDS)).thenReturn("e-7");
+
+        assertFalse(interceptor.preHandle(request, response, handler("wards")));
+
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(response).setHeader(HttpHeaders.ETAG, "\"e-7\"");
+        verify(request, never()).setAttribute(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("preHandle - Entity Tag With Version - Matches On Token")
+    void preHandle_EntityTagWithVersion_MatchesOnToken() throws Exception {
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getHeader(HttpHeaders.IF_NONE_MATCH)).thenReturn("\"3:e-7\"");
+        when(changeCounters.token(EntityTable.WARDS)).thenReturn("e-7");
+
+        assertFalse(interceptor.preHandle(request, response, handler("wards")));
+
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(response).setHeader(HttpHeaders.ETAG, "\"3:e-7\"");
+    }
+
+    @Test
+    @DisplayName("preHandle - Stale Token - Proceeds With New ETag")
+    void preHandle_StaleToken_ProceedsWithNewETag() throws Exception {
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getHeader(HttpHeaders.IF_NONE_MATCH)).thenReturn("\"e-6\"");
+        when(changeCounters.token(EntityTable.WARDS)).thenReturn("e-7");
+
+        assertTrue(interceptor.preHandle(request, response, handler("wards")));
+
+        verify(response, never()).setStatus(anyInt());
+        verify(response).setHeader(HttpHeaders.ETAG, "\"e-7\"");
+        verify(response).setHeader(HttpHeaders.CACHE_CONTROL, "no-cache, private");
+        verify(request).setAttribute(ConditionalGetInterceptor.TOKEN_ATTRIBUTE, "e-7");
+    }
+
+    @Test
+    @DisplayName("preHandle - Max Age Configured - Sets Cache Lifetime")
+    void preHandle_MaxAgeConfigured_SetsCacheLifetime() throws Exception {
+        when(request.getMethod()).thenReturn("GET");
+        when(changeCounters.token(EntityTable.HOSPITALS)).thenReturn("e-0");
+
+        assertTrue(interceptor.preHandle(request, response, handler("hospitals")));
+
+        verify(response).setHeader(HttpHeaders.CACHE_CONTROL, "max-age=60, private");
+    }
+
+    @Test
+    @DisplayName("preHandle - Handler Without Annotation - Passes Through")
+    void preHandle_HandlerWithoutAnnotation_PassesThrough() throws Exception {
+        when(request.getMethod()).thenReturn("GET");
+
+        assertTrue(interceptor.preHandle(request, response, handler("plain")));
+
+        verifyNoInteractions(changeCounters, response);
+    }
+
+    @Test
+    @DisplayName("preHandle - Post Request - Passes Through")
+    void preHandle_PostRequest_PassesThrough() throws Exception {
+        when(request.getMethod()).thenReturn("POST");
+
+        assertTrue(interceptor.preHandle(request, response, handler("wards")));
+
+        verifyNoInteractions(changeCounters, response);
+    }
+
+    static HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Endpoints(), Endpoints.class.getMethod(name));
+    }
+
+    static class Endpoints {
+        @ConditionalGet(EntityTable.WARDS)
+        public void wards() {
+        }
+
+        @ConditionalGet(EntityTable.HOSPITALS)
+        public void hospitals() {
+        }
+
+        public void plain() {
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.testing_exam_webapp.config;
+
+import com.testing_exam_webapp.model.mysql.Hospital;
+import com.testing_exam_webapp.model.types.EntityTable;
+import com.testing_exam_webapp.repository.HospitalRepository;
+import com.testing_exam_webapp.service.ChangeCounters;
+import com.testing_exam_webapp.util.TestDataBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the replica routing against two H2 databases. The replica is not replicated from the
+ * primary, so each database holds a hospital of its own and the name read back shows which
+ * database served a transaction.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "app.datasource.replica-urls=" + ReplicaDataSourceConfigTest.REPLICA_URL,
+        "app.datasource.replica-lag-query=SELECT seconds_behind_source FROM replica_lag"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ReplicaDataSourceConfig.class)
+@DisplayName("ReplicaDataSourceConfig Tests")
+class ReplicaDataSourceConfigTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private HospitalRepository hospitalRepository;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(replicaRoutingDataSource.getPrimary());
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        // Give the replica the schema Hibernate created on the primary
+        for (String statement : primary.queryForList("SCRIPT NODATA TABLE hospitals", String.class)) {
+            if (statement.startsWith("CREATE MEMORY TABLE") || statement.startsWith("CREATE CACHED TABLE")) {
+                replica.execute(statement);
+            }
+        }
+        replica.execute("CREATE TABLE replica_lag (seconds_behind_source BIGINT)");
+        replica.update("INSERT INTO replica_lag VALUES (0)");
+        replica.update("INSERT INTO hospitals (hospital_id, hospital_name, address, city, version) VALUES (?, ?, ?, ?, ?)",
+                UUID.randomUUID(), "Replica Hospital", "1 Copy Street", "Odense", 0L);
+        replicaRoutingDataSource.checkLag();
+    }
+
+    @AfterEach
+    void tearDown() {
+        replica.execute("DROP ALL OBJECTS");
+        primary.execute("DELETE FROM hospitals");
+    }
+
+    @Test
+    @DisplayName("read-only transaction - Should read from the replica")
+    void readOnlyTransaction_ReplicaInSync_ReadsReplica() {
+        // Arrange
+        write(TestDataBuilder.createHospital("Primary Hospital", "2 Main Street", "Aarhus"));
+
+        // Act
+        List<String> names = readOnly();
+
+        // Assert
+        assertEquals(List.of("replica-1"), replicaRoutingDataSource.getHealthyReplicas());
+        assertEquals(List.of("Replica Hospital"), names);
+    }
+
+    @Test
+    @DisplayName("write transaction - Should write to and read from the primary")
+    void writeTransaction_ReplicaInSync_UsesPrimary() {
+        // Act
+        Hospital saved = write(TestDataBuilder.createHospital("Primary Hospital", "2 Main Street", "Aarhus"));
+        List<String> names = new TransactionTemplate(transactionManager).execute(status ->
+                hospitalRepository.findAll().stream().map(Hospital::getHospitalName).toList());
+
+        // Assert
+        assertEquals(List.of("Primary Hospital"), names);
+        assertEquals(1, primary.queryForObject("SELECT COUNT(*) FROM hospitals WHERE hospital_id = ?",
+                Integer.class, saved.getHospitalId()));
+        assertEquals(0, replica.queryForObject("SELECT COUNT(*) FROM hospitals WHERE hospital_id = ?",
+                Integer.class, saved.getHospitalId()));
+    }
+
+    @Test
+    @DisplayName("read-only transaction - Replica lagging - Should fall back to the primary")
+    void readOnlyTransaction_ReplicaLagging_ReadsPrimary() {
+        // Arrange
+        write(TestDataBuilder.createHospital("Primary Hospital", "2 Main Street", "Aarhus"));
+        replica.update("UPDATE replica_lag SET seconds_behind_source = 30");
+        replicaRoutingDataSource.checkLag();
+
+        // Act
+        List<String> names = readOnly();
+
+        // Assert
+        assertTrue(replicaRoutingDataSource.getHealthyReplicas().isEmpty());
+        assertEquals(List.of("Primary Hospital"), names);
+    }
+
+    @Test
+    @DisplayName("read-only transaction - Conditional GET Right After A Change - Should read from the primary until the request completes")
+    void readOnlyTransaction_ConditionalGetAfterChange_ReadsPrimary() throws Exception {
+        // Arrange
+        write(TestDataBuilder.createHospital("Primary Hospital", "2 Main Street", "Aarhus"));
+
+        // Act
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        List<String> names = conditionalGet(System.currentTimeMillis(), response);
+
+        // Assert
+        assertEquals("\"e-1\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(List.of("Primary Hospital"), names);
+        assertEquals(List.of("Replica Hospital"), readOnly());
+    }
+
+    @Test
+    @DisplayName("read-only transaction - Conditional GET On A Quiet Table - Should read from the caught up replica")
+    void readOnlyTransaction_ConditionalGetQuietTable_ReadsReplica() throws Exception {
+        // Arrange
+        write(TestDataBuilder.createHospital("Primary Hospital", "2 Main Street", "Aarhus"));
+
+        // Act
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        List<String> names = conditionalGet(System.currentTimeMillis() - 60_000, response);
+
+        // Assert
+        assertEquals("\"e-1\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(List.of("Replica Hospital"), names);
+    }
+
+    /**
+     * Runs a read-only transaction inside a conditional GET on hospitals whose tables last changed
+     * at the given time.
+     */
+    private List<String> conditionalGet(long changedAt, MockHttpServletResponse response) throws Exception {
+        ChangeCounters changeCounters = mock(ChangeCounters.class);
+        when(changeCounters.token(EntityTable.HOSPITALS)).thenReturn("e-1");
+        when(changeCounters.changedAt(EntityTable.HOSPITALS)).thenReturn(changedAt);
+        ConditionalGetInterceptor interceptor = new ConditionalGetInterceptor(changeCounters, new StandardEnvironment());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hospitals/all");
+        HandlerMethod handler = ConditionalGetInterceptorTest.handler("hospitals");
+
+        assertTrue(interceptor.preHandle(request, response, handler));
+        try {
+            return readOnly();
+        } finally {
+            interceptor.afterCompletion(request, response, handler, null);
+        }
+    }
+
+    private Hospital write(Hospital hospital) {
+        return new TransactionTemplate(transactionManager).execute(status -> hospitalRepository.save(hospital));
+    }
+
+    private List<String> readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> hospitalRepository.findAll().stream().map(Hospital::getHospitalName).toList());
+    }
+}
@@ -0,0 +1,261 @@
+package com.testing_exam_webapp.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "SHOW REPLICA STATUS";
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource firstReplica;
+
+    @Mock
+    private DataSource secondReplica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", firstReplica);
+        replicas.put("replica-2", secondReplica);
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas, 5, LAG_QUERY);
+    }
+
+    @Test
+    @DisplayName("getConnection - Replicas Not Checked Yet - Uses Primary")
+    void getConnection_ReplicasNotCheckedYet_UsesPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        verifyNoInteractions(firstReplica, secondReplica);
+    }
+
+    @Test
+    @DisplayName("getConnection - Idle Replicas - Alternates Between Them")
+    void getConnection_IdleReplicas_AlternatesBetweenThem() throws SQLException {
+        Connection firstLag = lagConnection(0L);
+        Connection secondLag = lagConnection(0L);
+        Connection first = mock(Connection.class);
+        Connection second = mock(Connection.class);
+        when(firstReplica.getConnection()).thenReturn(firstLag, first);
+        when(secondReplica.getConnection()).thenReturn(secondLag, second);
+        routingDataSource.checkLag();
+
+        Connection a = routingDataSource.getConnection();
+        a.close();
+        Connection b = routingDataSource.getConnection();
+        b.close();
+
+        verify(first).close();
+        verify(second).close();
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    @DisplayName("getConnection - One Replica Busy - Uses Least Loaded Replica")
+    void getConnection_OneReplicaBusy_UsesLeastLoadedReplica() throws SQLException {
+        Connection firstLag = lagConnection(0L);
+        Connection secondLag = lagConnection(0L);
+        Connection first = mock(Connection.class);
+        Connection second = mock(Connection.class);
+        when(firstReplica.getConnection()).thenReturn(firstLag, first);
+        when(secondReplica.getConnection()).thenReturn(secondLag, second, second);
+        routingDataSource.checkLag();
+
+        // replica-1 keeps its connection open, so replica-2 serves the next ones even when
+        // the rotation starts at replica-1 again
+        routingDataSource.getConnection();
+        routingDataSource.getConnection().close();
+        routingDataSource.getConnection().close();
+
+        verify(firstReplica, times(2)).getConnection();
+        verify(secondReplica, times(3)).getConnection();
+    }
+
+    @Test
+    @DisplayName("getConnection - Replica Lagging - Excluded From Rotation")
+    void getConnection_ReplicaLagging_ExcludedFromRotation() throws SQLException {
+        Connection firstLag = lagConnection(30L);
+        Connection secondLag = lagConnection(2L);
+        when(firstReplica.getConnection()).thenReturn(firstLag);
+        when(secondReplica.getConnection()).thenReturn(secondLag, mock(Connection.class), mock(Connection.class));
+        routingDataSource.checkLag();
+
+        routingDataSource.getConnection().close();
+        routingDataSource.getConnection().close();
+
+        assertEquals(List.of("replica-2"), routingDataSource.getHealthyReplicas());
+        verify(firstReplica, times(1)).getConnection();
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    @DisplayName("getConnection - All Replicas Lagging - Uses Primary")
+    void getConnection_AllReplicasLagging_UsesPrimary() throws SQLException {
+        Connection firstLag = lagConnection(6L);
+        Connection secondLag = lagConnection(null);
+        when(firstReplica.getConnection()).thenReturn(firstLag);
+        when(secondReplica.getConnection()).thenReturn(secondLag);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        routingDataSource.checkLag();
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertTrue(routingDataSource.getHealthyReplicas().isEmpty());
+    }
+
+    @Test
+    @DisplayName("getConnection - Replica Unreachable - Uses Primary And Drops Replica")
+    void getConnection_ReplicaUnreachable_UsesPrimaryAndDropsReplica() throws SQLException {
+        Connection firstLag = lagConnection(0L);
+        when(firstReplica.getConnection()).thenReturn(firstLag).thenThrow(new SQLException("Connection refused"));
+        when(secondReplica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        routingDataSource.checkLag();
+        assertEquals(List.of("replica-1"), routingDataSource.getHealthyReplicas());
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertTrue(routingDataSource.getHealthyReplicas().isEmpty());
+    }
+
+    @Test
+    @DisplayName("getConnection - Replicas Behind Required Commit - Uses Primary Until Cleared")
+    void getConnection_ReplicasBehindRequiredCommit_UsesPrimaryUntilCleared() throws SQLException {
+        Connection firstLag = lagConnection(0L);
+        Connection secondLag = lagConnection(0L);
+        when(firstReplica.getConnection()).thenReturn(firstLag, mock(Connection.class));
+        when(secondReplica.getConnection()).thenReturn(secondLag, mock(Connection.class));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        routingDataSource.checkLag();
+
+        // Committed after the lag check, so no replica is known to have it yet
+        ReplicaRoutingDataSource.requireCaughtUpTo(System.currentTimeMillis());
+        try {
+            assertSame(primaryConnection, routingDataSource.getConnection());
+        } finally {
+            ReplicaRoutingDataSource.clearCaughtUpRequirement();
+        }
+
+        assertNotSame(primaryConnection, routingDataSource.getConnection());
+        verify(primary, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("getConnection - Required Commit Older Than Replica Lag - Uses Caught Up Replica")
+    void getConnection_RequiredCommitOlderThanLag_UsesCaughtUpReplica() throws SQLException {
+        Connection firstLag = lagConnection(4L);
+        Connection secondLag = lagConnection(0L);
+        Connection second = mock(Connection.class);
+        when(firstReplica.getConnection()).thenReturn(firstLag);
+        when(secondReplica.getConnection()).thenReturn(secondLag, second, second);
+        routingDataSource.checkLag();
+
+        // replica-1 is 4 s behind, so only replica-2 has a commit from 3 s ago
+        ReplicaRoutingDataSource.requireCaughtUpTo(System.currentTimeMillis() - 3000);
+        try {
+            routingDataSource.getConnection().close();
+            routingDataSource.getConnection().close();
+        } finally {
+            ReplicaRoutingDataSource.clearCaughtUpRequirement();
+        }
+
+        verify(second, times(2)).close();
+        verify(firstReplica, times(1)).getConnection();
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    @DisplayName("getConnection - Explicit Credentials - Throws SQLFeatureNotSupportedException")
+    void getConnection_ExplicitCredentials_ThrowsSQLFeatureNotSupportedException() {
+        assertThrows(SQLFeatureNotSupportedException.class, () -> routingDataSource.getConnection("app", "secret"));
+        verifyNoInteractions(primary, firstReplica, secondReplica);
+    }
+
+    @Test
+    @DisplayName("checkLag - Empty Status - Counts As In Sync")
+    void checkLag_EmptyStatus_CountsAsInSync() throws SQLException {
+        Connection firstLag = statusConnection(false);
+        Connection secondLag = statusConnection(false);
+        when(firstReplica.getConnection()).thenReturn(firstLag);
+        when(secondReplica.getConnection()).thenReturn(secondLag);
+
+        routingDataSource.checkLag();
+
+        assertEquals(List.of("replica-1", "replica-2"), routingDataSource.getHealthyReplicas());
+        verify(firstLag).close();
+    }
+
+    @Test
+    @DisplayName("checkLag - Lagging Replica Caught Up - Returns To Rotation")
+    void checkLag_LaggingReplicaCaughtUp_ReturnsToRotation() throws SQLException {
+        Connection behind = lagConnection(60L);
+        Connection caughtUp = lagConnection(1L);
+        Connection secondLag = lagConnection(0L);
+        when(firstReplica.getConnection()).thenReturn(behind, caughtUp);
+        when(secondReplica.getConnection()).thenReturn(secondLag, secondLag);
+
+        routingDataSource.checkLag();
+        assertEquals(List.of("replica-2"), routingDataSource.getHealthyReplicas());
+        routingDataSource.checkLag();
+
+        assertEquals(List.of("replica-1", "replica-2"), routingDataSource.getHealthyReplicas());
+    }
+
+    @Test
+    @DisplayName("constructor - Negative Max Lag - Throws IllegalArgumentException")
+    void constructor_NegativeMaxLag_ThrowsIllegalArgumentException() {
+        Map<String, DataSource> replicas = Map.of("replica-1", firstReplica);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReplicaRoutingDataSource(primary, replicas, -1, LAG_QUERY));
+    }
+
+    private static Connection lagConnection(Long lag) throws SQLException {
+        Connection connection = statusConnection(true);
+        ResultSet result = connection.createStatement().executeQuery(LAG_QUERY);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(result.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(2);
+        when(metaData.getColumnLabel(1)).thenReturn("Replica_IO_State");
+        when(metaData.getColumnLabel(2)).thenReturn("Seconds_Behind_Source");
+        when(result.getLong(2)).thenReturn(lag == null ? 0L : lag);
+        when(result.wasNull()).thenReturn(lag == null);
+        return connection;
+    }
+
+    private static Connection statusConnection(boolean hasRow) throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet result = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(LAG_QUERY)).thenReturn(result);
+        when(result.next()).thenReturn(hasRow);
+        return connection;
+    }
+}
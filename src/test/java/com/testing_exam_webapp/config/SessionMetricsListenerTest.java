@@ -0,0 +1,36 @@
+package com.testing_exam_webapp.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionMetricsListenerTest {
+
+    @Test
+    @DisplayName("summary - Transactions And Statements - Counts Each")
+    void summary_TransactionsAndStatements_CountsEach() {
+        SessionMetricsListener listener = new SessionMetricsListener();
+
+        listener.jdbcExecuteStatementEnd();
+        listener.jdbcExecuteStatementEnd();
+        listener.jdbcExecuteBatchEnd();
+        listener.transactionCompletion(true);
+        listener.transactionCompletion(false);
+
+        assertTrue(listener.summary().startsWith("1 commits, 1 rollbacks, 3 statements, 0 flushes of 0 entities"));
+    }
+
+    @Test
+    @DisplayName("summary - Several Flushes - Adds Up Entities")
+    void summary_SeveralFlushes_AddsUpEntities() {
+        SessionMetricsListener listener = new SessionMetricsListener();
+
+        listener.flushStart();
+        listener.flushEnd(3, 1);
+        listener.flushStart();
+        listener.flushEnd(2, 0);
+
+        assertTrue(listener.summary().contains("2 flushes of 5 entities"));
+    }
+}
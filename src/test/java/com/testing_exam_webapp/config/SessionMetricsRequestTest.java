@@ -0,0 +1,119 @@
+package com.testing_exam_webapp.config;
+
+import com.testing_exam_webapp.dto.NurseRequest;
+import com.testing_exam_webapp.model.mysql.Hospital;
+import com.testing_exam_webapp.model.mysql.Nurse;
+import com.testing_exam_webapp.model.mysql.Ward;
+import com.testing_exam_webapp.model.types.NurseSpecialityType;
+import com.testing_exam_webapp.repository.HospitalRepository;
+import com.testing_exam_webapp.repository.NurseRepository;
+import com.testing_exam_webapp.repository.WardRepository;
+import com.testing_exam_webapp.service.NurseService;
+import com.testing_exam_webapp.util.TestDataBuilder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts what one update request costs with and without the service-level transaction. Each
+ * request shares one entity manager the way open-in-view does, and the un-proxied service stands
+ * in for the code before its write methods were {@code @Transactional}.
+ */
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(NurseService.class)
+@DisplayName("SessionMetricsListener Request Tests")
+class SessionMetricsRequestTest {
+
+    @Autowired
+    private NurseService nurseService;
+
+    @Autowired
+    private NurseRepository nurseRepository;
+
+    @Autowired
+    private WardRepository wardRepository;
+
+    @Autowired
+    private HospitalRepository hospitalRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UUID nurseId;
+    private NurseRequest request;
+
+    @BeforeEach
+    void setUp() {
+        Ward ward = wardRepository.save(TestDataBuilder.createWard());
+        Hospital hospital = TestDataBuilder.createHospital();
+        hospital.setWards(Set.of(ward));
+        hospital = hospitalRepository.save(hospital);
+        Nurse nurse = new Nurse();
+        nurse.setNurseId(UUID.randomUUID());
+        nurse.setNurseName("Karen Holm");
+        nurse.setSpeciality(NurseSpecialityType.values()[0]);
+        nurseId = nurseRepository.save(nurse).getNurseId();
+
+        request = new NurseRequest();
+        request.setNurseName("Karen Holm-Berg");
+        request.setSpeciality(nurse.getSpeciality());
+        request.setWardId(ward.getWardId());
+        request.setHospitalId(hospital.getHospitalId());
+    }
+
+    @Test
+    @DisplayName("updateNurse - Service transaction - Commits once instead of per repository call")
+    void updateNurse_ServiceTransaction_CommitsOnce() {
+        // Arrange
+        NurseService withoutServiceTransaction = AopTestUtils.getUltimateTargetObject(nurseService);
+
+        // Act
+        SessionMetricsListener before = inRequest(() -> withoutServiceTransaction.updateNurse(nurseId, request, null));
+        request.setNurseName("Karen Berg");
+        SessionMetricsListener after = inRequest(() -> nurseService.updateNurse(nurseId, request, null));
+
+        // Assert
+        // findById for the nurse, the ward and the hospital, then save, each in its own transaction
+        assertTrue(before.summary().startsWith("4 commits, 0 rollbacks"), before.summary());
+        assertTrue(after.summary().startsWith("1 commits, 0 rollbacks"), after.summary());
+        // The lookups run read-only with manual flushing, so only the write flushes either way
+        assertTrue(before.summary().contains(" 1 flushes of "), before.summary());
+        assertTrue(after.summary().contains(" 1 flushes of "), after.summary());
+        assertEquals("Karen Berg", nurseRepository.findById(nurseId).orElseThrow().getNurseName());
+    }
+
+    /**
+     * Runs the work with one shared entity manager, as open-in-view does for a request, and
+     * returns that session's metrics.
+     */
+    private SessionMetricsListener inRequest(Runnable work) {
+        SessionMetricsListener metrics = new SessionMetricsListener();
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.unwrap(Session.class).addEventListeners(metrics);
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            work.run();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+        return metrics;
+    }
+}
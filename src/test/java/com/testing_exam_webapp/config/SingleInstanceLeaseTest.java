@@ -0,0 +1,81 @@
+package com.testing_exam_webapp.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SingleInstanceLease Tests")
+class SingleInstanceLeaseTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-19T09:00:00Z");
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:instance-lease;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(dataSource).execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("acquire - Held By Another Instance - Throws IllegalStateException")
+    void acquire_HeldByAnotherInstance_ThrowsIllegalStateException() {
+        lease("node-a", NOW).acquire();
+        SingleInstanceLease second = lease("node-b", NOW.plusSeconds(10));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, second::acquire);
+
+        assertTrue(exception.getMessage().contains("node-a"), exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("acquire - Same Instance Again - Extends The Lease")
+    void acquire_SameInstanceAgain_ExtendsTheLease() {
+        lease("node-a", NOW).acquire();
+
+        lease("node-a", NOW.plusSeconds(20)).acquire();
+
+        // Renewed at +20 s, so still held at +40 s
+        assertThrows(IllegalStateException.class, () -> lease("node-b", NOW.plusSeconds(40)).acquire());
+    }
+
+    @Test
+    @DisplayName("acquire - Previous Holder Expired - Takes Over")
+    void acquire_PreviousHolderExpired_TakesOver() {
+        lease("node-a", NOW).acquire();
+
+        lease("node-b", NOW.plus(Duration.ofMinutes(1))).acquire();
+
+        assertThrows(IllegalStateException.class, () -> lease("node-a", NOW.plus(Duration.ofMinutes(1))).acquire());
+    }
+
+    @Test
+    @DisplayName("release - Should let the next instance start right away")
+    void release_HeldLease_LetsNextInstanceStart() {
+        SingleInstanceLease first = lease("node-a", NOW);
+        first.acquire();
+
+        first.release();
+
+        assertDoesNotThrow(() -> lease("node-b", NOW.plusSeconds(1)).acquire());
+    }
+
+    private SingleInstanceLease lease(String holder, Instant now) {
+        return new SingleInstanceLease(dataSource, 30_000, holder, Clock.fixed(now, ZoneId.systemDefault()));
+    }
+}
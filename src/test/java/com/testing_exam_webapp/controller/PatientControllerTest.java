@@ -1,8 +1,16 @@
 package com.testing_exam_webapp.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testing_exam_webapp.dto.DuplicateCandidate;
+import com.testing_exam_webapp.dto.PatientCreated;
 import com.testing_exam_webapp.dto.PatientRequest;
+import com.testing_exam_webapp.dto.MergeCandidate;
+import com.testing_exam_webapp.dto.PatientSearchHit;
+import com.testing_exam_webapp.exception.ValidationException;
 import com.testing_exam_webapp.model.mysql.Patient;
 import com.testing_exam_webapp.service.PatientService;
+import com.testing_exam_webapp.service.PatientTimelineService;
 import com.testing_exam_webapp.util.TestDataBuilder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +24,7 @@ import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -31,7 +40,7 @@ class PatientControllerTest {
     @BeforeEach
     void setUp() {
         patientService = mock(PatientService.class);
-        patientController = new PatientController(patientService);
+        patientController = new PatientController(patientService, mock(PatientTimelineService.class));
         testPatient = TestDataBuilder.createPatient();
     }
 
@@ -79,11 +88,30 @@ class PatientControllerTest {
         request.setDateOfBirth(LocalDate.of(1990, 1, 1));
 
         when(patientService.createPatient(any(PatientRequest.class))).thenReturn(testPatient);
+        when(patientService.findPossibleDuplicates(testPatient)).thenReturn(List.of());
 
-        ResponseEntity<Patient> response = patientController.createPatient(request);
+        ResponseEntity<PatientCreated> response = patientController.createPatient(request);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertNotNull(response.getBody());
+        assertSame(testPatient, response.getBody().patient());
+        assertTrue(response.getBody().possibleDuplicates().isEmpty());
+    }
+
+    @Test
+    @DisplayName("createPatient - Should return likely duplicates next to the patient fields")
+    void createPatient_LikelyDuplicate_ReturnsPossibleDuplicates() throws Exception {
+        DuplicateCandidate existing = new DuplicateCandidate(UUID.randomUUID(), "John Doe", LocalDate.of(1990, 5, 15), 0.98);
+        when(patientService.createPatient(any(PatientRequest.class))).thenReturn(testPatient);
+        when(patientService.findPossibleDuplicates(testPatient)).thenReturn(List.of(existing));
+
+        ResponseEntity<PatientCreated> response = patientController.createPatient(new PatientRequest());
+
+        JsonNode json = new ObjectMapper().findAndRegisterModules().valueToTree(response.getBody());
+        assertEquals(testPatient.getPatientId().toString(), json.get("patientId").asText());
+        assertEquals(testPatient.getPatientName(), json.get("patientName").asText());
+        assertEquals(existing.patientId().toString(), json.get("possibleDuplicates").get(0).get("patientId").asText());
+        assertFalse(json.has("patient"));
     }
 
     @Test
@@ -93,13 +121,61 @@ class PatientControllerTest {
         PatientRequest request = new PatientRequest();
         request.setPatientName("Updated Name");
 
-        when(patientService.updatePatient(eq(patientId), any(PatientRequest.class))).thenReturn(testPatient);
+        when(patientService.updatePatient(eq(patientId), any(PatientRequest.class), isNull())).thenReturn(testPatient);
 
-        ResponseEntity<Patient> response = patientController.updatePatient(patientId, request);
+        ResponseEntity<Patient> response = patientController.updatePatient(patientId, request, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
     }
 
+    @Test
+    @DisplayName("updatePatient - If-Match Header - Passes Version And Returns New ETag")
+    void updatePatient_IfMatchHeader_PassesVersionAndReturnsNewETag() {
+        UUID patientId = testPatient.getPatientId();
+        PatientRequest request = new PatientRequest();
+        testPatient.setVersion(4L);
+        when(patientService.updatePatient(eq(patientId), any(PatientRequest.class), eq(3L))).thenReturn(testPatient);
+
+        ResponseEntity<Patient> response = patientController.updatePatient(patientId, request, "\"3\"");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"4\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("updatePatient - Wildcard If-Match - Skips Version Check")
+    void updatePatient_WildcardIfMatch_SkipsVersionCheck() {
+        UUID patientId = testPatient.getPatientId();
+        PatientRequest request = new PatientRequest();
+        when(patientService.updatePatient(eq(patientId), any(PatientRequest.class), isNull())).thenReturn(testPatient);
+
+        ResponseEntity<Patient> response = patientController.updatePatient(patientId, request, "*");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("updatePatient - Weak If-Match - Throws ValidationException")
+    void updatePatient_WeakIfMatch_ThrowsValidationException() {
+        UUID patientId = testPatient.getPatientId();
+        PatientRequest request = new PatientRequest();
+
+        assertThrows(ValidationException.class,
+                () -> patientController.updatePatient(patientId, request, "W/\"3\""));
+        verifyNoInteractions(patientService);
+    }
+
+    @Test
+    @DisplayName("getPatientById - Versioned Patient - Returns ETag")
+    void getPatientById_VersionedPatient_ReturnsETag() {
+        testPatient.setVersion(2L);
+        when(patientService.getPatientById(testPatient.getPatientId())).thenReturn(testPatient);
+
+        ResponseEntity<Patient> response = patientController.getPatientById(testPatient.getPatientId());
+
+        assertEquals("\"2\"", response.getHeaders().getETag());
+    }
+
     @Test
     @DisplayName("deletePatient - Should return NO_CONTENT")
     void deletePatient_ValidId_ReturnsNoContent() {
@@ -123,5 +199,49 @@ class PatientControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
     }
-}
 
+    @Test
+    @DisplayName("searchPatients - Should return OK with hits")
+    void searchPatients_WithHits_ReturnsOk() {
+        PatientSearchHit hit = new PatientSearchHit(testPatient.getPatientId(), testPatient.getPatientName(), 0.9);
+        when(patientService.searchPatients("jen", 20)).thenReturn(List.of(hit));
+
+        ResponseEntity<List<PatientSearchHit>> response = patientController.searchPatients("jen", 20);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(hit), response.getBody());
+    }
+
+    @Test
+    @DisplayName("searchPatients - Should return NO_CONTENT when nothing matches")
+    void searchPatients_NoHits_ReturnsNoContent() {
+        when(patientService.searchPatients("zzz", 20)).thenReturn(List.of());
+
+        ResponseEntity<List<PatientSearchHit>> response = patientController.searchPatients("zzz", 20);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("getMergeCandidates - Should return OK with candidate pairs")
+    void getMergeCandidates_WithCandidates_ReturnsOk() {
+        MergeCandidate candidate = new MergeCandidate(testPatient.getPatientId(), testPatient.getPatientName(),
+                testPatient.getDateOfBirth(), UUID.randomUUID(), testPatient.getPatientName(), testPatient.getDateOfBirth(), 1.0);
+        when(patientService.getMergeCandidates(0.9)).thenReturn(List.of(candidate));
+
+        ResponseEntity<List<MergeCandidate>> response = patientController.getMergeCandidates(0.9);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(candidate), response.getBody());
+    }
+
+    @Test
+    @DisplayName("getMergeCandidates - Should return NO_CONTENT when no duplicates were found")
+    void getMergeCandidates_NoCandidates_ReturnsNoContent() {
+        when(patientService.getMergeCandidates(0)).thenReturn(List.of());
+
+        ResponseEntity<List<MergeCandidate>> response = patientController.getMergeCandidates(0);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+    }
+}
@@ -0,0 +1,101 @@
+package com.testing_exam_webapp.repository;
+
+import com.testing_exam_webapp.model.mysql.Ward;
+import com.testing_exam_webapp.model.types.WardType;
+import com.testing_exam_webapp.util.TestDataBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs bed reservations against a real (in-memory H2) database from many threads at once.
+ * The test is not transactional so every reservation commits on its own connection, exactly
+ * like concurrent admissions in production.
+ */
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("WardRepository - Concurrency Tests")
+class WardRepositoryConcurrencyTest {
+
+    private static final int CAPACITY = 30;
+    private static final int THREADS = 16;
+    private static final int ADMISSIONS = 200;
+
+    @Autowired
+    private WardRepository wardRepository;
+
+    @AfterEach
+    void tearDown() {
+        wardRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("reserveBed - Should never oversubscribe a ward under concurrent admissions")
+    void reserveBed_ConcurrentAdmissions_StopsAtMaxCapacity() throws Exception {
+        // Arrange
+        UUID wardId = wardRepository.save(TestDataBuilder.createWard(WardType.CARDIOLOGY, CAPACITY)).getWardId();
+
+        // Act
+        int reserved = hammer(() -> wardRepository.reserveBed(wardId));
+
+        // Assert
+        assertEquals(CAPACITY, reserved);
+        assertEquals(CAPACITY, wardRepository.findById(wardId).orElseThrow().getOccupancy());
+    }
+
+    @Test
+    @DisplayName("releaseBed - Should never drop occupancy below zero under concurrent discharges")
+    void releaseBed_ConcurrentDischarges_StopsAtZero() throws Exception {
+        // Arrange
+        UUID wardId = wardRepository.save(TestDataBuilder.createWard(WardType.CARDIOLOGY, CAPACITY)).getWardId();
+        for (int i = 0; i < 5; i++) {
+            wardRepository.reserveBed(wardId);
+        }
+
+        // Act
+        int released = hammer(() -> wardRepository.releaseBed(wardId));
+
+        // Assert
+        assertEquals(5, released);
+        assertEquals(0, wardRepository.findById(wardId).orElseThrow().getOccupancy());
+    }
+
+    /**
+     * Fires {@link #ADMISSIONS} calls from {@link #THREADS} threads released together, and
+     * returns the total number of rows they updated.
+     */
+    private int hammer(Callable<Integer> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger updated = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < ADMISSIONS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    updated.addAndGet(call.call());
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return updated.get();
+    }
+}
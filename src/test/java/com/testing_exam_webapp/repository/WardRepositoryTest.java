@@ -0,0 +1,49 @@
+package com.testing_exam_webapp.repository;
+
+import com.testing_exam_webapp.model.mysql.Patient;
+import com.testing_exam_webapp.model.mysql.Ward;
+import com.testing_exam_webapp.model.types.WardType;
+import com.testing_exam_webapp.util.TestDataBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+@DisplayName("WardRepository Tests")
+class WardRepositoryTest {
+
+    @Autowired
+    private WardRepository wardRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("recountOccupancy - Should set occupancy from patients admitted before it was tracked")
+    void recountOccupancy_UntrackedPatients_SetsOccupancyFromPatients() {
+        // Arrange
+        Ward cardiology = entityManager.persist(TestDataBuilder.createWard(WardType.CARDIOLOGY, 30));
+        Ward neurology = entityManager.persist(TestDataBuilder.createWard(WardType.NEUROLOGY, 20));
+        for (int i = 0; i < 3; i++) {
+            Patient patient = TestDataBuilder.createPatient();
+            patient.setWard(cardiology);
+            entityManager.persist(patient);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        int corrected = wardRepository.recountOccupancy();
+        entityManager.clear();
+
+        // Assert
+        assertEquals(1, corrected);
+        assertEquals(3, wardRepository.findById(cardiology.getWardId()).orElseThrow().getOccupancy());
+        assertEquals(0, wardRepository.findById(neurology.getWardId()).orElseThrow().getOccupancy());
+        assertEquals(0, wardRepository.recountOccupancy());
+    }
+}
@@ -0,0 +1,118 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.ActiveMedication;
+import com.testing_exam_webapp.repository.PrescriptionRepository;
+import com.testing_exam_webapp.repository.projection.ActivePrescriptionRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ActivePrescriptionIndex Tests")
+class ActivePrescriptionIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+    @Mock
+    private PrescriptionRepository prescriptionRepository;
+
+    private ActivePrescriptionIndex index;
+    private UUID wardId;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(TODAY.atTime(9, 0).atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        index = new ActivePrescriptionIndex(prescriptionRepository, 300_000, clock);
+        wardId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("activeInWard - Should return only prescriptions covering the date, by start date")
+    void activeInWard_Today_ReturnsCoveringPrescriptions() {
+        ActivePrescriptionRow ongoing = row(wardId, TODAY.minusDays(10), null);
+        ActivePrescriptionRow endsToday = row(wardId, TODAY.minusDays(3), TODAY);
+        ActivePrescriptionRow startsTomorrow = row(wardId, TODAY.plusDays(1), TODAY.plusDays(5));
+        ActivePrescriptionRow otherWard = row(UUID.randomUUID(), TODAY.minusDays(1), TODAY.plusDays(1));
+        when(prescriptionRepository.findWardRowsNotEndedBefore(TODAY))
+                .thenReturn(List.of(startsTomorrow, endsToday, otherWard, ongoing));
+
+        List<ActiveMedication> active = index.activeInWard(wardId, TODAY);
+
+        assertEquals(List.of(ongoing.getPrescriptionId(), endsToday.getPrescriptionId()),
+                active.stream().map(ActiveMedication::prescriptionId).toList());
+        assertEquals(List.of(ongoing.getPrescriptionId(), startsTomorrow.getPrescriptionId()),
+                index.activeInWard(wardId, TODAY.plusDays(2)).stream().map(ActiveMedication::prescriptionId).toList());
+        verify(prescriptionRepository, times(1)).findWardRowsNotEndedBefore(TODAY);
+    }
+
+    @Test
+    @DisplayName("activeInWard - Should rebuild after invalidate")
+    void activeInWard_AfterInvalidate_Rebuilds() {
+        when(prescriptionRepository.findWardRowsNotEndedBefore(TODAY)).thenReturn(List.of());
+
+        index.activeInWard(wardId, TODAY);
+        index.invalidate();
+        index.activeInWard(wardId, TODAY);
+
+        verify(prescriptionRepository, times(2)).findWardRowsNotEndedBefore(TODAY);
+    }
+
+    @Test
+    @DisplayName("activeInWard - Should query the database for past dates")
+    void activeInWard_PastDate_FallsBackToDatabase() {
+        LocalDate yesterday = TODAY.minusDays(1);
+        ActivePrescriptionRow row = row(wardId, yesterday, yesterday);
+        when(prescriptionRepository.findActiveRowsByWardId(wardId, yesterday)).thenReturn(List.of(row));
+
+        List<ActiveMedication> active = index.activeInWard(wardId, yesterday);
+
+        assertEquals(1, active.size());
+        verify(prescriptionRepository, never()).findWardRowsNotEndedBefore(any());
+    }
+
+    @Test
+    @DisplayName("IntervalTree - Should match a linear scan for random intervals")
+    void intervalTree_RandomIntervals_MatchesLinearScan() {
+        Random random = new Random(42);
+        List<ActivePrescriptionIndex.IntervalTree.Interval<Integer>> intervals = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int start = random.nextInt(1000);
+            intervals.add(new ActivePrescriptionIndex.IntervalTree.Interval<>(start, start + random.nextInt(100), i));
+        }
+        ActivePrescriptionIndex.IntervalTree<Integer> tree = new ActivePrescriptionIndex.IntervalTree<>(intervals);
+
+        for (int point = -5; point < 1105; point += 7) {
+            int p = point;
+            List<Integer> expected = intervals.stream()
+                    .filter(interval -> interval.start() <= p && interval.end() >= p)
+                    .map(ActivePrescriptionIndex.IntervalTree.Interval::value)
+                    .sorted()
+                    .toList();
+            assertEquals(expected, tree.stab(point).stream().sorted().toList());
+        }
+    }
+
+    private ActivePrescriptionRow row(UUID wardId, LocalDate startDate, LocalDate endDate) {
+        ActivePrescriptionRow row = mock(ActivePrescriptionRow.class);
+        UUID id = UUID.randomUUID();
+        lenient().when(row.getPrescriptionId()).thenReturn(id);
+        lenient().when(row.getWardId()).thenReturn(wardId);
+        lenient().when(row.getStartDate()).thenReturn(startDate);
+        lenient().when(row.getEndDate()).thenReturn(endDate);
+        return row;
+    }
+}
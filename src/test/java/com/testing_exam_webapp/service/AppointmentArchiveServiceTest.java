@@ -0,0 +1,118 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.model.mysql.Appointment;
+import com.testing_exam_webapp.model.mysql.ArchivedAppointment;
+import com.testing_exam_webapp.model.types.EntityTable;
+import com.testing_exam_webapp.repository.ArchivedAppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AppointmentArchiveService Tests")
+class AppointmentArchiveServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+    private static final LocalDate CUTOFF = TODAY.minusDays(365);
+
+    @Mock
+    private ArchivedAppointmentRepository archivedAppointmentRepository;
+
+    @Mock
+    private CounterReconciler counterReconciler;
+
+    @Mock
+    private ChangeCounters changeCounters;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private AppointmentArchiveService appointmentArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(TODAY.atStartOfDay(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        appointmentArchiveService = new AppointmentArchiveService(archivedAppointmentRepository, counterReconciler, changeCounters,
+                transactionTemplate, 365, 100, clock);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("archiveOldAppointments - Should move batches until a short batch and reconcile counters")
+    void archiveOldAppointments_SeveralBatches_MovesAll() {
+        when(archivedAppointmentRepository.copyBatchBefore(CUTOFF, 100)).thenReturn(100, 30);
+        when(archivedAppointmentRepository.deleteArchivedBefore(CUTOFF, 100)).thenReturn(100, 30);
+        when(archivedAppointmentRepository.findLatestAppointmentDate()).thenReturn(Optional.of(CUTOFF.minusDays(1)));
+
+        int moved = appointmentArchiveService.archiveOldAppointments();
+
+        assertEquals(130, moved);
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(counterReconciler).reconcile();
+        verify(changeCounters).touch(EntityTable.APPOINTMENTS);
+    }
+
+    @Test
+    @DisplayName("archiveOldAppointments - Should fail the batch when copied and deleted counts differ")
+    void archiveOldAppointments_CountMismatch_ThrowsException() {
+        when(archivedAppointmentRepository.copyBatchBefore(CUTOFF, 100)).thenReturn(10);
+        when(archivedAppointmentRepository.deleteArchivedBefore(CUTOFF, 100)).thenReturn(9);
+
+        assertThrows(IllegalStateException.class, () -> appointmentArchiveService.archiveOldAppointments());
+        verifyNoInteractions(counterReconciler);
+    }
+
+    @Test
+    @DisplayName("findArchivedBetween - Should skip the archive when the range starts after it")
+    void findArchivedBetween_RangeAfterArchive_DoesNotQueryArchive() {
+        when(archivedAppointmentRepository.findLatestAppointmentDate()).thenReturn(Optional.of(CUTOFF.minusDays(1)));
+
+        List<Appointment> result = appointmentArchiveService.findArchivedBetween(CUTOFF, TODAY);
+
+        assertTrue(result.isEmpty());
+        verify(archivedAppointmentRepository, never()).findByAppointmentDateBetween(any(), any());
+    }
+
+    @Test
+    @DisplayName("findArchivedBetween - Should return archived appointments when the range reaches the archive")
+    void findArchivedBetween_RangeInArchive_ReturnsAppointments() {
+        ArchivedAppointment archived = new ArchivedAppointment();
+        archived.setAppointmentId(UUID.randomUUID());
+        archived.setAppointmentDate(CUTOFF.minusDays(10));
+        LocalDate from = CUTOFF.minusDays(30);
+        when(archivedAppointmentRepository.findLatestAppointmentDate()).thenReturn(Optional.of(CUTOFF.minusDays(1)));
+        when(archivedAppointmentRepository.findByAppointmentDateBetween(from, TODAY)).thenReturn(List.of(archived));
+
+        List<Appointment> result = appointmentArchiveService.findArchivedBetween(from, TODAY);
+
+        assertEquals(1, result.size());
+        assertEquals(archived.getAppointmentId(), result.get(0).getAppointmentId());
+        assertEquals(archived.getAppointmentDate(), result.get(0).getAppointmentDate());
+    }
+
+    @Test
+    @DisplayName("findArchivedOn - Should return nothing when the archive is empty")
+    void findArchivedOn_EmptyArchive_ReturnsEmpty() {
+        when(archivedAppointmentRepository.findLatestAppointmentDate()).thenReturn(Optional.empty());
+
+        assertTrue(appointmentArchiveService.findArchivedOn(CUTOFF.minusYears(1)).isEmpty());
+        verify(archivedAppointmentRepository, never()).findByAppointmentDate(any());
+    }
+}
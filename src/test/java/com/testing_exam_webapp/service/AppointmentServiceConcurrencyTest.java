@@ -0,0 +1,112 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.AppointmentRequest;
+import com.testing_exam_webapp.exception.ConflictException;
+import com.testing_exam_webapp.model.types.AppointmentStatusType;
+import com.testing_exam_webapp.repository.AppointmentRepository;
+import com.testing_exam_webapp.repository.DoctorRepository;
+import com.testing_exam_webapp.util.TestDataBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Books the same doctor slot from many threads at once against a real (in-memory H2) database.
+ * Like WardRepositoryConcurrencyTest the test is not transactional, so every booking commits
+ * on its own connection.
+ */
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+@Import(AppointmentService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("AppointmentService - Concurrency Tests")
+class AppointmentServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @MockBean
+    private AppointmentArchiveService appointmentArchiveService;
+
+    @AfterEach
+    void tearDown() {
+        appointmentRepository.deleteAll();
+        doctorRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("createAppointment - Should book a doctor's slot only once under concurrent requests")
+    void createAppointment_ConcurrentSameSlot_BooksOnce() throws Exception {
+        // Arrange
+        UUID doctorId = doctorRepository.save(TestDataBuilder.createDoctor()).getDoctorId();
+        LocalDate date = LocalDate.now().plusDays(7);
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                // Overlapping but not identical slots, so a unique key on the start time would not help
+                LocalTime startTime = LocalTime.of(9, 0).plusMinutes(5L * i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        appointmentService.createAppointment(slot(date, startTime, doctorId));
+                        booked.incrementAndGet();
+                    } catch (ConflictException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(1, booked.get());
+        assertEquals(THREADS - 1, rejected.get());
+        assertEquals(1, appointmentRepository.findByDoctorId(doctorId).size());
+    }
+
+    private static AppointmentRequest slot(LocalDate date, LocalTime startTime, UUID doctorId) {
+        AppointmentRequest request = new AppointmentRequest();
+        request.setAppointmentDate(date);
+        request.setStartTime(startTime);
+        request.setDurationMinutes(60);
+        request.setReason("Consultation");
+        request.setStatus(AppointmentStatusType.SCHEDULED);
+        request.setDoctorId(doctorId);
+        return request;
+    }
+}
@@ -1,6 +1,8 @@
 package com.testing_exam_webapp.service;
 
 import com.testing_exam_webapp.dto.AppointmentRequest;
+import com.testing_exam_webapp.exception.ConflictException;
+import com.testing_exam_webapp.exception.ValidationException;
 import com.testing_exam_webapp.model.mysql.Appointment;
 import com.testing_exam_webapp.model.mysql.Doctor;
 import com.testing_exam_webapp.model.mysql.Nurse;
@@ -19,12 +21,15 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -50,6 +55,9 @@ class AppointmentServiceTest {
     @Mock
     private NurseRepository nurseRepository;
 
+    @Mock
+    private AppointmentArchiveService appointmentArchiveService;
+
     @InjectMocks
     private AppointmentService appointmentService;
 
@@ -217,6 +225,90 @@ class AppointmentServiceTest {
         assertEquals(1, result.size());
     }
 
+    @Test
+    @DisplayName("getAppointmentsByDateRange - Should include archived appointments when range reaches the archive")
+    void getAppointmentsByDateRange_RangeInArchive_IncludesArchived() {
+        LocalDate startDate = LocalDate.now().minusYears(2);
+        LocalDate endDate = LocalDate.now();
+        Appointment archived = new Appointment();
+        archived.setAppointmentId(UUID.randomUUID());
+        when(appointmentArchiveService.findArchivedBetween(startDate, endDate)).thenReturn(List.of(archived));
+        when(appointmentRepository.findByAppointmentDateBetween(startDate, endDate)).thenReturn(List.of(testAppointment));
+
+        List<Appointment> result = appointmentService.getAppointmentsByDateRange(startDate, endDate);
+
+        assertEquals(List.of(archived, testAppointment), result);
+    }
+
+    @Test
+    @DisplayName("getAppointmentsByDate - Should not lose appointments archived between the two reads")
+    void getAppointmentsByDate_BatchArchivedBetweenReads_ReturnsEachOnce() {
+        LocalDate date = LocalDate.now().minusYears(2);
+        Appointment first = new Appointment();
+        first.setAppointmentId(UUID.randomUUID());
+        Appointment second = new Appointment();
+        second.setAppointmentId(UUID.randomUUID());
+        List<Appointment> liveRows = new ArrayList<>(List.of(first, second));
+        List<Appointment> archivedRows = new ArrayList<>();
+        // Whichever table is read first, the archive batch commits right after that read
+        AtomicBoolean batchCommitted = new AtomicBoolean();
+        Runnable archiveBatch = () -> {
+            if (batchCommitted.compareAndSet(false, true)) {
+                archivedRows.addAll(liveRows);
+                liveRows.clear();
+            }
+        };
+        when(appointmentRepository.findByAppointmentDate(date)).thenAnswer(invocation -> {
+            List<Appointment> read = List.copyOf(liveRows);
+            archiveBatch.run();
+            return read;
+        });
+        when(appointmentArchiveService.findArchivedOn(date)).thenAnswer(invocation -> {
+            List<Appointment> read = List.copyOf(archivedRows);
+            archiveBatch.run();
+            return read;
+        });
+
+        List<Appointment> result = appointmentService.getAppointmentsByDate(date);
+
+        assertEquals(List.of(first, second), result);
+    }
+
+    @Test
+    @DisplayName("getAppointmentById - Should fall back to the archive when not in the live table")
+    void getAppointmentById_Archived_ReturnsArchivedAppointment() {
+        UUID appointmentId = UUID.randomUUID();
+        Appointment archived = new Appointment();
+        archived.setAppointmentId(appointmentId);
+        when(appointmentRepository.findById(appointmentId)).thenReturn(Optional.empty());
+        when(appointmentArchiveService.findArchivedById(appointmentId)).thenReturn(Optional.of(archived));
+
+        assertSame(archived, appointmentService.getAppointmentById(appointmentId));
+    }
+
+    @Test
+    @DisplayName("updateAppointment - Should throw ConflictException for an archived appointment")
+    void updateAppointment_Archived_ThrowsConflictException() {
+        UUID appointmentId = UUID.randomUUID();
+        AppointmentRequest request = timedRequest(LocalDate.now().minusYears(2), LocalTime.of(9, 0), 30);
+        when(appointmentRepository.findById(appointmentId)).thenReturn(Optional.empty());
+        when(appointmentArchiveService.isArchived(appointmentId)).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> appointmentService.updateAppointment(appointmentId, request, null));
+        verify(appointmentRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("deleteAppointment - Should throw ConflictException for an archived appointment")
+    void deleteAppointment_Archived_ThrowsConflictException() {
+        UUID appointmentId = UUID.randomUUID();
+        when(appointmentRepository.existsById(appointmentId)).thenReturn(false);
+        when(appointmentArchiveService.isArchived(appointmentId)).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> appointmentService.deleteAppointment(appointmentId));
+        verify(appointmentRepository, never()).deleteById(any());
+    }
+
     @Test
     @DisplayName("getAppointmentsByDateRange - Boundary Analysis: Same start and end date")
     void getAppointmentsByDateRange_SameDates_ReturnsAppointments() {
@@ -267,12 +359,166 @@ class AppointmentServiceTest {
         when(appointmentRepository.findById(appointmentId)).thenReturn(Optional.of(testAppointment));
         when(appointmentRepository.save(any(Appointment.class))).thenReturn(testAppointment);
 
-        Appointment result = appointmentService.updateAppointment(appointmentId, request);
+        Appointment result = appointmentService.updateAppointment(appointmentId, request, null);
 
         assertNotNull(result);
         verify(appointmentRepository, times(1)).save(testAppointment);
     }
 
+    @Test
+    @DisplayName("createAppointment - Should derive start and end from start time and duration")
+    void createAppointment_WithStartTime_DerivesInterval() {
+        LocalDate date = LocalDate.now().plusDays(7);
+        AppointmentRequest request = timedRequest(date, LocalTime.of(9, 30), 45);
+
+        when(appointmentRepository.save(any(Appointment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Appointment result = appointmentService.createAppointment(request);
+
+        assertEquals(date.atTime(9, 30), result.getStartsAt());
+        assertEquals(date.atTime(10, 15), result.getEndsAt());
+        assertEquals(45, result.getDurationMinutes());
+    }
+
+    @Test
+    @DisplayName("createAppointment - Should use default duration when none given")
+    void createAppointment_NoDuration_UsesDefault() {
+        LocalDate date = LocalDate.now().plusDays(7);
+        AppointmentRequest request = timedRequest(date, LocalTime.of(9, 0), null);
+
+        when(appointmentRepository.save(any(Appointment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Appointment result = appointmentService.createAppointment(request);
+
+        assertEquals(AppointmentService.DEFAULT_DURATION_MINUTES, result.getDurationMinutes());
+    }
+
+    @Test
+    @DisplayName("createAppointment - Should throw ConflictException when doctor is double booked")
+    void createAppointment_DoctorDoubleBooked_ThrowsConflictException() {
+        LocalDate date = LocalDate.now().plusDays(7);
+        AppointmentRequest request = timedRequest(date, LocalTime.of(9, 30), 30);
+        request.setDoctorId(testDoctor.getDoctorId());
+        Appointment existing = timedAppointment(date, LocalTime.of(9, 0), 60);
+
+        when(doctorRepository.findByIdForBooking(testDoctor.getDoctorId())).thenReturn(Optional.of(testDoctor));
+        when(appointmentRepository.findDoctorConflicts(testDoctor.getDoctorId(), date.atTime(1, 30),
+                date.atTime(9, 30), date.atTime(10, 0))).thenReturn(List.of(existing));
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> appointmentService.createAppointment(request));
+        assertTrue(exception.getMessage().contains("09:00"));
+        verify(appointmentRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("createAppointment - Should throw ConflictException when nurse is double booked")
+    void createAppointment_NurseDoubleBooked_ThrowsConflictException() {
+        LocalDate date = LocalDate.now().plusDays(7);
+        AppointmentRequest request = timedRequest(date, LocalTime.of(14, 0), 30);
+        request.setNurseId(testNurse.getNurseId());
+
+        when(nurseRepository.findByIdForBooking(testNurse.getNurseId())).thenReturn(Optional.of(testNurse));
+        when(appointmentRepository.findNurseConflicts(any(), any(), any(), any()))
+                .thenReturn(List.of(timedAppointment(date, LocalTime.of(14, 15), 30)));
+
+        assertThrows(ConflictException.class, () -> appointmentService.createAppointment(request));
+        verify(appointmentRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("createAppointment - Should skip conflict check for cancelled appointment")
+    void createAppointment_Cancelled_SkipsConflictCheck() {
+        AppointmentRequest request = timedRequest(LocalDate.now().plusDays(7), LocalTime.of(9, 0), 30);
+        request.setStatus(AppointmentStatusType.CANCELLED);
+        request.setDoctorId(testDoctor.getDoctorId());
+
+        when(doctorRepository.findById(testDoctor.getDoctorId())).thenReturn(Optional.of(testDoctor));
+        when(appointmentRepository.save(any(Appointment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        appointmentService.createAppointment(request);
+
+        verify(appointmentRepository, never()).findDoctorConflicts(any(), any(), any(), any());
+        verify(doctorRepository, never()).findByIdForBooking(any());
+    }
+
+    @Test
+    @DisplayName("createAppointment - Should lock the doctor's row before checking for conflicts")
+    void createAppointment_TimedSlot_LocksDoctorBeforeConflictCheck() {
+        LocalDate date = LocalDate.now().plusDays(7);
+        AppointmentRequest request = timedRequest(date, LocalTime.of(11, 0), 30);
+        request.setDoctorId(testDoctor.getDoctorId());
+
+        when(doctorRepository.findByIdForBooking(testDoctor.getDoctorId())).thenReturn(Optional.of(testDoctor));
+        when(appointmentRepository.save(any(Appointment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        appointmentService.createAppointment(request);
+
+        InOrder inOrder = inOrder(doctorRepository, appointmentRepository);
+        inOrder.verify(doctorRepository).findByIdForBooking(testDoctor.getDoctorId());
+        inOrder.verify(appointmentRepository).findDoctorConflicts(any(), any(), any(), any());
+        inOrder.verify(appointmentRepository).save(any());
+        verify(doctorRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("updateAppointment - Should lock the current doctor when rescheduling without a new one")
+    void updateAppointment_RescheduleKeepsDoctor_LocksCurrentDoctor() {
+        UUID appointmentId = testAppointment.getAppointmentId();
+        testAppointment.setDoctor(testDoctor);
+        AppointmentRequest request = timedRequest(LocalDate.now().plusDays(7), LocalTime.of(13, 0), 30);
+
+        when(appointmentRepository.findById(appointmentId)).thenReturn(Optional.of(testAppointment));
+        when(doctorRepository.findByIdForBooking(testDoctor.getDoctorId())).thenReturn(Optional.of(testDoctor));
+        when(appointmentRepository.save(any(Appointment.class))).thenReturn(testAppointment);
+
+        appointmentService.updateAppointment(appointmentId, request, null);
+
+        verify(doctorRepository).findByIdForBooking(testDoctor.getDoctorId());
+        verify(appointmentRepository).findDoctorConflicts(eq(testDoctor.getDoctorId()), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("createAppointment - Should throw ValidationException when duration exceeds maximum")
+    void createAppointment_DurationTooLong_ThrowsValidationException() {
+        AppointmentRequest request = timedRequest(LocalDate.now().plusDays(7), LocalTime.of(9, 0),
+                AppointmentService.MAX_DURATION_MINUTES + 1);
+
+        assertThrows(ValidationException.class, () -> appointmentService.createAppointment(request));
+        verify(appointmentRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("createAppointment - Should reject durations below the request's minimum")
+    void createAppointment_DurationTooShort_ThrowsValidationException() {
+        AppointmentRequest request = timedRequest(LocalDate.now().plusDays(7), LocalTime.of(9, 0),
+                AppointmentService.MIN_DURATION_MINUTES - 1);
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> appointmentService.createAppointment(request));
+        assertEquals("Duration must be between 5 and 480 minutes", exception.getMessage());
+        verify(appointmentRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("updateAppointment - Should not conflict with its own previous slot")
+    void updateAppointment_OverlapsItself_UpdatesAppointment() {
+        UUID appointmentId = testAppointment.getAppointmentId();
+        LocalDate date = LocalDate.now().plusDays(7);
+        AppointmentRequest request = timedRequest(date, LocalTime.of(9, 15), 30);
+        request.setDoctorId(testDoctor.getDoctorId());
+
+        when(appointmentRepository.findById(appointmentId)).thenReturn(Optional.of(testAppointment));
+        when(doctorRepository.findByIdForBooking(testDoctor.getDoctorId())).thenReturn(Optional.of(testDoctor));
+        when(appointmentRepository.findDoctorConflicts(any(), any(), any(), any())).thenReturn(List.of(testAppointment));
+        when(appointmentRepository.save(any(Appointment.class))).thenReturn(testAppointment);
+
+        Appointment result = appointmentService.updateAppointment(appointmentId, request, null);
+
+        assertEquals(date.atTime(9, 15), result.getStartsAt());
+        verify(appointmentRepository, times(1)).save(testAppointment);
+    }
+
     @Test
     @DisplayName("deleteAppointment - Should delete appointment when valid ID provided")
     void deleteAppointment_ValidId_DeletesAppointment() {
@@ -284,5 +530,26 @@ class AppointmentServiceTest {
 
         verify(appointmentRepository, times(1)).deleteById(appointmentId);
     }
-}
 
+    private AppointmentRequest timedRequest(LocalDate date, LocalTime startTime, Integer durationMinutes) {
+        AppointmentRequest request = new AppointmentRequest();
+        request.setAppointmentDate(date);
+        request.setStartTime(startTime);
+        request.setDurationMinutes(durationMinutes);
+        request.setReason("Consultation");
+        request.setStatus(AppointmentStatusType.SCHEDULED);
+        return request;
+    }
+
+    private Appointment timedAppointment(LocalDate date, LocalTime startTime, int durationMinutes) {
+        Appointment appointment = new Appointment();
+        appointment.setAppointmentId(UUID.randomUUID());
+        appointment.setAppointmentDate(date);
+        appointment.setStartTime(startTime);
+        appointment.setDurationMinutes(durationMinutes);
+        appointment.setStartsAt(date.atTime(startTime));
+        appointment.setEndsAt(date.atTime(startTime).plusMinutes(durationMinutes));
+        appointment.setStatus(AppointmentStatusType.SCHEDULED);
+        return appointment;
+    }
+}
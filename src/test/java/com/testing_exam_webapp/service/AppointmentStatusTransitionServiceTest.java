@@ -0,0 +1,74 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.model.types.AppointmentStatusType;
+import com.testing_exam_webapp.model.types.EntityTable;
+import com.testing_exam_webapp.repository.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AppointmentStatusTransitionService Tests")
+class AppointmentStatusTransitionServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private CounterReconciler counterReconciler;
+
+    @Mock
+    private ChangeCounters changeCounters;
+
+    private Clock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = Clock.fixed(TODAY.atStartOfDay(ZoneId.systemDefault()).plusMinutes(15).toInstant(), ZoneId.systemDefault());
+    }
+
+    @Test
+    @DisplayName("transitionPastAppointments - Should update in batches until a short batch and reconcile counters")
+    void transitionPastAppointments_SeveralBatches_LoopsUntilShortBatch() {
+        AppointmentStatusTransitionService service = new AppointmentStatusTransitionService(
+                appointmentRepository, counterReconciler, changeCounters, AppointmentStatusType.NO_SHOW, 100, clock);
+        when(appointmentRepository.transitionScheduledBefore("NO_SHOW", TODAY, 100)).thenReturn(100, 100, 42);
+
+        int total = service.transitionPastAppointments();
+
+        assertEquals(242, total);
+        verify(appointmentRepository, times(3)).transitionScheduledBefore("NO_SHOW", TODAY, 100);
+        verify(counterReconciler).reconcile();
+        verify(changeCounters).touch(EntityTable.APPOINTMENTS);
+    }
+
+    @Test
+    @DisplayName("transitionPastAppointments - Should not reconcile counters when nothing changed")
+    void transitionPastAppointments_NothingToDo_SkipsReconcile() {
+        AppointmentStatusTransitionService service = new AppointmentStatusTransitionService(
+                appointmentRepository, counterReconciler, changeCounters, AppointmentStatusType.COMPLETED, 100, clock);
+        when(appointmentRepository.transitionScheduledBefore("COMPLETED", TODAY, 100)).thenReturn(0);
+
+        assertEquals(0, service.transitionPastAppointments());
+        verifyNoInteractions(counterReconciler, changeCounters);
+    }
+
+    @Test
+    @DisplayName("constructor - Should reject target statuses other than COMPLETED or NO_SHOW")
+    void constructor_CancelledTarget_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new AppointmentStatusTransitionService(
+                appointmentRepository, counterReconciler, changeCounters, AppointmentStatusType.CANCELLED, 100, clock));
+    }
+}
@@ -0,0 +1,84 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.event.CounterChangedEvent;
+import com.testing_exam_webapp.event.CounterKey;
+import com.testing_exam_webapp.event.TableChangedEvent;
+import com.testing_exam_webapp.model.types.CounterType;
+import com.testing_exam_webapp.model.types.EntityTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeCountersTest {
+
+    private final ChangeCounters changeCounters = new ChangeCounters("epoch");
+
+    @Test
+    @DisplayName("token - Nested Table Changed - Changes")
+    void token_NestedTableChanged_Changes() {
+        String before = changeCounters.token(EntityTable.PATIENTS);
+
+        changeCounters.onTableChanged(new TableChangedEvent(EntityTable.HOSPITALS));
+
+        assertNotEquals(before, changeCounters.token(EntityTable.PATIENTS));
+        assertEquals(1, changeCounters.get(EntityTable.HOSPITALS));
+    }
+
+    @Test
+    @DisplayName("token - Unrelated Table Changed - Unchanged")
+    void token_UnrelatedTableChanged_Unchanged() {
+        String before = changeCounters.token(EntityTable.MEDICATIONS);
+
+        changeCounters.touch(EntityTable.PATIENTS);
+        changeCounters.touch(EntityTable.APPOINTMENTS);
+
+        assertEquals(before, changeCounters.token(EntityTable.MEDICATIONS));
+    }
+
+    @Test
+    @DisplayName("changedAt - Nested Table Changed - Moves To The Change")
+    void changedAt_NestedTableChanged_MovesToTheChange() {
+        long startedAt = changeCounters.changedAt(EntityTable.PATIENTS);
+        long medicationsChangedAt = changeCounters.changedAt(EntityTable.MEDICATIONS);
+
+        long before = System.currentTimeMillis();
+        changeCounters.touch(EntityTable.HOSPITALS);
+
+        assertTrue(startedAt <= before);
+        assertTrue(changeCounters.changedAt(EntityTable.PATIENTS) >= before);
+        assertEquals(medicationsChangedAt, changeCounters.changedAt(EntityTable.MEDICATIONS));
+    }
+
+    @Test
+    @DisplayName("onCounterChanged - Patient Moved Between Wards - Bumps Wards")
+    void onCounterChanged_PatientMovedBetweenWards_BumpsWards() {
+        CounterKey from = CounterKey.of(CounterType.PATIENTS_PER_WARD, UUID.randomUUID());
+        CounterKey to = CounterKey.of(CounterType.PATIENTS_PER_WARD, UUID.randomUUID());
+
+        changeCounters.onCounterChanged(new CounterChangedEvent(List.of(from), List.of(to)));
+
+        assertEquals(1, changeCounters.get(EntityTable.WARDS));
+    }
+
+    @Test
+    @DisplayName("onCounterChanged - No Ward Counter - Leaves Wards")
+    void onCounterChanged_NoWardCounter_LeavesWards() {
+        CounterKey doctors = CounterKey.total(CounterType.DOCTORS);
+
+        changeCounters.onCounterChanged(new CounterChangedEvent(List.of(), List.of(doctors)));
+
+        assertEquals(0, changeCounters.get(EntityTable.WARDS));
+    }
+
+    @Test
+    @DisplayName("token - Different Epoch - Never Equal")
+    void token_DifferentEpoch_NeverEqual() {
+        ChangeCounters restarted = new ChangeCounters("later");
+
+        assertNotEquals(changeCounters.token(EntityTable.WARDS), restarted.token(EntityTable.WARDS));
+    }
+}
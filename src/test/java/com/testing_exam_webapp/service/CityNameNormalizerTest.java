@@ -0,0 +1,46 @@
+package com.testing_exam_webapp.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CityNameNormalizer Tests")
+class CityNameNormalizerTest {
+
+    private final CityNameNormalizer normalizer = new CityNameNormalizer("Helsingør:Helsingor");
+
+    @ParameterizedTest
+    @ValueSource(strings = {"København", "KØBENHAVN", "kobenhavn", "Kbh", " copenhagen ", "KÃ¸benhavn", "K?benhavn"})
+    @DisplayName("normalize - Copenhagen spellings and encoding-damaged variants - Returns Copenhagen")
+    void normalize_CopenhagenVariants_ReturnsCopenhagen(String city) {
+        assertEquals("Copenhagen", normalizer.normalize(city));
+    }
+
+    @Test
+    @DisplayName("normalize - Danish letters are folded - Returns English name")
+    void normalize_DanishLetters_ReturnsEnglishName() {
+        assertEquals("Aarhus", normalizer.normalize("Århus"));
+        assertEquals("Aarhus", normalizer.normalize("aarhus"));
+    }
+
+    @Test
+    @DisplayName("normalize - Configured alias - Returns configured name")
+    void normalize_ConfiguredAlias_ReturnsConfiguredName() {
+        assertEquals("Helsingor", normalizer.normalize("HELSINGØR"));
+    }
+
+    @Test
+    @DisplayName("normalize - Unknown city - Returns trimmed input")
+    void normalize_UnknownCity_ReturnsTrimmedInput() {
+        assertEquals("Odense", normalizer.normalize("  Odense "));
+    }
+
+    @Test
+    @DisplayName("constructor - Malformed alias - Throws exception")
+    void constructor_MalformedAlias_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new CityNameNormalizer("Helsingør"));
+    }
+}
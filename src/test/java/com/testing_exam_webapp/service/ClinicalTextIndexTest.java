@@ -0,0 +1,87 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.model.types.ClinicalTextType;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ClinicalTextIndex Tests")
+class ClinicalTextIndexTest {
+
+    private ClinicalTextIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        index = new ClinicalTextIndex(new ByteBuffersDirectory());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    @DisplayName("search - Should support phrases and prefixes and escape the snippet")
+    void search_PhraseAndPrefix_HighlightsMatches() throws IOException {
+        UUID id = UUID.randomUUID();
+        index.upsert(text(ClinicalTextType.DIAGNOSIS, id, "Fracture of the left femur <b>displaced</b>"));
+        index.upsert(text(ClinicalTextType.DIAGNOSIS, UUID.randomUUID(), "Right femur intact"));
+
+        ClinicalTextIndex.Page phrase = index.search("\"left femur\"", null, 0, 10, 200);
+        ClinicalTextIndex.Page prefix = index.search("fract*", null, 0, 10, 200);
+
+        assertEquals(1, phrase.totalHits());
+        assertEquals(id, phrase.hits().get(0).id());
+        assertEquals("Fracture of the <mark>left femur</mark> &lt;b&gt;displaced&lt;&#x2F;b&gt;",
+                phrase.hits().get(0).snippet());
+        assertEquals(List.of(id), prefix.hits().stream().map(ClinicalTextIndex.Hit::id).toList());
+    }
+
+    @Test
+    @DisplayName("upsert - Should replace the previous description of the same entry")
+    void upsert_SameId_ReplacesDocument() throws IOException {
+        UUID id = UUID.randomUUID();
+        index.upsert(text(ClinicalTextType.SURGERY, id, "Appendectomy"));
+        index.upsert(text(ClinicalTextType.SURGERY, id, "Cholecystectomy"));
+
+        assertEquals(1, index.size());
+        assertEquals(0, index.search("appendectomy", null, 0, 10, 200).totalHits());
+    }
+
+    @Test
+    @DisplayName("rebuild - Should keep the previous contents when reading the source fails")
+    void rebuild_SourceFails_RollsBack() throws IOException {
+        UUID id = UUID.randomUUID();
+        index.upsert(text(ClinicalTextType.SURGERY, id, "Appendectomy"));
+        Iterable<ClinicalTextIndex.ClinicalText> failing = () -> new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public ClinicalTextIndex.ClinicalText next() {
+                throw new IllegalStateException("Connection lost");
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> index.rebuild(failing));
+
+        assertEquals(1, index.size());
+        index.delete(ClinicalTextType.SURGERY, id);
+        assertEquals(0, index.size());
+    }
+
+    private static ClinicalTextIndex.ClinicalText text(ClinicalTextType type, UUID id, String description) {
+        return new ClinicalTextIndex.ClinicalText(type, id, null, null, null, description);
+    }
+}
@@ -0,0 +1,159 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.ClinicalTextHit;
+import com.testing_exam_webapp.dto.ClinicalTextPage;
+import com.testing_exam_webapp.exception.ValidationException;
+import com.testing_exam_webapp.model.mysql.Diagnosis;
+import com.testing_exam_webapp.model.mysql.Surgery;
+import com.testing_exam_webapp.model.types.ClinicalTextType;
+import com.testing_exam_webapp.repository.DiagnosisRepository;
+import com.testing_exam_webapp.repository.SurgeryRepository;
+import com.testing_exam_webapp.repository.projection.ClinicalTextRow;
+import com.testing_exam_webapp.repository.projection.SurgeryTextRow;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClinicalTextSearchService Tests")
+class ClinicalTextSearchServiceTest {
+
+    @Mock
+    private DiagnosisRepository diagnosisRepository;
+
+    @Mock
+    private SurgeryRepository surgeryRepository;
+
+    private ClinicalTextIndex index;
+    private ClinicalTextSearchService clinicalTextSearchService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        index = new ClinicalTextIndex(new ByteBuffersDirectory());
+        clinicalTextSearchService = new ClinicalTextSearchService(index, diagnosisRepository, surgeryRepository, 2);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    @DisplayName("rebuild - Should read both tables in keyset batches and index every description")
+    void rebuild_ReadsBatches_IndexesAll() {
+        ClinicalTextRow first = diagnosisRow("Fracture of the left femur");
+        ClinicalTextRow second = diagnosisRow("Type 2 diabetes");
+        ClinicalTextRow third = diagnosisRow("Asthma, mild persistent");
+        SurgeryTextRow surgery = surgeryRow("Femur fracture fixation");
+        UUID secondId = second.getId();
+        when(diagnosisRepository.findTextBatch(any(), any())).thenReturn(List.of(first, second)).thenReturn(List.of(third));
+        when(surgeryRepository.findTextBatch(any(), any())).thenReturn(List.of(surgery));
+
+        int indexed = clinicalTextSearchService.rebuild();
+
+        assertEquals(4, indexed);
+        verify(diagnosisRepository).findTextBatch(eq(secondId), any());
+        ClinicalTextPage page = clinicalTextSearchService.search("femur fracture", null, 0, 20);
+        assertEquals(2, page.totalHits());
+        assertTrue(page.hits().get(0).snippet().contains("<mark>"));
+    }
+
+    @Test
+    @DisplayName("rebuildIfStale - Should skip the rebuild when the index matches the tables")
+    void rebuildIfStale_SizesMatch_DoesNotRebuild() {
+        when(diagnosisRepository.count()).thenReturn(0L);
+        when(surgeryRepository.count()).thenReturn(0L);
+
+        clinicalTextSearchService.rebuildIfStale();
+
+        verify(diagnosisRepository, never()).findTextBatch(any(), any());
+    }
+
+    @Test
+    @DisplayName("indexDiagnosis - Should only index after the transaction commits")
+    void indexDiagnosis_InTransaction_IndexesAfterCommit() {
+        Diagnosis diagnosis = new Diagnosis();
+        diagnosis.setDiagnosisId(UUID.randomUUID());
+        diagnosis.setDescription("Acute appendicitis");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            clinicalTextSearchService.indexDiagnosis(diagnosis);
+            assertEquals(0, clinicalTextSearchService.search("appendicitis", null, 0, 20).totalHits());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        List<ClinicalTextHit> hits = clinicalTextSearchService.search("appendicitis", null, 0, 20).hits();
+        assertEquals(1, hits.size());
+        assertEquals(diagnosis.getDiagnosisId(), hits.get(0).id());
+        assertEquals("Acute <mark>appendicitis</mark>", hits.get(0).snippet());
+    }
+
+    @Test
+    @DisplayName("search - Should filter by type, page through hits and drop removed entries")
+    void search_TypeAndPages_ReturnsMatchingPage() {
+        for (int i = 0; i < 3; i++) {
+            Surgery surgery = new Surgery();
+            surgery.setSurgeryId(UUID.randomUUID());
+            surgery.setDescription("Knee arthroscopy " + i);
+            clinicalTextSearchService.indexSurgery(surgery);
+        }
+        Diagnosis diagnosis = new Diagnosis();
+        diagnosis.setDiagnosisId(UUID.randomUUID());
+        diagnosis.setDescription("Knee pain");
+        clinicalTextSearchService.indexDiagnosis(diagnosis);
+
+        ClinicalTextPage secondPage = clinicalTextSearchService.search("knee", ClinicalTextType.SURGERY, 1, 2);
+        assertEquals(3, secondPage.totalHits());
+        assertEquals(1, secondPage.hits().size());
+
+        clinicalTextSearchService.removeDiagnosis(diagnosis.getDiagnosisId());
+        assertEquals(3, clinicalTextSearchService.search("knee", null, 0, 20).totalHits());
+    }
+
+    @Test
+    @DisplayName("search - Should throw ValidationException for blank queries and pages beyond the window")
+    void search_InvalidArguments_ThrowsException() {
+        assertThrows(ValidationException.class, () -> clinicalTextSearchService.search(" ", null, 0, 20));
+        assertThrows(ValidationException.class, () -> clinicalTextSearchService.search("knee", null, 0, 0));
+        assertThrows(ValidationException.class, () -> clinicalTextSearchService.search("knee", null, -1, 20));
+        assertThrows(ValidationException.class, () -> clinicalTextSearchService.search("knee", null,
+                ClinicalTextSearchService.MAX_WINDOW / 20, 20));
+    }
+
+    private ClinicalTextRow diagnosisRow(String description) {
+        ClinicalTextRow row = mock(ClinicalTextRow.class);
+        UUID id = UUID.randomUUID();
+        when(row.getId()).thenReturn(id);
+        when(row.getDescription()).thenReturn(description);
+        return row;
+    }
+
+    private SurgeryTextRow surgeryRow(String description) {
+        SurgeryTextRow row = mock(SurgeryTextRow.class);
+        when(row.getId()).thenReturn(UUID.randomUUID());
+        when(row.getDescription()).thenReturn(description);
+        when(row.getPatientId()).thenReturn(UUID.randomUUID());
+        return row;
+    }
+}
@@ -0,0 +1,221 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.CohortResult;
+import com.testing_exam_webapp.exception.ValidationException;
+import com.testing_exam_webapp.model.mysql.Diagnosis;
+import com.testing_exam_webapp.model.mysql.Patient;
+import com.testing_exam_webapp.model.mysql.Surgery;
+import com.testing_exam_webapp.model.mysql.Ward;
+import com.testing_exam_webapp.repository.PatientRepository;
+import com.testing_exam_webapp.repository.SurgeryRepository;
+import com.testing_exam_webapp.repository.projection.IdPair;
+import com.testing_exam_webapp.repository.projection.PatientFactsRow;
+import com.testing_exam_webapp.repository.projection.SurgeryDateRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CohortService Tests")
+class CohortServiceTest {
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private SurgeryRepository surgeryRepository;
+
+    private CohortService cohortService;
+    private UUID wardId;
+    private UUID otherWardId;
+    private UUID diagnosisId;
+
+    @BeforeEach
+    void setUp() {
+        cohortService = new CohortService(patientRepository, surgeryRepository);
+        wardId = UUID.randomUUID();
+        otherWardId = UUID.randomUUID();
+        diagnosisId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("rebuild - Should answer ward, diagnosis and surgery quarter cohorts from the projections")
+    void rebuild_FromProjections_AnswersCohort() {
+        PatientFactsRow match = facts(wardId, "Female", LocalDate.of(1980, 2, 1));
+        PatientFactsRow noSurgery = facts(wardId, "Male", LocalDate.of(1985, 6, 1));
+        PatientFactsRow otherWard = facts(otherWardId, "Female", LocalDate.of(1990, 1, 1));
+        IdPair matchDiagnosis = link(match.getId(), diagnosisId);
+        IdPair noSurgeryDiagnosis = link(noSurgery.getId(), diagnosisId);
+        IdPair otherWardDiagnosis = link(otherWard.getId(), diagnosisId);
+        SurgeryDateRow surgery = surgery(match.getId(), LocalDate.of(2025, 8, 14));
+        SurgeryDateRow otherSurgery = surgery(otherWard.getId(), LocalDate.of(2025, 7, 2));
+        when(patientRepository.findAllFacts()).thenReturn(List.of(match, noSurgery, otherWard));
+        when(patientRepository.findAllDiagnosisLinks()).thenReturn(List.of(matchDiagnosis, noSurgeryDiagnosis, otherWardDiagnosis));
+        when(surgeryRepository.findAllDates()).thenReturn(List.of(surgery, otherSurgery));
+
+        cohortService.rebuild();
+
+        CohortResult result = cohortService.query(
+                "ward:" + wardId + " AND diagnosis:" + diagnosisId + " AND surgery:2025-Q3", 100);
+        assertEquals(1, result.patientCount());
+        assertEquals(List.of(match.getId()), result.patientIds());
+        assertEquals(2, cohortService.query("diagnosis:" + diagnosisId + " NOT gender:male", 100).patientCount());
+        assertEquals(2, cohortService.query("born:1980..1985 OR (ward:" + otherWardId + " surgery:2024)", 100).patientCount());
+        CohortResult truncated = cohortService.query("gender:FEMALE,male", 1);
+        assertEquals(3, truncated.patientCount());
+        assertTrue(truncated.truncated());
+    }
+
+    @Test
+    @DisplayName("indexPatient - Should move the patient between bitmaps on update and drop it on delete")
+    void indexPatient_UpdateAndDelete_KeepsIndexCurrent() {
+        Patient patient = patient(wardId);
+        cohortService.indexPatient(patient);
+        assertEquals(1, cohortService.query("ward:" + wardId + " diagnosis:" + diagnosisId, 10).patientCount());
+
+        patient.setWard(ward(otherWardId));
+        cohortService.indexPatient(patient);
+        assertEquals(0, cohortService.query("ward:" + wardId, 10).patientCount());
+        assertEquals(1, cohortService.query("ward:" + otherWardId, 10).patientCount());
+
+        cohortService.removePatient(patient.getPatientId());
+        assertEquals(0, cohortService.query("NOT ward:" + wardId, 10).patientCount());
+        verifyNoInteractions(patientRepository, surgeryRepository);
+    }
+
+    @Test
+    @DisplayName("removeSurgery - Should keep the quarter while another surgery of the patient falls in it")
+    void removeSurgery_SecondSurgerySameQuarter_KeepsQuarter() {
+        Patient patient = patient(wardId);
+        cohortService.indexPatient(patient);
+        Surgery first = surgery(patient, LocalDate.of(2025, 7, 1));
+        Surgery second = surgery(patient, LocalDate.of(2025, 9, 30));
+        cohortService.indexSurgery(first);
+        cohortService.indexSurgery(second);
+
+        cohortService.removeSurgery(first.getSurgeryId());
+        assertEquals(1, cohortService.query("surgery:2025-q3", 10).patientCount());
+
+        cohortService.removeSurgery(second.getSurgeryId());
+        assertEquals(0, cohortService.query("surgery:2025-Q3", 10).patientCount());
+    }
+
+    @Test
+    @DisplayName("removeDiagnosis - Should clear a deleted diagnosis from its patients")
+    void removeDiagnosis_DeletedDiagnosis_ClearsBitmap() {
+        Patient patient = patient(wardId);
+        cohortService.indexPatient(patient);
+
+        cohortService.removeDiagnosis(diagnosisId);
+
+        assertEquals(0, cohortService.query("diagnosis:" + diagnosisId, 10).patientCount());
+        assertEquals(1, cohortService.query("ward:" + wardId, 10).patientCount());
+    }
+
+    @Test
+    @DisplayName("indexSurgery - Inside a transaction - Applies the change only after commit")
+    void indexSurgery_InTransaction_AppliesAfterCommitOnly() {
+        Patient patient = patient(wardId);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cohortService.indexPatient(patient);
+            cohortService.indexSurgery(surgery(patient, LocalDate.of(2025, 8, 14)));
+            assertEquals(0, cohortService.query("ward:" + wardId, 10).patientCount());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cohortService.removeDiagnosis(diagnosisId);
+            cohortService.removePatient(patient.getPatientId());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync ->
+                    sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, cohortService.query("ward:" + wardId + " diagnosis:" + diagnosisId + " surgery:2025-Q3", 10)
+                .patientCount());
+    }
+
+    @Test
+    @DisplayName("query - Should throw ValidationException for malformed queries")
+    void query_Malformed_ThrowsException() {
+        assertThrows(ValidationException.class, () -> cohortService.query("", 10));
+        assertThrows(ValidationException.class, () -> cohortService.query("ward:not-a-uuid", 10));
+        assertThrows(ValidationException.class, () -> cohortService.query("colour:red", 10));
+        assertThrows(ValidationException.class, () -> cohortService.query("(gender:male", 10));
+        assertThrows(ValidationException.class, () -> cohortService.query("gender:male AND", 10));
+        assertThrows(ValidationException.class, () -> cohortService.query("surgery:2025-Q5", 10));
+        assertThrows(ValidationException.class, () -> cohortService.query("gender:male", CohortService.MAX_LIMIT + 1));
+    }
+
+    private Patient patient(UUID wardId) {
+        Patient patient = new Patient();
+        patient.setPatientId(UUID.randomUUID());
+        patient.setGender("Female");
+        patient.setDateOfBirth(LocalDate.of(1975, 4, 3));
+        patient.setWard(ward(wardId));
+        Diagnosis diagnosis = new Diagnosis();
+        diagnosis.setDiagnosisId(diagnosisId);
+        patient.setDiagnosis(Set.of(diagnosis));
+        return patient;
+    }
+
+    private static Ward ward(UUID wardId) {
+        Ward ward = new Ward();
+        ward.setWardId(wardId);
+        return ward;
+    }
+
+    private static Surgery surgery(Patient patient, LocalDate date) {
+        Surgery surgery = new Surgery();
+        surgery.setSurgeryId(UUID.randomUUID());
+        surgery.setPatient(patient);
+        surgery.setSurgeryDate(date);
+        return surgery;
+    }
+
+    private PatientFactsRow facts(UUID wardId, String gender, LocalDate dateOfBirth) {
+        PatientFactsRow row = mock(PatientFactsRow.class);
+        UUID id = UUID.randomUUID();
+        lenient().when(row.getId()).thenReturn(id);
+        lenient().when(row.getWardId()).thenReturn(wardId);
+        lenient().when(row.getGender()).thenReturn(gender);
+        lenient().when(row.getDateOfBirth()).thenReturn(dateOfBirth);
+        return row;
+    }
+
+    private IdPair link(UUID patientId, UUID diagnosisId) {
+        IdPair link = mock(IdPair.class);
+        lenient().when(link.getFirstId()).thenReturn(patientId);
+        lenient().when(link.getSecondId()).thenReturn(diagnosisId);
+        return link;
+    }
+
+    private SurgeryDateRow surgery(UUID patientId, LocalDate date) {
+        SurgeryDateRow row = mock(SurgeryDateRow.class);
+        UUID id = UUID.randomUUID();
+        lenient().when(row.getId()).thenReturn(id);
+        lenient().when(row.getPatientId()).thenReturn(patientId);
+        lenient().when(row.getDate()).thenReturn(date);
+        return row;
+    }
+}
@@ -0,0 +1,100 @@
+package com.testing_exam_webapp.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CompressedBitmap Tests")
+class CompressedBitmapTest {
+
+    @Test
+    @DisplayName("add - Should keep values across chunks and switch containers past the array limit")
+    void add_DenseAndSparseChunks_ContainsAll() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int value = 0; value < 10_000; value++) {
+            bitmap.add(value);
+        }
+        bitmap.add(200_000);
+        bitmap.add(200_000);
+
+        assertEquals(10_001, bitmap.cardinality());
+        assertTrue(bitmap.contains(9_999));
+        assertTrue(bitmap.contains(200_000));
+        assertFalse(bitmap.contains(10_000));
+
+        for (int value = 0; value < 10_000; value += 2) {
+            bitmap.remove(value);
+        }
+        bitmap.remove(200_000);
+
+        assertEquals(5_000, bitmap.cardinality());
+        assertFalse(bitmap.contains(200_000));
+        assertArrayEquals(new int[]{1, 3, 5}, bitmap.toArray(3));
+    }
+
+    @Test
+    @DisplayName("and/or/orAll/andNot - Should match BitSet results for random sparse and dense sets")
+    void setOperations_RandomSets_MatchBitSet() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            BitSet expectedA = new BitSet();
+            BitSet expectedB = new BitSet();
+            CompressedBitmap a = new CompressedBitmap();
+            CompressedBitmap b = new CompressedBitmap();
+            // Alternate dense and sparse sets so every container pairing is exercised
+            int countA = round % 2 == 0 ? 30_000 : 500;
+            int countB = round % 3 == 0 ? 40_000 : 2_000;
+            for (int i = 0; i < countA; i++) {
+                int value = random.nextInt(200_000);
+                expectedA.set(value);
+                a.add(value);
+            }
+            for (int i = 0; i < countB; i++) {
+                int value = random.nextInt(200_000);
+                expectedB.set(value);
+                b.add(value);
+            }
+
+            assertSame(expectedA, a);
+            BitSet and = (BitSet) expectedA.clone();
+            and.and(expectedB);
+            assertSame(and, CompressedBitmap.and(a, b));
+            BitSet or = (BitSet) expectedA.clone();
+            or.or(expectedB);
+            assertSame(or, CompressedBitmap.or(a, b));
+            assertSame(or, CompressedBitmap.orAll(List.of(a, b, new CompressedBitmap())));
+            BitSet andNot = (BitSet) expectedA.clone();
+            andNot.andNot(expectedB);
+            assertSame(andNot, CompressedBitmap.andNot(a, b));
+        }
+    }
+
+    @Test
+    @DisplayName("copy - Should not share containers with the original")
+    void copy_ThenModify_OriginalUnchanged() {
+        CompressedBitmap original = CompressedBitmap.of(1, 2, 70_000);
+        CompressedBitmap copy = original.copy();
+
+        copy.add(3);
+        copy.remove(70_000);
+
+        assertArrayEquals(new int[]{1, 2, 70_000}, original.toArray(10));
+        assertArrayEquals(new int[]{1, 2, 3}, copy.toArray(10));
+    }
+
+    @Test
+    @DisplayName("add - Should reject negative values")
+    void add_NegativeValue_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new CompressedBitmap().add(-1));
+    }
+
+    private static void assertSame(BitSet expected, CompressedBitmap actual) {
+        assertEquals(expected.cardinality(), actual.cardinality());
+        assertArrayEquals(expected.stream().toArray(), actual.toArray(Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,107 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.event.CounterKey;
+import com.testing_exam_webapp.model.types.CounterType;
+import com.testing_exam_webapp.repository.*;
+import com.testing_exam_webapp.repository.projection.IdCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CounterReconciler Tests")
+class CounterReconcilerTest {
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private NurseRepository nurseRepository;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private HospitalRepository hospitalRepository;
+
+    @Mock
+    private WardRepository wardRepository;
+
+    private CounterStore counterStore;
+    private CounterReconciler counterReconciler;
+
+    @BeforeEach
+    void setUp() {
+        counterStore = new CounterStore();
+        counterReconciler = new CounterReconciler(counterStore, patientRepository, doctorRepository,
+                nurseRepository, appointmentRepository, hospitalRepository, wardRepository, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("reconcile - Should seed empty store from database counts")
+    void reconcile_EmptyStore_SeedsCounters() {
+        UUID wardId = UUID.randomUUID();
+        List<IdCount> patientsPerWard = List.of(idCount(wardId, 5L));
+        when(patientRepository.count()).thenReturn(5L);
+        when(patientRepository.countPerWard()).thenReturn(patientsPerWard);
+
+        int corrected = counterReconciler.reconcile();
+
+        assertEquals(2, corrected);
+        assertEquals(5L, counterStore.get(CounterKey.total(CounterType.PATIENTS)));
+        assertEquals(5L, counterStore.get(CounterKey.of(CounterType.PATIENTS_PER_WARD, wardId)));
+    }
+
+    @Test
+    @DisplayName("rebuild - Should recount ward occupancy from patients")
+    void rebuild_Startup_RecountsWardOccupancy() {
+        when(wardRepository.recountOccupancy()).thenReturn(2);
+
+        counterReconciler.rebuild();
+
+        verify(wardRepository).recountOccupancy();
+    }
+
+    @Test
+    @DisplayName("reconcile - Should correct drift and clear counters missing from database")
+    void reconcile_DriftedStore_CorrectsCounters() {
+        CounterKey staleWard = CounterKey.of(CounterType.PATIENTS_PER_WARD, UUID.randomUUID());
+        counterStore.add(CounterKey.total(CounterType.PATIENTS), 7);
+        counterStore.add(staleWard, 2);
+        when(patientRepository.count()).thenReturn(5L);
+
+        int corrected = counterReconciler.reconcile();
+
+        assertEquals(2, corrected);
+        assertEquals(5L, counterStore.get(CounterKey.total(CounterType.PATIENTS)));
+        assertEquals(0L, counterStore.get(staleWard));
+    }
+
+    @Test
+    @DisplayName("reconcile - Should report no drift when store matches database")
+    void reconcile_InSync_ReturnsZero() {
+        counterStore.add(CounterKey.total(CounterType.HOSPITALS), 2);
+        when(hospitalRepository.count()).thenReturn(2L);
+
+        assertEquals(0, counterReconciler.reconcile());
+    }
+
+    private IdCount idCount(UUID id, long total) {
+        IdCount row = mock(IdCount.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getTotal()).thenReturn(total);
+        return row;
+    }
+}
@@ -0,0 +1,95 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.event.CounterChangedEvent;
+import com.testing_exam_webapp.event.CounterKey;
+import com.testing_exam_webapp.model.mysql.Appointment;
+import com.testing_exam_webapp.model.mysql.Patient;
+import com.testing_exam_webapp.model.mysql.Ward;
+import com.testing_exam_webapp.model.types.AppointmentStatusType;
+import com.testing_exam_webapp.model.types.CounterType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CounterStore Tests")
+class CounterStoreTest {
+
+    private CounterStore counterStore;
+
+    @BeforeEach
+    void setUp() {
+        counterStore = new CounterStore();
+    }
+
+    @Test
+    @DisplayName("onCounterChanged - Should move patient from old ward counter to new one")
+    void onCounterChanged_PatientMoved_MovesCount() {
+        CounterKey oldWard = CounterKey.of(CounterType.PATIENTS_PER_WARD, UUID.randomUUID());
+        CounterKey newWard = CounterKey.of(CounterType.PATIENTS_PER_WARD, UUID.randomUUID());
+        counterStore.onCounterChanged(new CounterChangedEvent(List.of(), List.of(oldWard)));
+
+        counterStore.onCounterChanged(new CounterChangedEvent(List.of(oldWard), List.of(newWard)));
+
+        assertEquals(0L, counterStore.get(oldWard));
+        assertEquals(1L, counterStore.get(newWard));
+        assertEquals(Map.of(newWard, 1L), counterStore.snapshot(CounterType.PATIENTS_PER_WARD));
+    }
+
+    @Test
+    @DisplayName("get - Should return zero for unknown key")
+    void get_UnknownKey_ReturnsZero() {
+        assertEquals(0L, counterStore.get(CounterKey.total(CounterType.DOCTORS)));
+    }
+
+    @Test
+    @DisplayName("add - Should not lose updates under concurrent writers")
+    void add_ConcurrentWriters_CountsEveryIncrement() throws InterruptedException {
+        CounterKey key = CounterKey.total(CounterType.APPOINTMENTS);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8000; i++) {
+            executor.execute(() -> counterStore.add(key, 1));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(8000L, counterStore.get(key));
+    }
+
+    @Test
+    @DisplayName("keysOf - Should derive total, ward and hospital keys for patient")
+    void keysOf_Patient_ReturnsWardKey() {
+        Ward ward = new Ward();
+        ward.setWardId(UUID.randomUUID());
+        Patient patient = new Patient();
+        patient.setWard(ward);
+
+        List<CounterKey> keys = CounterKey.keysOf(patient);
+
+        assertEquals(List.of(CounterKey.total(CounterType.PATIENTS),
+                CounterKey.of(CounterType.PATIENTS_PER_WARD, ward.getWardId())), keys);
+    }
+
+    @Test
+    @DisplayName("keysOf - Should derive status and day keys for appointment")
+    void keysOf_Appointment_ReturnsStatusAndDayKeys() {
+        LocalDate date = LocalDate.of(2026, 10, 18);
+        Appointment appointment = new Appointment();
+        appointment.setAppointmentDate(date);
+        appointment.setStatus(AppointmentStatusType.SCHEDULED);
+
+        List<CounterKey> keys = CounterKey.keysOf(appointment);
+
+        assertTrue(keys.contains(CounterKey.appointmentStatus(AppointmentStatusType.SCHEDULED)));
+        assertTrue(keys.contains(CounterKey.appointmentDay(date, AppointmentStatusType.SCHEDULED)));
+    }
+}
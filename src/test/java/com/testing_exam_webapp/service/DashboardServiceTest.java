@@ -0,0 +1,74 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.DashboardSummary;
+import com.testing_exam_webapp.event.CounterKey;
+import com.testing_exam_webapp.model.types.AppointmentStatusType;
+import com.testing_exam_webapp.model.types.CounterType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DashboardService Tests")
+class DashboardServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+    private CounterStore counterStore;
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        counterStore = new CounterStore();
+        Clock clock = Clock.fixed(TODAY.atStartOfDay(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        dashboardService = new DashboardService(counterStore, clock);
+    }
+
+    @Test
+    @DisplayName("getSummary - Should read totals and grouped counts from the counter store")
+    void getSummary_WithCounters_ReturnsAggregatedCounts() {
+        UUID wardId = UUID.randomUUID();
+        UUID hospitalId = UUID.randomUUID();
+        counterStore.add(CounterKey.total(CounterType.PATIENTS), 12);
+        counterStore.add(CounterKey.total(CounterType.DOCTORS), 3);
+        counterStore.add(CounterKey.total(CounterType.NURSES), 4);
+        counterStore.add(CounterKey.total(CounterType.APPOINTMENTS), 20);
+        counterStore.add(CounterKey.total(CounterType.HOSPITALS), 2);
+        counterStore.add(CounterKey.total(CounterType.WARDS), 3);
+        counterStore.add(CounterKey.of(CounterType.PATIENTS_PER_WARD, wardId), 12);
+        counterStore.add(CounterKey.of(CounterType.DOCTORS_PER_HOSPITAL, hospitalId), 3);
+        counterStore.add(CounterKey.of(CounterType.NURSES_PER_HOSPITAL, hospitalId), 4);
+        counterStore.add(CounterKey.appointmentDay(TODAY, AppointmentStatusType.SCHEDULED), 5);
+        counterStore.add(CounterKey.appointmentDay(TODAY.minusDays(1), AppointmentStatusType.COMPLETED), 9);
+
+        DashboardSummary summary = dashboardService.getSummary();
+
+        assertEquals(12L, summary.getPatients());
+        assertEquals(3L, summary.getDoctors());
+        assertEquals(4L, summary.getNurses());
+        assertEquals(20L, summary.getAppointments());
+        assertEquals(2L, summary.getHospitals());
+        assertEquals(3L, summary.getWards());
+        assertEquals(12L, summary.getPatientsPerWard().get(wardId));
+        assertEquals(7L, summary.getStaffPerHospital().get(hospitalId));
+        assertEquals(5L, summary.getAppointmentsTodayByStatus().get(AppointmentStatusType.SCHEDULED));
+        assertEquals(0L, summary.getAppointmentsTodayByStatus().get(AppointmentStatusType.COMPLETED));
+    }
+
+    @Test
+    @DisplayName("getSummary - Should return zeros when counter store is empty")
+    void getSummary_EmptyStore_ReturnsZeros() {
+        DashboardSummary summary = dashboardService.getSummary();
+
+        assertEquals(0L, summary.getPatients());
+        assertTrue(summary.getPatientsPerWard().isEmpty());
+        assertTrue(summary.getStaffPerHospital().isEmpty());
+        assertEquals(AppointmentStatusType.values().length, summary.getAppointmentsTodayByStatus().size());
+    }
+}
@@ -34,6 +34,12 @@ class DiagnosisServiceTest {
     @Mock
     private DoctorRepository doctorRepository;
 
+    @Mock
+    private ClinicalTextSearchService clinicalTextSearchService;
+
+    @Mock
+    private CohortService cohortService;
+
     @InjectMocks
     private DiagnosisService diagnosisService;
 
@@ -78,6 +84,7 @@ class DiagnosisServiceTest {
 
         Diagnosis result = diagnosisService.createDiagnosis(request);
         assertNotNull(result);
+        verify(clinicalTextSearchService, times(1)).indexDiagnosis(result);
     }
 
     @Test
@@ -109,7 +116,7 @@ class DiagnosisServiceTest {
         when(diagnosisRepository.findById(diagnosisId)).thenReturn(Optional.of(testDiagnosis));
         when(diagnosisRepository.save(any(Diagnosis.class))).thenReturn(testDiagnosis);
 
-        Diagnosis result = diagnosisService.updateDiagnosis(diagnosisId, request);
+        Diagnosis result = diagnosisService.updateDiagnosis(diagnosisId, request, null);
         assertNotNull(result);
     }
 
@@ -120,6 +127,8 @@ class DiagnosisServiceTest {
         when(diagnosisRepository.existsById(diagnosisId)).thenReturn(true);
         diagnosisService.deleteDiagnosis(diagnosisId);
         verify(diagnosisRepository, times(1)).deleteById(diagnosisId);
+        verify(clinicalTextSearchService, times(1)).removeDiagnosis(diagnosisId);
+        verify(cohortService, times(1)).removeDiagnosis(diagnosisId);
     }
 }
 
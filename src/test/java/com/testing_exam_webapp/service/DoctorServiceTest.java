@@ -230,7 +230,7 @@ class DoctorServiceTest {
         when(doctorRepository.findById(doctorId)).thenReturn(Optional.of(testDoctor));
         when(doctorRepository.save(any(Doctor.class))).thenReturn(testDoctor);
 
-        Doctor result = doctorService.updateDoctor(doctorId, request);
+        Doctor result = doctorService.updateDoctor(doctorId, request, null);
 
         assertNotNull(result);
         verify(doctorRepository, times(1)).findById(doctorId);
@@ -247,7 +247,7 @@ class DoctorServiceTest {
         when(doctorRepository.findById(nonExistentId)).thenReturn(Optional.empty());
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
-            doctorService.updateDoctor(nonExistentId, request);
+            doctorService.updateDoctor(nonExistentId, request, null);
         });
         assertEquals("Doctor not found", exception.getMessage());
     }
@@ -0,0 +1,216 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.DoctorWorkloadWeek;
+import com.testing_exam_webapp.event.WorkloadChangedEvent;
+import com.testing_exam_webapp.event.WorkloadKey;
+import com.testing_exam_webapp.exception.ValidationException;
+import com.testing_exam_webapp.model.types.DoctorSpecialityType;
+import com.testing_exam_webapp.model.types.WorkloadMetric;
+import com.testing_exam_webapp.repository.DoctorWorkloadRepository;
+import com.testing_exam_webapp.repository.projection.DateRange;
+import com.testing_exam_webapp.repository.projection.DoctorWorkloadRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DoctorWorkloadService Tests")
+class DoctorWorkloadServiceTest {
+
+    // Mondays
+    private static final LocalDate WEEK_ONE = LocalDate.of(2026, 10, 5);
+    private static final LocalDate WEEK_TWO = LocalDate.of(2026, 10, 12);
+
+    @Mock
+    private DoctorWorkloadRepository doctorWorkloadRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TransactionTemplate upsertTemplate;
+
+    private DoctorWorkloadService doctorWorkloadService;
+    private final UUID doctorId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        doctorWorkloadService = new DoctorWorkloadService(doctorWorkloadRepository, transactionTemplate, upsertTemplate, 4);
+        for (TransactionTemplate template : List.of(transactionTemplate, upsertTemplate)) {
+            lenient().doAnswer(invocation -> {
+                invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+                return null;
+            }).when(template).executeWithoutResult(any());
+        }
+    }
+
+    @Test
+    @DisplayName("onWorkloadChanged - Appointment moved to another week - Moves one appointment between weeks")
+    void onWorkloadChanged_AppointmentMoved_UpsertsBothWeeks() {
+        doctorWorkloadService.onWorkloadChanged(new WorkloadChangedEvent(
+                List.of(new WorkloadKey(doctorId, WEEK_ONE, WorkloadMetric.APPOINTMENTS)),
+                List.of(new WorkloadKey(doctorId, WEEK_TWO, WorkloadMetric.APPOINTMENTS))));
+
+        verify(doctorWorkloadRepository).addToWeek(doctorId, WEEK_ONE, -1, 0, 0);
+        verify(doctorWorkloadRepository).addToWeek(doctorId, WEEK_TWO, 1, 0, 0);
+        verify(upsertTemplate, times(1)).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("onWorkloadChanged - Several metrics in the same week - Upserts the week once")
+    void onWorkloadChanged_SameWeek_UpsertsOnce() {
+        doctorWorkloadService.onWorkloadChanged(new WorkloadChangedEvent(List.of(), List.of(
+                new WorkloadKey(doctorId, WEEK_ONE, WorkloadMetric.SURGERIES),
+                new WorkloadKey(doctorId, WEEK_ONE, WorkloadMetric.PRESCRIPTIONS))));
+
+        verify(doctorWorkloadRepository).addToWeek(doctorId, WEEK_ONE, 0, 1, 1);
+    }
+
+    @Test
+    @DisplayName("onWorkloadChanged - Removed and added keys cancel out - Does not touch the database")
+    void onWorkloadChanged_NoNetChange_SkipsUpsert() {
+        WorkloadKey key = new WorkloadKey(doctorId, WEEK_ONE, WorkloadMetric.APPOINTMENTS);
+
+        doctorWorkloadService.onWorkloadChanged(new WorkloadChangedEvent(List.of(key), List.of(key)));
+
+        verifyNoInteractions(upsertTemplate, doctorWorkloadRepository);
+    }
+
+    @Test
+    @DisplayName("onWorkloadChanged - Upsert fails - Logs and leaves the fix to the backfill")
+    void onWorkloadChanged_UpsertFails_DoesNotThrow() {
+        when(doctorWorkloadRepository.addToWeek(any(), any(), anyLong(), anyLong(), anyLong()))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        assertDoesNotThrow(() -> doctorWorkloadService.onWorkloadChanged(new WorkloadChangedEvent(List.of(),
+                List.of(new WorkloadKey(doctorId, WEEK_ONE, WorkloadMetric.APPOINTMENTS)))));
+    }
+
+    @Test
+    @DisplayName("backfill - Data over ten weeks - Rebuilds in chunks of four weeks and clears weeks outside")
+    void backfill_TenWeeks_RebuildsInChunks() {
+        DateRange appointments = dateRange(WEEK_ONE.plusDays(2), WEEK_ONE.plusWeeks(9).plusDays(6));
+        DateRange archived = dateRange(null, null);
+        DateRange surgeries = dateRange(WEEK_ONE.plusWeeks(3), WEEK_ONE.plusWeeks(4));
+        DateRange prescriptions = dateRange(null, null);
+        when(doctorWorkloadRepository.findAppointmentDateRange()).thenReturn(appointments);
+        when(doctorWorkloadRepository.findArchivedAppointmentDateRange()).thenReturn(archived);
+        when(doctorWorkloadRepository.findSurgeryDateRange()).thenReturn(surgeries);
+        when(doctorWorkloadRepository.findPrescriptionDateRange()).thenReturn(prescriptions);
+
+        int weeks = doctorWorkloadService.backfill();
+
+        assertEquals(10, weeks);
+        LocalDate end = WEEK_ONE.plusWeeks(10);
+        verify(doctorWorkloadRepository).deleteWeeksOutside(WEEK_ONE, end);
+        verify(doctorWorkloadRepository).rebuildWeeks(WEEK_ONE, WEEK_ONE.plusWeeks(4));
+        verify(doctorWorkloadRepository).rebuildWeeks(WEEK_ONE.plusWeeks(4), WEEK_ONE.plusWeeks(8));
+        verify(doctorWorkloadRepository).rebuildWeeks(WEEK_ONE.plusWeeks(8), end);
+        verify(doctorWorkloadRepository).deleteWeeks(WEEK_ONE.plusWeeks(8), end);
+        verify(transactionTemplate, times(4)).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("backfill - No source rows - Empties the rollup")
+    void backfill_NoData_DeletesAll() {
+        DateRange empty = dateRange(null, null);
+        when(doctorWorkloadRepository.findAppointmentDateRange()).thenReturn(empty);
+        when(doctorWorkloadRepository.findArchivedAppointmentDateRange()).thenReturn(empty);
+        when(doctorWorkloadRepository.findSurgeryDateRange()).thenReturn(empty);
+        when(doctorWorkloadRepository.findPrescriptionDateRange()).thenReturn(empty);
+
+        assertEquals(0, doctorWorkloadService.backfill());
+        verify(doctorWorkloadRepository).deleteAllInBatch();
+        verify(doctorWorkloadRepository, never()).rebuildWeeks(any(), any());
+    }
+
+    @Test
+    @DisplayName("backfill - Date range - Rebuilds the weeks overlapping it")
+    void backfill_Range_RebuildsOverlappingWeeks() {
+        int weeks = doctorWorkloadService.backfill(WEEK_ONE.plusDays(3), WEEK_TWO.plusDays(1));
+
+        assertEquals(2, weeks);
+        verify(doctorWorkloadRepository).deleteWeeks(WEEK_ONE, WEEK_TWO.plusWeeks(1));
+        verify(doctorWorkloadRepository).rebuildWeeks(WEEK_ONE, WEEK_TWO.plusWeeks(1));
+    }
+
+    @Test
+    @DisplayName("backfillIfEmpty - Rollup has rows - Does not rebuild")
+    void backfillIfEmpty_NotEmpty_Skips() {
+        when(doctorWorkloadRepository.count()).thenReturn(5L);
+
+        doctorWorkloadService.backfillIfEmpty();
+
+        verify(doctorWorkloadRepository, never()).findAppointmentDateRange();
+    }
+
+    @Test
+    @DisplayName("getDoctorWorkload - Mid-week from date - Queries from the start of that week and maps rows")
+    void getDoctorWorkload_MidWeekFrom_QueriesFromMonday() {
+        UUID hospitalId = UUID.randomUUID();
+        DoctorWorkloadRow row = mock(DoctorWorkloadRow.class);
+        when(row.getDoctorId()).thenReturn(doctorId);
+        when(row.getDoctorName()).thenReturn("Dr. Jensen");
+        when(row.getSpeciality()).thenReturn(DoctorSpecialityType.SURGERY);
+        when(row.getHospitalId()).thenReturn(hospitalId);
+        when(row.getHospitalName()).thenReturn("Rigshospitalet");
+        when(row.getWeekStart()).thenReturn(WEEK_ONE);
+        when(row.getAppointments()).thenReturn(12L);
+        when(row.getSurgeries()).thenReturn(3L);
+        when(row.getPrescriptions()).thenReturn(7L);
+        LocalDate to = WEEK_TWO.plusDays(4);
+        when(doctorWorkloadRepository.findDoctorWeeks(WEEK_ONE, to, hospitalId, DoctorSpecialityType.SURGERY))
+                .thenReturn(List.of(row));
+
+        List<DoctorWorkloadWeek> weeks = doctorWorkloadService.getDoctorWorkload(WEEK_ONE.plusDays(2), to,
+                hospitalId, DoctorSpecialityType.SURGERY);
+
+        assertEquals(List.of(new DoctorWorkloadWeek(doctorId, "Dr. Jensen", DoctorSpecialityType.SURGERY, hospitalId,
+                "Rigshospitalet", WEEK_ONE, 12, 3, 7)), weeks);
+    }
+
+    @Test
+    @DisplayName("getHospitalWorkload - To before from - Throws ValidationException")
+    void getHospitalWorkload_ToBeforeFrom_ThrowsException() {
+        assertThrows(ValidationException.class,
+                () -> doctorWorkloadService.getHospitalWorkload(WEEK_TWO, WEEK_ONE, null));
+        verifyNoInteractions(doctorWorkloadRepository);
+    }
+
+    @Test
+    @DisplayName("getSpecialityWorkload - Range too long - Throws ValidationException")
+    void getSpecialityWorkload_RangeTooLong_ThrowsException() {
+        assertThrows(ValidationException.class, () -> doctorWorkloadService.getSpecialityWorkload(
+                WEEK_ONE, WEEK_ONE.plusDays(DoctorWorkloadService.MAX_RANGE_DAYS + 1), null));
+    }
+
+    @Test
+    @DisplayName("weekStart - Sunday - Returns the Monday before")
+    void weekStart_Sunday_ReturnsMonday() {
+        assertEquals(WEEK_ONE, WorkloadKey.weekStart(WEEK_ONE.plusDays(6)));
+        assertEquals(WEEK_ONE, WorkloadKey.weekStart(WEEK_ONE));
+    }
+
+    private static DateRange dateRange(LocalDate first, LocalDate last) {
+        DateRange range = mock(DateRange.class);
+        lenient().when(range.getFirst()).thenReturn(first);
+        lenient().when(range.getLast()).thenReturn(last);
+        return range;
+    }
+}
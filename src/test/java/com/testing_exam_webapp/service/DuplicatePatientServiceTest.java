@@ -0,0 +1,173 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.DuplicateCandidate;
+import com.testing_exam_webapp.dto.MergeCandidate;
+import com.testing_exam_webapp.exception.ValidationException;
+import com.testing_exam_webapp.repository.PatientRepository;
+import com.testing_exam_webapp.repository.projection.PatientIdentityRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DuplicatePatientService Tests")
+class DuplicatePatientServiceTest {
+
+    private static final LocalDate BIRTH_DATE = LocalDate.of(1984, 3, 12);
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    private DuplicatePatientService duplicatePatientService;
+
+    @BeforeEach
+    void setUp() {
+        duplicatePatientService = new DuplicatePatientService(patientRepository, Runnable::run, 0.85, 3);
+    }
+
+    @Test
+    @DisplayName("phonetic - Should give common spelling variants the same code")
+    void phonetic_SpellingVariants_ShareCode() {
+        assertEquals(PatientBlockingIndex.phonetic("mikkel"), PatientBlockingIndex.phonetic("michael"));
+        assertEquals(PatientBlockingIndex.phonetic("jensen"), PatientBlockingIndex.phonetic("jenssen"));
+        assertEquals(PatientBlockingIndex.phonetic("carl"), PatientBlockingIndex.phonetic("karl"));
+        assertNotEquals(PatientBlockingIndex.phonetic("jensen"), PatientBlockingIndex.phonetic("hansen"));
+    }
+
+    @Test
+    @DisplayName("keysOf - Should share a key when first and last name are swapped")
+    void keysOf_SwappedNames_ShareKey() {
+        Set<String> keys = PatientBlockingIndex.keysOf("Mikkel Jensen", BIRTH_DATE);
+        Set<String> swapped = PatientBlockingIndex.keysOf("Jensen, Mikkel", BIRTH_DATE.plusDays(3));
+
+        assertTrue(keys.stream().anyMatch(swapped::contains));
+        assertTrue(PatientBlockingIndex.keysOf("Mikkel Jensen", null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("findPossibleDuplicates - Should flag a spelling variant with the same birth date")
+    void findPossibleDuplicates_SpellingVariant_FlagsExisting() {
+        UUID existingId = UUID.randomUUID();
+        duplicatePatientService.indexPatient(existingId, "Mikkel Jensen", BIRTH_DATE);
+        duplicatePatientService.indexPatient(UUID.randomUUID(), "Mikkel Jensen", LocalDate.of(2001, 8, 30));
+
+        List<DuplicateCandidate> duplicates =
+                duplicatePatientService.findPossibleDuplicates(UUID.randomUUID(), "Mikkel Jenssen", BIRTH_DATE);
+
+        assertEquals(1, duplicates.size());
+        assertEquals(existingId, duplicates.get(0).patientId());
+        assertTrue(duplicates.get(0).score() >= 0.85);
+        verifyNoInteractions(patientRepository);
+    }
+
+    @Test
+    @DisplayName("findPossibleDuplicates - Should not flag the patient itself or a different person")
+    void findPossibleDuplicates_SelfOrDifferentPerson_ReturnsEmpty() {
+        UUID patientId = UUID.randomUUID();
+        duplicatePatientService.indexPatient(patientId, "Anna Hansen", BIRTH_DATE);
+        duplicatePatientService.indexPatient(UUID.randomUUID(), "Peter Hansen", BIRTH_DATE);
+
+        assertTrue(duplicatePatientService.findPossibleDuplicates(patientId, "Anna Hansen", BIRTH_DATE).isEmpty());
+    }
+
+    @Test
+    @DisplayName("scan - Should score pairs sharing a block and skip deleted patients afterwards")
+    void scan_SharedBlocks_ProducesMergeCandidates() {
+        PatientIdentityRow first = row("Frederik Møller", BIRTH_DATE);
+        PatientIdentityRow second = row("Frederik Moller", BIRTH_DATE);
+        PatientIdentityRow transposed = row("Clara Poulsen", LocalDate.of(1990, 4, 7));
+        PatientIdentityRow other = row("Clara Poulsen", LocalDate.of(1990, 7, 4));
+        PatientIdentityRow unrelated = row("Sofie Nielsen", BIRTH_DATE);
+        when(patientRepository.findAllIdentities()).thenReturn(List.of(first, second, transposed, other, unrelated));
+
+        int found = duplicatePatientService.scan();
+        List<MergeCandidate> candidates = duplicatePatientService.getMergeCandidates(0);
+
+        assertEquals(2, found);
+        assertEquals(1.0, candidates.get(0).score());
+        assertEquals(Set.of(first.getId(), second.getId()),
+                Set.of(candidates.get(0).firstPatientId(), candidates.get(0).secondPatientId()));
+        assertEquals(0.85, candidates.get(1).score());
+        assertEquals(1, duplicatePatientService.getMergeCandidates(0.9).size());
+
+        duplicatePatientService.removePatient(first.getId());
+        assertEquals(1, duplicatePatientService.getMergeCandidates(0).size());
+    }
+
+    @Test
+    @DisplayName("scan - Should replay patient changes reported while the table was being read")
+    void scan_ChangesDuringRead_AreReplayed() {
+        PatientIdentityRow removed = row("Anna Hansen", BIRTH_DATE);
+        UUID addedId = UUID.randomUUID();
+        when(patientRepository.findAllIdentities()).thenAnswer(invocation -> {
+            duplicatePatientService.indexPatient(addedId, "Mikkel Jensen", BIRTH_DATE);
+            duplicatePatientService.removePatient(removed.getId());
+            return List.of(removed);
+        });
+
+        duplicatePatientService.scan();
+
+        assertEquals(addedId, duplicatePatientService.findPossibleDuplicates(UUID.randomUUID(), "Mikkel Jenssen", BIRTH_DATE)
+                .get(0).patientId());
+        assertTrue(duplicatePatientService.findPossibleDuplicates(UUID.randomUUID(), "Anna Hansen", BIRTH_DATE).isEmpty());
+    }
+
+    @Test
+    @DisplayName("indexPatient - Inside a transaction - Applies the change only after commit")
+    void indexPatient_InTransaction_AppliesAfterCommitOnly() {
+        UUID committed = UUID.randomUUID();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            duplicatePatientService.indexPatient(committed, "Mikkel Jensen", BIRTH_DATE);
+            assertTrue(duplicatePatientService.findPossibleDuplicates(UUID.randomUUID(), "Mikkel Jensen", BIRTH_DATE).isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            duplicatePatientService.indexPatient(UUID.randomUUID(), "Mikkel Jenssen", BIRTH_DATE);
+            duplicatePatientService.removePatient(committed);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync ->
+                    sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        List<DuplicateCandidate> duplicates =
+                duplicatePatientService.findPossibleDuplicates(UUID.randomUUID(), "Mikkel Jensen", BIRTH_DATE);
+        assertEquals(1, duplicates.size());
+        assertEquals(committed, duplicates.get(0).patientId());
+    }
+
+    @Test
+    @DisplayName("getMergeCandidates - Should throw ValidationException when the minimum score is out of range")
+    void getMergeCandidates_ScoreOutOfRange_ThrowsException() {
+        assertThrows(ValidationException.class, () -> duplicatePatientService.getMergeCandidates(1.5));
+    }
+
+    private PatientIdentityRow row(String name, LocalDate dateOfBirth) {
+        PatientIdentityRow row = mock(PatientIdentityRow.class);
+        UUID id = UUID.randomUUID();
+        lenient().when(row.getId()).thenReturn(id);
+        lenient().when(row.getName()).thenReturn(name);
+        lenient().when(row.getDateOfBirth()).thenReturn(dateOfBirth);
+        return row;
+    }
+}
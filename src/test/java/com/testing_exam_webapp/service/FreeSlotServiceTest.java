@@ -0,0 +1,156 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.FreeSlot;
+import com.testing_exam_webapp.exception.EntityNotFoundException;
+import com.testing_exam_webapp.exception.ValidationException;
+import com.testing_exam_webapp.model.mysql.Doctor;
+import com.testing_exam_webapp.model.types.DoctorSpecialityType;
+import com.testing_exam_webapp.repository.AppointmentRepository;
+import com.testing_exam_webapp.repository.DoctorRepository;
+import com.testing_exam_webapp.repository.projection.BookedInterval;
+import com.testing_exam_webapp.util.TestDataBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.*;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FreeSlotService Tests")
+class FreeSlotServiceTest {
+
+    // Monday
+    private static final LocalDate MONDAY = LocalDate.of(2026, 10, 19);
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    private FreeSlotService freeSlotService;
+    private UUID doctorId;
+
+    @BeforeEach
+    void setUp() {
+        FreeSlotCalculator calculator = new FreeSlotCalculator(LocalTime.of(8, 0), LocalTime.of(16, 0),
+                EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY));
+        Clock clock = Clock.fixed(MONDAY.atTime(7, 0).atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        freeSlotService = new FreeSlotService(appointmentRepository, doctorRepository, Runnable::run, calculator, clock);
+        doctorId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("findFreeSlots - Should fill working hours with back-to-back slots when no bookings")
+    void findFreeSlots_NoBookings_ReturnsWholeWorkday() {
+        when(doctorRepository.existsById(doctorId)).thenReturn(true);
+
+        List<FreeSlot> slots = freeSlotService.findFreeSlots(doctorId, MONDAY, MONDAY, 60, 100);
+
+        assertEquals(8, slots.size());
+        assertEquals(MONDAY.atTime(8, 0), slots.get(0).start());
+        assertEquals(MONDAY.atTime(16, 0), slots.get(7).end());
+    }
+
+    @Test
+    @DisplayName("findFreeSlots - Should skip booked time and resume on the next 5-minute boundary")
+    void findFreeSlots_WithBooking_SkipsBookedTime() {
+        List<BookedInterval> bookings = List.of(booking(doctorId, MONDAY.atTime(8, 0), MONDAY.atTime(9, 2)));
+        when(doctorRepository.existsById(doctorId)).thenReturn(true);
+        when(appointmentRepository.findDoctorBookings(anyCollection(), any(), any(), any())).thenReturn(bookings);
+
+        List<FreeSlot> slots = freeSlotService.findFreeSlots(doctorId, MONDAY, MONDAY, 30, 100);
+
+        assertEquals(MONDAY.atTime(9, 5), slots.get(0).start());
+        assertTrue(slots.stream().noneMatch(slot -> slot.start().isBefore(MONDAY.atTime(9, 5))));
+    }
+
+    @Test
+    @DisplayName("findFreeSlots - Should return no slots on weekends")
+    void findFreeSlots_Weekend_ReturnsEmpty() {
+        when(doctorRepository.existsById(doctorId)).thenReturn(true);
+
+        List<FreeSlot> slots = freeSlotService.findFreeSlots(doctorId, MONDAY.plusDays(5), MONDAY.plusDays(6), 30, 100);
+
+        assertTrue(slots.isEmpty());
+    }
+
+    @Test
+    @DisplayName("findFreeSlots - Should cap results at limit")
+    void findFreeSlots_ManySlots_AppliesLimit() {
+        when(doctorRepository.existsById(doctorId)).thenReturn(true);
+
+        List<FreeSlot> slots = freeSlotService.findFreeSlots(doctorId, MONDAY, MONDAY.plusDays(13), 15, 10);
+
+        assertEquals(10, slots.size());
+    }
+
+    @Test
+    @DisplayName("findFreeSlots - Should throw EntityNotFoundException for unknown doctor")
+    void findFreeSlots_UnknownDoctor_ThrowsEntityNotFoundException() {
+        when(doctorRepository.existsById(doctorId)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class,
+                () -> freeSlotService.findFreeSlots(doctorId, MONDAY, MONDAY, 30, 100));
+    }
+
+    @Test
+    @DisplayName("findFreeSlots - Should throw ValidationException when range is reversed")
+    void findFreeSlots_ReversedRange_ThrowsValidationException() {
+        assertThrows(ValidationException.class,
+                () -> freeSlotService.findFreeSlots(doctorId, MONDAY.plusDays(1), MONDAY, 30, 100));
+    }
+
+    @Test
+    @DisplayName("findFreeSlotsBySpeciality - Should merge slots of all matching doctors ordered by start")
+    void findFreeSlotsBySpeciality_TwoDoctors_MergesByStart() {
+        UUID wardId = UUID.randomUUID();
+        Doctor busy = TestDataBuilder.createDoctor();
+        Doctor free = TestDataBuilder.createDoctor();
+        List<BookedInterval> bookings = List.of(booking(busy.getDoctorId(), MONDAY.atTime(8, 0), MONDAY.atTime(12, 0)));
+        when(doctorRepository.findByWardIdAndSpeciality(wardId, DoctorSpecialityType.CARDIOLOGY))
+                .thenReturn(List.of(busy, free));
+        when(appointmentRepository.findDoctorBookings(anyCollection(), any(), any(), any())).thenReturn(bookings);
+
+        List<FreeSlot> slots = freeSlotService.findFreeSlotsBySpeciality(
+                DoctorSpecialityType.CARDIOLOGY, wardId, MONDAY, MONDAY, 60, 100);
+
+        assertEquals(12, slots.size());
+        assertEquals(free.getDoctorId(), slots.get(0).doctorId());
+        assertTrue(slots.stream()
+                .filter(slot -> slot.doctorId().equals(busy.getDoctorId()))
+                .allMatch(slot -> !slot.start().isBefore(MONDAY.atTime(12, 0))));
+    }
+
+    @Test
+    @DisplayName("findFreeSlotsBySpeciality - Should return empty list when ward has no such doctors")
+    void findFreeSlotsBySpeciality_NoDoctors_ReturnsEmpty() {
+        UUID wardId = UUID.randomUUID();
+        when(doctorRepository.findByWardIdAndSpeciality(wardId, DoctorSpecialityType.SURGERY)).thenReturn(List.of());
+
+        List<FreeSlot> slots = freeSlotService.findFreeSlotsBySpeciality(
+                DoctorSpecialityType.SURGERY, wardId, MONDAY, MONDAY, 30, 100);
+
+        assertTrue(slots.isEmpty());
+        verify(appointmentRepository, never()).findDoctorBookings(anyCollection(), any(), any(), any());
+    }
+
+    private BookedInterval booking(UUID clinicianId, LocalDateTime start, LocalDateTime end) {
+        BookedInterval booking = mock(BookedInterval.class);
+        when(booking.getClinicianId()).thenReturn(clinicianId);
+        lenient().when(booking.getStartsAt()).thenReturn(start);
+        lenient().when(booking.getEndsAt()).thenReturn(end);
+        return booking;
+    }
+}
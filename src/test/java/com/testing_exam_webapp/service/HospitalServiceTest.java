@@ -149,7 +149,7 @@ class HospitalServiceTest {
         when(hospitalRepository.findById(hospitalId)).thenReturn(Optional.of(testHospital));
         when(hospitalRepository.save(any(Hospital.class))).thenReturn(testHospital);
 
-        Hospital result = hospitalService.updateHospital(hospitalId, request);
+        Hospital result = hospitalService.updateHospital(hospitalId, request, null);
 
         assertNotNull(result);
         verify(hospitalRepository, times(1)).save(testHospital);
@@ -199,5 +199,22 @@ class HospitalServiceTest {
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
-}
 
+    @Test
+    @DisplayName("getHospitalsByIds - Should return hospitals for the given IDs")
+    void getHospitalsByIds_ValidIds_ReturnsHospitals() {
+        List<UUID> ids = List.of(testHospital.getHospitalId());
+        when(hospitalRepository.findAllById(ids)).thenReturn(List.of(testHospital));
+
+        List<Hospital> result = hospitalService.getHospitalsByIds(ids);
+
+        assertEquals(1, result.size());
+        verify(hospitalRepository, times(1)).findAllById(ids);
+    }
+
+    @Test
+    @DisplayName("getHospitalsByIds - Should throw exception when null IDs provided")
+    void getHospitalsByIds_NullIds_ThrowsException() {
+        assertThrows(NullPointerException.class, () -> hospitalService.getHospitalsByIds(null));
+    }
+}
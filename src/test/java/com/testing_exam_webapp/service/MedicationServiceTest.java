@@ -86,7 +86,7 @@ class MedicationServiceTest {
         when(medicationRepository.findById(medicationId)).thenReturn(Optional.of(testMedication));
         when(medicationRepository.save(any(Medication.class))).thenReturn(testMedication);
 
-        Medication result = medicationService.updateMedication(medicationId, request);
+        Medication result = medicationService.updateMedication(medicationId, request, null);
         assertNotNull(result);
     }
 
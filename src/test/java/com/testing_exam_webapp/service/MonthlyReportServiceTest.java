@@ -0,0 +1,235 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.ReportJob;
+import com.testing_exam_webapp.exception.EntityNotFoundException;
+import com.testing_exam_webapp.exception.ValidationException;
+import com.testing_exam_webapp.model.types.AppointmentStatusType;
+import com.testing_exam_webapp.model.types.ReportJobStatus;
+import com.testing_exam_webapp.model.types.WardType;
+import com.testing_exam_webapp.repository.*;
+import com.testing_exam_webapp.repository.projection.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MonthlyReportService Tests")
+class MonthlyReportServiceTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2026, 9);
+    private static final LocalDate FROM = MONTH.atDay(1);
+    private static final LocalDate TO = MONTH.atEndOfMonth();
+
+    @Mock
+    private HospitalRepository hospitalRepository;
+
+    @Mock
+    private WardRepository wardRepository;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private ArchivedAppointmentRepository archivedAppointmentRepository;
+
+    @Mock
+    private SurgeryRepository surgeryRepository;
+
+    @Mock
+    private PrescriptionRepository prescriptionRepository;
+
+    @TempDir
+    private Path reportDir;
+
+    private ForkJoinPool reportPool;
+    private MonthlyReportService monthlyReportService;
+
+    private final UUID hospitalId = UUID.randomUUID();
+    private final UUID wardId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        reportPool = new ForkJoinPool(2);
+        Clock clock = Clock.fixed(LocalDate.of(2026, 10, 19).atStartOfDay(ZoneId.systemDefault()).toInstant(),
+                ZoneId.systemDefault());
+        monthlyReportService = new MonthlyReportService(hospitalRepository, wardRepository, appointmentRepository,
+                archivedAppointmentRepository, surgeryRepository, prescriptionRepository, reportPool, reportDir, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reportPool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("startMonthlyReport - Hospital with activity - Writes one CSV with every section")
+    void startMonthlyReport_Activity_WritesCsv() throws Exception {
+        HospitalNameRow hospital = hospital(hospitalId, "Rigshospitalet");
+        WardCensusRow census = census(wardId, WardType.CARDIOLOGY, 20, 15, 14L);
+        WardStatusCount completed = statusCount(wardId, AppointmentStatusType.COMPLETED, 30L);
+        WardStatusCount archivedCompleted = statusCount(wardId, AppointmentStatusType.COMPLETED, 5L);
+        WardStatusCount cancelled = statusCount(wardId, AppointmentStatusType.CANCELLED, 2L);
+        IdCount surgeries = idCount(wardId, 4L);
+        WardMedicationCount medication = medicationCount(wardId, "Paracetamol, 500mg \"tabs\"", 9L);
+        when(archivedAppointmentRepository.findLatestAppointmentDate()).thenReturn(Optional.of(TO));
+        when(hospitalRepository.findAllNames()).thenReturn(List.of(hospital));
+        when(wardRepository.findCensusByHospitalId(hospitalId)).thenReturn(List.of(census));
+        when(appointmentRepository.countPerWardAndStatus(hospitalId, FROM, TO)).thenReturn(List.of(completed, cancelled));
+        when(archivedAppointmentRepository.countPerWardAndStatus(hospitalId, FROM, TO)).thenReturn(List.of(archivedCompleted));
+        when(surgeryRepository.countPerWard(hospitalId, FROM, TO)).thenReturn(List.of(surgeries));
+        when(prescriptionRepository.countPerWardAndMedication(hospitalId, FROM, TO)).thenReturn(List.of(medication));
+
+        ReportJob started = monthlyReportService.startMonthlyReport(MONTH);
+        monthlyReportService.awaitJob(started.jobId());
+        ReportJob job = monthlyReportService.getJob(started.jobId());
+
+        assertEquals(ReportJobStatus.COMPLETED, job.status());
+        assertEquals(1, job.hospitalsTotal());
+        assertEquals(1, job.hospitalsDone());
+        assertEquals(List.of(hospitalId), job.reportedHospitalIds());
+        String prefix = hospitalId + ",Rigshospitalet,2026-09,";
+        assertEquals(List.of(
+                "hospital_id,hospital_name,month,section,ward_id,ward_type,item,count",
+                prefix + "ward_census," + wardId + ",CARDIOLOGY,patients,14",
+                prefix + "ward_census," + wardId + ",CARDIOLOGY,max_capacity,20",
+                prefix + "ward_census," + wardId + ",CARDIOLOGY,occupied_beds,15",
+                prefix + "appointments," + wardId + ",CARDIOLOGY,CANCELLED,2",
+                prefix + "appointments," + wardId + ",CARDIOLOGY,COMPLETED,35",
+                prefix + "surgeries," + wardId + ",CARDIOLOGY,surgeries,4",
+                prefix + "prescriptions," + wardId + ",CARDIOLOGY,\"Paracetamol, 500mg \"\"tabs\"\"\",9"),
+                Files.readAllLines(monthlyReportService.getReportFile(job.jobId(), hospitalId)));
+    }
+
+    @Test
+    @DisplayName("startMonthlyReport - Month after the archive - Does not query the archive")
+    void startMonthlyReport_MonthNotArchived_SkipsArchive() {
+        HospitalNameRow hospital = hospital(hospitalId, "Rigshospitalet");
+        when(archivedAppointmentRepository.findLatestAppointmentDate()).thenReturn(Optional.of(FROM.minusDays(1)));
+        when(hospitalRepository.findAllNames()).thenReturn(List.of(hospital));
+
+        ReportJob job = monthlyReportService.startMonthlyReport(MONTH);
+        monthlyReportService.awaitJob(job.jobId());
+
+        assertEquals(ReportJobStatus.COMPLETED, monthlyReportService.getJob(job.jobId()).status());
+        verify(archivedAppointmentRepository, never()).countPerWardAndStatus(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("startMonthlyReport - One hospital fails - Writes the others and marks the job failed")
+    void startMonthlyReport_HospitalFails_JobFailed() {
+        UUID failingId = UUID.randomUUID();
+        HospitalNameRow hospital = hospital(hospitalId, "Rigshospitalet");
+        HospitalNameRow failing = hospital(failingId, "Odense");
+        when(archivedAppointmentRepository.findLatestAppointmentDate()).thenReturn(Optional.empty());
+        when(hospitalRepository.findAllNames()).thenReturn(List.of(hospital, failing));
+        // Lenient: the healthy hospital calls the same method with another ID
+        lenient().when(wardRepository.findCensusByHospitalId(failingId)).thenThrow(new IllegalStateException("connection lost"));
+
+        ReportJob started = monthlyReportService.startMonthlyReport(MONTH);
+        monthlyReportService.awaitJob(started.jobId());
+        ReportJob job = monthlyReportService.getJob(started.jobId());
+
+        assertEquals(ReportJobStatus.FAILED, job.status());
+        assertEquals(2, job.hospitalsDone());
+        assertEquals(List.of(hospitalId), job.reportedHospitalIds());
+        assertEquals(1, job.failures().size());
+        assertTrue(Files.exists(monthlyReportService.getReportFile(job.jobId(), hospitalId)));
+        assertThrows(EntityNotFoundException.class, () -> monthlyReportService.getReportFile(job.jobId(), failingId));
+        assertFalse(Files.exists(monthlyReportService.reportFile(MONTH, failingId)));
+    }
+
+    @Test
+    @DisplayName("startMonthlyReport - Job already running for the month - Returns the running job")
+    void startMonthlyReport_AlreadyRunning_ReturnsSameJob() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(archivedAppointmentRepository.findLatestAppointmentDate()).thenReturn(Optional.empty());
+        when(hospitalRepository.findAllNames()).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+
+        ReportJob first = monthlyReportService.startMonthlyReport(MONTH);
+        ReportJob second = monthlyReportService.startMonthlyReport(MONTH);
+        release.countDown();
+        monthlyReportService.awaitJob(first.jobId());
+
+        assertEquals(first.jobId(), second.jobId());
+        assertEquals(ReportJobStatus.RUNNING, first.status());
+        assertEquals(1, monthlyReportService.getJobs().size());
+        assertEquals(ReportJobStatus.COMPLETED, monthlyReportService.getJob(first.jobId()).status());
+    }
+
+    @Test
+    @DisplayName("startMonthlyReport - Future month - Throws ValidationException")
+    void startMonthlyReport_FutureMonth_ThrowsException() {
+        assertThrows(ValidationException.class, () -> monthlyReportService.startMonthlyReport(YearMonth.of(2026, 11)));
+        verifyNoInteractions(hospitalRepository);
+    }
+
+    @Test
+    @DisplayName("getJob - Unknown job - Throws EntityNotFoundException")
+    void getJob_Unknown_ThrowsException() {
+        assertThrows(EntityNotFoundException.class, () -> monthlyReportService.getJob(UUID.randomUUID()));
+    }
+
+    private static HospitalNameRow hospital(UUID id, String name) {
+        HospitalNameRow row = mock(HospitalNameRow.class);
+        lenient().when(row.getId()).thenReturn(id);
+        lenient().when(row.getName()).thenReturn(name);
+        return row;
+    }
+
+    private static WardCensusRow census(UUID wardId, WardType type, int capacity, int occupancy, long patients) {
+        WardCensusRow row = mock(WardCensusRow.class);
+        when(row.getWardId()).thenReturn(wardId);
+        when(row.getWardType()).thenReturn(type);
+        when(row.getMaxCapacity()).thenReturn(capacity);
+        when(row.getOccupancy()).thenReturn(occupancy);
+        when(row.getPatients()).thenReturn(patients);
+        return row;
+    }
+
+    private static WardStatusCount statusCount(UUID wardId, AppointmentStatusType status, long total) {
+        WardStatusCount row = mock(WardStatusCount.class);
+        when(row.getWardId()).thenReturn(wardId);
+        when(row.getStatus()).thenReturn(status);
+        when(row.getTotal()).thenReturn(total);
+        return row;
+    }
+
+    private static IdCount idCount(UUID id, long total) {
+        IdCount row = mock(IdCount.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getTotal()).thenReturn(total);
+        return row;
+    }
+
+    private static WardMedicationCount medicationCount(UUID wardId, String medicationName, long total) {
+        WardMedicationCount row = mock(WardMedicationCount.class);
+        when(row.getWardId()).thenReturn(wardId);
+        when(row.getMedicationName()).thenReturn(medicationName);
+        when(row.getTotal()).thenReturn(total);
+        return row;
+    }
+}
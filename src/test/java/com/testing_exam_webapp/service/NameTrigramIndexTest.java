@@ -0,0 +1,91 @@
+package com.testing_exam_webapp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NameTrigramIndex Tests")
+class NameTrigramIndexTest {
+
+    private NameTrigramIndex index;
+    private UUID jensId;
+    private UUID annaId;
+    private UUID soerenId;
+
+    @BeforeEach
+    void setUp() {
+        index = new NameTrigramIndex();
+        jensId = UUID.randomUUID();
+        annaId = UUID.randomUUID();
+        soerenId = UUID.randomUUID();
+        index.rebuild(Map.of(
+                jensId, "Jens Jensen",
+                annaId, "Anna Larsen",
+                soerenId, "Søren Madsen"));
+    }
+
+    @Test
+    @DisplayName("search - Should match the last word as a prefix")
+    void search_Prefix_ReturnsMatch() {
+        List<NameTrigramIndex.Hit> hits = index.search("anna lar", 10);
+
+        assertEquals(List.of(annaId), hits.stream().map(NameTrigramIndex.Hit::id).toList());
+    }
+
+    @Test
+    @DisplayName("search - Should ignore case and accents")
+    void search_AccentsAndCase_ReturnsMatch() {
+        List<NameTrigramIndex.Hit> hits = index.search("SOREN", 10);
+
+        assertEquals(List.of(soerenId), hits.stream().map(NameTrigramIndex.Hit::id).toList());
+    }
+
+    @Test
+    @DisplayName("search - Should tolerate a typo and rank the exact name first")
+    void search_Typo_RanksClosestFirst() {
+        UUID larssonId = UUID.randomUUID();
+        index.put(larssonId, "Anna Larsson");
+
+        List<NameTrigramIndex.Hit> hits = index.search("anna larsen", 10);
+        List<NameTrigramIndex.Hit> typo = index.search("anna larsn", 10);
+
+        assertEquals(List.of(annaId, larssonId), hits.stream().map(NameTrigramIndex.Hit::id).toList());
+        assertEquals(annaId, typo.get(0).id());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    @DisplayName("search - Should return at most the limit")
+    void search_Limit_TruncatesHits() {
+        index.put(UUID.randomUUID(), "Jens Hansen");
+        index.put(UUID.randomUUID(), "Jens Nielsen");
+
+        assertEquals(2, index.search("jens", 2).size());
+    }
+
+    @Test
+    @DisplayName("put - Should reindex a renamed name and remove should drop it")
+    void put_Rename_ReplacesTrigrams() {
+        index.put(jensId, "Mikkel Holm");
+
+        assertTrue(index.search("jensen", 10).isEmpty());
+        assertEquals(jensId, index.search("mikkel", 10).get(0).id());
+
+        index.remove(jensId);
+
+        assertTrue(index.search("mikkel", 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("search - Should return nothing for a query without letters or digits")
+    void search_NoWords_ReturnsEmpty() {
+        assertTrue(index.search(" -- ", 10).isEmpty());
+    }
+}
@@ -161,7 +161,7 @@ class NurseServiceTest {
         when(nurseRepository.findById(nurseId)).thenReturn(Optional.of(testNurse));
         when(nurseRepository.save(any(Nurse.class))).thenReturn(testNurse);
 
-        Nurse result = nurseService.updateNurse(nurseId, request);
+        Nurse result = nurseService.updateNurse(nurseId, request, null);
 
         assertNotNull(result);
         verify(nurseRepository, times(1)).findById(nurseId);
@@ -0,0 +1,115 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.PatientSearchHit;
+import com.testing_exam_webapp.exception.ValidationException;
+import com.testing_exam_webapp.repository.PatientRepository;
+import com.testing_exam_webapp.repository.projection.PatientNameRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PatientSearchService Tests")
+class PatientSearchServiceTest {
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    private PatientSearchService patientSearchService;
+
+    @BeforeEach
+    void setUp() {
+        patientSearchService = new PatientSearchService(patientRepository);
+    }
+
+    @Test
+    @DisplayName("rebuild - Should index every patient name from the projection query")
+    void rebuild_LoadsNames_SearchFindsThem() {
+        PatientNameRow row = row(UUID.randomUUID(), "Frederik Møller");
+        PatientNameRow other = row(UUID.randomUUID(), "Clara Poulsen");
+        when(patientRepository.findAllNames()).thenReturn(List.of(row, other));
+
+        patientSearchService.rebuild();
+        List<PatientSearchHit> hits = patientSearchService.search("frederik mol", 20);
+
+        assertEquals(1, hits.size());
+        assertEquals(row.getId(), hits.get(0).patientId());
+        assertEquals("Frederik Møller", hits.get(0).patientName());
+    }
+
+    @Test
+    @DisplayName("indexPatient - Should make new and removed patients visible without a rebuild")
+    void indexPatient_ThenRemove_UpdatesResults() {
+        UUID patientId = UUID.randomUUID();
+
+        patientSearchService.indexPatient(patientId, "Mikkel Jørgensen");
+        assertEquals(patientId, patientSearchService.search("mikkel", 20).get(0).patientId());
+
+        patientSearchService.removePatient(patientId);
+        assertTrue(patientSearchService.search("mikkel", 20).isEmpty());
+        verifyNoInteractions(patientRepository);
+    }
+
+    @Test
+    @DisplayName("indexPatient - Inside a transaction - Applies the change only after commit")
+    void indexPatient_InTransaction_AppliesAfterCommitOnly() {
+        UUID committed = UUID.randomUUID();
+        UUID rolledBack = UUID.randomUUID();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            patientSearchService.indexPatient(committed, "Mikkel Jørgensen");
+            assertTrue(patientSearchService.search("mikkel", 20).isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            patientSearchService.indexPatient(rolledBack, "Mikkel Lund");
+            patientSearchService.removePatient(committed);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync ->
+                    sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        List<PatientSearchHit> hits = patientSearchService.search("mikkel", 20);
+        assertEquals(1, hits.size());
+        assertEquals(committed, hits.get(0).patientId());
+    }
+
+    @Test
+    @DisplayName("search - Should throw ValidationException for a blank query")
+    void search_BlankQuery_ThrowsException() {
+        assertThrows(ValidationException.class, () -> patientSearchService.search("  ", 20));
+    }
+
+    @Test
+    @DisplayName("search - Should throw ValidationException when limit is out of range")
+    void search_LimitOutOfRange_ThrowsException() {
+        assertThrows(ValidationException.class, () -> patientSearchService.search("anna", 0));
+        assertThrows(ValidationException.class,
+                () -> patientSearchService.search("anna", PatientSearchService.MAX_LIMIT + 1));
+    }
+
+    private PatientNameRow row(UUID id, String name) {
+        PatientNameRow row = mock(PatientNameRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getName()).thenReturn(name);
+        return row;
+    }
+}
@@ -1,6 +1,8 @@
 package com.testing_exam_webapp.service;
 
+import com.testing_exam_webapp.dto.DuplicateCandidate;
 import com.testing_exam_webapp.dto.PatientRequest;
+import com.testing_exam_webapp.exception.ConflictException;
 import com.testing_exam_webapp.exception.EntityNotFoundException;
 import com.testing_exam_webapp.exception.ValidationException;
 import com.testing_exam_webapp.model.mysql.Diagnosis;
@@ -28,6 +30,7 @@ import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -61,6 +64,21 @@ class PatientServiceTest {
     @Mock
     private DiagnosisRepository diagnosisRepository;
 
+    @Mock
+    private PatientSearchService patientSearchService;
+
+    @Mock
+    private DuplicatePatientService duplicatePatientService;
+
+    @Mock
+    private CohortService cohortService;
+
+    @Mock
+    private ActivePrescriptionIndex activePrescriptionIndex;
+
+    @Mock
+    private PrescriptionExpiryService prescriptionExpiryService;
+
     @InjectMocks
     private PatientService patientService;
 
@@ -75,6 +93,8 @@ class PatientServiceTest {
         testHospital = TestDataBuilder.createHospital();
         testWard = TestDataBuilder.createWard();
         testDiagnosis = TestDataBuilder.createDiagnosis();
+        // Wards have free beds unless a test says otherwise
+        lenient().when(wardRepository.reserveBed(any())).thenReturn(1);
     }
 
     // ==================== getPatients() Tests ====================
@@ -180,6 +200,25 @@ class PatientServiceTest {
         assertEquals("John Doe", result.getPatientName());
         assertEquals(LocalDate.of(1990, 5, 15), result.getDateOfBirth());
         verify(patientRepository, times(1)).save(any(Patient.class));
+        verify(patientSearchService, times(1)).indexPatient(result.getPatientId(), "John Doe");
+        verify(duplicatePatientService, times(1))
+                .indexPatient(result.getPatientId(), "John Doe", LocalDate.of(1990, 5, 15));
+        verify(cohortService, times(1)).indexPatient(result);
+    }
+
+    @Test
+    @DisplayName("findPossibleDuplicates - Should look up likely duplicates of the patient")
+    void findPossibleDuplicates_LikelyDuplicate_ReturnsCandidates() {
+        testPatient.setPatientName("Jon Doe");
+        testPatient.setDateOfBirth(LocalDate.of(1990, 5, 15));
+        DuplicateCandidate existing = new DuplicateCandidate(UUID.randomUUID(), "John Doe", LocalDate.of(1990, 5, 15), 0.98);
+        when(duplicatePatientService.findPossibleDuplicates(testPatient.getPatientId(), "Jon Doe", LocalDate.of(1990, 5, 15)))
+                .thenReturn(List.of(existing));
+
+        List<DuplicateCandidate> result = patientService.findPossibleDuplicates(testPatient);
+
+        assertEquals(List.of(existing), result);
+        verifyNoInteractions(patientRepository);
     }
 
     @Test
@@ -356,6 +395,43 @@ class PatientServiceTest {
         verify(patientRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("createPatient - Should throw ValidationException when ward is full")
+    void createPatient_WardFull_ThrowsValidationException() {
+        // Arrange
+        PatientRequest request = new PatientRequest();
+        request.setPatientName("John Doe");
+        request.setDateOfBirth(LocalDate.of(1990, 5, 15));
+        request.setWardId(testWard.getWardId());
+
+        when(wardRepository.findById(testWard.getWardId())).thenReturn(Optional.of(testWard));
+        when(wardRepository.reserveBed(testWard.getWardId())).thenReturn(0);
+
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class, () -> {
+            patientService.createPatient(request);
+        });
+        assertTrue(exception.getMessage().contains("ward is full"));
+        verify(patientRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("createPatient - Should not reserve a bed when no ward provided")
+    void createPatient_NoWard_DoesNotReserveBed() {
+        // Arrange
+        PatientRequest request = new PatientRequest();
+        request.setPatientName("John Doe");
+        request.setDateOfBirth(LocalDate.of(1990, 5, 15));
+
+        when(patientRepository.save(any(Patient.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        patientService.createPatient(request);
+
+        // Assert
+        verify(wardRepository, never()).reserveBed(any());
+    }
+
     // ==================== Boundary Value Analysis Tests ====================
 
     static java.util.stream.Stream<Arguments> dateOfBirthBoundaryValues() {
@@ -451,7 +527,7 @@ class PatientServiceTest {
         when(patientRepository.save(any(Patient.class))).thenReturn(testPatient);
 
         // Act
-        Patient result = patientService.updatePatient(patientId, request);
+        Patient result = patientService.updatePatient(patientId, request, null);
 
         // Assert
         assertNotNull(result);
@@ -459,6 +535,21 @@ class PatientServiceTest {
         verify(patientRepository, times(1)).save(testPatient);
     }
 
+    @Test
+    @DisplayName("updatePatient - Stale Version - Throws ConflictException Before Touching Beds")
+    void updatePatient_StaleVersion_ThrowsConflictExceptionBeforeTouchingBeds() {
+        UUID patientId = testPatient.getPatientId();
+        testPatient.setVersion(7L);
+        PatientRequest request = new PatientRequest();
+        request.setPatientName("Updated Name");
+
+        when(patientRepository.findById(patientId)).thenReturn(Optional.of(testPatient));
+
+        assertThrows(ConflictException.class, () -> patientService.updatePatient(patientId, request, 6L));
+        verify(patientRepository, never()).save(any(Patient.class));
+        verifyNoInteractions(wardRepository);
+    }
+
     @Test
     @DisplayName("updatePatient - Should throw exception when patient not found")
     void updatePatient_PatientNotFound_ThrowsException() {
@@ -471,7 +562,7 @@ class PatientServiceTest {
 
         // Act & Assert
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
-            patientService.updatePatient(nonExistentId, request);
+            patientService.updatePatient(nonExistentId, request, null);
         });
         assertEquals("Patient not found", exception.getMessage());
         verify(patientRepository, never()).save(any());
@@ -485,7 +576,7 @@ class PatientServiceTest {
 
         // Act & Assert
         assertThrows(NullPointerException.class, () -> {
-            patientService.updatePatient(null, request);
+            patientService.updatePatient(null, request, null);
         });
     }
 
@@ -508,11 +599,65 @@ class PatientServiceTest {
 
         // Act & Assert
         ValidationException exception = assertThrows(ValidationException.class, () -> {
-            patientService.updatePatient(patientId, request);
+            patientService.updatePatient(patientId, request, null);
         });
         assertTrue(exception.getMessage().contains("does not belong to the selected hospital"));
     }
 
+    @Test
+    @DisplayName("updatePatient - Should move bed reservation when ward changes")
+    void updatePatient_WardChanged_ReservesNewAndReleasesOldBed() {
+        // Arrange
+        UUID patientId = testPatient.getPatientId();
+        Ward previousWard = TestDataBuilder.createWard();
+        testPatient.setWard(previousWard);
+
+        PatientRequest request = new PatientRequest();
+        request.setPatientName("Updated Name");
+        request.setDateOfBirth(LocalDate.of(1990, 5, 15));
+        request.setWardId(testWard.getWardId());
+
+        when(patientRepository.findById(patientId)).thenReturn(Optional.of(testPatient));
+        when(wardRepository.findById(testWard.getWardId())).thenReturn(Optional.of(testWard));
+        when(patientRepository.save(any(Patient.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Patient result = patientService.updatePatient(patientId, request, null);
+
+        // Assert
+        assertEquals(testWard, result.getWard());
+        verify(wardRepository, times(1)).reserveBed(testWard.getWardId());
+        verify(wardRepository, times(1)).releaseBed(previousWard.getWardId());
+        verify(activePrescriptionIndex).invalidate();
+        verify(prescriptionExpiryService).movePatient(patientId, testWard.getWardId());
+    }
+
+    @Test
+    @DisplayName("updatePatient - Should keep bed reservation when ward is unchanged")
+    void updatePatient_SameWard_DoesNotTouchOccupancy() {
+        // Arrange
+        UUID patientId = testPatient.getPatientId();
+        testPatient.setWard(testWard);
+
+        PatientRequest request = new PatientRequest();
+        request.setPatientName("Updated Name");
+        request.setDateOfBirth(LocalDate.of(1990, 5, 15));
+        request.setWardId(testWard.getWardId());
+
+        when(patientRepository.findById(patientId)).thenReturn(Optional.of(testPatient));
+        when(wardRepository.findById(testWard.getWardId())).thenReturn(Optional.of(testWard));
+        when(patientRepository.save(any(Patient.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        patientService.updatePatient(patientId, request, null);
+
+        // Assert
+        verify(wardRepository, never()).reserveBed(any());
+        verify(wardRepository, never()).releaseBed(any());
+        verify(activePrescriptionIndex, never()).invalidate();
+        verify(prescriptionExpiryService, never()).movePatient(any(), any());
+    }
+
     // ==================== deletePatient() Tests ====================
 
     @Test
@@ -528,7 +673,11 @@ class PatientServiceTest {
 
         // Assert
         verify(patientRepository, times(1)).existsById(patientId);
+        verify(wardRepository, times(1)).releaseBedOfPatient(patientId);
         verify(patientRepository, times(1)).deleteById(patientId);
+        verify(patientSearchService, times(1)).removePatient(patientId);
+        verify(duplicatePatientService, times(1)).removePatient(patientId);
+        verify(cohortService, times(1)).removePatient(patientId);
     }
 
     @Test
@@ -52,6 +52,18 @@ class PatientServiceWhiteBoxTest {
     private HospitalRepository hospitalRepository;
     @Mock
     private DiagnosisRepository diagnosisRepository;
+    @Mock
+    private PatientSearchService patientSearchService;
+    @Mock
+    private DuplicatePatientService duplicatePatientService;
+    @Mock
+    private CohortService cohortService;
+
+    @Mock
+    private ActivePrescriptionIndex activePrescriptionIndex;
+
+    @Mock
+    private PrescriptionExpiryService prescriptionExpiryService;
 
     @InjectMocks
     private PatientService patientService;
@@ -65,6 +77,8 @@ class PatientServiceWhiteBoxTest {
         testWard = TestDataBuilder.createWard();
         testHospital = TestDataBuilder.createHospital();
         testDiagnosis = TestDataBuilder.createDiagnosis();
+        // Wards have free beds unless a test says otherwise
+        lenient().when(wardRepository.reserveBed(any())).thenReturn(1);
     }
 
     // ==================== BRANCH COVERAGE TESTS ====================
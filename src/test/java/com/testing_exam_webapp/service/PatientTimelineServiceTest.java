@@ -0,0 +1,156 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.TimelineEntry;
+import com.testing_exam_webapp.dto.TimelinePage;
+import com.testing_exam_webapp.exception.EntityNotFoundException;
+import com.testing_exam_webapp.exception.ValidationException;
+import com.testing_exam_webapp.model.types.AppointmentStatusType;
+import com.testing_exam_webapp.model.types.TimelineEntryType;
+import com.testing_exam_webapp.repository.*;
+import com.testing_exam_webapp.repository.projection.AppointmentTimelineRow;
+import com.testing_exam_webapp.repository.projection.PrescriptionTimelineRow;
+import com.testing_exam_webapp.repository.projection.TimelineRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PatientTimelineService Tests")
+class PatientTimelineServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 19);
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private PrescriptionRepository prescriptionRepository;
+
+    @Mock
+    private SurgeryRepository surgeryRepository;
+
+    @Mock
+    private DiagnosisRepository diagnosisRepository;
+
+    private PatientTimelineService patientTimelineService;
+    private UUID patientId;
+
+    @BeforeEach
+    void setUp() {
+        patientTimelineService = new PatientTimelineService(patientRepository, appointmentRepository,
+                prescriptionRepository, surgeryRepository, diagnosisRepository, Runnable::run);
+        patientId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("getTimeline - Should merge all event types newest first, then by type")
+    void getTimeline_AllTypes_MergedInDateOrder() {
+        AppointmentTimelineRow appointment = appointmentRow(DAY, AppointmentStatusType.COMPLETED);
+        PrescriptionTimelineRow prescription = prescriptionRow(DAY.minusDays(2), DAY.plusDays(5));
+        TimelineRow surgery = row(DAY);
+        TimelineRow diagnosis = row(DAY.minusDays(1));
+        when(patientRepository.existsById(patientId)).thenReturn(true);
+        when(appointmentRepository.findTimelineRows(eq(patientId), any(), anyInt(), any(), any())).thenReturn(List.of(appointment));
+        when(prescriptionRepository.findTimelineRows(eq(patientId), any(), anyInt(), any(), any())).thenReturn(List.of(prescription));
+        when(surgeryRepository.findTimelineRows(eq(patientId), any(), anyInt(), any(), any())).thenReturn(List.of(surgery));
+        when(diagnosisRepository.findTimelineRows(eq(patientId), any(), anyInt(), any(), any())).thenReturn(List.of(diagnosis));
+
+        TimelinePage page = patientTimelineService.getTimeline(patientId, null, 20);
+
+        assertEquals(List.of(TimelineEntryType.APPOINTMENT, TimelineEntryType.SURGERY,
+                        TimelineEntryType.DIAGNOSIS, TimelineEntryType.PRESCRIPTION),
+                page.entries().stream().map(TimelineEntry::type).toList());
+        assertEquals("COMPLETED", page.entries().get(0).detail());
+        assertEquals(DAY.plusDays(5).toString(), page.entries().get(3).detail());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("getTimeline - Should return a cursor that resumes after the last entry")
+    void getTimeline_MoreThanLimit_ReturnsCursor() {
+        TimelineRow first = row(DAY);
+        TimelineRow second = row(DAY);
+        TimelineRow third = row(DAY.minusDays(1));
+        when(patientRepository.existsById(patientId)).thenReturn(true);
+        UUID lastId = second.getId();
+        when(surgeryRepository.findTimelineRows(eq(patientId), any(), anyInt(), any(), any()))
+                .thenReturn(List.of(first, second, third));
+
+        TimelinePage page = patientTimelineService.getTimeline(patientId, null, 2);
+
+        assertEquals(2, page.entries().size());
+        assertNotNull(page.nextCursor());
+
+        patientTimelineService.getTimeline(patientId, page.nextCursor(), 2);
+
+        verify(appointmentRepository).findTimelineRows(eq(patientId), eq(DAY),
+                eq(PatientTimelineService.BEFORE_DATE), eq(lastId), any());
+        verify(surgeryRepository).findTimelineRows(eq(patientId), eq(DAY),
+                eq(PatientTimelineService.SAME_TYPE_AFTER_ID), eq(lastId), any());
+        verify(diagnosisRepository).findTimelineRows(eq(patientId), eq(DAY),
+                eq(PatientTimelineService.ON_OR_BEFORE_DATE), eq(lastId), any());
+    }
+
+    @Test
+    @DisplayName("getTimeline - Should throw ValidationException for malformed cursor")
+    void getTimeline_InvalidCursor_ThrowsException() {
+        when(patientRepository.existsById(patientId)).thenReturn(true);
+
+        assertThrows(ValidationException.class,
+                () -> patientTimelineService.getTimeline(patientId, "not-a-cursor", 20));
+    }
+
+    @Test
+    @DisplayName("getTimeline - Should throw ValidationException for limit out of range")
+    void getTimeline_LimitOutOfRange_ThrowsException() {
+        assertThrows(ValidationException.class,
+                () -> patientTimelineService.getTimeline(patientId, null, PatientTimelineService.MAX_LIMIT + 1));
+        verifyNoInteractions(patientRepository);
+    }
+
+    @Test
+    @DisplayName("getTimeline - Should throw EntityNotFoundException when patient not found")
+    void getTimeline_PatientNotFound_ThrowsException() {
+        when(patientRepository.existsById(patientId)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> patientTimelineService.getTimeline(patientId, null, 20));
+        verifyNoInteractions(appointmentRepository, surgeryRepository);
+    }
+
+    private TimelineRow row(LocalDate date) {
+        TimelineRow row = mock(TimelineRow.class);
+        UUID id = UUID.randomUUID();
+        lenient().when(row.getDate()).thenReturn(date);
+        lenient().when(row.getId()).thenReturn(id);
+        return row;
+    }
+
+    private AppointmentTimelineRow appointmentRow(LocalDate date, AppointmentStatusType status) {
+        AppointmentTimelineRow row = mock(AppointmentTimelineRow.class);
+        when(row.getDate()).thenReturn(date);
+        when(row.getStatus()).thenReturn(status);
+        return row;
+    }
+
+    private PrescriptionTimelineRow prescriptionRow(LocalDate startDate, LocalDate endDate) {
+        PrescriptionTimelineRow row = mock(PrescriptionTimelineRow.class);
+        when(row.getDate()).thenReturn(startDate);
+        when(row.getEndDate()).thenReturn(endDate);
+        return row;
+    }
+}
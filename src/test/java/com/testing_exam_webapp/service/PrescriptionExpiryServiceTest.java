@@ -0,0 +1,186 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.dto.ExpiringPrescription;
+import com.testing_exam_webapp.dto.ExpiryDigest;
+import com.testing_exam_webapp.exception.ValidationException;
+import com.testing_exam_webapp.repository.PrescriptionRepository;
+import com.testing_exam_webapp.repository.projection.ExpiringPrescriptionRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PrescriptionExpiryService Tests")
+class PrescriptionExpiryServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+    private static final LocalDateTime NOW = TODAY.atTime(9, 0);
+
+    @Mock
+    private PrescriptionRepository prescriptionRepository;
+
+    private PrescriptionExpiryService prescriptionExpiryService;
+    private UUID wardId;
+    private UUID doctorId;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(NOW.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        prescriptionExpiryService = new PrescriptionExpiryService(prescriptionRepository, 14, 2, clock);
+        wardId = UUID.randomUUID();
+        doctorId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("scan - Should read the whole window in batches on the first scan of the day")
+    void scan_FirstOfDay_ReadsWindowInBatches() {
+        ExpiringPrescriptionRow first = row(wardId, TODAY);
+        ExpiringPrescriptionRow second = row(wardId, TODAY.plusDays(2));
+        ExpiringPrescriptionRow third = row(UUID.randomUUID(), TODAY.plusDays(3));
+        UUID secondId = second.getPrescriptionId();
+        when(prescriptionRepository.findExpiringBatch(eq(TODAY), eq(TODAY.plusDays(14)), any(), any(), any()))
+                .thenReturn(List.of(first, second)).thenReturn(List.of(third));
+
+        int rows = prescriptionExpiryService.scan();
+
+        assertEquals(3, rows);
+        verify(prescriptionRepository).findExpiringBatch(eq(TODAY), eq(TODAY.plusDays(14)),
+                eq(TODAY.plusDays(2)), eq(secondId), any());
+        verify(prescriptionRepository, never()).findChangedBatch(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("scan - Should only read changed rows on later scans the same day")
+    void scan_SameDay_ReadsChangedRowsOnly() {
+        ExpiringPrescriptionRow expiring = row(wardId, TODAY.plusDays(1));
+        ExpiringPrescriptionRow extended = row(wardId, TODAY.plusDays(60));
+        when(prescriptionRepository.findExpiringBatch(any(), any(), any(), any(), any())).thenReturn(List.of(expiring));
+        when(prescriptionRepository.findChangedBatch(eq(NOW), eq(NOW.minus(PrescriptionExpiryService.OVERLAP)), any(), any()))
+                .thenReturn(List.of(extended));
+        prescriptionExpiryService.scan();
+        UUID expiringId = expiring.getPrescriptionId();
+        when(extended.getPrescriptionId()).thenReturn(expiringId);
+
+        int rows = prescriptionExpiryService.scan();
+
+        assertEquals(1, rows);
+        assertTrue(prescriptionExpiryService.getExpiring(14, null, null).prescriptions().isEmpty());
+        verify(prescriptionRepository, times(1)).findExpiringBatch(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("getExpiring - Should filter by days and ward and count per ward and doctor")
+    void getExpiring_WithWard_FiltersAndCounts() {
+        ExpiringPrescriptionRow soon = row(wardId, TODAY.plusDays(1));
+        ExpiringPrescriptionRow later = row(wardId, TODAY.plusDays(10));
+        ExpiringPrescriptionRow otherWard = row(UUID.randomUUID(), TODAY);
+        when(prescriptionRepository.findExpiringBatch(any(), any(), any(), any(), any()))
+                .thenReturn(List.of(otherWard, soon)).thenReturn(List.of(later));
+        prescriptionExpiryService.scan();
+
+        ExpiryDigest digest = prescriptionExpiryService.getExpiring(7, wardId, null);
+
+        assertEquals(List.of(soon.getPrescriptionId()),
+                digest.prescriptions().stream().map(ExpiringPrescription::prescriptionId).toList());
+        assertEquals(1L, digest.perWard().get(wardId));
+        assertEquals(1L, digest.perDoctor().get(doctorId));
+        assertEquals(TODAY.plusDays(7), digest.to());
+    }
+
+    @Test
+    @DisplayName("getExpiring - Should serve yesterday's digest without scanning after the day changes")
+    void getExpiring_DayChangedBeforeRollover_ServesDigestWithoutScanning() {
+        ExpiringPrescriptionRow endedYesterday = row(wardId, TODAY.minusDays(1));
+        ExpiringPrescriptionRow endsToday = row(wardId, TODAY);
+        when(prescriptionRepository.findExpiringBatch(any(), any(), any(), any(), any()))
+                .thenReturn(List.of(endedYesterday, endsToday)).thenReturn(List.of());
+        Clock clock = mock(Clock.class);
+        when(clock.getZone()).thenReturn(ZoneId.systemDefault());
+        when(clock.instant()).thenReturn(NOW.minusDays(1).atZone(ZoneId.systemDefault()).toInstant(),
+                NOW.atZone(ZoneId.systemDefault()).toInstant());
+        PrescriptionExpiryService service = new PrescriptionExpiryService(prescriptionRepository, 14, 2, clock);
+        service.scan();
+        clearInvocations(prescriptionRepository);
+
+        ExpiryDigest digest = service.getExpiring(14, null, null);
+
+        assertEquals(List.of(endsToday.getPrescriptionId()),
+                digest.prescriptions().stream().map(ExpiringPrescription::prescriptionId).toList());
+        assertEquals(TODAY.plusDays(13), digest.to());
+        verifyNoInteractions(prescriptionRepository);
+    }
+
+    @Test
+    @DisplayName("getExpiring - Should return an empty digest before the first scan")
+    void getExpiring_BeforeFirstScan_ReturnsEmptyWithoutScanning() {
+        ExpiryDigest digest = prescriptionExpiryService.getExpiring(7, null, null);
+
+        assertTrue(digest.prescriptions().isEmpty());
+        assertNull(digest.scannedAt());
+        verifyNoInteractions(prescriptionRepository);
+    }
+
+    @Test
+    @DisplayName("getExpiring - Should throw ValidationException when days exceed the horizon")
+    void getExpiring_DaysBeyondHorizon_ThrowsException() {
+        assertThrows(ValidationException.class, () -> prescriptionExpiryService.getExpiring(15, null, null));
+        verifyNoInteractions(prescriptionRepository);
+    }
+
+    @Test
+    @DisplayName("forget - Should drop a deleted prescription from the digest")
+    void forget_ScannedPrescription_RemovesIt() {
+        ExpiringPrescriptionRow expiring = row(wardId, TODAY.plusDays(1));
+        when(prescriptionRepository.findExpiringBatch(any(), any(), any(), any(), any())).thenReturn(List.of(expiring));
+        prescriptionExpiryService.scan();
+
+        prescriptionExpiryService.forget(expiring.getPrescriptionId());
+
+        assertTrue(prescriptionExpiryService.getExpiring(14, null, null).prescriptions().isEmpty());
+    }
+
+    @Test
+    @DisplayName("movePatient - Should count the patient's prescriptions towards the new ward")
+    void movePatient_ScannedPrescription_MovesToNewWard() {
+        ExpiringPrescriptionRow moved = row(wardId, TODAY.plusDays(1));
+        ExpiringPrescriptionRow stayed = row(wardId, TODAY.plusDays(2));
+        when(prescriptionRepository.findExpiringBatch(any(), any(), any(), any(), any())).thenReturn(List.of(moved, stayed))
+                .thenReturn(List.of());
+        prescriptionExpiryService.scan();
+        UUID newWardId = UUID.randomUUID();
+
+        prescriptionExpiryService.movePatient(moved.getPatientId(), newWardId);
+
+        ExpiryDigest digest = prescriptionExpiryService.getExpiring(14, newWardId, null);
+        assertEquals(List.of(moved.getPrescriptionId()),
+                digest.prescriptions().stream().map(ExpiringPrescription::prescriptionId).toList());
+        assertEquals(1L, prescriptionExpiryService.getExpiring(14, null, null).perWard().get(wardId));
+    }
+
+    private ExpiringPrescriptionRow row(UUID wardId, LocalDate endDate) {
+        ExpiringPrescriptionRow row = mock(ExpiringPrescriptionRow.class);
+        UUID id = UUID.randomUUID();
+        lenient().when(row.getPrescriptionId()).thenReturn(id);
+        lenient().when(row.getPatientId()).thenReturn(UUID.randomUUID());
+        lenient().when(row.getWardId()).thenReturn(wardId);
+        lenient().when(row.getDoctorId()).thenReturn(doctorId);
+        lenient().when(row.getEndDate()).thenReturn(endDate);
+        lenient().when(row.getUpdatedAt()).thenReturn(NOW.minusMinutes(5));
+        return row;
+    }
+}
@@ -11,6 +11,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -38,6 +40,12 @@ class PrescriptionServiceTest {
     @Mock
     private MedicationRepository medicationRepository;
 
+    @Mock
+    private ActivePrescriptionIndex activePrescriptionIndex;
+
+    @Mock
+    private PrescriptionExpiryService prescriptionExpiryService;
+
     @InjectMocks
     private PrescriptionService prescriptionService;
 
@@ -101,10 +109,54 @@ class PrescriptionServiceTest {
         when(prescriptionRepository.findById(prescriptionId)).thenReturn(Optional.of(testPrescription));
         when(prescriptionRepository.save(any(Prescription.class))).thenReturn(testPrescription);
 
-        Prescription result = prescriptionService.updatePrescription(prescriptionId, request);
+        Prescription result = prescriptionService.updatePrescription(prescriptionId, request, null);
         assertNotNull(result);
     }
 
+    @Test
+    @DisplayName("updatePrescription - Inside a transaction - Should invalidate the active index only after commit")
+    void updatePrescription_InTransaction_InvalidatesAfterCommit() {
+        UUID prescriptionId = testPrescription.getPrescriptionId();
+        PrescriptionRequest request = new PrescriptionRequest();
+        request.setStartDate(LocalDate.now());
+        request.setEndDate(LocalDate.now().plusDays(7));
+
+        when(prescriptionRepository.findById(prescriptionId)).thenReturn(Optional.of(testPrescription));
+        when(prescriptionRepository.save(any(Prescription.class))).thenReturn(testPrescription);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            prescriptionService.updatePrescription(prescriptionId, request, null);
+            verify(activePrescriptionIndex, never()).invalidate();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(activePrescriptionIndex).invalidate();
+    }
+
+    @Test
+    @DisplayName("deletePrescription - Rolled back - Should leave the active index and expiry digest alone")
+    void deletePrescription_RolledBack_KeepsIndexes() {
+        UUID prescriptionId = testPrescription.getPrescriptionId();
+        when(prescriptionRepository.existsById(prescriptionId)).thenReturn(true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            prescriptionService.deletePrescription(prescriptionId);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(activePrescriptionIndex, never()).invalidate();
+        verify(prescriptionExpiryService, never()).forget(any());
+    }
+
     @Test
     @DisplayName("deletePrescription - Should delete prescription")
     void deletePrescription_ValidId_DeletesPrescription() {
@@ -112,6 +164,27 @@ class PrescriptionServiceTest {
         when(prescriptionRepository.existsById(prescriptionId)).thenReturn(true);
         prescriptionService.deletePrescription(prescriptionId);
         verify(prescriptionRepository, times(1)).deleteById(prescriptionId);
+        verify(activePrescriptionIndex).invalidate();
+        verify(prescriptionExpiryService).forget(prescriptionId);
+    }
+
+    @Test
+    @DisplayName("getActivePrescriptionsByPatientId - Should query prescriptions active on the given date")
+    void getActivePrescriptionsByPatientId_WithDate_QueriesThatDate() {
+        UUID patientId = testPatient.getPatientId();
+        LocalDate date = LocalDate.of(2026, 10, 19);
+        when(prescriptionRepository.findActiveByPatientId(patientId, date)).thenReturn(List.of(testPrescription));
+
+        List<Prescription> result = prescriptionService.getActivePrescriptionsByPatientId(patientId, date);
+
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    @DisplayName("getActivePrescriptionsByDoctorId - Should throw NullPointerException when ID is null")
+    void getActivePrescriptionsByDoctorId_NullId_ThrowsException() {
+        assertThrows(NullPointerException.class,
+                () -> prescriptionService.getActivePrescriptionsByDoctorId(null, LocalDate.now()));
     }
 }
 
@@ -39,6 +39,12 @@ class SurgeryServiceTest {
     @Mock
     private DoctorRepository doctorRepository;
 
+    @Mock
+    private ClinicalTextSearchService clinicalTextSearchService;
+
+    @Mock
+    private CohortService cohortService;
+
     @InjectMocks
     private SurgeryService surgeryService;
 
@@ -93,6 +99,7 @@ class SurgeryServiceTest {
 
         Surgery result = surgeryService.createSurgery(request);
         assertNotNull(result);
+        verify(cohortService, times(1)).indexSurgery(result);
     }
 
     @Test
@@ -106,7 +113,7 @@ class SurgeryServiceTest {
         when(surgeryRepository.findById(surgeryId)).thenReturn(Optional.of(testSurgery));
         when(surgeryRepository.save(any(Surgery.class))).thenReturn(testSurgery);
 
-        Surgery result = surgeryService.updateSurgery(surgeryId, request);
+        Surgery result = surgeryService.updateSurgery(surgeryId, request, null);
         assertNotNull(result);
     }
 
@@ -117,6 +124,7 @@ class SurgeryServiceTest {
         when(surgeryRepository.existsById(surgeryId)).thenReturn(true);
         surgeryService.deleteSurgery(surgeryId);
         verify(surgeryRepository, times(1)).deleteById(surgeryId);
+        verify(cohortService, times(1)).removeSurgery(surgeryId);
     }
 }
 
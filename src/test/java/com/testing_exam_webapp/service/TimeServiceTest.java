@@ -1,6 +1,8 @@
 package com.testing_exam_webapp.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.testing_exam_webapp.dto.TimeDto;
+import com.testing_exam_webapp.dto.WorldTimeResponse;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -52,5 +54,20 @@ class TimeServiceTest {
         assertNotNull(result);
         assertEquals("Europe/Copenhagen", result.getTimezone());
     }
-}
 
+    @Test
+    @DisplayName("WorldTimeResponse - Typed binding ignores unknown fields and maps to TimeDto")
+    void worldTimeResponse_TypedBinding_MapsToTimeDto() throws Exception {
+        String json = "{\"abbreviation\":\"CEST\",\"client_ip\":\"127.0.0.1\","
+                + "\"datetime\":\"2026-10-18T12:00:00.000000+02:00\",\"day_of_week\":0,\"day_of_year\":291,"
+                + "\"dst\":true,\"timezone\":\"Europe/Copenhagen\",\"week_number\":42}";
+
+        TimeDto result = new ObjectMapper().readValue(json, WorldTimeResponse.class).toTimeDto();
+
+        assertEquals("2026-10-18T12:00:00.000000+02:00", result.getDatetime());
+        assertEquals("Europe/Copenhagen", result.getTimezone());
+        assertEquals("CEST", result.getAbbreviation());
+        assertEquals(0, result.getDayOfWeek());
+        assertEquals(291, result.getDayOfYear());
+    }
+}
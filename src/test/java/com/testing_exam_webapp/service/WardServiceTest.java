@@ -1,6 +1,7 @@
 package com.testing_exam_webapp.service;
 
 import com.testing_exam_webapp.dto.WardRequest;
+import com.testing_exam_webapp.exception.ConflictException;
 import com.testing_exam_webapp.model.mysql.Ward;
 import com.testing_exam_webapp.model.types.WardType;
 import com.testing_exam_webapp.repository.WardRepository;
@@ -141,12 +142,45 @@ class WardServiceTest {
         when(wardRepository.findById(wardId)).thenReturn(Optional.of(testWard));
         when(wardRepository.save(any(Ward.class))).thenReturn(testWard);
 
-        Ward result = wardService.updateWard(wardId, request);
+        Ward result = wardService.updateWard(wardId, request, null);
 
         assertNotNull(result);
         verify(wardRepository, times(1)).save(testWard);
     }
 
+    @Test
+    @DisplayName("updateWard - Matching Version - Updates Ward")
+    void updateWard_MatchingVersion_UpdatesWard() {
+        UUID wardId = testWard.getWardId();
+        testWard.setVersion(3L);
+        WardRequest request = new WardRequest();
+        request.setType(WardType.NEUROLOGY);
+        request.setMaxCapacity(40);
+
+        when(wardRepository.findById(wardId)).thenReturn(Optional.of(testWard));
+        when(wardRepository.save(any(Ward.class))).thenReturn(testWard);
+
+        wardService.updateWard(wardId, request, 3L);
+
+        verify(wardRepository, times(1)).save(testWard);
+    }
+
+    @Test
+    @DisplayName("updateWard - Stale Version - Throws ConflictException")
+    void updateWard_StaleVersion_ThrowsConflictException() {
+        UUID wardId = testWard.getWardId();
+        testWard.setVersion(4L);
+        WardRequest request = new WardRequest();
+        request.setType(WardType.NEUROLOGY);
+        request.setMaxCapacity(40);
+
+        when(wardRepository.findById(wardId)).thenReturn(Optional.of(testWard));
+
+        assertThrows(ConflictException.class, () -> wardService.updateWard(wardId, request, 3L));
+        assertEquals(WardType.CARDIOLOGY, testWard.getType());
+        verify(wardRepository, never()).save(any(Ward.class));
+    }
+
     @Test
     @DisplayName("deleteWard - Should delete ward when valid ID provided")
     void deleteWard_ValidId_DeletesWard() {
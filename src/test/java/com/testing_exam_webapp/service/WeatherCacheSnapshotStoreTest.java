@@ -0,0 +1,89 @@
+package com.testing_exam_webapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testing_exam_webapp.dto.WeatherDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WeatherCacheSnapshotStore Tests")
+class WeatherCacheSnapshotStoreTest {
+
+    private static final String API_URL = "https://api.openweathermap.org/data/2.5/weather";
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("snapshot and load - Fresh entries survive a restart")
+    void snapshotAndLoad_FreshEntries_AreServedAfterRestart() {
+        Path file = tempDir.resolve("weather-cache.json");
+        WeatherService before = new WeatherService(API_URL, "test-api-key");
+        before.importCache(List.of(entry("Aarhus", 11.5, System.currentTimeMillis() + 60_000)));
+
+        new WeatherCacheSnapshotStore(before, objectMapper, file.toString()).snapshot();
+
+        WeatherService after = new WeatherService(API_URL, "test-api-key");
+        new WeatherCacheSnapshotStore(after, objectMapper, file.toString()).load();
+
+        WeatherDto result = after.getWeatherByCity("Aarhus");
+        assertEquals(11.5, result.getTemperature());
+        assertEquals("Aarhus", result.getCity());
+    }
+
+    @Test
+    @DisplayName("importCache - Expired entries - Are discarded")
+    void importCache_ExpiredEntries_AreDiscarded() {
+        WeatherService weatherService = new WeatherService(API_URL, "test-api-key");
+
+        int loaded = weatherService.importCache(List.of(
+                entry("Aarhus", 11.5, System.currentTimeMillis() - 1),
+                entry("Copenhagen", 9.0, System.currentTimeMillis() + 60_000)));
+
+        assertEquals(1, loaded);
+        assertEquals(1, weatherService.exportCache().size());
+        assertEquals("Copenhagen", weatherService.exportCache().get(0).city());
+    }
+
+    @Test
+    @DisplayName("snapshot - Leaves no temporary files behind")
+    void snapshot_WritesAtomically_LeavesNoTempFiles() throws Exception {
+        Path file = tempDir.resolve("weather-cache.json");
+        WeatherService weatherService = new WeatherService(API_URL, "test-api-key");
+        weatherService.importCache(List.of(entry("Aarhus", 11.5, System.currentTimeMillis() + 60_000)));
+        WeatherCacheSnapshotStore store = new WeatherCacheSnapshotStore(weatherService, objectMapper, file.toString());
+
+        store.snapshot();
+        store.snapshot();
+
+        try (var files = Files.list(tempDir)) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("load - Corrupt snapshot - Is ignored")
+    void load_CorruptSnapshot_IsIgnored() throws Exception {
+        Path file = tempDir.resolve("weather-cache.json");
+        Files.writeString(file, "{not json");
+        WeatherService weatherService = new WeatherService(API_URL, "test-api-key");
+
+        assertDoesNotThrow(() -> new WeatherCacheSnapshotStore(weatherService, objectMapper, file.toString()).load());
+        assertTrue(weatherService.exportCache().isEmpty());
+    }
+
+    private WeatherService.CacheEntry entry(String city, double temperature, long expiresAtMillis) {
+        WeatherDto weather = new WeatherDto();
+        weather.setCity(city);
+        weather.setTemperature(temperature);
+        return new WeatherService.CacheEntry(city, weather, expiresAtMillis);
+    }
+}
@@ -0,0 +1,68 @@
+package com.testing_exam_webapp.service;
+
+import com.testing_exam_webapp.repository.HospitalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WeatherCacheWarmer Tests")
+class WeatherCacheWarmerTest {
+
+    @Mock
+    private HospitalRepository hospitalRepository;
+
+    @Mock
+    private WeatherService weatherService;
+
+    private WeatherCacheWarmer weatherCacheWarmer;
+
+    @BeforeEach
+    void setUp() {
+        weatherCacheWarmer = new WeatherCacheWarmer(hospitalRepository, weatherService, 1000);
+    }
+
+    @Test
+    @DisplayName("prewarm - Hospital cities exist - Refreshes all of them")
+    void prewarm_HospitalCities_RefreshesAll() {
+        List<String> cities = List.of("København", "Aarhus");
+        when(hospitalRepository.findDistinctCities()).thenReturn(cities);
+        when(weatherService.refreshCities(cities)).thenReturn(CompletableFuture.completedFuture(null));
+
+        weatherCacheWarmer.prewarm();
+
+        verify(weatherService, times(1)).refreshCities(cities);
+    }
+
+    @Test
+    @DisplayName("prewarm - No hospitals - Does not call weather service")
+    void prewarm_NoHospitals_SkipsRefresh() {
+        when(hospitalRepository.findDistinctCities()).thenReturn(Collections.emptyList());
+
+        weatherCacheWarmer.prewarm();
+
+        verify(weatherService, never()).refreshCities(any());
+    }
+
+    @Test
+    @DisplayName("prewarm - Refresh fails - Swallows the error")
+    void prewarm_RefreshFails_DoesNotThrow() {
+        List<String> cities = List.of("Aarhus");
+        when(hospitalRepository.findDistinctCities()).thenReturn(cities);
+        when(weatherService.refreshCities(cities))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("upstream down")));
+
+        assertDoesNotThrow(() -> weatherCacheWarmer.prewarm());
+    }
+}
@@ -1,11 +1,28 @@
 package com.testing_exam_webapp.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.testing_exam_webapp.dto.OpenWeatherResponse;
 import com.testing_exam_webapp.dto.WeatherDto;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -77,5 +94,163 @@ class WeatherServiceTest {
         assertNotNull(result.getTemperature());
         assertNotNull(result.getDescription());
     }
-}
 
+    @Test
+    @DisplayName("OpenWeatherResponse - Typed binding ignores unknown fields and maps to WeatherDto")
+    void openWeatherResponse_TypedBinding_MapsToWeatherDto() throws Exception {
+        String json = "{\"coord\":{\"lon\":12.56,\"lat\":55.67},"
+                + "\"weather\":[{\"id\":803,\"main\":\"Clouds\",\"description\":\"broken clouds\",\"icon\":\"04d\"}],"
+                + "\"main\":{\"temp\":14.2,\"feels_like\":13.6,\"humidity\":72},"
+                + "\"wind\":{\"speed\":5.66,\"deg\":250},"
+                + "\"sys\":{\"type\":2,\"country\":\"DK\"},\"cod\":200}";
+
+        WeatherDto result = new ObjectMapper().readValue(json, OpenWeatherResponse.class).toWeatherDto("Copenhagen");
+
+        assertEquals("Copenhagen", result.getCity());
+        assertEquals("DK", result.getCountry());
+        assertEquals(14.2, result.getTemperature());
+        assertEquals(72.0, result.getHumidity());
+        assertEquals("broken clouds", result.getDescription());
+        assertEquals("Clouds", result.getCondition());
+        assertEquals("04d", result.getIcon());
+        assertEquals(5.66, result.getWindSpeed());
+    }
+
+    @Test
+    @DisplayName("OpenWeatherResponse - Missing sections leave fields null")
+    void openWeatherResponse_MissingSections_LeavesFieldsNull() throws Exception {
+        WeatherDto result = new ObjectMapper().readValue("{\"cod\":200}", OpenWeatherResponse.class)
+                .toWeatherDto("Aarhus");
+
+        assertEquals("Aarhus", result.getCity());
+        assertNull(result.getCountry());
+        assertNull(result.getTemperature());
+        assertNull(result.getDescription());
+    }
+
+    @Test
+    @DisplayName("getWeatherForCities - Several cities - Returns one entry per city in request order")
+    void getWeatherForCities_SeveralCities_ReturnsEntryPerCity() {
+        Map<String, WeatherDto> result = weatherService.getWeatherForCities(
+                List.of("Aarhus", "København", "Aarhus"), Duration.ofSeconds(10));
+
+        assertEquals(List.of("Aarhus", "København"), List.copyOf(result.keySet()));
+        result.values().forEach(weather -> {
+            assertNotNull(weather);
+            assertNotNull(weather.getTemperature());
+        });
+    }
+
+    @Test
+    @DisplayName("getWeatherForCities - Expired deadline - Returns an entry per city")
+    void getWeatherForCities_ZeroDeadline_ReturnsEntryPerCity() {
+        Map<String, WeatherDto> result = weatherService.getWeatherForCities(
+                List.of("Odense"), Duration.ZERO);
+
+        assertEquals(1, result.size());
+        assertNotNull(result.get("Odense"));
+    }
+
+    @Test
+    @DisplayName("getWeatherForCities - Upstream hangs without cached reading - Marks city unavailable")
+    void getWeatherForCities_UpstreamHangsNoCache_MarksUnavailable() throws Exception {
+        try (ServerSocket silentUpstream = new ServerSocket(0)) {
+            WeatherService service = new WeatherService("http://localhost:" + silentUpstream.getLocalPort(), "test-api-key");
+            try {
+                WeatherDto weather = service.getWeatherForCities(List.of("Odense"), Duration.ofMillis(200)).get("Odense");
+
+                assertTrue(weather.getUnavailable());
+                assertEquals("Odense", weather.getCity());
+                assertNull(weather.getTemperature());
+            } finally {
+                service.shutdown();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("getWeatherForCities - Upstream hangs with expired reading - Returns it marked stale")
+    void getWeatherForCities_UpstreamHangsExpiredCache_ReturnsStale() throws Exception {
+        try (ServerSocket silentUpstream = new ServerSocket(0)) {
+            WeatherService service = new WeatherService("http://localhost:" + silentUpstream.getLocalPort(), "test-api-key");
+            try {
+                WeatherDto cached = new WeatherDto();
+                cached.setCity("Copenhagen");
+                cached.setTemperature(3.5);
+                service.importCache(List.of(new WeatherService.CacheEntry("Copenhagen", cached, System.currentTimeMillis() + 50)));
+                Thread.sleep(100);
+
+                WeatherDto weather = service.getWeatherForCities(List.of("København"), Duration.ofMillis(200)).get("København");
+
+                assertTrue(weather.getStale());
+                assertEquals("Copenhagen", weather.getCity());
+                assertEquals(3.5, weather.getTemperature());
+                assertNull(cached.getStale());
+            } finally {
+                service.shutdown();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("getWeatherByCity - Concurrent misses for one city - Share a single upstream call")
+    void getWeatherByCity_ConcurrentMisses_ShareOneUpstreamCall() throws Exception {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        HttpServer upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        upstream.setExecutor(Executors.newCachedThreadPool());
+        upstream.createContext("/", exchange -> {
+            upstreamCalls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"main\":{\"temp\":9.5,\"humidity\":80},\"cod\":200}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        upstream.start();
+        WeatherService service = new WeatherService("http://localhost:" + upstream.getAddress().getPort(), "test-api-key");
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<WeatherDto>> lookups = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                lookups.add(callers.submit(() -> service.getWeatherByCity("Odense")));
+            }
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<WeatherDto> lookup : lookups) {
+                assertEquals(9.5, lookup.get(5, TimeUnit.SECONDS).getTemperature());
+            }
+            assertEquals(1, upstreamCalls.get());
+        } finally {
+            callers.shutdownNow();
+            service.shutdown();
+            upstream.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("evictExpired - Should drop entries expired for longer than the TTL and keep fresh ones")
+    void evictExpired_LongExpiredEntries_AreDropped() throws Exception {
+        WeatherService service = new WeatherService("http://localhost:1", "test-api-key", 0, 1, "");
+        try {
+            WeatherDto weather = new WeatherDto();
+            weather.setTemperature(4.0);
+            long now = System.currentTimeMillis();
+            service.importCache(List.of(new WeatherService.CacheEntry("Odense", weather, now + 50),
+                    new WeatherService.CacheEntry("Aarhus", weather, now + 60_000)));
+            Thread.sleep(100);
+
+            assertEquals(1, service.evictExpired());
+            assertEquals(List.of("Aarhus"), service.exportCache().stream().map(WeatherService.CacheEntry::city).toList());
+            assertEquals(0, service.evictExpired());
+        } finally {
+            service.shutdown();
+        }
+    }
+}